@@ -0,0 +1,525 @@
+// Archivo: AuditoriaDatos.java
+package Actividad;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Auditoría de calidad de toda la base de datos: capitales que no existen o son de otro país,
+ * ciudades e idiomas de países que no existen, países sin idiomas, números negativos o improbables,
+ * nombres repetidos e idiomas que suman más del 100%.
+ *
+ * Las tablas country, city y countrylanguage se leen a la vez, cada una con su conexión, y se guardan
+ * por columnas (arrays paralelos, como IndiceCiudades). Después cada regla es una tarea independiente y
+ * recorre las filas con un stream paralelo: sólo lee los arrays, sin cerrojos, así que el tiempo de las
+ * reglas baja con el número de núcleos.
+ *
+ * Como cada tabla se lee en su propia transacción, un cambio hecho durante la lectura puede dar un
+ * hallazgo pasajero (por ejemplo, una ciudad de un país recién creado): basta repetir la auditoría.
+ */
+public class AuditoriaDatos {
+
+    /**
+     * Las comprobaciones de la auditoría.
+     */
+    public enum Regla {
+        CAPITAL_INEXISTENTE("Capital que no existe"),
+        CAPITAL_DE_OTRO_PAIS("Capital de otro país"),
+        CIUDAD_HUERFANA("Ciudad de un país que no existe"),
+        IDIOMA_HUERFANO("Idiomas de un país que no existe"),
+        PAIS_SIN_IDIOMAS("País sin idiomas"),
+        VALOR_NEGATIVO("Número negativo"),
+        VALOR_IMPROBABLE("Número improbable"),
+        NOMBRE_DUPLICADO("Nombre repetido"),
+        PORCENTAJES_EXCEDIDOS("Idiomas que suman más del 100%");
+
+        private final String descripcion;
+
+        Regla(String descripcion) {
+            this.descripcion = descripcion;
+        }
+
+        public String getDescripcion() {
+            return descripcion;
+        }
+    }
+
+    /**
+     * Un problema encontrado.
+     */
+    public static class Hallazgo {
+        private final Regla regla;
+        private final String tabla;
+        private final String clave;   // Código del país o ID de la ciudad
+        private final String detalle;
+
+        Hallazgo(Regla regla, String tabla, String clave, String detalle) {
+            this.regla = regla;
+            this.tabla = tabla;
+            this.clave = clave;
+            this.detalle = detalle;
+        }
+
+        public Regla getRegla() { return regla; }
+        public String getTabla() { return tabla; }
+        public String getClave() { return clave; }
+        public String getDetalle() { return detalle; }
+
+        @Override
+        public String toString() {
+            return tabla + " " + clave + ": " + detalle;
+        }
+    }
+
+    /**
+     * El resultado de una auditoría.
+     */
+    public static class Informe {
+        private final List<Hallazgo> hallazgos;
+        private final Map<Regla, Integer> recuento = new EnumMap<>(Regla.class);
+        private final int paises, ciudades, idiomas;
+        private final long nanosLectura, nanosReglas;
+
+        Informe(List<Hallazgo> hallazgos, int paises, int ciudades, int idiomas, long nanosLectura, long nanosReglas) {
+            this.hallazgos = Collections.unmodifiableList(hallazgos);
+            for (Hallazgo hallazgo : hallazgos) recuento.merge(hallazgo.regla, 1, Integer::sum);
+            this.paises = paises;
+            this.ciudades = ciudades;
+            this.idiomas = idiomas;
+            this.nanosLectura = nanosLectura;
+            this.nanosReglas = nanosReglas;
+        }
+
+        /** @return Los hallazgos, agrupados por regla y ordenados por clave. */
+        public List<Hallazgo> getHallazgos() { return hallazgos; }
+        public int getRecuento(Regla regla) { return recuento.getOrDefault(regla, 0); }
+        public boolean isLimpio() { return hallazgos.isEmpty(); }
+
+        /**
+         * @param maximoPorRegla Hallazgos que se detallan de cada regla (el resto sólo se cuenta).
+         * @return El informe legible, con un resumen por regla y el detalle de cada una.
+         */
+        public String texto(int maximoPorRegla) {
+            StringBuilder texto = new StringBuilder();
+            texto.append("Auditoría de ").append(paises).append(" países, ").append(ciudades).append(" ciudades y ")
+                    .append(idiomas).append(" idiomas (lectura ").append(nanosLectura / 1_000_000).append(" ms, reglas ")
+                    .append(nanosReglas / 1_000_000).append(" ms con ").append(Runtime.getRuntime().availableProcessors())
+                    .append(" núcleos)\n");
+            if (isLimpio()) {
+                return texto.append("✅ No se ha encontrado ningún problema.\n").toString();
+            }
+            texto.append("⚠️ ").append(hallazgos.size()).append(" problema(s):\n");
+            for (Regla regla : Regla.values()) {
+                if (getRecuento(regla) > 0) texto.append("  ").append(regla.getDescripcion()).append(": ").append(getRecuento(regla)).append('\n');
+            }
+            Regla anterior = null;
+            int mostrados = 0;
+            for (Hallazgo hallazgo : hallazgos) {
+                if (hallazgo.regla != anterior) {
+                    texto.append('\n').append(hallazgo.regla.getDescripcion()).append(":\n");
+                    anterior = hallazgo.regla;
+                    mostrados = 0;
+                }
+                if (mostrados++ < maximoPorRegla) {
+                    texto.append("  • ").append(hallazgo).append('\n');
+                } else if (mostrados == maximoPorRegla + 1) {
+                    texto.append("  … y ").append(getRecuento(hallazgo.regla) - maximoPorRegla).append(" más\n");
+                }
+            }
+            return texto.toString();
+        }
+    }
+
+    private static final String SQL_PAISES = "SELECT Code, Name, Capital, SurfaceArea, IndepYear, Population, LifeExpectancy, GNP FROM country";
+    private static final String SQL_CIUDADES = "SELECT ID, Name, CountryCode, District, Population FROM city";
+    private static final String SQL_IDIOMAS = "SELECT CountryCode, Percentage FROM countrylanguage";
+
+    private static final int SIN_VALOR = Integer.MIN_VALUE; // NULL en una columna entera
+    private static final double MAX_ESPERANZA_VIDA = 120;   // Años
+    private static final double MAX_DENSIDAD = 50_000;      // Habitantes por km² (Macao, la mayor del mundo, ronda los 26.000)
+    private static final int TAMANIO_INICIAL = 1024;
+
+    // --- Tablas leídas, por columnas ---
+
+    private static final class TablaPaises {
+        int filas;
+        String[] codigos = new String[TAMANIO_INICIAL];
+        String[] nombres = new String[TAMANIO_INICIAL];
+        int[] capitales = new int[TAMANIO_INICIAL];
+        double[] superficies = new double[TAMANIO_INICIAL]; // NaN si es NULL
+        int[] anios = new int[TAMANIO_INICIAL];
+        int[] poblaciones = new int[TAMANIO_INICIAL];
+        double[] esperanzas = new double[TAMANIO_INICIAL];
+        double[] pnbs = new double[TAMANIO_INICIAL];
+
+        void asegurar() {
+            if (filas < codigos.length) return;
+            int tamanio = filas * 2;
+            codigos = Arrays.copyOf(codigos, tamanio);
+            nombres = Arrays.copyOf(nombres, tamanio);
+            capitales = Arrays.copyOf(capitales, tamanio);
+            superficies = Arrays.copyOf(superficies, tamanio);
+            anios = Arrays.copyOf(anios, tamanio);
+            poblaciones = Arrays.copyOf(poblaciones, tamanio);
+            esperanzas = Arrays.copyOf(esperanzas, tamanio);
+            pnbs = Arrays.copyOf(pnbs, tamanio);
+        }
+    }
+
+    private static final class TablaCiudades {
+        int filas;
+        int[] ids = new int[TAMANIO_INICIAL];
+        String[] nombres = new String[TAMANIO_INICIAL];
+        String[] paises = new String[TAMANIO_INICIAL];
+        String[] distritos = new String[TAMANIO_INICIAL];
+        int[] poblaciones = new int[TAMANIO_INICIAL];
+
+        void asegurar() {
+            if (filas < ids.length) return;
+            int tamanio = filas * 2;
+            ids = Arrays.copyOf(ids, tamanio);
+            nombres = Arrays.copyOf(nombres, tamanio);
+            paises = Arrays.copyOf(paises, tamanio);
+            distritos = Arrays.copyOf(distritos, tamanio);
+            poblaciones = Arrays.copyOf(poblaciones, tamanio);
+        }
+    }
+
+    private static final class TablaIdiomas {
+        int filas;
+        String[] paises = new String[TAMANIO_INICIAL];
+        long[] decimas = new long[TAMANIO_INICIAL];
+
+        void asegurar() {
+            if (filas < paises.length) return;
+            paises = Arrays.copyOf(paises, filas * 2);
+            decimas = Arrays.copyOf(decimas, filas * 2);
+        }
+    }
+
+    private static final ExecutorService lectores = Executors.newFixedThreadPool(3, r -> {
+        Thread hilo = new Thread(r, "auditoria-lectura");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    /**
+     * Lee las tres tablas y aplica todas las reglas.
+     * @return El informe, o null si no se pudo leer alguna tabla (el error se publica en BusErrores).
+     */
+    public static Informe auditar() {
+        long inicio = System.nanoTime();
+        Future<TablaPaises> lecturaPaises = lectores.submit(AuditoriaDatos::leerPaises);
+        Future<TablaCiudades> lecturaCiudades = lectores.submit(AuditoriaDatos::leerCiudades);
+        Future<TablaIdiomas> lecturaIdiomas = lectores.submit(AuditoriaDatos::leerIdiomas);
+        TablaPaises paises;
+        TablaCiudades ciudades;
+        TablaIdiomas idiomas;
+        try {
+            paises = lecturaPaises.get();
+            ciudades = lecturaCiudades.get();
+            idiomas = lecturaIdiomas.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            SQLException causa = e.getCause() instanceof SQLException ? (SQLException) e.getCause() : null;
+            BusErrores.publicar(new ErrorDatos("auditoria", null, null, "Error al leer los datos para la auditoría", causa));
+            if (causa == null) Registro.error("auditoria", null, null, String.valueOf(e.getCause()));
+            return null;
+        }
+        long finLectura = System.nanoTime();
+
+        // Índices compartidos por varias reglas (sólo se leen desde las tareas)
+        Map<String, Integer> filaPais = new HashMap<>(paises.filas * 2);
+        for (int i = 0; i < paises.filas; i++) filaPais.put(paises.codigos[i], i);
+        long[] ciudadesPorId = ordenarPorId(ciudades);
+
+        List<Supplier<List<Hallazgo>>> reglas = List.of(
+                () -> comprobarCapitales(paises, ciudades, ciudadesPorId),
+                () -> comprobarCiudades(paises, ciudades, filaPais),
+                () -> comprobarIdiomas(paises, idiomas, filaPais),
+                () -> comprobarNumerosPaises(paises),
+                () -> comprobarNombresPaises(paises),
+                () -> comprobarNombresCiudades(ciudades));
+        List<CompletableFuture<List<Hallazgo>>> tareas = new ArrayList<>();
+        for (Supplier<List<Hallazgo>> regla : reglas) tareas.add(CompletableFuture.supplyAsync(regla));
+        List<Hallazgo> hallazgos = new ArrayList<>();
+        for (CompletableFuture<List<Hallazgo>> tarea : tareas) hallazgos.addAll(tarea.join());
+        hallazgos.sort(Comparator.comparing(Hallazgo::getRegla).thenComparing(Hallazgo::getClave));
+
+        Informe informe = new Informe(hallazgos, paises.filas, ciudades.filas, idiomas.filas, finLectura - inicio, System.nanoTime() - finLectura);
+        if (Registro.activo(Registro.Nivel.INFO)) {
+            Registro.info("auditoria", null, hallazgos.size() + " problemas", System.nanoTime() - inicio,
+                    paises.filas + ciudades.filas + idiomas.filas);
+        }
+        return informe;
+    }
+
+    // --- Lectura (una conexión por tabla) ---
+
+    private static TablaPaises leerPaises() throws SQLException {
+        TablaPaises paises = new TablaPaises();
+        try (Connection conn = abrir();
+             PreparedStatement ps = conn.prepareStatement(SQL_PAISES);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                paises.asegurar();
+                int i = paises.filas++;
+                paises.codigos[i] = IndiceClaves.clavePais(rs.getString("Code"));
+                paises.nombres[i] = rs.getString("Name");
+                paises.capitales[i] = entero(rs, "Capital");
+                paises.superficies[i] = decimal(rs, "SurfaceArea");
+                paises.anios[i] = entero(rs, "IndepYear");
+                paises.poblaciones[i] = entero(rs, "Population");
+                paises.esperanzas[i] = decimal(rs, "LifeExpectancy");
+                paises.pnbs[i] = decimal(rs, "GNP");
+            }
+        }
+        return paises;
+    }
+
+    private static TablaCiudades leerCiudades() throws SQLException {
+        TablaCiudades ciudades = new TablaCiudades();
+        try (Connection conn = abrir();
+             PreparedStatement ps = conn.prepareStatement(SQL_CIUDADES);
+             ResultSet rs = ps.executeQuery()) { // Se lee según el fetch size del perfil
+            while (rs.next()) {
+                ciudades.asegurar();
+                int i = ciudades.filas++;
+                ciudades.ids[i] = rs.getInt("ID");
+                ciudades.nombres[i] = rs.getString("Name");
+                ciudades.paises[i] = IndiceClaves.clavePais(rs.getString("CountryCode"));
+                ciudades.distritos[i] = rs.getString("District");
+                ciudades.poblaciones[i] = entero(rs, "Population");
+            }
+        }
+        return ciudades;
+    }
+
+    private static TablaIdiomas leerIdiomas() throws SQLException {
+        TablaIdiomas idiomas = new TablaIdiomas();
+        try (Connection conn = abrir();
+             PreparedStatement ps = conn.prepareStatement(SQL_IDIOMAS);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                idiomas.asegurar();
+                int i = idiomas.filas++;
+                idiomas.paises[i] = IndiceClaves.clavePais(rs.getString("CountryCode"));
+                idiomas.decimas[i] = TotalesIdiomas.decimas(rs.getDouble("Percentage"));
+            }
+        }
+        return idiomas;
+    }
+
+    private static Connection abrir() throws SQLException {
+        Connection conn = ConexionBD.conectarLectura();
+        if (conn == null) throw new SQLException("Sin conexión con la base de datos");
+        return conn;
+    }
+
+    private static int entero(ResultSet rs, String columna) throws SQLException {
+        int valor = rs.getInt(columna);
+        return rs.wasNull() ? SIN_VALOR : valor;
+    }
+
+    private static double decimal(ResultSet rs, String columna) throws SQLException {
+        double valor = rs.getDouble(columna);
+        return rs.wasNull() ? Double.NaN : valor;
+    }
+
+    // --- Reglas (cada una lee los arrays en paralelo y devuelve sus hallazgos) ---
+
+    /**
+     * Capital que no está en 'city' o que es una ciudad de otro país.
+     */
+    private static List<Hallazgo> comprobarCapitales(TablaPaises paises, TablaCiudades ciudades, long[] ciudadesPorId) {
+        return IntStream.range(0, paises.filas).parallel()
+                .filter(i -> paises.capitales[i] != SIN_VALOR)
+                .mapToObj(i -> {
+                    int ciudad = buscarCiudad(ciudadesPorId, paises.capitales[i]);
+                    if (ciudad < 0) {
+                        return new Hallazgo(Regla.CAPITAL_INEXISTENTE, "country", paises.codigos[i],
+                                "la capital " + paises.capitales[i] + " no existe en 'city'");
+                    }
+                    if (!ciudades.paises[ciudad].equals(paises.codigos[i])) {
+                        return new Hallazgo(Regla.CAPITAL_DE_OTRO_PAIS, "country", paises.codigos[i],
+                                "la capital " + ciudades.nombres[ciudad] + " (" + paises.capitales[i] + ") es de " + ciudades.paises[ciudad]);
+                    }
+                    if (paises.poblaciones[i] != SIN_VALOR && ciudades.poblaciones[ciudad] > paises.poblaciones[i]) {
+                        return new Hallazgo(Regla.VALOR_IMPROBABLE, "country", paises.codigos[i],
+                                "la capital tiene más habitantes (" + ciudades.poblaciones[ciudad] + ") que el país (" + paises.poblaciones[i] + ")");
+                    }
+                    return null;
+                })
+                .filter(hallazgo -> hallazgo != null)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Ciudades de un país que no existe, con población negativa o mayor que la de su país.
+     */
+    private static List<Hallazgo> comprobarCiudades(TablaPaises paises, TablaCiudades ciudades, Map<String, Integer> filaPais) {
+        return IntStream.range(0, ciudades.filas).parallel()
+                .mapToObj(i -> {
+                    String clave = String.valueOf(ciudades.ids[i]);
+                    Integer pais = filaPais.get(ciudades.paises[i]);
+                    if (pais == null) {
+                        return new Hallazgo(Regla.CIUDAD_HUERFANA, "city", clave,
+                                ciudades.nombres[i] + " es de " + ciudades.paises[i] + ", que no existe");
+                    }
+                    int poblacion = ciudades.poblaciones[i];
+                    if (poblacion != SIN_VALOR && poblacion < 0) {
+                        return new Hallazgo(Regla.VALOR_NEGATIVO, "city", clave, ciudades.nombres[i] + ": población " + poblacion);
+                    }
+                    if (poblacion != SIN_VALOR && paises.poblaciones[pais] != SIN_VALOR && poblacion > paises.poblaciones[pais]) {
+                        return new Hallazgo(Regla.VALOR_IMPROBABLE, "city", clave,
+                                ciudades.nombres[i] + " tiene más habitantes (" + poblacion + ") que " + ciudades.paises[i] + " (" + paises.poblaciones[pais] + ")");
+                    }
+                    return null;
+                })
+                .filter(hallazgo -> hallazgo != null)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Países sin idiomas, idiomas de países que no existen y sumas de porcentajes de más del 100%.
+     */
+    private static List<Hallazgo> comprobarIdiomas(TablaPaises paises, TablaIdiomas idiomas, Map<String, Integer> filaPais) {
+        Map<String, long[]> sumas = TotalesIdiomas.sumarPorPais(idiomas.paises, idiomas.decimas, idiomas.filas);
+        List<Hallazgo> hallazgos = IntStream.range(0, paises.filas).parallel()
+                .filter(i -> !sumas.containsKey(paises.codigos[i]))
+                .mapToObj(i -> new Hallazgo(Regla.PAIS_SIN_IDIOMAS, "country", paises.codigos[i], paises.nombres[i] + " no tiene ningún idioma"))
+                .collect(Collectors.toCollection(ArrayList::new));
+        sumas.forEach((codigo, suma) -> {
+            if (!filaPais.containsKey(codigo)) {
+                hallazgos.add(new Hallazgo(Regla.IDIOMA_HUERFANO, "countrylanguage", codigo, suma[1] + " idioma(s) de un país que no existe"));
+            }
+        });
+        for (TotalesIdiomas.Exceso exceso : TotalesIdiomas.excesosDe(sumas)) {
+            hallazgos.add(new Hallazgo(Regla.PORCENTAJES_EXCEDIDOS, "countrylanguage", exceso.getCodigoPais(),
+                    exceso.getIdiomas() + " idiomas suman un " + TotalesIdiomas.formatear(exceso.getTotal()) + "%"));
+        }
+        return hallazgos;
+    }
+
+    /**
+     * Números negativos o improbables en los campos de los países.
+     */
+    private static List<Hallazgo> comprobarNumerosPaises(TablaPaises paises) {
+        int anioActual = Year.now().getValue();
+        return IntStream.range(0, paises.filas).parallel()
+                .mapToObj(i -> {
+                    List<String> negativos = new ArrayList<>();
+                    List<String> improbables = new ArrayList<>();
+                    double superficie = paises.superficies[i];
+                    int poblacion = paises.poblaciones[i];
+                    if (superficie < 0) negativos.add("superficie " + superficie);
+                    if (poblacion != SIN_VALOR && poblacion < 0) negativos.add("población " + poblacion);
+                    if (paises.esperanzas[i] < 0) negativos.add("esperanza de vida " + paises.esperanzas[i]);
+                    if (paises.pnbs[i] < 0) negativos.add("PNB " + paises.pnbs[i]);
+                    if (paises.esperanzas[i] > MAX_ESPERANZA_VIDA) improbables.add("esperanza de vida " + paises.esperanzas[i]);
+                    if (paises.anios[i] != SIN_VALOR && paises.anios[i] > anioActual) improbables.add("independencia en " + paises.anios[i]);
+                    if (poblacion > 0 && superficie == 0) {
+                        improbables.add("población " + poblacion + " sin superficie");
+                    } else if (poblacion > 0 && superficie > 0 && poblacion / superficie > MAX_DENSIDAD) {
+                        improbables.add(String.format(Locale.ROOT, "densidad de %.0f hab/km²", poblacion / superficie));
+                    }
+                    List<Hallazgo> delPais = new ArrayList<>(2);
+                    if (!negativos.isEmpty()) delPais.add(new Hallazgo(Regla.VALOR_NEGATIVO, "country", paises.codigos[i], String.join(", ", negativos)));
+                    if (!improbables.isEmpty()) delPais.add(new Hallazgo(Regla.VALOR_IMPROBABLE, "country", paises.codigos[i], String.join(", ", improbables)));
+                    return delPais;
+                })
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Países con el mismo nombre (sin distinguir mayúsculas, acentos ni signos).
+     */
+    private static List<Hallazgo> comprobarNombresPaises(TablaPaises paises) {
+        Map<String, List<Integer>> porNombre = IntStream.range(0, paises.filas).parallel().boxed()
+                .filter(i -> paises.nombres[i] != null)
+                .collect(Collectors.groupingByConcurrent(i -> BuscadorAproximado.normalizar(paises.nombres[i])));
+        List<Hallazgo> hallazgos = new ArrayList<>();
+        for (List<Integer> filas : porNombre.values()) {
+            if (filas.size() < 2) continue;
+            Set<String> codigos = new HashSet<>();
+            for (int i : filas) codigos.add(paises.codigos[i]);
+            List<String> ordenados = new ArrayList<>(codigos);
+            Collections.sort(ordenados);
+            hallazgos.add(new Hallazgo(Regla.NOMBRE_DUPLICADO, "country", ordenados.get(0),
+                    "'" + paises.nombres[filas.get(0)] + "' también en " + String.join(", ", ordenados.subList(1, ordenados.size()))));
+        }
+        return hallazgos;
+    }
+
+    /**
+     * Ciudades con el mismo nombre en el mismo país y distrito.
+     */
+    private static List<Hallazgo> comprobarNombresCiudades(TablaCiudades ciudades) {
+        Map<String, List<Integer>> porNombre = IntStream.range(0, ciudades.filas).parallel().boxed()
+                .filter(i -> ciudades.nombres[i] != null)
+                .collect(Collectors.groupingByConcurrent(i -> ciudades.paises[i] + "|" + BuscadorAproximado.normalizar(ciudades.nombres[i])
+                        + "|" + (ciudades.distritos[i] == null ? "" : BuscadorAproximado.normalizar(ciudades.distritos[i]))));
+        List<Hallazgo> hallazgos = new ArrayList<>();
+        for (List<Integer> filas : porNombre.values()) {
+            if (filas.size() < 2) continue;
+            int[] ids = filas.stream().mapToInt(i -> ciudades.ids[i]).sorted().toArray();
+            int primera = filas.get(0);
+            hallazgos.add(new Hallazgo(Regla.NOMBRE_DUPLICADO, "city", String.valueOf(ids[0]),
+                    ciudades.nombres[primera] + " (" + ciudades.distritos[primera] + ", " + ciudades.paises[primera] + ") repetida en los ID "
+                            + Arrays.stream(ids, 1, ids.length).mapToObj(String::valueOf).collect(Collectors.joining(", "))));
+        }
+        return hallazgos;
+    }
+
+    // --- Búsqueda de ciudades por ID ---
+
+    /**
+     * @return Para cada ciudad, su ID en los 32 bits altos y su fila en los bajos, ordenado (por ID).
+     */
+    private static long[] ordenarPorId(TablaCiudades ciudades) {
+        long[] orden = new long[ciudades.filas];
+        for (int i = 0; i < ciudades.filas; i++) orden[i] = ((long) ciudades.ids[i] << 32) | i;
+        Arrays.parallelSort(orden);
+        return orden;
+    }
+
+    /**
+     * @return La fila de la ciudad con ese ID, o -1 si no existe (búsqueda binaria).
+     */
+    private static int buscarCiudad(long[] orden, int id) {
+        int inicio = 0, fin = orden.length - 1;
+        while (inicio <= fin) {
+            int medio = (inicio + fin) >>> 1;
+            int actual = (int) (orden[medio] >> 32);
+            if (actual < id) inicio = medio + 1;
+            else if (actual > id) fin = medio - 1;
+            else return (int) orden[medio];
+        }
+        return -1;
+    }
+}
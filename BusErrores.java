@@ -0,0 +1,109 @@
+// Archivo: BusErrores.java
+package Actividad;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Canal de errores de la capa de datos. Los Gestores no muestran diálogos: publican un
+ * ErrorDatos aquí y devuelven su resultado habitual (false, null o lista vacía).
+ *
+ * - La interfaz gráfica se suscribe y decide cómo mostrarlos (Controlador los agrupa en un
+ *   único resumen cuando llegan muchos seguidos).
+ * - Las operaciones masivas o en segundo plano abren un Recolector en su hilo: mientras está
+ *   abierto, los errores de ese hilo se acumulan en él en lugar de llegar a los suscriptores,
+ *   y la operación continúa e informa al final.
+ * - Sin suscriptores (modo por lotes, servidor HTTP) el error sólo queda en el Registro.
+ *
+ * Todos los errores se anotan en el Registro, se entreguen o no.
+ */
+public class BusErrores {
+
+    /**
+     * Acumula los errores publicados en un hilo mientras está abierto.
+     * Se usa con try-with-resources: try (BusErrores.Recolector errores = BusErrores.recoger()) { ... }
+     */
+    public static class Recolector implements AutoCloseable {
+        private final List<ErrorDatos> errores = new ArrayList<>();
+
+        private Recolector() {
+        }
+
+        /**
+         * @return Los errores recogidos hasta ahora, en orden de llegada.
+         */
+        public List<ErrorDatos> getErrores() {
+            return Collections.unmodifiableList(errores);
+        }
+
+        /**
+         * @return true si se ha recogido algún error.
+         */
+        public boolean hayErrores() {
+            return !errores.isEmpty();
+        }
+
+        /**
+         * Deja de recoger errores en este hilo.
+         */
+        @Override
+        public void close() {
+            Deque<Recolector> pila = recolectores.get();
+            pila.remove(this);
+            if (pila.isEmpty()) recolectores.remove();
+        }
+    }
+
+    // Suscriptores (normalmente la interfaz gráfica). Se leen mucho más de lo que cambian.
+    private static final List<Consumer<ErrorDatos>> suscriptores = new CopyOnWriteArrayList<>();
+    // Recolectores abiertos en cada hilo; el más reciente recibe los errores
+    private static final ThreadLocal<Deque<Recolector>> recolectores = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * Publica un error: lo registra y lo entrega al recolector del hilo o, si no hay, a los suscriptores.
+     * Los suscriptores se llaman en el hilo que publica; si tocan Swing deben pasar al EDT.
+     * @param error El error producido.
+     */
+    public static void publicar(ErrorDatos error) {
+        Registro.error(error.getOperacion(), error.getCodigoPais(), error.getDetalle(), error.getMensajeCompleto());
+        Recolector recolector = recolectores.get().peek();
+        if (recolector != null) {
+            recolector.errores.add(error);
+            return;
+        }
+        for (Consumer<ErrorDatos> suscriptor : suscriptores) {
+            suscriptor.accept(error);
+        }
+    }
+
+    /**
+     * Abre un recolector en el hilo actual.
+     * @return El recolector, que hay que cerrar al terminar la operación.
+     */
+    public static Recolector recoger() {
+        Recolector recolector = new Recolector();
+        recolectores.get().push(recolector);
+        return recolector;
+    }
+
+    /**
+     * Suscribe un receptor de errores.
+     * @param suscriptor El receptor.
+     */
+    public static void suscribir(Consumer<ErrorDatos> suscriptor) {
+        suscriptores.add(suscriptor);
+    }
+
+    /**
+     * Cancela una suscripción.
+     * @param suscriptor El receptor suscrito con suscribir().
+     */
+    public static void cancelarSuscripcion(Consumer<ErrorDatos> suscriptor) {
+        suscriptores.remove(suscriptor);
+    }
+}
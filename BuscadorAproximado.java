@@ -0,0 +1,306 @@
+// Archivo: BuscadorAproximado.java
+package Actividad;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Búsqueda aproximada en memoria, tolerante a erratas ("Phillipines", "Ukrane").
+ * Los textos se normalizan (minúsculas, sin acentos ni signos) y se indexan por trigramas. Una consulta
+ * sólo calcula la distancia de edición (acotada) con los textos que comparten suficientes trigramas con
+ * ella: cada edición estropea como mucho tres trigramas, así que un texto a distancia d de la consulta
+ * conserva al menos (trigramas de la consulta - 3·d). También se acepta que la consulta sea el
+ * principio del texto, con erratas, para autocompletar mientras se escribe.
+ *
+ * Hay dos índices compartidos, de países (nombre y nombre local -> código) y de idiomas conocidos.
+ * Se construyen en segundo plano la primera vez que se piden y se rehacen cuando CachePaises avisa de
+ * que pueden haber cambiado los nombres de los países o los idiomas (no con cualquier otra edición);
+ * mientras tanto se usa el anterior (o ninguno), así que nunca se consulta la base de datos en el hilo
+ * de Swing.
+ *
+ * @param <T> Valor asociado a cada texto (el código del país, el nombre del idioma...).
+ */
+public class BuscadorAproximado<T> {
+
+    /**
+     * Un resultado de la búsqueda.
+     */
+    public static class Sugerencia<T> {
+        private final String texto;
+        private final T valor;
+        private final int distancia;
+        private final boolean prefijo; // La consulta coincide con el principio del texto, no con el texto entero
+
+        Sugerencia(String texto, T valor, int distancia, boolean prefijo) {
+            this.texto = texto;
+            this.valor = valor;
+            this.distancia = distancia;
+            this.prefijo = prefijo;
+        }
+
+        public String getTexto() { return texto; }
+        public T getValor() { return valor; }
+        public int getDistancia() { return distancia; }
+        public boolean isPrefijo() { return prefijo; }
+
+        @Override
+        public String toString() {
+            return texto;
+        }
+    }
+
+    private final List<String> textos = new ArrayList<>();
+    private final List<String> normalizados = new ArrayList<>();
+    private final List<T> valores = new ArrayList<>();
+    private final Map<String, List<Integer>> trigramas = new HashMap<>(); // Trigrama -> textos que lo contienen
+
+    /**
+     * Añade un texto al índice. Se llama sólo mientras se construye, antes de publicar el índice.
+     */
+    public void anadir(String texto, T valor) {
+        if (texto == null) return;
+        String normalizado = normalizar(texto);
+        if (normalizado.isEmpty()) return;
+        int id = textos.size();
+        textos.add(texto);
+        normalizados.add(normalizado);
+        valores.add(valor);
+        for (String trigrama : trigramasDe(normalizado)) {
+            List<Integer> ids = trigramas.computeIfAbsent(trigrama, t -> new ArrayList<>());
+            if (ids.isEmpty() || ids.get(ids.size() - 1) != id) ids.add(id); // Un trigrama repetido cuenta una vez
+        }
+    }
+
+    /**
+     * @return El número de textos indexados.
+     */
+    public int tamanio() {
+        return textos.size();
+    }
+
+    /**
+     * Busca los textos más parecidos a la consulta.
+     * @param consulta El texto escrito.
+     * @param maximo Número máximo de sugerencias.
+     * @return Las sugerencias ordenadas: primero las exactas, después por distancia, las del texto entero
+     *         antes que las de sólo el principio y, a igualdad, las más cortas. Un mismo valor aparece una vez.
+     */
+    public List<Sugerencia<T>> buscar(String consulta, int maximo) {
+        String normalizada = consulta == null ? "" : normalizar(consulta);
+        if (normalizada.isEmpty() || textos.isEmpty()) return Collections.emptyList();
+        int tolerancia = tolerancia(normalizada.length());
+
+        // Recuento de trigramas compartidos con cada texto
+        List<String> deConsulta = trigramasDe(normalizada);
+        int[] compartidos = new int[textos.size()];
+        for (String trigrama : deConsulta) {
+            List<Integer> ids = trigramas.get(trigrama);
+            if (ids == null) continue;
+            for (int id : ids) compartidos[id]++;
+        }
+        // El trigrama final (con el relleno del final) no se conserva al buscar por el principio
+        int minimo = deConsulta.size() - 1 - 3 * tolerancia;
+
+        List<Sugerencia<T>> encontradas = new ArrayList<>();
+        for (int id = 0; id < textos.size(); id++) {
+            if (minimo > 0 && compartidos[id] < minimo) continue;
+            String candidato = normalizados.get(id);
+            int[] distancias = distancias(normalizada, candidato, tolerancia);
+            if (distancias == null) continue;
+            boolean prefijo = distancias[0] > distancias[1];
+            int distancia = prefijo ? distancias[1] : distancias[0];
+            if (distancia >= normalizada.length()) continue; // Sin nada en común (consultas de una o dos letras)
+            encontradas.add(new Sugerencia<>(textos.get(id), valores.get(id), distancia, prefijo));
+        }
+        encontradas.sort((a, b) -> {
+            if (a.distancia != b.distancia) return Integer.compare(a.distancia, b.distancia);
+            if (a.prefijo != b.prefijo) return a.prefijo ? 1 : -1;
+            return Integer.compare(a.texto.length(), b.texto.length());
+        });
+
+        List<Sugerencia<T>> resultado = new ArrayList<>();
+        List<T> vistos = new ArrayList<>();
+        for (Sugerencia<T> sugerencia : encontradas) {
+            if (vistos.contains(sugerencia.valor)) continue; // Nombre y nombre local del mismo país
+            vistos.add(sugerencia.valor);
+            resultado.add(sugerencia);
+            if (resultado.size() == maximo) break;
+        }
+        return resultado;
+    }
+
+    /**
+     * @return Las ediciones que se toleran según la longitud de la consulta.
+     */
+    static int tolerancia(int longitud) {
+        if (longitud <= 4) return 1;
+        return longitud <= 8 ? 2 : 3;
+    }
+
+    /**
+     * Distancia de edición (Levenshtein) entre dos textos ya normalizados, con cota.
+     * @return La distancia, o maximo + 1 si es mayor que la cota.
+     */
+    static int distancia(String a, String b, int maximo) {
+        if (Math.abs(a.length() - b.length()) > maximo) return maximo + 1;
+        int[] d = distancias(a, b, maximo);
+        return d == null || d[0] > maximo ? maximo + 1 : d[0];
+    }
+
+    /**
+     * Distancia de edición entre dos textos cualesquiera, normalizándolos antes (por ejemplo, dos idiomas de un país).
+     */
+    public static int distanciaTextos(String a, String b, int maximo) {
+        return distancia(normalizar(a), normalizar(b), maximo);
+    }
+
+    /**
+     * Calcula a la vez la distancia de la consulta al texto entero y a su mejor principio.
+     * Se abandona en cuanto toda una fila supera la cota (ninguna de las dos podrá bajar de ahí).
+     * @return {distancia al texto, distancia al principio}, o null si ambas superan la cota.
+     */
+    private static int[] distancias(String consulta, String texto, int maximo) {
+        int n = texto.length();
+        int[] anterior = new int[n + 1];
+        int[] actual = new int[n + 1];
+        for (int j = 0; j <= n; j++) anterior[j] = j;
+        for (int i = 1; i <= consulta.length(); i++) {
+            actual[0] = i;
+            int minimoFila = actual[0];
+            char c = consulta.charAt(i - 1);
+            for (int j = 1; j <= n; j++) {
+                int coste = c == texto.charAt(j - 1) ? 0 : 1;
+                actual[j] = Math.min(Math.min(actual[j - 1] + 1, anterior[j] + 1), anterior[j - 1] + coste);
+                if (actual[j] < minimoFila) minimoFila = actual[j];
+            }
+            if (minimoFila > maximo) return null;
+            int[] intercambio = anterior;
+            anterior = actual;
+            actual = intercambio;
+        }
+        int mejorPrincipio = anterior[0];
+        for (int j = 1; j <= n; j++) mejorPrincipio = Math.min(mejorPrincipio, anterior[j]);
+        if (anterior[n] > maximo && mejorPrincipio > maximo) return null;
+        return new int[] { anterior[n], mejorPrincipio };
+    }
+
+    /**
+     * Minúsculas, sin acentos y con los signos reducidos a un espacio ("Côte d'Ivoire" -> "cote d ivoire").
+     */
+    static String normalizar(String texto) {
+        String sinAcentos = Normalizer.normalize(texto, Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+        return sinAcentos.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    /**
+     * Trigramas del texto con dos espacios de relleno al principio y uno al final (como pg_trgm),
+     * para que las primeras letras pesen más.
+     */
+    private static List<String> trigramasDe(String normalizado) {
+        String relleno = "  " + normalizado + " ";
+        List<String> resultado = new ArrayList<>(relleno.length() - 2);
+        for (int i = 0; i + 3 <= relleno.length(); i++) {
+            String trigrama = relleno.substring(i, i + 3);
+            if (!resultado.contains(trigrama)) resultado.add(trigrama);
+        }
+        return resultado;
+    }
+
+    // --- Índices compartidos ---
+
+    private static final ExecutorService constructor = Executors.newSingleThreadExecutor(r -> {
+        Thread hilo = new Thread(r, "busqueda-indices");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    private static final AtomicBoolean construyendo = new AtomicBoolean(false);
+    private static volatile BuscadorAproximado<String> indicePaises = new BuscadorAproximado<>();
+    private static volatile BuscadorAproximado<String> indiceIdiomas = new BuscadorAproximado<>();
+    private static volatile long versionNombres = -1; // CachePaises.getVersionNombres() con la que se construyó indicePaises
+    private static volatile long versionIdiomas = -1;
+    private static List<String> filasPaises = List.of(); // Datos del último índice, para no rehacerlo si no cambian (sólo el hilo constructor)
+    private static List<String> conocidosIdiomas = List.of();
+
+    /**
+     * @return El índice de países (texto: nombre o nombre local; valor: código). Puede estar vacío o
+     *         algo atrasado mientras se construye el nuevo en segundo plano.
+     */
+    public static BuscadorAproximado<String> paises() {
+        actualizarSiHaceFalta();
+        return indicePaises;
+    }
+
+    /**
+     * @return El índice de idiomas conocidos (texto y valor: el nombre del idioma).
+     */
+    public static BuscadorAproximado<String> idiomas() {
+        actualizarSiHaceFalta();
+        return indiceIdiomas;
+    }
+
+    /**
+     * Si cambiaron los nombres de los países o los idiomas desde la última construcción, rehace en segundo
+     * plano el índice afectado. Si lo leído coincide con lo indexado sólo se anota la versión.
+     */
+    private static void actualizarSiHaceFalta() {
+        long nombres = CachePaises.getVersionNombres();
+        long idiomas = CachePaises.getVersionIdiomas();
+        boolean conPaises = nombres != versionNombres;
+        boolean conIdiomas = idiomas != versionIdiomas;
+        if (!conPaises && !conIdiomas || !construyendo.compareAndSet(false, true)) return;
+        constructor.execute(() -> {
+            try {
+                if (conPaises) construirPaises(nombres);
+                if (conIdiomas) construirIdiomas(idiomas);
+            } finally {
+                construyendo.set(false);
+            }
+        });
+    }
+
+    private static void construirPaises(long version) {
+        long inicio = System.nanoTime();
+        List<String[]> nombres = GestorPaises.obtenerNombresPaises();
+        if (nombres.isEmpty()) return; // Error de conexión: se reintenta en la próxima búsqueda
+        List<String> filas = new ArrayList<>(nombres.size());
+        for (String[] fila : nombres) filas.add(fila[0] + '\u0000' + fila[1] + '\u0000' + fila[2]);
+        Collections.sort(filas);
+        if (!filas.equals(filasPaises)) {
+            BuscadorAproximado<String> nuevo = new BuscadorAproximado<>();
+            for (String[] fila : nombres) {
+                nuevo.anadir(fila[1], fila[0]);
+                if (fila[2] != null && !fila[2].equalsIgnoreCase(fila[1])) nuevo.anadir(fila[2], fila[0]);
+            }
+            indicePaises = nuevo;
+            filasPaises = filas;
+            if (Registro.activo(Registro.Nivel.DEPURACION)) {
+                Registro.depuracion("busqueda.indices", null, nuevo.tamanio() + " nombres", System.nanoTime() - inicio, nuevo.tamanio());
+            }
+        }
+        versionNombres = version;
+    }
+
+    private static void construirIdiomas(long version) {
+        long inicio = System.nanoTime();
+        List<String> conocidos = GestorIdiomas.obtenerIdiomasDistintos();
+        if (conocidos.isEmpty()) return;
+        if (!conocidos.equals(conocidosIdiomas)) {
+            BuscadorAproximado<String> nuevo = new BuscadorAproximado<>();
+            for (String idioma : conocidos) nuevo.anadir(idioma, idioma);
+            indiceIdiomas = nuevo;
+            conocidosIdiomas = conocidos;
+            if (Registro.activo(Registro.Nivel.DEPURACION)) {
+                Registro.depuracion("busqueda.indices", null, nuevo.tamanio() + " idiomas", System.nanoTime() - inicio, nuevo.tamanio());
+            }
+        }
+        versionIdiomas = version;
+    }
+}
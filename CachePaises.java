@@ -0,0 +1,215 @@
+// Archivo: CachePaises.java
+package Actividad;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Caché compartida de los datos de lectura (lista de países, detalles, idiomas y continentes).
+ * La usan tanto la interfaz Swing como el servidor HTTP (ServidorAPI), de modo que las
+ * consultas a la base de datos se hacen una sola vez y se reutilizan hasta que un Gestor
+ * modifica los datos y la invalida.
+ *
+ * Cada invalidación incrementa un número de versión global, que el servidor HTTP usa para
+ * calcular las ETag de sus respuestas.
+ * Los objetos devueltos se comparten entre hilos y no deben modificarse.
+ */
+public class CachePaises {
+
+    // Lista resumida de países (Código, Nombre, Continente, Región), null si no está cargada
+    private static volatile List<ModeloPais> listaPaises;
+    // Continentes distintos, null si no están cargados
+    private static volatile List<String> continentes;
+    // Detalles completos de cada país, por código
+    private static final Map<String, ModeloPais> detalles = new ConcurrentHashMap<>();
+    // Idiomas de cada país, por código
+    private static final Map<String, List<ModeloIdioma>> idiomas = new ConcurrentHashMap<>();
+    // Versión de los datos: cambia cada vez que se invalida algo
+    private static final AtomicLong version = new AtomicLong(1);
+    // Versiones más finas para BuscadorAproximado: cambian sólo si pueden cambiar los nombres de los países o los idiomas
+    private static final AtomicLong versionNombres = new AtomicLong(1);
+    private static final AtomicLong versionIdiomas = new AtomicLong(1);
+    // Quienes mantienen datos derivados de los países (RankingPaises, IndicadoresPaises, NavegadorPaises): reciben los códigos invalidados, o null si es todo
+    private static final List<Consumer<Collection<String>>> oyentes = new CopyOnWriteArrayList<>();
+
+    /**
+     * @return La lista resumida de países ordenada por nombre (no modificable).
+     */
+    public static List<ModeloPais> obtenerListaPaises() {
+        List<ModeloPais> lista = listaPaises;
+        if (lista == null) {
+            long versionLeida = version.get();
+            lista = Collections.unmodifiableList(GestorPaises.cargarListaPaises());
+            // Una lista vacía suele indicar un error de conexión: no se guarda.
+            // Tampoco se guarda si alguien invalidó la caché mientras se consultaba.
+            if (!lista.isEmpty() && versionLeida == version.get()) listaPaises = lista;
+        }
+        return lista;
+    }
+
+    /**
+     * @return Los continentes distintos, en orden alfabético (no modificable).
+     */
+    public static List<String> obtenerContinentes() {
+        List<String> lista = continentes;
+        if (lista == null) {
+            long versionLeida = version.get();
+            lista = Collections.unmodifiableList(GestorPaises.obtenerContinentes());
+            if (!lista.isEmpty() && versionLeida == version.get()) continentes = lista;
+        }
+        return lista;
+    }
+
+    /**
+     * @param codigoPais El código del país.
+     * @return Los detalles completos del país, o null si no existe.
+     */
+    public static ModeloPais obtenerDetalles(String codigoPais) {
+        ModeloPais pais = detalles.get(codigoPais);
+        if (pais == null) {
+            long versionLeida = version.get();
+            pais = GestorPaises.cargarDetallesPais(codigoPais);
+            if (pais != null && versionLeida == version.get()) detalles.put(codigoPais, pais);
+        }
+        return pais;
+    }
+
+    /**
+     * @param codigoPais El código del país.
+     * @return Los idiomas del país (no modificable, vacía si no tiene, si no existe o si falla la consulta).
+     */
+    public static List<ModeloIdioma> obtenerIdiomas(String codigoPais) {
+        List<ModeloIdioma> lista = idiomas.get(codigoPais);
+        if (lista == null) {
+            long versionLeida = version.get();
+            lista = Collections.unmodifiableList(GestorIdiomas.cargarIdiomas(codigoPais));
+            // Una lista vacía puede ser un error de conexión o un código que no existe: no se guarda
+            if (!lista.isEmpty() && versionLeida == version.get()) idiomas.put(codigoPais, lista);
+        }
+        return lista;
+    }
+
+    /**
+     * Descarta todo lo que depende de un país (detalles, idiomas, lista y continentes).
+     * Se llama tras insertar, modificar o eliminar un país.
+     * @param codigoPais El código del país modificado.
+     */
+    public static void invalidarPais(String codigoPais) {
+        version.incrementAndGet(); // Primero la versión: así una carga en curso no guarda datos antiguos
+        versionNombres.incrementAndGet();
+        versionIdiomas.incrementAndGet(); // Al eliminar un país desaparecen sus idiomas
+        detalles.remove(codigoPais);
+        idiomas.remove(codigoPais);
+        listaPaises = null;
+        continentes = null;
+        avisar(List.of(codigoPais));
+    }
+
+    /**
+     * Descarta los detalles de varios países tras una edición masiva, conservando sus idiomas.
+     * @param codigos Los códigos de los países modificados.
+     * @param conLista true si cambió algún dato de la lista resumida (Código, Nombre, Continente, Región).
+     * @param conNombres true si cambió el nombre o el nombre local de algún país.
+     */
+    public static void invalidarPaises(Collection<String> codigos, boolean conLista, boolean conNombres) {
+        version.incrementAndGet();
+        if (conNombres) versionNombres.incrementAndGet();
+        for (String codigo : codigos) detalles.remove(codigo);
+        if (conLista) listaPaises = null;
+        avisar(codigos);
+    }
+
+    /**
+     * Descarta los idiomas en caché de un país. Se llama tras cualquier cambio en 'countrylanguage'.
+     * @param codigoPais El código del país.
+     */
+    public static void invalidarIdiomas(String codigoPais) {
+        version.incrementAndGet();
+        versionIdiomas.incrementAndGet();
+        idiomas.remove(codigoPais);
+    }
+
+    /**
+     * Vacía la caché completa (por ejemplo tras un proceso por lotes).
+     */
+    public static void invalidarTodo() {
+        version.incrementAndGet();
+        versionNombres.incrementAndGet();
+        versionIdiomas.incrementAndGet();
+        detalles.clear();
+        idiomas.clear();
+        listaPaises = null;
+        continentes = null;
+        avisar(null);
+    }
+
+    /**
+     * Sustituye la lista resumida por una versión refrescada parcialmente (ver RefrescoDelta)
+     * y descarta los detalles de los países que cambiaron. Si alguien invalidó la caché después
+     * de 'versionLeida' no se guarda la lista, sólo se descartan esos detalles.
+     * @param lista La lista completa ya actualizada, ordenada por nombre.
+     * @param cambiados Los códigos de los países añadidos, modificados o eliminados.
+     * @param versionLeida La versión de la caché antes de consultar la base de datos.
+     */
+    public static void actualizarLista(List<ModeloPais> lista, Collection<String> cambiados, long versionLeida) {
+        boolean vigente = version.compareAndSet(versionLeida, versionLeida + 1);
+        if (!vigente) version.incrementAndGet();
+        if (!cambiados.isEmpty()) versionNombres.incrementAndGet();
+        for (String codigo : cambiados) detalles.remove(codigo);
+        continentes = null; // Puede haber cambiado el continente de algún país
+        listaPaises = vigente ? Collections.unmodifiableList(lista) : null;
+        avisar(cambiados);
+    }
+
+    /**
+     * Registra a quien debe enterarse de los países invalidados (en el hilo que invalida: debe ser rápido).
+     * @param oyente Recibe los códigos de los países, o null si se invalidó todo. Los idiomas no se avisan.
+     */
+    public static void suscribir(Consumer<Collection<String>> oyente) {
+        oyentes.add(oyente);
+    }
+
+    /**
+     * Deja de avisar a un oyente registrado con suscribir().
+     */
+    public static void desuscribir(Consumer<Collection<String>> oyente) {
+        oyentes.remove(oyente);
+    }
+
+    private static void avisar(Collection<String> codigos) {
+        for (Consumer<Collection<String>> oyente : oyentes) {
+            try {
+                oyente.accept(codigos);
+            } catch (RuntimeException e) {
+                Registro.error("cache.oyente", null, null, String.valueOf(e));
+            }
+        }
+    }
+
+    /**
+     * @return La versión actual de los datos en caché.
+     */
+    public static long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * @return Una versión que sólo cambia cuando puede haber cambiado el nombre de algún país.
+     */
+    public static long getVersionNombres() {
+        return versionNombres.get();
+    }
+
+    /**
+     * @return Una versión que sólo cambia cuando puede haber cambiado algún idioma.
+     */
+    public static long getVersionIdiomas() {
+        return versionIdiomas.get();
+    }
+}
@@ -0,0 +1,132 @@
+// Archivo: CambiosDatos.java
+package Actividad;
+
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Registro de cambios compartido entre los clientes que usan la misma base de datos.
+ * Cada escritura de los Gestores (y de la unidad de trabajo y el modo por lotes) añade una fila
+ * a la tabla 'registro_cambios' con el tipo de cambio y el país afectado; ConsumidorCambios la
+ * consulta periódicamente en los demás clientes para actualizar sus cachés y sus tablas.
+ *
+ * La tabla se crea con preparar() al arrancar (SQL estándar de MySQL, sin disparadores ni binlog,
+ * así que vale también para MariaDB u otro servidor compatible en local). Hasta entonces, o si no
+ * se pudo crear, anotar no hace nada: las escrituras nunca fallan por el registro de cambios.
+ */
+public class CambiosDatos {
+
+    /**
+     * Tipos de cambio que se anotan.
+     */
+    public enum Tipo {
+        PAIS_INSERTADO, PAIS_MODIFICADO, PAIS_ELIMINADO,
+        IDIOMAS_MODIFICADOS, // Alta, modificación o baja de idiomas de un país
+        TODO                 // Cambios sin detallar (modo por lotes): hay que recargarlo todo
+    }
+
+    /**
+     * Un cambio leído de la tabla.
+     */
+    public static class Cambio {
+        private final long id;
+        private final Tipo tipo;
+        private final String codigoPais; // null en los cambios de tipo TODO
+        private final String idioma;     // Sólo en IDIOMAS_MODIFICADOS, y puede ser null
+
+        Cambio(long id, Tipo tipo, String codigoPais, String idioma) {
+            this.id = id;
+            this.tipo = tipo;
+            this.codigoPais = codigoPais;
+            this.idioma = idioma;
+        }
+
+        public long getId() { return id; }
+        public Tipo getTipo() { return tipo; }
+        public String getCodigoPais() { return codigoPais; }
+        public String getIdioma() { return idioma; }
+
+        @Override
+        public String toString() {
+            return id + " " + tipo + (codigoPais == null ? "" : " " + codigoPais) + (idioma == null ? "" : " " + idioma);
+        }
+    }
+
+    static final String SQL_CREAR = "CREATE TABLE IF NOT EXISTS registro_cambios ("
+            + "Id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, "
+            + "Tipo VARCHAR(20) NOT NULL, "
+            + "CountryCode CHAR(3) NULL, "
+            + "Language CHAR(30) NULL, "
+            + "Origen CHAR(16) NOT NULL, "
+            + "Instante TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, "
+            + "INDEX (Instante))";
+    static final String SQL_ANOTAR = "INSERT INTO registro_cambios (Tipo, CountryCode, Language, Origen) VALUES (?, ?, ?, ?)";
+
+    // Identifica a este proceso: el consumidor ignora los cambios que él mismo anotó
+    static final String ORIGEN = String.format("%016x", new SecureRandom().nextLong());
+
+    private static volatile boolean disponible = false;
+
+    /**
+     * Crea la tabla si no existe y activa las anotaciones. No debe llamarse dentro de una
+     * transacción: en MySQL el CREATE TABLE la confirmaría.
+     * @return true si la tabla está disponible.
+     */
+    public static boolean preparar() {
+        if (disponible) return true;
+        try (Connection conn = ConexionBD.conectar()) {
+            if (conn == null) return false; // ConexionBD ya registra el motivo
+            try (Statement st = conn.createStatement()) {
+                st.executeUpdate(SQL_CREAR);
+                disponible = true;
+            }
+        } catch (SQLException e) {
+            Registro.aviso("cambios.preparar", null, "sin registro de cambios entre clientes", e.getMessage());
+        }
+        return disponible;
+    }
+
+    /**
+     * @return true si los cambios se están anotando.
+     */
+    public static boolean isDisponible() {
+        return disponible;
+    }
+
+    /**
+     * Anota un cambio con la conexión de la escritura (dentro de su transacción, si la tiene,
+     * para que el cambio y su anotación se confirmen o se deshagan juntos).
+     * @param conn La conexión con la que se hizo la escritura.
+     * @param tipo El tipo de cambio.
+     * @param codigoPais El país afectado (null para TODO).
+     * @param idioma El idioma afectado, o null.
+     */
+    static void anotar(Connection conn, Tipo tipo, String codigoPais, String idioma) {
+        anotar(conn, tipo, Collections.singletonList(codigoPais), idioma);
+    }
+
+    /**
+     * Anota el mismo cambio para varios países en un único batch.
+     */
+    static void anotar(Connection conn, Tipo tipo, Collection<String> codigos, String idioma) {
+        if (!disponible || codigos.isEmpty()) return;
+        try (PreparedStatement ps = conn.prepareStatement(SQL_ANOTAR)) {
+            for (String codigo : codigos) {
+                ps.setString(1, tipo.name());
+                ps.setString(2, codigo);
+                ps.setString(3, idioma);
+                ps.setString(4, ORIGEN);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        } catch (SQLException e) {
+            // En MySQL un INSERT fallido no anula la transacción: la escritura sigue adelante sin aviso a los demás
+            Registro.aviso("cambios.anotar", codigos.size() == 1 ? codigos.iterator().next() : null, tipo.name(), e.getMessage());
+        }
+    }
+}
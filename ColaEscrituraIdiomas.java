@@ -0,0 +1,281 @@
+// Archivo: ColaEscrituraIdiomas.java
+package Actividad;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Escritura diferida (write-behind) de los cambios de idiomas hechos desde la interfaz.
+ * Los cambios se aplican al momento en la tabla de idiomas y se encolan aquí; pasado un breve
+ * intervalo sin cambios nuevos se guardan en segundo plano, una transacción por país con una
+ * UnidadTrabajo (un batch por tipo de cambio).
+ *
+ * Los cambios del mismo (país, idioma) se combinan mientras esperan, con las mismas reglas que
+ * la unidad de trabajo: añadir y corregir un idioma es un único INSERT, y añadirlo y quitarlo
+ * no envía nada. Lo pendiente se guarda también al cerrar la aplicación (incluido System.exit).
+ * Si un país no se puede guardar, sus cambios se descartan, el error se publica en BusErrores
+ * y se avisa a los suscriptores para que vuelvan a mostrar lo que hay en la base de datos.
+ *
+ * La edición en línea de la tabla de idiomas (oficialidad y porcentaje) pasa siempre por aquí,
+ * con el idioma original para que al guardar se detecten los cambios de otros usuarios.
+ * Los botones de añadir y borrar lengua sólo la usan con -Didiomas.escrituraDiferida=true
+ * (desactivada por defecto). -Didiomas.esperaMs fija el intervalo antes de guardar (1500 por defecto).
+ */
+public class ColaEscrituraIdiomas {
+
+    private static final boolean ACTIVA = Boolean.getBoolean("idiomas.escrituraDiferida");
+    private static final long ESPERA_MS = Long.getLong("idiomas.esperaMs", 1500);
+
+    /**
+     * Tipos de cambio pendiente.
+     */
+    private enum TipoCambio { INSERTAR, MODIFICAR, ELIMINAR }
+
+    /**
+     * Cambio pendiente de un idioma de un país.
+     */
+    private static class Pendiente {
+        TipoCambio tipo;
+        ModeloIdioma idioma;
+        ModeloIdioma original; // Sólo en MODIFICAR: el idioma tal como se leyó (null = sin control optimista)
+
+        Pendiente(TipoCambio tipo, ModeloIdioma idioma, ModeloIdioma original) {
+            this.tipo = tipo;
+            this.idioma = idioma;
+            this.original = original;
+        }
+    }
+
+    // País -> (idioma -> cambio pendiente), en el orden en que se hicieron. Protegido por 'cerrojo'
+    private static final Map<String, Map<String, Pendiente>> pendientes = new LinkedHashMap<>();
+    private static final Object cerrojo = new Object();
+    // Cambios que se están guardando ahora mismo (para que aplicarPendientes los siga viendo)
+    private static String paisEnCurso;
+    private static Map<String, Pendiente> cambiosEnCurso;
+    // Sólo un vaciado a la vez, para que los cambios de un país no se guarden desordenados
+    private static final Object cerrojoVaciado = new Object();
+    private static final List<Consumer<String>> suscriptores = new CopyOnWriteArrayList<>();
+    private static ScheduledExecutorService planificador;
+    private static ScheduledFuture<?> vaciadoProgramado;
+
+    /**
+     * @return true si los botones de añadir y borrar lengua usan la escritura diferida.
+     */
+    public static boolean isActiva() {
+        return ACTIVA;
+    }
+
+    /**
+     * Encola el alta de un idioma.
+     */
+    public static void insertarIdioma(String codigoPais, ModeloIdioma idioma) {
+        encolar(codigoPais, idioma.getIdioma(), TipoCambio.INSERTAR, idioma, null);
+    }
+
+    /**
+     * Encola la modificación de un idioma (oficialidad y porcentaje).
+     */
+    public static void modificarIdioma(String codigoPais, ModeloIdioma idioma) {
+        encolar(codigoPais, idioma.getIdioma(), TipoCambio.MODIFICAR, idioma, null);
+    }
+
+    /**
+     * Encola la modificación de un idioma con control de concurrencia optimista: al guardar sólo
+     * se escriben los campos que difieren de 'original' (ver GestorIdiomas.modificarIdioma).
+     * @param original El idioma tal como se leyó de la base de datos.
+     * @param idioma El idioma con los datos nuevos.
+     */
+    public static void modificarIdioma(String codigoPais, ModeloIdioma original, ModeloIdioma idioma) {
+        encolar(codigoPais, idioma.getIdioma(), TipoCambio.MODIFICAR, idioma, original);
+    }
+
+    /**
+     * Encola la baja de un idioma.
+     */
+    public static void eliminarIdioma(String codigoPais, String nombreIdioma) {
+        encolar(codigoPais, nombreIdioma, TipoCambio.ELIMINAR, new ModeloIdioma(nombreIdioma, false, 0), null);
+    }
+
+    /**
+     * Combina el cambio con el pendiente del mismo idioma y programa el vaciado.
+     */
+    private static void encolar(String codigoPais, String nombreIdioma, TipoCambio tipo, ModeloIdioma idioma, ModeloIdioma original) {
+        synchronized (cerrojo) {
+            Map<String, Pendiente> delPais = pendientes.computeIfAbsent(codigoPais, c -> new LinkedHashMap<>());
+            Pendiente previo = delPais.get(nombreIdioma);
+            if (previo == null) {
+                delPais.put(nombreIdioma, new Pendiente(tipo, idioma, original));
+            } else if (previo.tipo == TipoCambio.INSERTAR && tipo == TipoCambio.ELIMINAR) {
+                delPais.remove(nombreIdioma); // Nunca llegó a la base de datos
+                if (delPais.isEmpty()) pendientes.remove(codigoPais);
+            } else if (previo.tipo == TipoCambio.INSERTAR) {
+                previo.idioma = idioma; // Sigue siendo un alta, con los datos nuevos
+            } else if (previo.tipo == TipoCambio.ELIMINAR && tipo == TipoCambio.INSERTAR) {
+                previo.tipo = TipoCambio.MODIFICAR; // Borrado y vuelto a añadir: basta con actualizarlo
+                previo.idioma = idioma;
+                previo.original = null;
+            } else {
+                // El último cambio sobre un idioma existente es el que cuenta; el original es el de la primera lectura
+                if (previo.tipo != TipoCambio.MODIFICAR || tipo != TipoCambio.MODIFICAR || original == null) previo.original = null;
+                previo.tipo = tipo;
+                previo.idioma = idioma;
+            }
+            // Cada cambio retrasa el vaciado: una ráfaga de ediciones se guarda de una vez
+            if (planificador == null) iniciarPlanificador();
+            if (vaciadoProgramado != null) vaciadoProgramado.cancel(false);
+            vaciadoProgramado = planificador.schedule(ColaEscrituraIdiomas::vaciar, ESPERA_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Crea el hilo de escritura y el guardado al cerrar la primera vez que se encola algo.
+     */
+    private static void iniciarPlanificador() {
+        planificador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "escritura-idiomas");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        Runtime.getRuntime().addShutdownHook(new Thread(ColaEscrituraIdiomas::vaciarAlCerrar, "escritura-idiomas-cierre"));
+    }
+
+    /**
+     * Aplica los cambios pendientes de un país sobre sus idiomas leídos de la base de datos,
+     * para que al volver a mostrarlo se vea lo que el usuario ya cambió.
+     * @param codigoPais El código del país.
+     * @param idiomas Los idiomas guardados (no se modifica).
+     * @return Una lista nueva con los cambios pendientes aplicados.
+     */
+    public static List<ModeloIdioma> aplicarPendientes(String codigoPais, List<ModeloIdioma> idiomas) {
+        List<ModeloIdioma> resultado = new ArrayList<>(idiomas);
+        synchronized (cerrojo) {
+            if (codigoPais.equals(paisEnCurso)) aplicar(cambiosEnCurso, resultado); // Primero lo que se está guardando
+            Map<String, Pendiente> delPais = pendientes.get(codigoPais);
+            if (delPais != null) aplicar(delPais, resultado);
+        }
+        return resultado;
+    }
+
+    private static void aplicar(Map<String, Pendiente> cambios, List<ModeloIdioma> idiomas) {
+        for (Map.Entry<String, Pendiente> entrada : cambios.entrySet()) {
+            idiomas.removeIf(i -> i.getIdioma().equals(entrada.getKey()));
+            if (entrada.getValue().tipo != TipoCambio.ELIMINAR) idiomas.add(entrada.getValue().idioma);
+        }
+    }
+
+    /**
+     * @return Número de idiomas con cambios pendientes de guardar.
+     */
+    public static int getPendientes() {
+        synchronized (cerrojo) {
+            int total = 0;
+            for (Map<String, Pendiente> delPais : pendientes.values()) total += delPais.size();
+            return total;
+        }
+    }
+
+    /**
+     * Registra un receptor de los países cuyos cambios pendientes se descartaron por un error.
+     * Se llama en el hilo que vacía la cola; si toca Swing debe pasar al EDT.
+     */
+    public static void suscribir(Consumer<String> suscriptor) {
+        suscriptores.add(suscriptor);
+    }
+
+    public static void cancelarSuscripcion(Consumer<String> suscriptor) {
+        suscriptores.remove(suscriptor);
+    }
+
+    /**
+     * Guarda ya todos los cambios pendientes, un país por transacción. Lo llama el vaciado
+     * programado y también quien necesite la base de datos al día (por ejemplo, antes de
+     * borrar o modificar un país).
+     * @return true si se guardó todo (o no había nada pendiente).
+     */
+    public static boolean vaciar() {
+        synchronized (cerrojoVaciado) {
+            boolean todoGuardado = true;
+            while (true) {
+                String codigoPais;
+                Map<String, Pendiente> delPais;
+                synchronized (cerrojo) {
+                    Iterator<Map.Entry<String, Map<String, Pendiente>>> it = pendientes.entrySet().iterator();
+                    if (!it.hasNext()) return todoGuardado;
+                    Map.Entry<String, Map<String, Pendiente>> primero = it.next();
+                    it.remove(); // Los cambios que lleguen mientras se guarda forman una entrada nueva
+                    codigoPais = primero.getKey();
+                    delPais = primero.getValue();
+                    paisEnCurso = codigoPais;
+                    cambiosEnCurso = delPais;
+                }
+                try {
+                    todoGuardado &= guardarPais(codigoPais, delPais);
+                } finally {
+                    synchronized (cerrojo) {
+                        paisEnCurso = null;
+                        cambiosEnCurso = null;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Guarda los cambios pendientes de un país con una unidad de trabajo.
+     */
+    private static boolean guardarPais(String codigoPais, Map<String, Pendiente> delPais) {
+        UnidadTrabajo unidad = new UnidadTrabajo(codigoPais);
+        for (Pendiente pendiente : delPais.values()) {
+            switch (pendiente.tipo) {
+                case INSERTAR:
+                    unidad.insertarIdioma(pendiente.idioma);
+                    break;
+                case MODIFICAR:
+                    unidad.modificarIdioma(pendiente.original, pendiente.idioma);
+                    break;
+                case ELIMINAR:
+                    unidad.eliminarIdioma(pendiente.idioma.getIdioma());
+                    break;
+            }
+        }
+        ErrorDatos error;
+        try (BusErrores.Recolector recolector = BusErrores.recoger()) {
+            if (unidad.confirmar()) return true;
+            error = recolector.hayErrores() ? recolector.getErrores().get(0) : null;
+        }
+        // Se publica fuera del recolector, con un mensaje que deja claro qué se ha perdido
+        BusErrores.publicar(new ErrorDatos("idiomas.escrituraDiferida", codigoPais, delPais.size() + " idioma(s)",
+                "No se guardaron los cambios de idiomas de " + codigoPais + " (" + String.join(", ", delPais.keySet()) + ")",
+                error != null ? error.getCausa() : null));
+        CachePaises.invalidarIdiomas(codigoPais);
+        for (Consumer<String> suscriptor : suscriptores) {
+            try {
+                suscriptor.accept(codigoPais);
+            } catch (RuntimeException e) {
+                Registro.error("idiomas.suscriptor", codigoPais, null, String.valueOf(e));
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Vaciado al cerrar la aplicación: no hay interfaz que muestre los errores, así que se
+     * informa también por la consola de errores.
+     */
+    private static void vaciarAlCerrar() {
+        // vaciar() espera además a que termine un guardado en curso del hilo de escritura (que es demonio)
+        if (!vaciar()) {
+            System.err.println("❌ Al cerrar no se pudieron guardar algunos cambios de idiomas (ver registro/world.log).");
+        }
+        Registro.vaciar();
+    }
+}
@@ -1,42 +1,268 @@
-// Archivo: ConexionBD.java
-package Actividad;
-
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.SQLException;
-
-/**
- * Clase de utilidad para conectar con la base de datos MySQL 'world'.
- * Es importante cambiar los valores de USUARIO y CLAVE si son diferentes
- * a los predeterminados o a los configurados en tu entorno local.
- */
-public class ConexionBD {
-
-    // URL de conexión JDBC para MySQL. Especifica el host (localhost), puerto (3306) y nombre de la base de datos (world).
-    private static final String URL = "jdbc:mysql://localhost:3306/world"; 
-    // Usuario para la conexión a la base de datos.
-    private static final String USUARIO = "root"; // Cambia este valor si tu usuario de MySQL es otro.
-    // Contraseña para la conexión a la base de datos.
-    private static final String CLAVE = "inca.2025"; // Cambia este valor por tu contraseña de MySQL. Si no tiene, dejar ""
-
-    /**
-     * Establece y devuelve una conexión con la base de datos MySQL.
-     * Utiliza los parámetros definidos en las constantes URL, USUARIO y CLAVE.
-     * * @return un objeto Connection si la conexión es exitosa, o null si ocurre un error.
-     */
-    public static Connection conectar() {
-        Connection conn = null; // Inicializa la conexión como null
-        try {
-            // Intenta establecer la conexión usando el DriverManager
-            conn = DriverManager.getConnection(URL, USUARIO, CLAVE);
-            // Si la conexión es exitosa, imprime un mensaje en la consola.
-            System.out.println("✅ Conexión exitosa a la base de datos 'world'.");
-        } catch (SQLException e) {
-            // Si ocurre una SQLException (ej. base de datos no disponible, credenciales incorrectas),
-            // imprime un mensaje de error en la consola de errores.
-            System.err.println("❌ Error al conectar con la base de datos 'world': " + e.getMessage());
-            // Opcionalmente, podrías lanzar una excepción personalizada aquí o mostrar un JOptionPane.
-        }
-        return conn; // Devuelve la conexión (o null si falló)
-    }
-}
+// Archivo: ConexionBD.java
+package Actividad;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Clase de utilidad para conectar con la base de datos MySQL 'world'.
+ * Los servidores, credenciales y parámetros de rendimiento salen del perfil de conexión activo
+ * (ver ConfiguracionBD y PerfilConexion), que puede cambiarse en caliente con cambiarPerfil.
+ * Las constantes URL, USUARIO y CLAVE son los valores del perfil 'local' integrado: es importante
+ * cambiarlas (o definir otro perfil) si son diferentes a las de tu entorno local.
+ *
+ * Admite despliegues con réplicas de lectura: las escrituras van siempre a la base de datos
+ * principal (conectar()) y las lecturas de los Gestores se reparten entre las réplicas del perfil
+ * (conectarLectura()). Las réplicas se comprueban periódicamente; si ninguna está disponible se lee
+ * de la principal. Después de una escritura, las lecturas de esta sesión van a la principal durante
+ * unos segundos para ver siempre lo escrito. Cada servidor tiene su propio pool de conexiones.
+ */
+public class ConexionBD {
+
+    // URL de conexión JDBC para MySQL. Especifica el host (localhost), puerto (3306) y nombre de la base de datos (world).
+    static final String URL = "jdbc:mysql://localhost:3306/world";
+    // Usuario para la conexión a la base de datos.
+    static final String USUARIO = "root"; // Cambia este valor si tu usuario de MySQL es otro.
+    // Contraseña para la conexión a la base de datos.
+    static final String CLAVE = "inca.2025"; // Cambia este valor por tu contraseña de MySQL. Si no tiene, dejar ""
+
+    // Milisegundos tras una escritura durante los que las lecturas van a la principal (lectura de lo propio escrito)
+    private static final long VENTANA_LECTURA_PROPIA_MS = Long.getLong("bd.ventanaLecturaPropiaMs", 5000);
+    // Milisegundos entre comprobaciones de salud de las réplicas
+    private static final long INTERVALO_SALUD_MS = Long.getLong("bd.intervaloSaludMs", 5000);
+    // Segundos máximos de espera de Connection.isValid en la comprobación de salud
+    private static final int TIEMPO_VALIDACION_S = 2;
+
+    /**
+     * Una réplica de lectura, su pool y su último estado de salud conocido.
+     */
+    private static class Replica {
+        final PoolConexiones pool;
+        volatile boolean sana = true; // Se asume sana hasta la primera comprobación
+
+        Replica(PoolConexiones pool) {
+            this.pool = pool;
+        }
+    }
+
+    /**
+     * Estado de enrutamiento de un perfil: su pool principal y sus réplicas.
+     * Se sustituye completo al cambiar de perfil, así que nunca se mezclan dos perfiles.
+     */
+    private static class Enrutamiento {
+        final PerfilConexion perfil;
+        final PoolConexiones principal;
+        final List<Replica> replicas;
+
+        Enrutamiento(PerfilConexion perfil) {
+            this.perfil = perfil;
+            this.principal = new PoolConexiones(perfil, perfil.getUrl());
+            List<Replica> lista = new ArrayList<>();
+            for (String url : perfil.getReplicas()) {
+                lista.add(new Replica(new PoolConexiones(perfil, url)));
+            }
+            this.replicas = Collections.unmodifiableList(lista);
+        }
+
+        void cerrar() {
+            principal.cerrar();
+            for (Replica replica : replicas) replica.pool.cerrar();
+        }
+    }
+
+    // Perfil y pools en uso
+    private static volatile Enrutamiento enrutamiento;
+    // Contador para repartir las lecturas entre réplicas (round-robin)
+    private static final AtomicInteger siguienteReplica = new AtomicInteger();
+    // Instante (System.nanoTime) de la última escritura confirmada en esta sesión
+    private static volatile long ultimaEscrituraNanos = System.nanoTime() - TimeUnit.DAYS.toNanos(1);
+
+    static {
+        enrutamiento = new Enrutamiento(ConfiguracionBD.perfilInicial());
+        MetricasBD.perfilActivado(enrutamiento.perfil.getNombre());
+        // Hilo demonio que comprueba la salud de las réplicas sin bloquear a los Gestores
+        ScheduledExecutorService salud = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "salud-replicas");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        salud.scheduleWithFixedDelay(ConexionBD::comprobarReplicas, 0, INTERVALO_SALUD_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Establece y devuelve una conexión con la base de datos MySQL principal del perfil activo.
+     * Es la conexión de escritura: tras cada commit y al cerrarla, las lecturas de esta sesión pasan
+     * a la principal durante la ventana de lectura propia, para que se vea inmediatamente lo escrito
+     * (la ventana cuenta desde que lo escrito está confirmado, no desde que empezó la transacción).
+     * * @return un objeto Connection si la conexión es exitosa, o null si ocurre un error.
+     */
+    public static Connection conectar() {
+        return conectarPrincipal(enrutamiento, ConexionBD::anotarEscritura);
+    }
+
+    /**
+     * Abre (o prolonga) la ventana de lectura de lo propio escrito.
+     */
+    private static void anotarEscritura() {
+        ultimaEscrituraNanos = System.nanoTime();
+    }
+
+    /**
+     * Igual que conectar(), pero sin conexión lanza una SQLException en lugar de devolver null:
+     * así el fallo llega al catch del Gestor, que lo publica en BusErrores como cualquier otro.
+     * @throws SQLException si no se puede conectar.
+     */
+    public static Connection abrir() throws SQLException {
+        return exigir(conectar());
+    }
+
+    /**
+     * Igual que conectarLectura(), lanzando una SQLException si no hay conexión (ver abrir()).
+     * @throws SQLException si no se puede conectar.
+     */
+    public static Connection abrirLectura() throws SQLException {
+        return exigir(conectarLectura());
+    }
+
+    private static Connection exigir(Connection conn) throws SQLException {
+        if (conn == null) throw new SQLException("Sin conexión con la base de datos"); // El motivo ya está en el Registro
+        return conn;
+    }
+
+    /**
+     * Devuelve una conexión con la principal para lecturas que deben ver lo último confirmado
+     * (por ejemplo, el registro de cambios), sin abrir la ventana de lectura propia.
+     * @return un objeto Connection si la conexión es exitosa, o null si ocurre un error.
+     */
+    public static Connection conectarLecturaPrincipal() {
+        return conectarPrincipal(enrutamiento, null);
+    }
+
+    /**
+     * Devuelve una conexión para operaciones de sólo lectura.
+     * Usa una réplica sana (repartiendo entre ellas) salvo que no haya réplicas, que ninguna
+     * responda o que esta sesión haya escrito hace poco; en esos casos usa la principal.
+     * @return un objeto Connection si la conexión es exitosa, o null si ocurre un error.
+     */
+    public static Connection conectarLectura() {
+        Enrutamiento actual = enrutamiento;
+        List<Replica> replicas = actual.replicas;
+        boolean escrituraReciente = System.nanoTime() - ultimaEscrituraNanos < TimeUnit.MILLISECONDS.toNanos(VENTANA_LECTURA_PROPIA_MS);
+        if (!replicas.isEmpty() && !escrituraReciente) {
+            int inicio = Math.floorMod(siguienteReplica.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((inicio + i) % replicas.size());
+                if (!replica.sana) continue;
+                try {
+                    Connection conn = replica.pool.obtener();
+                    try {
+                        conn.setReadOnly(true); // Protege contra escrituras accidentales en la réplica
+                    } catch (SQLException e) {
+                        conn.close(); // Vuelve al pool (que la descarta si quedó rota)
+                        throw e;
+                    }
+                    return conn;
+                } catch (SQLException e) {
+                    replica.sana = false; // Se marca caída hasta la próxima comprobación de salud
+                    Registro.aviso("bd.replica", null, replica.pool.getUrl(), e.getMessage());
+                }
+            }
+        }
+        return conectarPrincipal(actual, null); // Sin réplicas sanas: conmutación a la principal
+    }
+
+    /**
+     * Obtiene una conexión del pool de la base de datos principal.
+     * @param alConfirmar Se llama tras cada commit y al cerrarla (ver PoolConexiones.obtener), o null.
+     */
+    private static Connection conectarPrincipal(Enrutamiento actual, Runnable alConfirmar) {
+        Connection conn = null; // Inicializa la conexión como null
+        long inicio = System.nanoTime();
+        try {
+            // Intenta obtener una conexión del pool (que la abre con el DriverManager si hace falta)
+            conn = actual.principal.obtener(alConfirmar);
+            // Si la conexión es exitosa, lo anota en el registro (sólo a nivel DEPURACION: ocurre en cada operación)
+            Registro.depuracion("bd.conectar", null, actual.principal.getUrl(), System.nanoTime() - inicio, Registro.SIN_FILAS);
+        } catch (SQLException e) {
+            // Si ocurre una SQLException (ej. base de datos no disponible, credenciales incorrectas),
+            // se registra como error (el registro lo muestra también en la consola de errores).
+            Registro.error("bd.conectar", null, actual.principal.getUrl(), e.getMessage());
+        }
+        return conn; // Devuelve la conexión (o null si falló)
+    }
+
+    /**
+     * Cambia en caliente el perfil de conexión. Las conexiones nuevas usan el nuevo perfil;
+     * las que estén prestadas terminan su trabajo y se cierran al devolverse.
+     * @param nombre El nombre del perfil (ver ConfiguracionBD).
+     * @return true si el perfil existe y se ha activado.
+     */
+    public static synchronized boolean cambiarPerfil(String nombre) {
+        PerfilConexion perfil = ConfiguracionBD.obtener(nombre);
+        if (perfil == null) {
+            Registro.error("bd.perfil", null, nombre, "No existe el perfil de conexión");
+            return false;
+        }
+        Enrutamiento anterior = enrutamiento;
+        enrutamiento = new Enrutamiento(perfil);
+        MetricasBD.perfilActivado(perfil.getNombre());
+        anterior.cerrar();
+        Registro.info("bd.perfil", null, perfil.toString(), Registro.SIN_DURACION, Registro.SIN_FILAS);
+        return true;
+    }
+
+    /**
+     * @return El perfil de conexión en uso.
+     */
+    public static PerfilConexion getPerfilActivo() {
+        return enrutamiento.perfil;
+    }
+
+    /**
+     * Comprueba cada réplica abriendo una conexión directa y validándola. Se ejecuta periódicamente.
+     */
+    private static void comprobarReplicas() {
+        Enrutamiento actual = enrutamiento;
+        for (Replica replica : actual.replicas) {
+            boolean estabaSana = replica.sana;
+            try (Connection conn = DriverManager.getConnection(replica.pool.getUrl(), actual.perfil.propiedadesDriver())) {
+                replica.sana = conn.isValid(TIEMPO_VALIDACION_S);
+            } catch (SQLException e) {
+                replica.sana = false;
+            }
+            if (estabaSana != replica.sana) {
+                if (replica.sana) {
+                    Registro.info("bd.replica", null, replica.pool.getUrl(), Registro.SIN_DURACION, Registro.SIN_FILAS);
+                } else {
+                    Registro.aviso("bd.replica", null, replica.pool.getUrl(), "Réplica caída");
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Una descripción del perfil, de la principal y de cada réplica (para diagnóstico).
+     */
+    public static String describirEstado() {
+        Enrutamiento actual = enrutamiento;
+        StringBuilder texto = new StringBuilder("Perfil: " + actual.perfil);
+        texto.append("\nPrincipal: ").append(actual.principal.getUrl())
+             .append(" (prestadas=").append(actual.principal.getPrestadas())
+             .append(", libres=").append(actual.principal.getLibres()).append(')');
+        if (actual.replicas.isEmpty()) {
+            texto.append(" (sin réplicas de lectura)");
+        }
+        for (Replica replica : actual.replicas) {
+            texto.append("\nRéplica: ").append(replica.pool.getUrl()).append(replica.sana ? " [sana]" : " [caída]");
+        }
+        return texto.toString();
+    }
+}
@@ -0,0 +1,213 @@
+// Archivo: ConfiguracionBD.java
+package Actividad;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Carga los perfiles de conexión desde un fichero de propiedades y variables de entorno,
+ * para poder cambiar servidores y parámetros de rendimiento sin recompilar.
+ *
+ * Fichero: se indica con -Dbd.config=ruta o la variable BD_CONFIG; si no, se usa
+ * 'conexion.properties' del directorio de trabajo si existe. Formato:
+ *   perfil.activo=produccion
+ *   perfil.produccion.url=jdbc:mysql://db1:3306/world
+ *   perfil.produccion.replicas=jdbc:mysql://db2:3306/world,jdbc:mysql://db3:3306/world
+ *   perfil.produccion.usuario=app
+ *   perfil.produccion.clave=secreto
+ *   perfil.produccion.pool.tamanio=16
+ *   perfil.produccion.pool.esperaMs=5000
+ *   perfil.produccion.timeout.conexionMs=3000
+ *   perfil.produccion.timeout.socketMs=30000
+ *   perfil.produccion.timeout.consultaS=30
+ *   perfil.produccion.fetchSize=500
+ *   perfil.produccion.cachePrepStmts=true
+ *   perfil.produccion.prepStmtCacheSize=250
+ *   perfil.produccion.prepStmtCacheSqlLimit=2048
+ *   perfil.produccion.useServerPrepStmts=true
+ *   perfil.produccion.rewriteBatchedStatements=true
+ *   perfil.produccion.cacheSentencias.tamanio=64
+ * Las claves que falten toman el valor del perfil 'local' integrado.
+ *
+ * Perfil activo: -Dbd.perfil, variable BD_PERFIL, 'perfil.activo' del fichero o 'local'.
+ * Sobre el perfil activo se aplican además las variables BD_URL, BD_USUARIO, BD_CLAVE,
+ * BD_REPLICAS, BD_POOL y BD_FETCH_SIZE (y la propiedad -Dbd.replicas).
+ */
+public class ConfiguracionBD {
+
+    // Nombre del perfil integrado con los valores por defecto de ConexionBD
+    public static final String PERFIL_LOCAL = "local";
+
+    // Perfiles conocidos, por nombre, en el orden en que se definieron
+    private static Map<String, PerfilConexion> perfiles = Collections.emptyMap();
+    // Perfil a usar al arrancar
+    private static String nombrePerfilInicial = PERFIL_LOCAL;
+
+    static {
+        recargar();
+    }
+
+    /**
+     * Vuelve a leer el fichero de configuración y las variables de entorno.
+     * No cambia el perfil en uso; para aplicarlo hay que llamar a ConexionBD.cambiarPerfil.
+     */
+    public static synchronized void recargar() {
+        Properties fichero = leerFichero();
+        Map<String, PerfilConexion> nuevos = new LinkedHashMap<>();
+        nuevos.put(PERFIL_LOCAL, perfilLocal());
+
+        // Descubre los nombres de perfil presentes en el fichero (perfil.<nombre>.<clave>)
+        for (String clave : fichero.stringPropertyNames()) {
+            String[] partes = clave.split("\\.", 3);
+            if (partes.length == 3 && partes[0].equals("perfil") && !nuevos.containsKey(partes[1])) {
+                nuevos.put(partes[1], perfilDesdeFichero(partes[1], fichero));
+            }
+        }
+
+        String activo = primeroNoVacio(System.getProperty("bd.perfil"), System.getenv("BD_PERFIL"),
+                fichero.getProperty("perfil.activo"), PERFIL_LOCAL);
+        if (!nuevos.containsKey(activo)) {
+            System.err.println("⚠️ Perfil de conexión desconocido '" + activo + "', se usa '" + PERFIL_LOCAL + "'.");
+            activo = PERFIL_LOCAL;
+        }
+        aplicarEntorno(nuevos.get(activo));
+
+        perfiles = Collections.unmodifiableMap(nuevos);
+        nombrePerfilInicial = activo;
+    }
+
+    /**
+     * @param nombre El nombre del perfil.
+     * @return El perfil, o null si no existe.
+     */
+    public static synchronized PerfilConexion obtener(String nombre) {
+        return perfiles.get(nombre);
+    }
+
+    /**
+     * @return Los nombres de todos los perfiles disponibles.
+     */
+    public static synchronized Set<String> nombresPerfiles() {
+        return perfiles.keySet();
+    }
+
+    /**
+     * @return El perfil que debe usarse al arrancar.
+     */
+    public static synchronized PerfilConexion perfilInicial() {
+        return perfiles.get(nombrePerfilInicial);
+    }
+
+    /**
+     * Crea el perfil 'local' con los valores por defecto definidos en ConexionBD.
+     */
+    private static PerfilConexion perfilLocal() {
+        PerfilConexion perfil = new PerfilConexion(PERFIL_LOCAL);
+        perfil.setUrl(ConexionBD.URL);
+        perfil.setUsuario(ConexionBD.USUARIO);
+        perfil.setClave(ConexionBD.CLAVE);
+        return perfil;
+    }
+
+    /**
+     * Crea un perfil a partir de las claves 'perfil.<nombre>.*' del fichero.
+     */
+    private static PerfilConexion perfilDesdeFichero(String nombre, Properties props) {
+        PerfilConexion base = perfilLocal(); // Sólo para tomar sus valores por defecto
+        PerfilConexion nuevo = new PerfilConexion(nombre);
+        String prefijo = "perfil." + nombre + ".";
+        nuevo.setUrl(props.getProperty(prefijo + "url", base.getUrl()));
+        nuevo.setReplicas(listaUrls(props.getProperty(prefijo + "replicas", "")));
+        nuevo.setUsuario(props.getProperty(prefijo + "usuario", base.getUsuario()));
+        nuevo.setClave(props.getProperty(prefijo + "clave", base.getClave()));
+        nuevo.setTamanioPool(entero(props, prefijo + "pool.tamanio", base.getTamanioPool()));
+        nuevo.setEsperaPoolMs(entero(props, prefijo + "pool.esperaMs", (int) base.getEsperaPoolMs()));
+        nuevo.setTimeoutConexionMs(entero(props, prefijo + "timeout.conexionMs", base.getTimeoutConexionMs()));
+        nuevo.setTimeoutSocketMs(entero(props, prefijo + "timeout.socketMs", base.getTimeoutSocketMs()));
+        nuevo.setTimeoutConsultaS(entero(props, prefijo + "timeout.consultaS", base.getTimeoutConsultaS()));
+        nuevo.setFetchSize(entero(props, prefijo + "fetchSize", base.getFetchSize()));
+        nuevo.setCachePrepStmts(booleano(props, prefijo + "cachePrepStmts", base.isCachePrepStmts()));
+        nuevo.setPrepStmtCacheSize(entero(props, prefijo + "prepStmtCacheSize", base.getPrepStmtCacheSize()));
+        nuevo.setPrepStmtCacheSqlLimit(entero(props, prefijo + "prepStmtCacheSqlLimit", base.getPrepStmtCacheSqlLimit()));
+        nuevo.setUseServerPrepStmts(booleano(props, prefijo + "useServerPrepStmts", base.isUseServerPrepStmts()));
+        nuevo.setRewriteBatchedStatements(booleano(props, prefijo + "rewriteBatchedStatements", base.isRewriteBatchedStatements()));
+        nuevo.setTamanioCacheSentencias(entero(props, prefijo + "cacheSentencias.tamanio", base.getTamanioCacheSentencias()));
+        return nuevo;
+    }
+
+    /**
+     * Aplica las variables de entorno (y -Dbd.replicas) sobre el perfil activo.
+     */
+    private static void aplicarEntorno(PerfilConexion perfil) {
+        if (System.getenv("BD_URL") != null) perfil.setUrl(System.getenv("BD_URL"));
+        if (System.getenv("BD_USUARIO") != null) perfil.setUsuario(System.getenv("BD_USUARIO"));
+        if (System.getenv("BD_CLAVE") != null) perfil.setClave(System.getenv("BD_CLAVE"));
+        String replicas = primeroNoVacio(System.getProperty("bd.replicas"), System.getenv("BD_REPLICAS"), null);
+        if (replicas != null) perfil.setReplicas(listaUrls(replicas));
+        try {
+            if (System.getenv("BD_POOL") != null) perfil.setTamanioPool(Integer.parseInt(System.getenv("BD_POOL").trim()));
+            if (System.getenv("BD_FETCH_SIZE") != null) perfil.setFetchSize(Integer.parseInt(System.getenv("BD_FETCH_SIZE").trim()));
+        } catch (NumberFormatException e) {
+            System.err.println("⚠️ Valor numérico no válido en BD_POOL o BD_FETCH_SIZE: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lee el fichero de configuración si existe.
+     */
+    private static Properties leerFichero() {
+        Properties props = new Properties();
+        String ruta = primeroNoVacio(System.getProperty("bd.config"), System.getenv("BD_CONFIG"), "conexion.properties");
+        Path fichero = Paths.get(ruta);
+        if (Files.isReadable(fichero)) {
+            try (Reader lector = Files.newBufferedReader(fichero, StandardCharsets.UTF_8)) {
+                props.load(lector);
+            } catch (IOException e) {
+                System.err.println("❌ Error al leer la configuración de conexión '" + ruta + "': " + e.getMessage());
+            }
+        }
+        return props;
+    }
+
+    private static List<String> listaUrls(String texto) {
+        List<String> urls = new ArrayList<>();
+        for (String url : texto.split(",")) {
+            if (!url.trim().isEmpty()) urls.add(url.trim());
+        }
+        return urls;
+    }
+
+    private static int entero(Properties props, String clave, int porDefecto) {
+        String valor = props.getProperty(clave);
+        if (valor == null) return porDefecto;
+        try {
+            return Integer.parseInt(valor.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("⚠️ Valor no válido para " + clave + ": " + valor);
+            return porDefecto;
+        }
+    }
+
+    private static boolean booleano(Properties props, String clave, boolean porDefecto) {
+        String valor = props.getProperty(clave);
+        return valor == null ? porDefecto : Boolean.parseBoolean(valor.trim());
+    }
+
+    private static String primeroNoVacio(String... valores) {
+        for (String valor : valores) {
+            if (valor != null && !valor.trim().isEmpty()) return valor.trim();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,34 @@
+// Archivo: ConflictoConcurrencia.java
+package Actividad;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Se lanza cuando otro usuario ha cambiado los mismos campos que se intentan guardar
+ * desde que se leyeron (control de concurrencia optimista de GestorPaises y GestorIdiomas).
+ * Es una SQLException para que los Gestores y la unidad de trabajo la traten como cualquier
+ * otro fallo: se deshace la transacción y se publica en BusErrores con categoría CONFLICTO.
+ */
+public class ConflictoConcurrencia extends SQLException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String codigoPais;
+    private final String[] campos; // Campos que cambiaron los dos usuarios (un array: se serializa con la excepción)
+
+    /**
+     * @param codigoPais El país afectado.
+     * @param registro Descripción del registro (ej. "el país ESP" o "el idioma 'Spanish' de ESP").
+     * @param campos Los campos en conflicto.
+     */
+    public ConflictoConcurrencia(String codigoPais, String registro, List<String> campos) {
+        super("Otro usuario ha modificado " + registro + " (" + String.join(", ", campos) + ") desde que se leyó", "40001");
+        this.codigoPais = codigoPais;
+        this.campos = campos.toArray(new String[0]);
+    }
+
+    public String getCodigoPais() { return codigoPais; }
+
+    public List<String> getCampos() { return List.of(campos); }
+}
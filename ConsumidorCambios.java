@@ -0,0 +1,245 @@
+// Archivo: ConsumidorCambios.java
+package Actividad;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Consulta periódicamente la tabla 'registro_cambios' (ver CambiosDatos) y aplica los cambios
+ * hechos por otros clientes: invalida lo afectado en CachePaises y avisa a los suscriptores
+ * (la interfaz actualiza sólo las filas afectadas).
+ *
+ * Cada consulta pide únicamente las filas con Id mayor que el último leído, por la clave primaria,
+ * así que sin cambios cuesta una consulta que no devuelve nada. Como los Id se reservan al insertar
+ * pero se ven al confirmar, una transacción lenta puede aparecer detrás de otra más reciente: los
+ * Id que faltan se recuerdan un tiempo y se vuelven a pedir en las consultas siguientes.
+ *
+ * Configuración: -Dcambios.intervaloMs (2000 por defecto; 0 desactiva el consumidor).
+ */
+public class ConsumidorCambios {
+
+    private static final long INTERVALO_MS = Long.getLong("cambios.intervaloMs", 2000);
+    private static final int MAX_POR_CONSULTA = 500;          // Cambios por consulta
+    static final int MAX_CAMBIOS_DETALLADOS = 100;            // Con más cambios se invalida toda la caché
+    private static final long ESPERA_HUECOS_MS = 60_000;      // Tiempo que se espera a un Id que falta
+    private static final int MAX_HUECOS = 1000;               // Id que faltan que se vigilan como máximo por salto
+    private static final long PURGA_CADA_MS = 3_600_000;      // Limpieza de cambios antiguos (una vez por hora)
+
+    private static final String SQL_ULTIMO = "SELECT COALESCE(MAX(Id), 0) FROM registro_cambios";
+    private static final String SQL_NUEVOS = "SELECT Id, Tipo, CountryCode, Language, Origen FROM registro_cambios WHERE Id > ? ORDER BY Id LIMIT " + MAX_POR_CONSULTA;
+    private static final String SQL_PURGAR = "DELETE FROM registro_cambios WHERE Instante < CURRENT_TIMESTAMP - INTERVAL 1 DAY";
+
+    private static final List<Consumer<List<CambiosDatos.Cambio>>> suscriptores = new CopyOnWriteArrayList<>();
+    // Cambios que un suscriptor no pudo aplicar (fallo al releer): se entregan otra vez en la próxima consulta
+    private static final ConcurrentLinkedQueue<CambiosDatos.Cambio> reintentos = new ConcurrentLinkedQueue<>();
+    private static ScheduledExecutorService planificador;
+
+    // Estado del hilo consultor (sólo lo toca ese hilo)
+    private static long ultimoId = -1;                                     // -1: aún no se ha leído el punto de partida
+    private static final Map<Long, Long> huecos = new LinkedHashMap<>();   // Id que falta -> instante en que se detectó
+    private static long ultimaPurga = System.currentTimeMillis();
+
+    /**
+     * Crea la tabla de cambios si hace falta y arranca la consulta periódica.
+     * Sólo se aplican los cambios posteriores al arranque. Llamarlo más de una vez no hace nada.
+     * @return true si el consumidor está en marcha.
+     */
+    public static synchronized boolean iniciar() {
+        if (planificador != null) return true;
+        if (INTERVALO_MS <= 0 || !CambiosDatos.preparar()) return false;
+        planificador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "consumidor-cambios");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        planificador.scheduleWithFixedDelay(ConsumidorCambios::consultar, 0, INTERVALO_MS, TimeUnit.MILLISECONDS);
+        if (Registro.activo(Registro.Nivel.INFO)) Registro.info("cambios.iniciar", null, "cada " + INTERVALO_MS + " ms", Registro.SIN_DURACION, Registro.SIN_FILAS);
+        return true;
+    }
+
+    /**
+     * Detiene la consulta periódica.
+     */
+    public static synchronized void detener() {
+        if (planificador != null) {
+            planificador.shutdownNow();
+            planificador = null;
+        }
+    }
+
+    /**
+     * Registra un receptor de los cambios de otros clientes. Se llama en el hilo del consumidor,
+     * después de invalidar la caché; si toca Swing debe pasar al EDT.
+     */
+    public static void suscribir(Consumer<List<CambiosDatos.Cambio>> suscriptor) {
+        suscriptores.add(suscriptor);
+    }
+
+    public static void cancelarSuscripcion(Consumer<List<CambiosDatos.Cambio>> suscriptor) {
+        suscriptores.remove(suscriptor);
+    }
+
+    /**
+     * Pide que unos cambios se vuelvan a entregar en la próxima consulta que funcione (por ejemplo,
+     * si al releer los países afectados falló la conexión). Se entregan antes que los cambios nuevos.
+     */
+    public static void reintentar(Collection<CambiosDatos.Cambio> cambios) {
+        reintentos.addAll(cambios);
+    }
+
+    /**
+     * Una vuelta del consumidor: lee los cambios nuevos y los aplica.
+     * Los fallos se registran y se reintentan en la vuelta siguiente (no se publican en BusErrores
+     * para no abrir un diálogo cada pocos segundos mientras el servidor no responde).
+     */
+    private static void consultar() {
+        long inicio = System.nanoTime();
+        List<CambiosDatos.Cambio> ajenos = new ArrayList<>();
+        for (CambiosDatos.Cambio pendiente; (pendiente = reintentos.poll()) != null; ) ajenos.add(pendiente); // Los más antiguos primero
+        try (Connection conn = ConexionBD.conectarLecturaPrincipal()) { // Las réplicas pueden ir retrasadas
+            if (conn == null) { // ConexionBD ya registra el motivo
+                reintentos.addAll(ajenos);
+                return;
+            }
+            if (ultimoId < 0) {
+                try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery(SQL_ULTIMO)) {
+                    rs.next();
+                    ultimoId = rs.getLong(1);
+                }
+            }
+            leerHuecos(conn, ajenos);
+            int leidos;
+            do {
+                leidos = leerNuevos(conn, ajenos);
+            } while (leidos == MAX_POR_CONSULTA);
+            purgarSiToca(conn);
+        } catch (Exception e) {
+            Registro.aviso("cambios.consultar", null, null, e.getMessage());
+            reintentos.addAll(ajenos); // El último Id ya avanzó: lo leído en esta vuelta no se volvería a leer
+            return;
+        }
+        if (ajenos.isEmpty()) return;
+
+        aplicarACache(ajenos);
+        Registro.info("cambios.aplicar", ajenos.size() == 1 ? ajenos.get(0).getCodigoPais() : null, null,
+                System.nanoTime() - inicio, ajenos.size());
+        for (Consumer<List<CambiosDatos.Cambio>> suscriptor : suscriptores) {
+            try {
+                suscriptor.accept(ajenos);
+            } catch (RuntimeException e) {
+                Registro.error("cambios.suscriptor", null, null, String.valueOf(e));
+            }
+        }
+    }
+
+    /**
+     * Lee los cambios posteriores al último Id y anota los Id que faltan.
+     * @return Número de filas leídas.
+     */
+    private static int leerNuevos(Connection conn, List<CambiosDatos.Cambio> ajenos) throws SQLException {
+        int leidos = 0;
+        try (PreparedStatement ps = conn.prepareStatement(SQL_NUEVOS)) {
+            ps.setLong(1, ultimoId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    leidos++;
+                    long id = rs.getLong("Id");
+                    long ahora = System.currentTimeMillis();
+                    if (id - ultimoId <= MAX_HUECOS) { // Un salto mayor no es de transacciones en curso (reinicio del servidor)
+                        for (long falta = ultimoId + 1; falta < id; falta++) {
+                            huecos.put(falta, ahora); // Transacción aún sin confirmar (o revertida)
+                        }
+                    }
+                    ultimoId = id;
+                    anadirSiAjeno(rs, ajenos);
+                }
+            }
+        }
+        return leidos;
+    }
+
+    /**
+     * Vuelve a pedir los Id que faltaban; los que siguen sin aparecer pasado un tiempo se olvidan.
+     */
+    private static void leerHuecos(Connection conn, List<CambiosDatos.Cambio> ajenos) throws SQLException {
+        if (huecos.isEmpty()) return;
+        long limite = System.currentTimeMillis() - ESPERA_HUECOS_MS;
+        huecos.values().removeIf(detectado -> detectado < limite);
+        if (huecos.isEmpty()) return;
+        List<Long> ids = new ArrayList<>(huecos.keySet());
+        String sql = "SELECT Id, Tipo, CountryCode, Language, Origen FROM registro_cambios WHERE Id IN " + GestorPaises.listaParametros(ids.size());
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = 0; i < ids.size(); i++) ps.setLong(i + 1, ids.get(i));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    huecos.remove(rs.getLong("Id"));
+                    anadirSiAjeno(rs, ajenos);
+                }
+            }
+        }
+    }
+
+    /**
+     * Añade el cambio de la fila actual si lo anotó otro cliente.
+     */
+    private static void anadirSiAjeno(ResultSet rs, List<CambiosDatos.Cambio> ajenos) throws SQLException {
+        if (CambiosDatos.ORIGEN.equals(rs.getString("Origen"))) return; // Este cliente ya aplicó sus propios cambios
+        CambiosDatos.Tipo tipo;
+        try {
+            tipo = CambiosDatos.Tipo.valueOf(rs.getString("Tipo"));
+        } catch (IllegalArgumentException e) {
+            tipo = CambiosDatos.Tipo.TODO; // Tipo desconocido (cliente más nuevo): lo más seguro es recargar
+        }
+        ajenos.add(new CambiosDatos.Cambio(rs.getLong("Id"), tipo, rs.getString("CountryCode"), rs.getString("Language")));
+    }
+
+    /**
+     * Invalida en la caché sólo lo que cambió (o todo si hay demasiados cambios).
+     */
+    private static void aplicarACache(List<CambiosDatos.Cambio> cambios) {
+        if (cambios.size() > MAX_CAMBIOS_DETALLADOS) {
+            CachePaises.invalidarTodo();
+            return;
+        }
+        for (CambiosDatos.Cambio cambio : cambios) {
+            switch (cambio.getTipo()) {
+                case IDIOMAS_MODIFICADOS:
+                    CachePaises.invalidarIdiomas(cambio.getCodigoPais());
+                    break;
+                case TODO:
+                    CachePaises.invalidarTodo();
+                    break;
+                default:
+                    CachePaises.invalidarPais(cambio.getCodigoPais());
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Borra los cambios de más de un día. Lo hace cualquier cliente; repetirlo no tiene efecto.
+     */
+    private static void purgarSiToca(Connection conn) throws SQLException {
+        long ahora = System.currentTimeMillis();
+        if (ahora - ultimaPurga < PURGA_CADA_MS) return;
+        ultimaPurga = ahora;
+        try (Statement st = conn.createStatement()) {
+            int filas = st.executeUpdate(SQL_PURGAR);
+            Registro.depuracion("cambios.purgar", null, null, Registro.SIN_DURACION, filas);
+        }
+    }
+}
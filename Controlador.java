@@ -1,566 +1,1496 @@
-// Archivo: Controlador.java
-package Actividad;
-
-import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
-import javax.swing.table.TableRowSorter;
-import java.awt.event.*;
-import java.sql.*;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Vector;
-
-/**
- * Clase Controlador: maneja la lógica de la aplicación, interactuando entre la Vista (Paises.java)
- * y los Modelos/Gestores de datos (ModeloPais, GestorPaises, ModeloIdioma, GestorIdiomas).
- * Controla el estado de la aplicación (navegando, insertando, modificando) y actualiza la GUI.
- */
-public class Controlador {
-
-    private final Paises vista; // Referencia a la interfaz gráfica (JFrame)
-    private enum Estado { NAVEGANDO, INSERTANDO_PAIS, MODIFICANDO_PAIS, INSERTANDO_LENGUA } // Estados posibles de la aplicación
-    private Estado estadoActual; // Estado actual de la aplicación
-    private ModeloPais paisActualParaModificar; // Almacena el país seleccionado para restaurar en caso de cancelación de modificación
-
-    /**
-     * Constructor del Controlador.
-     * @param vista La instancia de la clase Paises (la GUI).
-     */
-    public Controlador(Paises vista) {
-        this.vista = vista;
-        inicializarEventos(); // Configura los listeners para los componentes de la GUI
-        configurarEstadoInicial(); // Establece el estado inicial de la GUI y la aplicación
-        cargarPaises(); // Carga la lista inicial de países en la tabla
-        cargarComboBoxContinentes(); // Carga los continentes en el JComboBox
-    }
-
-    /**
-     * Establece el estado inicial de la aplicación y la GUI.
-     * Habilita/deshabilita botones y campos según corresponda.
-     */
-    private void configurarEstadoInicial() {
-        this.estadoActual = Estado.NAVEGANDO; // Estado por defecto
-        
-        // Configuración de la barra de herramientas principal para países
-        vista.getjButton1().setEnabled(true);  // Botón Añadir País habilitado
-        vista.getjButton3().setEnabled(false); // Botón Modificar País deshabilitado (hasta seleccionar uno)
-        vista.getjButton2().setEnabled(false); // Botón Borrar País deshabilitado (hasta seleccionar uno)
-        vista.getjButton4().setEnabled(false); // Botón Guardar País deshabilitado
-        vista.getjButton5().setEnabled(false); // Botón Cancelar País deshabilitado
-
-        // Configuración de los campos de detalle del país
-        habilitarCamposPais(false); // Campos no editables
-        limpiarCamposPais(); // Limpiar los campos de texto
-
-        // Configuración de la sección de lenguas
-        vista.getjTable2().setModel(new TablaIdiomasModel(new ArrayList<>())); // Tabla de idiomas vacía
-        habilitarCamposLengua(false); // Campos de lengua no editables
-        limpiarCamposLengua(); // Limpiar campos de lengua
-        vista.getjButton6().setEnabled(false); // Botón Añadir lengua deshabilitado (hasta seleccionar país)
-        vista.getjButton7().setEnabled(false); // Botón Borrar lengua deshabilitado (hasta seleccionar país e idioma)
-        vista.getjButton8().setEnabled(false); // Botón Aceptar lengua deshabilitado
-        vista.getjButton9().setEnabled(false); // Botón Cancelar lengua deshabilitado
-        
-        // Habilitar la ordenación en la tabla de países al hacer clic en las cabeceras
-        vista.getjTable1().setAutoCreateRowSorter(true);
-    }
-    
-    /**
-     * Carga los datos de los países (Código, Nombre, Continente, Región) en la JTable principal.
-     * La tabla se ordena por nombre de país.
-     */
-    private void cargarPaises() {
-        DefaultTableModel modelo = (DefaultTableModel) vista.getjTable1().getModel();
-        modelo.setRowCount(0); // Limpia la tabla antes de cargar nuevos datos
-        String sql = "SELECT Code, Name, Continent, Region FROM country ORDER BY Name";
-
-        try (Connection conn = ConexionBD.conectar();
-             PreparedStatement ps = conn.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()) {
-
-            while (rs.next()) { // Itera sobre los resultados de la consulta
-                Vector<String> fila = new Vector<>(); // Crea un vector para la fila de la tabla
-                fila.add(rs.getString("Code"));
-                fila.add(rs.getString("Name"));
-                fila.add(rs.getString("Continent"));
-                fila.add(rs.getString("Region"));
-                modelo.addRow(fila); // Añade la fila al modelo de la tabla
-            }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(vista, "Error al cargar países: " + e.getMessage(), "Error DB", JOptionPane.ERROR_MESSAGE);
-        }
-    }
-    
-    /**
-     * Carga la lista de continentes distintos en el JComboBox de la interfaz.
-     */
-    private void cargarComboBoxContinentes() {
-        List<String> continentes = GestorPaises.obtenerContinentes();
-        DefaultComboBoxModel<String> model = (DefaultComboBoxModel<String>) vista.getjComboBox1().getModel();
-        model.removeAllElements(); // Limpia el ComboBox
-        for (String continente : continentes) {
-            model.addElement(continente); // Añade cada continente
-        }
-        vista.getjComboBox1().setSelectedIndex(-1); // Deja sin selección por defecto
-    }
-
-    /**
-     * Carga los detalles completos de un país seleccionado en los campos de texto correspondientes de la GUI.
-     * @param codigoPais El código del país cuyos detalles se van a cargar.
-     */
-    private void cargarDetallesPais(String codigoPais) {
-        ModeloPais pais = GestorPaises.cargarDetallesPais(codigoPais); // Obtiene el objeto país
-        if (pais != null) {
-            // Rellena los campos de la sección "DATOS RELEVANTES"
-            vista.getjTextField1().setText(pais.getCodigo());
-            vista.getjTextField2().setText(pais.getNombre());
-            vista.getjComboBox1().setSelectedItem(pais.getContinente());
-            vista.getjTextField3().setText(pais.getRegion());
-            vista.getjTextField4().setText(pais.getNombreLocal());
-            vista.getjTextField5().setText(pais.getAnioIndependencia() != null ? String.valueOf(pais.getAnioIndependencia()) : "");
-            vista.getjTextField6().setText(pais.getSuperficie() != null ? String.valueOf(pais.getSuperficie()) : "");
-            
-            // Rellena los campos de la sección "ECONOMÍA Y POBLACIÓN"
-            vista.getjTextField7().setText(pais.getExpectativaVida() != null ? String.valueOf(pais.getExpectativaVida()) : "");
-            vista.getjTextField8().setText(pais.getPoblacion() != null ? String.valueOf(pais.getPoblacion()) : "");
-            vista.getjTextField9().setText(pais.getPnb() != null ? String.valueOf(pais.getPnb()) : "");
-            vista.getjTextField10().setText(pais.getFormaGobierno());
-            vista.getjTextField11().setText(pais.getCabezaEstado());
-            
-            // Rellena los campos de la capital (parte de "ECONOMÍA Y POBLACIÓN" en la GUI)
-            vista.getjTextField12().setText(pais.getCapitalNombre());
-            vista.getjTextField13().setText(pais.getCapitalDistrito());
-            vista.getjTextField14().setText(pais.getCapitalPoblacion() != null ? String.valueOf(pais.getCapitalPoblacion()) : "");
-            
-            this.paisActualParaModificar = pais; // Guarda el estado actual del país para posible modificación/cancelación
-        } else {
-            limpiarCamposPais(); // Si no se encuentra el país, limpia los campos
-            this.paisActualParaModificar = null;
-        }
-    }
-
-    /**
-     * Carga los idiomas hablados en un país seleccionado en la JTable de idiomas.
-     * @param codigoPais El código del país cuyos idiomas se van a cargar.
-     */
-    private void cargarIdiomas(String codigoPais) {
-        List<ModeloIdioma> idiomas = GestorIdiomas.cargarIdiomas(codigoPais);
-        TablaIdiomasModel modelo = new TablaIdiomasModel(idiomas);
-        vista.getjTable2().setModel(modelo); // Establece el nuevo modelo en la tabla de idiomas
-        
-        // Habilita los botones para gestionar lenguas ahora que un país está seleccionado
-        vista.getjButton6().setEnabled(true); // Añadir lengua
-        vista.getjButton7().setEnabled(true); // Borrar lengua
-        habilitarCamposLengua(false); // Campos de edición de lengua deshabilitados por defecto
-        limpiarCamposLengua(); // Limpia los campos de edición de lengua
-    }
-
-    /**
-     * Inicializa todos los listeners de eventos para los componentes interactivos de la GUI.
-     */
-    private void inicializarEventos() {
-        // Listener para la selección de filas en la tabla de países
-        vista.getjTable1().getSelectionModel().addListSelectionListener(e -> {
-            // Se ejecuta solo cuando la selección se ha estabilizado y estamos en modo NAVEGANDO
-            if (!e.getValueIsAdjusting() && estadoActual == Estado.NAVEGANDO) {
-                int filaSeleccionadaVista = vista.getjTable1().getSelectedRow();
-                if (filaSeleccionadaVista != -1) {
-                    // Convierte el índice de la fila de la vista al índice del modelo (importante si la tabla está ordenada)
-                    int filaModelo = vista.getjTable1().convertRowIndexToModel(filaSeleccionadaVista);
-                    String codigoPais = vista.getjTable1().getModel().getValueAt(filaModelo, 0).toString();
-                    
-                    cargarDetallesPais(codigoPais); // Carga los detalles del país seleccionado
-                    cargarIdiomas(codigoPais); // Carga los idiomas del país seleccionado
-                    
-                    // Habilita botones de Modificar y Borrar país
-                    vista.getjButton3().setEnabled(true); 
-                    vista.getjButton2().setEnabled(true); 
-                } else { // Si no hay fila seleccionada
-                    limpiarCamposPais();
-                    ((DefaultTableModel) vista.getjTable2().getModel()).setRowCount(0); // Limpia tabla de idiomas
-                    // Deshabilita botones que dependen de una selección
-                    vista.getjButton3().setEnabled(false);
-                    vista.getjButton2().setEnabled(false);
-                    vista.getjButton6().setEnabled(false); 
-                    vista.getjButton7().setEnabled(false); 
-                }
-            }
-        });
-
-        // Listeners para los botones de CRUD de Países
-        vista.getjButton1().addActionListener(e -> prepararParaInsertarPais()); // Botón Añadir
-        vista.getjButton3().addActionListener(e -> prepararParaModificarPais()); // Botón Modificar
-        vista.getjButton4().addActionListener(e -> guardarPais()); // Botón Guardar
-        vista.getjButton5().addActionListener(e -> cancelarAccionPais()); // Botón Cancelar
-        vista.getjButton2().addActionListener(e -> eliminarPais()); // Botón Borrar
-        
-        // Listeners para los botones de CRUD de Lenguas
-        vista.getjButton6().addActionListener(e -> prepararParaInsertarLengua()); // Botón Añadir Lengua
-        vista.getjButton8().addActionListener(e -> guardarLengua()); // Botón Aceptar Lengua
-        vista.getjButton9().addActionListener(e -> cancelarEdicionLengua()); // Botón Cancelar Lengua
-        vista.getjButton7().addActionListener(e -> eliminarLengua()); // Botón Borrar Lengua
-    }
-
-    // --- Lógica de Estados y Acciones para PAÍSES ---
-
-    /**
-     * Prepara la GUI para la inserción de un nuevo país.
-     * Cambia el estado de la aplicación a INSERTANDO_PAIS.
-     */
-    private void prepararParaInsertarPais() {
-        estadoActual = Estado.INSERTANDO_PAIS;
-        limpiarCamposPais(); // Limpia todos los campos de detalle del país
-        habilitarCamposPais(true); // Hace los campos editables
-        
-        vista.getjTable1().clearSelection(); // Deselecciona cualquier fila en la tabla de países
-        vista.getjTable1().setEnabled(false); // Deshabilita la tabla de países durante la inserción
-        
-        // Configura el estado de los botones de la barra de herramientas principal
-        vista.getjButton1().setEnabled(false); // Añadir
-        vista.getjButton3().setEnabled(false); // Modificar
-        vista.getjButton2().setEnabled(false); // Borrar
-        vista.getjButton4().setEnabled(true);  // Guardar (habilitado)
-        vista.getjButton5().setEnabled(true);  // Cancelar (habilitado)
-        
-        // Deshabilita la gestión de lenguas durante la inserción de un país
-        vista.getjButton6().setEnabled(false);
-        vista.getjButton7().setEnabled(false);
-        ((DefaultTableModel) vista.getjTable2().getModel()).setRowCount(0); // Limpia tabla de idiomas
-    }
-
-    /**
-     * Prepara la GUI para la modificación de un país existente.
-     * Cambia el estado de la aplicación a MODIFICANDO_PAIS.
-     */
-    private void prepararParaModificarPais() {
-        if (paisActualParaModificar == null) return; // No hacer nada si no hay país seleccionado
-        estadoActual = Estado.MODIFICANDO_PAIS;
-        habilitarCamposPais(true); // Hace los campos editables
-        vista.getjTextField1().setEditable(false); // El código del país (PK) no se puede modificar
-
-        vista.getjTable1().setEnabled(false); // Deshabilita la tabla de países
-        
-        // Configura el estado de los botones
-        vista.getjButton1().setEnabled(false);
-        vista.getjButton3().setEnabled(false);
-        vista.getjButton2().setEnabled(false);
-        vista.getjButton4().setEnabled(true); // Guardar (habilitado)
-        vista.getjButton5().setEnabled(true); // Cancelar (habilitado)
-
-        // Deshabilita la gestión de lenguas
-        vista.getjButton6().setEnabled(false);
-        vista.getjButton7().setEnabled(false);
-    }
-    
-    /**
-     * Guarda los datos del país (ya sea una inserción o una modificación) en la base de datos.
-     * Realiza validaciones básicas antes de proceder.
-     */
-    private void guardarPais() {
-        // Validación: Código y Nombre no pueden estar vacíos
-        if (vista.getjTextField1().getText().trim().isEmpty() || vista.getjTextField2().getText().trim().isEmpty()) {
-            JOptionPane.showMessageDialog(vista, "El código y el nombre del país son obligatorios.", "Error de Validación", JOptionPane.ERROR_MESSAGE);
-            return;
-        }
-        // Validación: Código no más de 3 caracteres (según esquema de BD 'world')
-        if (estadoActual == Estado.INSERTANDO_PAIS && vista.getjTextField1().getText().trim().length() > 3) {
-             JOptionPane.showMessageDialog(vista, "El código del país no puede tener más de 3 caracteres.", "Error de Validación", JOptionPane.ERROR_MESSAGE);
-            return;
-        }
-
-        // Crea un objeto ModeloPais y lo rellena con los datos de la GUI
-        ModeloPais pais = new ModeloPais();
-        pais.setCodigo(vista.getjTextField1().getText().trim().toUpperCase()); // Código en mayúsculas
-        pais.setNombre(vista.getjTextField2().getText().trim());
-        pais.setContinente(vista.getjComboBox1().getSelectedItem() != null ? vista.getjComboBox1().getSelectedItem().toString() : null);
-        pais.setRegion(vista.getjTextField3().getText().trim());
-        pais.setNombreLocal(vista.getjTextField4().getText().trim());
-
-        // Conversión y validación de campos numéricos
-        try {
-            // Solo intenta parsear si el campo no está vacío, sino, se considera null (o 0 para primitivos si es necesario)
-            if (!vista.getjTextField5().getText().trim().isEmpty()) pais.setAnioIndependencia(Integer.parseInt(vista.getjTextField5().getText().trim()));
-            if (!vista.getjTextField6().getText().trim().isEmpty()) pais.setSuperficie(Double.parseDouble(vista.getjTextField6().getText().trim()));
-            if (!vista.getjTextField7().getText().trim().isEmpty()) pais.setExpectativaVida(Double.parseDouble(vista.getjTextField7().getText().trim()));
-            if (!vista.getjTextField8().getText().trim().isEmpty()) pais.setPoblacion(Integer.parseInt(vista.getjTextField8().getText().trim()));
-            if (!vista.getjTextField9().getText().trim().isEmpty()) pais.setPnb(Double.parseDouble(vista.getjTextField9().getText().trim()));
-        } catch (NumberFormatException e) {
-            JOptionPane.showMessageDialog(vista, "Verifique los campos numéricos (Año, Superficie, Exp. Vida, Población, PNB).\nDeben ser números válidos o estar vacíos si se permiten nulos.", "Error de Formato", JOptionPane.ERROR_MESSAGE);
-            return;
-        }
-        
-        pais.setFormaGobierno(vista.getjTextField10().getText().trim());
-        pais.setCabezaEstado(vista.getjTextField11().getText().trim());
-        
-        // La gestión del ID de la capital es más compleja y se omite en esta simplificación.
-        // Para una implementación completa, se necesitaría seleccionar una ciudad existente o crear una nueva.
-        // pais.setCapitalID( obtenerIDCapitalDeAlgunModo() ); 
-
-
-        boolean exito = false;
-        if (estadoActual == Estado.INSERTANDO_PAIS) {
-            exito = GestorPaises.insertarPais(pais);
-            if (exito) JOptionPane.showMessageDialog(vista, "País insertado correctamente.");
-        } else if (estadoActual == Estado.MODIFICANDO_PAIS) {
-            exito = GestorPaises.modificarPais(pais);
-             if (exito) JOptionPane.showMessageDialog(vista, "País modificado correctamente.");
-        }
-
-        if (exito) {
-            cargarPaises(); // Recarga la tabla de países para reflejar los cambios
-        }
-        cancelarAccionPais(); // Restaura la GUI al estado de navegación
-    }
-    
-    /**
-     * Elimina el país seleccionado de la base de datos, previa confirmación del usuario.
-     * También elimina los idiomas asociados a ese país.
-     */
-    private void eliminarPais() {
-        int filaSeleccionadaVista = vista.getjTable1().getSelectedRow();
-        if (filaSeleccionadaVista == -1) {
-            JOptionPane.showMessageDialog(vista, "Por favor, seleccione un país para borrar.", "Advertencia", JOptionPane.WARNING_MESSAGE);
-            return;
-        }
-        int filaModelo = vista.getjTable1().convertRowIndexToModel(filaSeleccionadaVista);
-        String codigoPais = vista.getjTable1().getModel().getValueAt(filaModelo, 0).toString();
-        String nombrePais = vista.getjTable1().getModel().getValueAt(filaModelo, 1).toString();
-
-        // Pide confirmación antes de borrar
-        int confirmacion = JOptionPane.showConfirmDialog(vista, 
-                "¿Seguro que quieres borrar el país '" + nombrePais + "' (código: " + codigoPais + ") y todos sus idiomas asociados?",
-                "Confirmar Borrado", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
-
-        if (confirmacion == JOptionPane.YES_OPTION) {
-            if (GestorPaises.eliminarPais(codigoPais)) {
-                JOptionPane.showMessageDialog(vista, "País eliminado correctamente.");
-                cargarPaises(); // Recarga la tabla de países
-                limpiarCamposPais(); // Limpia los detalles
-                ((DefaultTableModel) vista.getjTable2().getModel()).setRowCount(0); // Limpia la tabla de idiomas
-                configurarEstadoInicial(); // Restaura el estado de los botones
-            } else {
-                JOptionPane.showMessageDialog(vista, "No se pudo eliminar el país.", "Error de Eliminación", JOptionPane.ERROR_MESSAGE);
-            }
-        }
-    }
-
-    /**
-     * Cancela la acción actual de inserción o modificación de un país.
-     * Restaura la GUI al estado de navegación.
-     */
-    private void cancelarAccionPais() {
-        estadoActual = Estado.NAVEGANDO;
-        habilitarCamposPais(false); // Bloquea los campos de detalle del país
-        
-        vista.getjTable1().setEnabled(true); // Habilita la tabla de países
-        
-        // Si había un país seleccionado antes de la acción, recarga sus datos originales
-        int filaSeleccionadaVista = vista.getjTable1().getSelectedRow();
-        if (filaSeleccionadaVista != -1 && paisActualParaModificar != null) {
-             // Usar el código del país que se estaba modificando/viendo para recargar
-             cargarDetallesPais(paisActualParaModificar.getCodigo());
-             cargarIdiomas(paisActualParaModificar.getCodigo());
-        } else { // Si no había selección o se estaba insertando, limpia todo
-            limpiarCamposPais();
-            ((DefaultTableModel) vista.getjTable2().getModel()).setRowCount(0);
-        }
-        
-        // Restaura el estado de los botones de la barra de herramientas principal
-        vista.getjButton1().setEnabled(true); // Añadir
-        vista.getjButton3().setEnabled(filaSeleccionadaVista != -1); // Modificar (solo si hay selección)
-        vista.getjButton2().setEnabled(filaSeleccionadaVista != -1); // Borrar (solo si hay selección)
-        vista.getjButton4().setEnabled(false); // Guardar
-        vista.getjButton5().setEnabled(false); // Cancelar
-
-        // Habilita/deshabilita botones de lengua según si hay país seleccionado
-        if (filaSeleccionadaVista != -1) {
-            vista.getjButton6().setEnabled(true); 
-            vista.getjButton7().setEnabled(true); 
-        } else {
-            vista.getjButton6().setEnabled(false);
-            vista.getjButton7().setEnabled(false);
-        }
-    }
-
-    // --- Lógica de Estados y Acciones para LENGUAS ---
-
-    /**
-     * Prepara la GUI para la inserción de una nueva lengua para el país actualmente seleccionado.
-     */
-    private void prepararParaInsertarLengua() {
-        if (vista.getjTable1().getSelectedRow() == -1) {
-             JOptionPane.showMessageDialog(vista, "Debe seleccionar un país primero para añadirle un idioma.", "Advertencia", JOptionPane.WARNING_MESSAGE);
-            return;
-        }
-        estadoActual = Estado.INSERTANDO_LENGUA;
-        limpiarCamposLengua(); // Limpia los campos de edición de lengua
-        habilitarCamposLengua(true); // Hace los campos de lengua editables
-        
-        // Configura los botones de la barra de herramientas de lenguas
-        vista.getjButton8().setEnabled(true); // Aceptar Lengua
-        vista.getjButton9().setEnabled(true); // Cancelar Lengua
-        vista.getjButton6().setEnabled(false); // Deshabilita "Añadir Lengua" para evitar inserciones múltiples simultáneas
-        vista.getjButton7().setEnabled(false); // Deshabilita "Borrar Lengua"
-    }
-    
-    /**
-     * Guarda la nueva lengua introducida en la base de datos, asociándola al país seleccionado.
-     * Corresponde a la acción del botón "Aceptar" de la sección de lenguas.
-     */
-    private void guardarLengua() { 
-        int filaPaisVista = vista.getjTable1().getSelectedRow();
-        if (filaPaisVista == -1) { 
-            JOptionPane.showMessageDialog(vista, "Selecciona un país primero."); 
-            return; 
-        }
-        // Obtiene el código del país del modelo de la tabla (por si está ordenada)
-        String codigoPais = vista.getjTable1().getModel().getValueAt(vista.getjTable1().convertRowIndexToModel(filaPaisVista), 0).toString();
-        String idiomaNombre = vista.getjTextField15().getText().trim(); // Nombre de la lengua
-        
-        if(idiomaNombre.isEmpty()){ // Validación: nombre de lengua no vacío
-            JOptionPane.showMessageDialog(vista, "El nombre del idioma no puede estar vacío.", "Error de Validación", JOptionPane.ERROR_MESSAGE);
-            return;
-        }
-
-        boolean oficial = vista.getjCheckBox1().isSelected(); // Si es oficial
-        double porcentaje;
-        try {
-            porcentaje = Double.parseDouble(vista.getjTextField16().getText().trim()); // Porcentaje de hablantes
-            if (porcentaje < 0 || porcentaje > 100) { // Validación: porcentaje entre 0 y 100
-                JOptionPane.showMessageDialog(vista, "El porcentaje debe estar entre 0 y 100.", "Error de Validación", JOptionPane.ERROR_MESSAGE);
-                return;
-            }
-        } catch(NumberFormatException e) { // Validación: porcentaje es un número
-            JOptionPane.showMessageDialog(vista, "El porcentaje debe ser un número válido.", "Error de Formato", JOptionPane.ERROR_MESSAGE);
-            return;
-        }
-
-        ModeloIdioma nuevoIdioma = new ModeloIdioma(idiomaNombre, oficial, porcentaje);
-        if (GestorIdiomas.insertarIdioma(codigoPais, nuevoIdioma)) {
-            JOptionPane.showMessageDialog(vista, "Idioma añadido correctamente.");
-            cargarIdiomas(codigoPais); // Recarga la tabla de idiomas
-        } else {
-            JOptionPane.showMessageDialog(vista, "No se pudo añadir el idioma.", "Error de Inserción", JOptionPane.ERROR_MESSAGE);
-        }
-        cancelarEdicionLengua(); // Restaura la GUI de la sección de lenguas
-        estadoActual = Estado.NAVEGANDO; // Vuelve al estado de navegación general
-    }
-    
-    /**
-     * Elimina la lengua seleccionada de la base de datos para el país actual.
-     */
-    private void eliminarLengua() {
-        int filaPaisVista = vista.getjTable1().getSelectedRow(); 
-        int filaIdiomaVista = vista.getjTable2().getSelectedRow(); // Índice en la vista de la tabla de idiomas
-        
-        if (filaPaisVista == -1 || filaIdiomaVista == -1) { 
-            JOptionPane.showMessageDialog(vista, "Selecciona un país y un idioma para borrar."); 
-            return; 
-        }
-        String codigoPais = vista.getjTable1().getModel().getValueAt(vista.getjTable1().convertRowIndexToModel(filaPaisVista), 0).toString();
-        
-        // Obtener el idioma del modelo de la tabla de idiomas (no de la vista, por si está ordenada)
-        TablaIdiomasModel modeloIdiomas = (TablaIdiomasModel) vista.getjTable2().getModel();
-        // Es importante obtener el índice correcto del modelo si la tabla de idiomas permite ordenación.
-        // Si jTable2 no tiene un RowSorter, filaIdiomaVista y filaIdiomaModelo serán iguales.
-        // Para este ejemplo, asumimos que jTable2 no se ordena o que el índice de vista y modelo coinciden.
-        // Si jTable2 tuviera RowSorter: int filaIdiomaModelo = vista.getjTable2().convertRowIndexToModel(filaIdiomaVista);
-        String idiomaNombre = modeloIdiomas.getIdiomaAt(filaIdiomaVista).getIdioma();
-
-
-        int confirm = JOptionPane.showConfirmDialog(vista, "¿Seguro que quieres borrar el idioma '" + idiomaNombre + "' para este país?", "Confirmar Eliminación", JOptionPane.YES_NO_OPTION);
-        if (confirm == JOptionPane.YES_OPTION) {
-            if (GestorIdiomas.eliminarIdioma(codigoPais, idiomaNombre)) {
-                JOptionPane.showMessageDialog(vista, "Idioma eliminado correctamente.");
-                cargarIdiomas(codigoPais); // Recarga la tabla de idiomas
-            } else {
-                 JOptionPane.showMessageDialog(vista, "No se pudo eliminar el idioma.", "Error de Eliminación", JOptionPane.ERROR_MESSAGE);
-            }
-        }
-    }
-
-    /**
-     * Cancela la edición o inserción de una lengua.
-     * Restaura la GUI de la sección de lenguas a su estado por defecto.
-     */
-    private void cancelarEdicionLengua() {
-        limpiarCamposLengua(); // Limpia los campos de texto de lengua
-        habilitarCamposLengua(false); // Bloquea los campos de texto de lengua
-        
-        // Restaura el estado de los botones de la barra de herramientas de lenguas
-        vista.getjButton8().setEnabled(false); // Aceptar Lengua
-        vista.getjButton9().setEnabled(false); // Cancelar Lengua
-        
-        // Solo rehabilita "Añadir" y "Borrar" lengua si hay un país seleccionado
-        if (vista.getjTable1().getSelectedRow() != -1) {
-            vista.getjButton6().setEnabled(true); // Añadir Lengua
-            vista.getjButton7().setEnabled(true); // Borrar Lengua
-        }
-        estadoActual = Estado.NAVEGANDO; // Vuelve al estado de navegación general
-    }
-
-    // --- Métodos de utilidad para la GUI ---
-
-    /**
-     * Habilita o deshabilita la edición de los campos de detalle del país.
-     * @param habilitar true para hacerlos editables, false para hacerlos de solo lectura.
-     */
-    private void habilitarCamposPais(boolean habilitar) {
-        vista.getjTextField1().setEditable(habilitar); // Código
-        vista.getjTextField2().setEditable(habilitar); // Nombre
-        vista.getjComboBox1().setEnabled(habilitar);   // Continente
-        vista.getjTextField3().setEditable(habilitar); // Región
-        vista.getjTextField4().setEditable(habilitar); // Nombre Local
-        vista.getjTextField5().setEditable(habilitar); // Año Indep.
-        vista.getjTextField6().setEditable(habilitar); // Superficie
-        vista.getjTextField7().setEditable(habilitar); // Exp. Vida
-        vista.getjTextField8().setEditable(habilitar); // Población
-        vista.getjTextField9().setEditable(habilitar); // PNB
-        vista.getjTextField10().setEditable(habilitar);// Forma Gob.
-        vista.getjTextField11().setEditable(habilitar);// Cabeza Estado
-        // Los campos de la capital son siempre de solo lectura en esta implementación
-        vista.getjTextField12().setEditable(false); 
-        vista.getjTextField13().setEditable(false); 
-        vista.getjTextField14().setEditable(false); 
-    }
-    
-    /**
-     * Limpia el contenido de todos los campos de texto de detalle del país.
-     */
-    private void limpiarCamposPais() {
-        vista.getjTextField1().setText("");
-        vista.getjTextField2().setText("");
-        vista.getjComboBox1().setSelectedIndex(-1); // Sin selección
-        vista.getjTextField3().setText("");
-        vista.getjTextField4().setText("");
-        vista.getjTextField5().setText("");
-        vista.getjTextField6().setText("");
-        vista.getjTextField7().setText("");
-        vista.getjTextField8().setText("");
-        vista.getjTextField9().setText("");
-        vista.getjTextField10().setText("");
-        vista.getjTextField11().setText("");
-        vista.getjTextField12().setText("");
-        vista.getjTextField13().setText("");
-        vista.getjTextField14().setText("");
-    }
-    
-    /**
-     * Habilita o deshabilita la edición de los campos de lengua.
-     * @param habilitar true para hacerlos editables, false para hacerlos de solo lectura.
-     */
-    private void habilitarCamposLengua(boolean habilitar) {
-        vista.getjTextField15().setEditable(habilitar); // Nombre Lengua
-        vista.getjTextField16().setEditable(habilitar); // Porcentaje
-        vista.getjCheckBox1().setEnabled(habilitar);    // Oficial (Checkbox)
-    }
-
-    /**
-     * Limpia el contenido de los campos de edición de lengua.
-     */
-    private void limpiarCamposLengua() {
-        vista.getjTextField15().setText("");
-        vista.getjTextField16().setText("");
-        vista.getjCheckBox1().setSelected(false);
-    }
-}
+// Archivo: Controlador.java
+package Actividad;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.event.TableModelEvent;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableModel;
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.GridLayout;
+import java.awt.event.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.Vector;
+import java.util.regex.Pattern;
+
+/**
+ * Clase Controlador: maneja la lógica de la aplicación, interactuando entre la Vista (Paises.java)
+ * y los Modelos/Gestores de datos (ModeloPais, GestorPaises, ModeloIdioma, GestorIdiomas).
+ * Controla el estado de la aplicación (navegando, insertando, modificando) y actualiza la GUI.
+ */
+public class Controlador {
+
+    private final Paises vista; // Referencia a la interfaz gráfica (JFrame)
+    private enum Estado { NAVEGANDO, INSERTANDO_PAIS, MODIFICANDO_PAIS, INSERTANDO_LENGUA } // Estados posibles de la aplicación
+    private Estado estadoActual; // Estado actual de la aplicación
+    private ModeloPais paisActualParaModificar; // Almacena el país seleccionado para restaurar en caso de cancelación de modificación
+    // Cambios del país y de sus idiomas pendientes de guardar (sólo mientras se inserta o modifica un país)
+    private UnidadTrabajo unidadEnCurso;
+    // Idiomas que se muestran mientras hay una unidad de trabajo en curso (incluyen los cambios preparados)
+    private List<ModeloIdioma> idiomasEnEdicion;
+
+    // Errores de datos pendientes de mostrar (sólo se tocan en el hilo de Swing)
+    private final List<ErrorDatos> erroresPendientes = new ArrayList<>();
+    // Agrupa los errores que llegan seguidos en un único diálogo
+    private final Timer temporizadorErrores = new Timer(300, e -> mostrarErroresPendientes());
+    // Número máximo de errores que se detallan en el diálogo de resumen
+    private static final int MAX_ERRORES_DETALLADOS = 10;
+    // Filtro de texto de la tabla de países (las filas filtradas son las que afecta la edición masiva)
+    private final JTextField campoFiltro = new JTextField(12);
+    // Autocompletado del nombre de la lengua con los idiomas conocidos (tolerante a erratas)
+    private SugerenciasCampo<String> sugerenciasIdioma;
+    // Número máximo de sugerencias de la búsqueda aproximada
+    private static final int MAX_SUGERENCIAS = 8;
+    // Autocompletado de la capital con las ciudades del país
+    private SugerenciasCampo<IndiceCiudades.Ciudad> sugerenciasCapital;
+    // Ciudad elegida en la lista de la capital durante la edición (null si no se ha elegido ninguna)
+    private IndiceCiudades.Ciudad capitalElegida;
+    // Fondo de los campos con una clave que ya existe
+    private static final Color FONDO_ERROR = new Color(255, 220, 220);
+    // Columna de la tabla de países del primer indicador derivado (van en el orden de IndicadoresPaises.Indicador)
+    private static final int COLUMNA_INDICADORES = 4;
+
+    /**
+     * Constructor del Controlador.
+     * @param vista La instancia de la clase Paises (la GUI).
+     */
+    public Controlador(Paises vista) {
+        this.vista = vista;
+        temporizadorErrores.setRepeats(false);
+        BusErrores.suscribir(this::recibirError); // Los Gestores ya no abren diálogos: los muestra el controlador
+        ConsumidorCambios.suscribir(this::recibirCambios); // Cambios hechos desde otros puestos
+        // Si no se pudieron guardar los idiomas diferidos de un país, se vuelve a mostrar lo guardado
+        ColaEscrituraIdiomas.suscribir(codigoPais -> SwingUtilities.invokeLater(() -> {
+            if (estadoActual == Estado.NAVEGANDO && paisActualParaModificar != null
+                    && codigoPais.equals(paisActualParaModificar.getCodigo())) {
+                cargarIdiomas(codigoPais);
+            }
+        }));
+        // Países que el refresco por sumas de control encontró distintos: se actualizan sólo sus filas
+        RefrescoDelta.suscribir(paises -> SwingUtilities.invokeLater(
+                () -> aplicarCambiosRemotos(false, new HashMap<>(paises), Collections.emptySet())));
+        inicializarEventos(); // Configura los listeners para los componentes de la GUI
+        sugerenciasIdioma = SugerenciasCampo.instalar(vista.getjTextField15(),
+                texto -> BuscadorAproximado.idiomas().buscar(texto, MAX_SUGERENCIAS),
+                sugerencia -> vista.getjTextField15().setText(sugerencia.getValor()));
+        sugerenciasCapital = SugerenciasCampo.instalar(vista.getjTextField12(), 1,
+                texto -> IndiceCiudades.buscar(vista.getjTextField1().getText().trim().toUpperCase(), texto, MAX_SUGERENCIAS),
+                sugerencia -> mostrarCapital(sugerencia.getValor()));
+        IndiceCiudades.precargar(); // Las ciudades se leen una vez en segundo plano
+        // Los códigos de país e idiomas que ya existen se marcan mientras se escriben
+        IndiceClaves.precargar();
+        // Densidad, PNB por habitante y peso de la capital: se calculan para todos los países en segundo plano
+        IndicadoresPaises.suscribir(() -> SwingUtilities.invokeLater(this::actualizarIndicadores));
+        IndicadoresPaises.precargar();
+        alCambiarTexto(vista.getjTextField1(), this::comprobarCodigoDuplicado);
+        alCambiarTexto(vista.getjTextField15(), this::comprobarIdiomaDuplicado);
+        inicializarSelectorPerfil(); // Añade a la barra de herramientas el selector de perfil de conexión
+        inicializarEdicionMasiva(); // Añade a la barra de herramientas el filtro y la edición masiva
+        inicializarAuditoriaIdiomas(); // Añade a la barra de herramientas la auditoría de porcentajes de idiomas
+        inicializarRanking(); // Añade a la barra de herramientas la clasificación y el navegador de países
+        configurarEstadoInicial(); // Establece el estado inicial de la GUI y la aplicación
+        cargarPaises(); // Carga la lista inicial de países en la tabla
+        cargarComboBoxContinentes(); // Carga los continentes en el JComboBox
+    }
+
+    /**
+     * Recibe un error de la capa de datos (en cualquier hilo) y programa su aviso en el hilo de Swing.
+     * Los errores que llegan dentro del mismo intervalo se muestran juntos.
+     */
+    private void recibirError(ErrorDatos error) {
+        SwingUtilities.invokeLater(() -> {
+            erroresPendientes.add(error);
+            if (!temporizadorErrores.isRunning()) temporizadorErrores.start();
+        });
+    }
+
+    /**
+     * Recibe los cambios hechos por otros clientes (en el hilo del consumidor, con la caché ya invalidada).
+     * Allí mismo se releen los países afectados, para no consultar la base de datos desde Swing,
+     * y después se actualizan sólo sus filas en el hilo de Swing.
+     */
+    private void recibirCambios(List<CambiosDatos.Cambio> cambios) {
+        // Con muchos cambios la caché ya se vació entera: sale más barato recargar la lista
+        boolean recargarTodo = cambios.size() > ConsumidorCambios.MAX_CAMBIOS_DETALLADOS;
+        Map<String, ModeloPais> paises = new HashMap<>(); // Código -> datos actuales (null si se eliminó)
+        Map<String, CambiosDatos.Cambio> releer = new HashMap<>(); // Países que hay que releer -> su último cambio
+        Set<String> idiomas = new HashSet<>();             // Países con cambios de idiomas
+        for (CambiosDatos.Cambio cambio : cambios) {
+            switch (cambio.getTipo()) {
+                case TODO:
+                    recargarTodo = true;
+                    break;
+                case IDIOMAS_MODIFICADOS:
+                    idiomas.add(cambio.getCodigoPais());
+                    break;
+                case PAIS_ELIMINADO:
+                    paises.put(cambio.getCodigoPais(), null);
+                    releer.remove(cambio.getCodigoPais());
+                    break;
+                default:
+                    paises.put(cambio.getCodigoPais(), null);
+                    releer.put(cambio.getCodigoPais(), cambio);
+                    break;
+            }
+        }
+        if (recargarTodo) {
+            CachePaises.obtenerListaPaises(); // Se carga aquí; cargarPaises la encontrará en caché
+        } else {
+            // obtenerDetalles devuelve null tanto si el país no existe como si falla la consulta: los errores
+            // se recogen (sin diálogo cada pocos segundos) y esos países no se tocan hasta releerlos bien
+            List<CambiosDatos.Cambio> fallidos = new ArrayList<>();
+            try (BusErrores.Recolector recolector = BusErrores.recoger()) {
+                for (Map.Entry<String, CambiosDatos.Cambio> entrada : releer.entrySet()) {
+                    int erroresAntes = recolector.getErrores().size();
+                    ModeloPais pais = CachePaises.obtenerDetalles(entrada.getKey());
+                    if (recolector.getErrores().size() > erroresAntes) {
+                        paises.remove(entrada.getKey());
+                        fallidos.add(entrada.getValue());
+                    } else {
+                        paises.put(entrada.getKey(), pais); // null si ya no existe
+                    }
+                }
+            }
+            if (!fallidos.isEmpty()) ConsumidorCambios.reintentar(fallidos);
+        }
+        boolean todo = recargarTodo;
+        SwingUtilities.invokeLater(() -> aplicarCambiosRemotos(todo, paises, idiomas));
+    }
+
+    /**
+     * Aplica en la interfaz los cambios de otros clientes: actualiza, añade o quita las filas de los
+     * países afectados y recarga el país seleccionado si se está consultando. Si se está editando,
+     * no se toca el formulario: al guardar, la modificación optimista detectará los conflictos.
+     * El país seleccionado se relee en segundo plano (si no está en caché se consulta la base de datos).
+     */
+    private void aplicarCambiosRemotos(boolean recargarTodo, Map<String, ModeloPais> paises, Set<String> idiomas) {
+        String seleccionado = paisActualParaModificar != null ? paisActualParaModificar.getCodigo() : null;
+        DefaultTableModel modelo = (DefaultTableModel) vista.getjTable1().getModel();
+        if (recargarTodo) {
+            cargarPaises();
+            seleccionarPais(seleccionado);
+        } else {
+            Map<String, ModeloPais> pendientes = new HashMap<>(paises);
+            for (int fila = modelo.getRowCount() - 1; fila >= 0; fila--) {
+                String codigo = modelo.getValueAt(fila, 0).toString();
+                if (!pendientes.containsKey(codigo)) continue;
+                ModeloPais pais = pendientes.remove(codigo);
+                if (pais == null) {
+                    modelo.removeRow(fila); // Si era el seleccionado, el listener de selección limpia los detalles
+                } else {
+                    modelo.setValueAt(pais.getNombre(), fila, 1);
+                    modelo.setValueAt(pais.getContinente(), fila, 2);
+                    modelo.setValueAt(pais.getRegion(), fila, 3);
+                }
+            }
+            for (ModeloPais pais : pendientes.values()) { // Los que quedan son países nuevos
+                if (pais == null) continue;
+                modelo.addRow(filaPais(pais)); // Sus indicadores llegan con la relectura que provoca el cambio
+            }
+        }
+        // El país seleccionado sólo se recarga si se está consultando y sigue existiendo
+        if (estadoActual != Estado.NAVEGANDO || seleccionado == null || vista.getjTable1().getSelectedRow() == -1) return;
+        boolean conDetalles = recargarTodo || paises.containsKey(seleccionado);
+        boolean conIdiomas = recargarTodo || idiomas.contains(seleccionado);
+        if (!conDetalles && !conIdiomas) return;
+        new SwingWorker<Void, Void>() {
+            private ModeloPais pais;
+            private List<ModeloIdioma> lista;
+
+            @Override
+            protected Void doInBackground() {
+                if (conDetalles) pais = CachePaises.obtenerDetalles(seleccionado);
+                if (conIdiomas) lista = CachePaises.obtenerIdiomas(seleccionado);
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    get(); // Tras get() se ven los campos escritos en segundo plano
+                } catch (InterruptedException | java.util.concurrent.ExecutionException e) {
+                    return;
+                }
+                // Sólo si se sigue consultando el mismo país
+                int filaVista = vista.getjTable1().getSelectedRow();
+                if (estadoActual != Estado.NAVEGANDO || filaVista == -1) return;
+                int filaModelo = vista.getjTable1().convertRowIndexToModel(filaVista);
+                if (!seleccionado.equals(vista.getjTable1().getModel().getValueAt(filaModelo, 0).toString())) return;
+                if (conDetalles) mostrarDetallesPais(pais);
+                if (conIdiomas) mostrarIdiomas(seleccionado, lista);
+            }
+        }.execute();
+    }
+
+    /**
+     * Selecciona en la tabla de países la fila del código indicado, si está visible.
+     */
+    private void seleccionarPais(String codigoPais) {
+        if (codigoPais == null) return;
+        JTable tabla = vista.getjTable1();
+        for (int fila = 0; fila < tabla.getModel().getRowCount(); fila++) {
+            if (codigoPais.equals(tabla.getModel().getValueAt(fila, 0).toString())) {
+                int filaVista = tabla.convertRowIndexToView(fila);
+                if (filaVista != -1) {
+                    tabla.setRowSelectionInterval(filaVista, filaVista);
+                    tabla.scrollRectToVisible(tabla.getCellRect(filaVista, 0, true));
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Ejecuta la acción cada vez que cambia el texto del campo.
+     */
+    private static void alCambiarTexto(JTextField campo, Runnable accion) {
+        campo.getDocument().addDocumentListener(new DocumentListener() {
+            @Override public void insertUpdate(DocumentEvent e) { accion.run(); }
+            @Override public void removeUpdate(DocumentEvent e) { accion.run(); }
+            @Override public void changedUpdate(DocumentEvent e) { accion.run(); }
+        });
+    }
+
+    /**
+     * Marca el campo si su valor es una clave que ya existe (o quita la marca si mensaje es null).
+     */
+    private static void marcarDuplicado(JTextField campo, String mensaje) {
+        campo.setBackground(mensaje != null ? FONDO_ERROR : UIManager.getColor("TextField.background"));
+        campo.setToolTipText(mensaje);
+    }
+
+    /**
+     * Al insertar un país, marca el código si ya existe otro país con él (sin consultar la base de datos).
+     */
+    private void comprobarCodigoDuplicado() {
+        String codigo = vista.getjTextField1().getText().trim();
+        boolean duplicado = estadoActual == Estado.INSERTANDO_PAIS && IndiceClaves.existePais(codigo);
+        marcarDuplicado(vista.getjTextField1(), duplicado ? "Ya existe un país con el código " + codigo.toUpperCase() : null);
+    }
+
+    /**
+     * Al añadir una lengua, marca el nombre si el país ya la tiene: en la tabla de idiomas (que incluye
+     * los cambios sin guardar) o, si se guarda directamente, en el índice de claves.
+     */
+    private void comprobarIdiomaDuplicado() {
+        String idioma = vista.getjTextField15().getText().trim();
+        boolean duplicado = false;
+        if (vista.getjTextField15().isEditable() && !idioma.isEmpty()) {
+            TablaIdiomasModel modeloIdiomas = (TablaIdiomasModel) vista.getjTable2().getModel();
+            for (int fila = 0; fila < modeloIdiomas.getRowCount() && !duplicado; fila++) {
+                duplicado = modeloIdiomas.getIdiomaAt(fila).getIdioma().equalsIgnoreCase(idioma);
+            }
+            if (!duplicado && unidadEnCurso == null && !ColaEscrituraIdiomas.isActiva()) {
+                duplicado = IndiceClaves.existeIdioma(vista.getjTextField1().getText().trim(), idioma);
+            }
+        }
+        marcarDuplicado(vista.getjTextField15(), duplicado ? "El país ya tiene el idioma " + idioma : null);
+    }
+
+    /**
+     * Muestra en un único diálogo los errores acumulados: el mensaje completo si sólo hay uno,
+     * o un resumen por categoría con los primeros errores si hay varios.
+     */
+    private void mostrarErroresPendientes() {
+        if (erroresPendientes.isEmpty()) return;
+        List<ErrorDatos> errores = new ArrayList<>(erroresPendientes);
+        erroresPendientes.clear(); // Los que lleguen mientras el diálogo está abierto irán en el siguiente
+        String texto;
+        if (errores.size() == 1) {
+            texto = errores.get(0).getMensajeCompleto();
+        } else {
+            Map<ErrorDatos.Categoria, Integer> porCategoria = new EnumMap<>(ErrorDatos.Categoria.class);
+            for (ErrorDatos error : errores) porCategoria.merge(error.getCategoria(), 1, Integer::sum);
+            StringBuilder resumen = new StringBuilder("Se produjeron " + errores.size() + " errores de base de datos " + porCategoria + ":\n");
+            for (int i = 0; i < Math.min(errores.size(), MAX_ERRORES_DETALLADOS); i++) {
+                resumen.append("\n• ").append(errores.get(i));
+            }
+            if (errores.size() > MAX_ERRORES_DETALLADOS) {
+                resumen.append("\n… y ").append(errores.size() - MAX_ERRORES_DETALLADOS).append(" más (ver el registro).");
+            }
+            texto = resumen.toString();
+        }
+        JOptionPane.showMessageDialog(vista, texto, "Error DB", JOptionPane.ERROR_MESSAGE);
+    }
+
+    /**
+     * Establece el estado inicial de la aplicación y la GUI.
+     * Habilita/deshabilita botones y campos según corresponda.
+     */
+    private void configurarEstadoInicial() {
+        this.estadoActual = Estado.NAVEGANDO; // Estado por defecto
+        
+        // Configuración de la barra de herramientas principal para países
+        vista.getjButton1().setEnabled(true);  // Botón Añadir País habilitado
+        vista.getjButton3().setEnabled(false); // Botón Modificar País deshabilitado (hasta seleccionar uno)
+        vista.getjButton2().setEnabled(false); // Botón Borrar País deshabilitado (hasta seleccionar uno)
+        vista.getjButton4().setEnabled(false); // Botón Guardar País deshabilitado
+        vista.getjButton5().setEnabled(false); // Botón Cancelar País deshabilitado
+
+        // Configuración de los campos de detalle del país
+        habilitarCamposPais(false); // Campos no editables
+        limpiarCamposPais(); // Limpiar los campos de texto
+
+        // Configuración de la sección de lenguas
+        vista.getjTable2().setModel(new TablaIdiomasModel(new ArrayList<>())); // Tabla de idiomas vacía
+        // La columna "%" se señala cuando los idiomas del país suman más del 100% (el modelo lleva la suma)
+        vista.getjTable2().setDefaultRenderer(Double.class, new DefaultTableCellRenderer() {
+            @Override
+            public Component getTableCellRendererComponent(JTable tabla, Object valor, boolean seleccionada, boolean foco, int fila, int col) {
+                super.getTableCellRendererComponent(tabla, valor, seleccionada, foco, fila, col);
+                setHorizontalAlignment(SwingConstants.RIGHT);
+                TablaIdiomasModel modelo = tabla.getModel() instanceof TablaIdiomasModel ? (TablaIdiomasModel) tabla.getModel() : null;
+                boolean excedido = modelo != null && modelo.isExcedido();
+                if (!seleccionada) setBackground(excedido ? FONDO_ERROR : tabla.getBackground());
+                setToolTipText(excedido ? "Los idiomas del país suman un " + TotalesIdiomas.formatear(modelo.getTotalPorcentaje())
+                        + "% (máximo " + TotalesIdiomas.formatear(ValidadorDatos.PORCENTAJE_MAXIMO_PAIS) + "%)" : null);
+                return this;
+            }
+        });
+        habilitarCamposLengua(false); // Campos de lengua no editables
+        limpiarCamposLengua(); // Limpiar campos de lengua
+        vista.getjButton6().setEnabled(false); // Botón Añadir lengua deshabilitado (hasta seleccionar país)
+        vista.getjButton7().setEnabled(false); // Botón Borrar lengua deshabilitado (hasta seleccionar país e idioma)
+        vista.getjButton8().setEnabled(false); // Botón Aceptar lengua deshabilitado
+        vista.getjButton9().setEnabled(false); // Botón Cancelar lengua deshabilitado
+        
+        // Habilitar la ordenación en la tabla de países al hacer clic en las cabeceras
+        // (nombres según el idioma, con las CollationKey y las permutaciones en caché)
+        OrdenadorTabla<TableModel> ordenador = new OrdenadorTabla<>(vista.getjTable1().getModel());
+        vista.getjTable1().setRowSorter(ordenador);
+        // Continente y región se ordenan por la posición de su código en el diccionario, sin Collator por fila
+        ordenador.setComparator(2, DiccionarioValores.CONTINENTES.comparador());
+        ordenador.setComparator(3, DiccionarioValores.REGIONES.comparador());
+        // Los indicadores (Double) se ordenan como números y se muestran con sus decimales, alineados a la derecha
+        vista.getjTable1().setDefaultRenderer(Double.class, new DefaultTableCellRenderer() {
+            @Override
+            public Component getTableCellRendererComponent(JTable tabla, Object valor, boolean seleccionada, boolean foco, int fila, int col) {
+                super.getTableCellRendererComponent(tabla, valor, seleccionada, foco, fila, col);
+                int decimales = IndicadoresPaises.Indicador.values()[tabla.convertColumnIndexToModel(col) - COLUMNA_INDICADORES].getDecimales();
+                setText(valor == null ? "" : String.format(Locale.ROOT, "%." + decimales + "f", (Double) valor));
+                setHorizontalAlignment(RIGHT);
+                return this;
+            }
+        });
+        // Permite seleccionar varios países (Ctrl/Mayús + clic) para borrarlos juntos
+        vista.getjTable1().setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        aplicarFiltro(); // El ordenador de filas es nuevo: se le vuelve a aplicar el filtro
+    }
+    
+    /**
+     * Carga los datos de los países (Código, Nombre, Continente, Región y los indicadores derivados)
+     * en la JTable principal. La tabla se ordena por nombre de país.
+     */
+    @SuppressWarnings("unchecked")
+    private void cargarPaises() {
+        DefaultTableModel modelo = (DefaultTableModel) vista.getjTable1().getModel();
+        // Las filas se escriben directamente en los datos del modelo y se avisa una sola vez: con addRow
+        // cada fila sería un aviso al ordenador de la tabla
+        Vector<Vector<Object>> datos = (Vector<Vector<Object>>) (Vector<?>) modelo.getDataVector();
+        datos.clear(); // Limpia la tabla antes de cargar nuevos datos
+
+        // Los datos se leen de la caché compartida (la misma que usa el servidor HTTP)
+        for (ModeloPais pais : CachePaises.obtenerListaPaises()) {
+            datos.add(filaPais(pais));
+        }
+        modelo.fireTableDataChanged();
+    }
+
+    /**
+     * @return La fila de la tabla de países: los datos de la lista resumida y los indicadores ya calculados
+     *         (vacíos si aún no lo están).
+     */
+    private static Vector<Object> filaPais(ModeloPais pais) {
+        Vector<Object> fila = new Vector<>(COLUMNA_INDICADORES + IndicadoresPaises.Indicador.values().length);
+        fila.add(pais.getCodigo());
+        fila.add(pais.getNombre());
+        fila.add(pais.getContinente());
+        fila.add(pais.getRegion());
+        for (IndicadoresPaises.Indicador indicador : IndicadoresPaises.Indicador.values()) {
+            fila.add(IndicadoresPaises.valor(pais.getCodigo(), indicador));
+        }
+        return fila;
+    }
+
+    /**
+     * Copia los indicadores recalculados en las filas de la tabla de países. Se escriben directamente
+     * en los datos del modelo y se avisa una vez por columna: así el ordenador sólo rehace esas columnas
+     * y la selección se conserva.
+     */
+    @SuppressWarnings("unchecked")
+    private void actualizarIndicadores() {
+        DefaultTableModel modelo = (DefaultTableModel) vista.getjTable1().getModel();
+        if (modelo.getRowCount() == 0) return;
+        IndicadoresPaises.Indicador[] indicadores = IndicadoresPaises.Indicador.values();
+        for (Vector<Object> fila : (Vector<Vector<Object>>) (Vector<?>) modelo.getDataVector()) {
+            String codigo = fila.get(0).toString();
+            for (IndicadoresPaises.Indicador indicador : indicadores) {
+                fila.set(COLUMNA_INDICADORES + indicador.ordinal(), IndicadoresPaises.valor(codigo, indicador));
+            }
+        }
+        for (IndicadoresPaises.Indicador indicador : indicadores) {
+            modelo.fireTableChanged(new TableModelEvent(modelo, 0, modelo.getRowCount() - 1, COLUMNA_INDICADORES + indicador.ordinal()));
+        }
+    }
+    
+    /**
+     * Carga la lista de continentes distintos en el JComboBox de la interfaz.
+     */
+    private void cargarComboBoxContinentes() {
+        List<String> continentes = CachePaises.obtenerContinentes();
+        DefaultComboBoxModel<String> model = (DefaultComboBoxModel<String>) vista.getjComboBox1().getModel();
+        model.removeAllElements(); // Limpia el ComboBox
+        for (String continente : continentes) {
+            model.addElement(continente); // Añade cada continente
+        }
+        vista.getjComboBox1().setSelectedIndex(-1); // Deja sin selección por defecto
+    }
+
+    /**
+     * Carga los detalles completos de un país seleccionado en los campos de texto correspondientes de la GUI.
+     * @param codigoPais El código del país cuyos detalles se van a cargar.
+     */
+    private void cargarDetallesPais(String codigoPais) {
+        mostrarDetallesPais(CachePaises.obtenerDetalles(codigoPais)); // Obtiene el objeto país (de la caché compartida)
+    }
+
+    /**
+     * Rellena los campos de la GUI con los detalles de un país ya leído.
+     * @param pais El país, o null si no se encontró (se limpian los campos).
+     */
+    private void mostrarDetallesPais(ModeloPais pais) {
+        if (pais != null) {
+            // Rellena los campos de la sección "DATOS RELEVANTES"
+            vista.getjTextField1().setText(pais.getCodigo());
+            vista.getjTextField2().setText(pais.getNombre());
+            vista.getjComboBox1().setSelectedItem(pais.getContinente());
+            vista.getjTextField3().setText(pais.getRegion());
+            vista.getjTextField4().setText(pais.getNombreLocal());
+            vista.getjTextField5().setText(pais.getAnioIndependencia() != null ? String.valueOf(pais.getAnioIndependencia()) : "");
+            vista.getjTextField6().setText(pais.getSuperficie() != null ? String.valueOf(pais.getSuperficie()) : "");
+            
+            // Rellena los campos de la sección "ECONOMÍA Y POBLACIÓN"
+            vista.getjTextField7().setText(pais.getExpectativaVida() != null ? String.valueOf(pais.getExpectativaVida()) : "");
+            vista.getjTextField8().setText(pais.getPoblacion() != null ? String.valueOf(pais.getPoblacion()) : "");
+            vista.getjTextField9().setText(pais.getPnb() != null ? String.valueOf(pais.getPnb()) : "");
+            vista.getjTextField10().setText(pais.getFormaGobierno());
+            vista.getjTextField11().setText(pais.getCabezaEstado());
+            
+            // Rellena los campos de la capital (parte de "ECONOMÍA Y POBLACIÓN" en la GUI)
+            vista.getjTextField12().setText(pais.getCapitalNombre());
+            vista.getjTextField13().setText(pais.getCapitalDistrito());
+            vista.getjTextField14().setText(pais.getCapitalPoblacion() != null ? String.valueOf(pais.getCapitalPoblacion()) : "");
+            
+            this.paisActualParaModificar = pais; // Guarda el estado actual del país para posible modificación/cancelación
+        } else {
+            limpiarCamposPais(); // Si no se encuentra el país, limpia los campos
+            this.paisActualParaModificar = null;
+        }
+    }
+
+    /**
+     * Carga los idiomas hablados en un país seleccionado en la JTable de idiomas.
+     * @param codigoPais El código del país cuyos idiomas se van a cargar.
+     */
+    private void cargarIdiomas(String codigoPais) {
+        mostrarIdiomas(codigoPais, CachePaises.obtenerIdiomas(codigoPais));
+    }
+
+    /**
+     * Muestra en la JTable de idiomas los idiomas ya leídos de un país.
+     * @param codigoPais El código del país.
+     * @param leidos Los idiomas de la caché (no se modifican).
+     */
+    private void mostrarIdiomas(String codigoPais, List<ModeloIdioma> leidos) {
+        // Copia de la lista de la caché (que no se modifica) con los cambios de idiomas aún sin guardar
+        List<ModeloIdioma> idiomas = ColaEscrituraIdiomas.aplicarPendientes(codigoPais, leidos);
+        TablaIdiomasModel modelo = new TablaIdiomasModel(idiomas);
+        // Oficialidad y porcentaje se editan en la tabla; se guardan agrupados y en segundo plano
+        modelo.setOyenteEdicion((original, editado) -> ColaEscrituraIdiomas.modificarIdioma(codigoPais, original, editado));
+        vista.getjTable2().setModel(modelo); // Establece el nuevo modelo en la tabla de idiomas
+        
+        // Habilita los botones para gestionar lenguas ahora que un país está seleccionado
+        vista.getjButton6().setEnabled(true); // Añadir lengua
+        vista.getjButton7().setEnabled(true); // Borrar lengua
+        habilitarCamposLengua(false); // Campos de edición de lengua deshabilitados por defecto
+        limpiarCamposLengua(); // Limpia los campos de edición de lengua
+    }
+
+    /**
+     * Inicializa todos los listeners de eventos para los componentes interactivos de la GUI.
+     */
+    private void inicializarEventos() {
+        // Listener para la selección de filas en la tabla de países
+        vista.getjTable1().getSelectionModel().addListSelectionListener(e -> {
+            // Se ejecuta solo cuando la selección se ha estabilizado y estamos en modo NAVEGANDO
+            if (!e.getValueIsAdjusting() && estadoActual == Estado.NAVEGANDO) {
+                int filaSeleccionadaVista = vista.getjTable1().getSelectedRow();
+                if (filaSeleccionadaVista != -1) {
+                    // Convierte el índice de la fila de la vista al índice del modelo (importante si la tabla está ordenada)
+                    int filaModelo = vista.getjTable1().convertRowIndexToModel(filaSeleccionadaVista);
+                    String codigoPais = vista.getjTable1().getModel().getValueAt(filaModelo, 0).toString();
+                    
+                    cargarDetallesPais(codigoPais); // Carga los detalles del país seleccionado
+                    cargarIdiomas(codigoPais); // Carga los idiomas del país seleccionado
+                    
+                    // Habilita botones de Modificar y Borrar país
+                    vista.getjButton3().setEnabled(true); 
+                    vista.getjButton2().setEnabled(true); 
+                } else { // Si no hay fila seleccionada
+                    limpiarCamposPais();
+                    limpiarTablaIdiomas(); // Limpia tabla de idiomas
+                    // Deshabilita botones que dependen de una selección
+                    vista.getjButton3().setEnabled(false);
+                    vista.getjButton2().setEnabled(false);
+                    vista.getjButton6().setEnabled(false); 
+                    vista.getjButton7().setEnabled(false); 
+                }
+            }
+        });
+
+        // Listeners para los botones de CRUD de Países
+        vista.getjButton1().addActionListener(e -> prepararParaInsertarPais()); // Botón Añadir
+        vista.getjButton3().addActionListener(e -> prepararParaModificarPais()); // Botón Modificar
+        vista.getjButton4().addActionListener(e -> guardarPais()); // Botón Guardar
+        vista.getjButton5().addActionListener(e -> cancelarAccionPais()); // Botón Cancelar
+        vista.getjButton2().addActionListener(e -> eliminarPais()); // Botón Borrar
+        
+        // Listeners para los botones de CRUD de Lenguas
+        vista.getjButton6().addActionListener(e -> prepararParaInsertarLengua()); // Botón Añadir Lengua
+        vista.getjButton8().addActionListener(e -> guardarLengua()); // Botón Aceptar Lengua
+        vista.getjButton9().addActionListener(e -> cancelarEdicionLengua()); // Botón Cancelar Lengua
+        vista.getjButton7().addActionListener(e -> eliminarLengua()); // Botón Borrar Lengua
+    }
+
+    /**
+     * Añade a la barra de herramientas principal un desplegable con los perfiles de conexión
+     * (ver ConfiguracionBD). Al elegir otro perfil se cambia en caliente y se recargan los datos.
+     */
+    private void inicializarSelectorPerfil() {
+        JComboBox<String> selector = new JComboBox<>(ConfiguracionBD.nombresPerfiles().toArray(new String[0]));
+        selector.setSelectedItem(ConexionBD.getPerfilActivo().getNombre());
+        selector.setToolTipText("Perfil de conexión a la base de datos");
+        selector.setMaximumSize(selector.getPreferredSize());
+        selector.addActionListener(e -> {
+            String nombre = (String) selector.getSelectedItem();
+            if (nombre != null && !nombre.equals(ConexionBD.getPerfilActivo().getNombre()) && ConexionBD.cambiarPerfil(nombre)) {
+                CachePaises.invalidarTodo(); // Otro perfil puede apuntar a otra base de datos
+                IndiceCiudades.invalidar();
+                IndiceCiudades.precargar();
+                IndiceClaves.invalidar();
+                IndiceClaves.precargar();
+                cargarPaises(); // La clasificación se recarga sola con la invalidación de la caché
+                cargarComboBoxContinentes();
+            }
+        });
+        vista.getjToolBar1().addSeparator();
+        vista.getjToolBar1().add(new JLabel(" Perfil: "));
+        vista.getjToolBar1().add(selector);
+    }
+
+    /**
+     * Añade a la barra de herramientas un campo de filtro para la tabla de países y el botón
+     * de edición masiva, que aplica un cambio a todas las filas que deja visibles el filtro.
+     */
+    private void inicializarEdicionMasiva() {
+        campoFiltro.setToolTipText("Filtra los países por código, nombre, continente, región o indicador (sin resultados, sugiere nombres parecidos)");
+        campoFiltro.setMaximumSize(campoFiltro.getPreferredSize());
+        campoFiltro.getDocument().addDocumentListener(new DocumentListener() {
+            @Override public void insertUpdate(DocumentEvent e) { aplicarFiltro(); }
+            @Override public void removeUpdate(DocumentEvent e) { aplicarFiltro(); }
+            @Override public void changedUpdate(DocumentEvent e) { aplicarFiltro(); }
+        });
+        // Si el filtro no deja ninguna fila (nombre mal escrito), se sugieren los países más parecidos
+        SugerenciasCampo.instalar(campoFiltro,
+                texto -> vista.getjTable1().getRowCount() > 0 ? Collections.emptyList() : BuscadorAproximado.paises().buscar(texto, MAX_SUGERENCIAS),
+                sugerencia -> {
+                    campoFiltro.setText("");
+                    seleccionarPais(sugerencia.getValor());
+                });
+        JButton botonEdicion = new JButton("Edición masiva...");
+        botonEdicion.setToolTipText("Aplica un cambio a todos los países que muestra la tabla");
+        botonEdicion.addActionListener(e -> editarPaisesFiltrados());
+        vista.getjToolBar1().addSeparator();
+        vista.getjToolBar1().add(new JLabel(" Filtro: "));
+        vista.getjToolBar1().add(campoFiltro);
+        vista.getjToolBar1().add(botonEdicion);
+    }
+
+    /**
+     * Añade a la barra de herramientas el botón que comprueba, en toda la base de datos, qué países
+     * tienen idiomas cuyos porcentajes suman más del 100%.
+     */
+    private void inicializarAuditoriaIdiomas() {
+        JButton botonAuditoria = new JButton("Auditar idiomas...");
+        botonAuditoria.setToolTipText("Busca los países cuyos idiomas suman más del 100% de la población");
+        botonAuditoria.addActionListener(e -> auditarPorcentajes(botonAuditoria));
+        vista.getjToolBar1().addSeparator();
+        vista.getjToolBar1().add(botonAuditoria);
+    }
+
+    /**
+     * Ejecuta la auditoría de porcentajes en segundo plano y muestra los países que la incumplen.
+     * Si se elige uno de la lista, se selecciona en la tabla.
+     */
+    private void auditarPorcentajes(JButton boton) {
+        boton.setEnabled(false);
+        new SwingWorker<List<TotalesIdiomas.Exceso>, Void>() {
+            @Override
+            protected List<TotalesIdiomas.Exceso> doInBackground() {
+                return TotalesIdiomas.auditar();
+            }
+
+            @Override
+            protected void done() {
+                boton.setEnabled(true);
+                List<TotalesIdiomas.Exceso> excesos;
+                try {
+                    excesos = get();
+                } catch (InterruptedException e) {
+                    return;
+                } catch (java.util.concurrent.ExecutionException e) {
+                    // Los errores de la base de datos llegan como null; esto es un fallo inesperado de la auditoría
+                    BusErrores.publicar(new ErrorDatos("idioma.auditar", null, null, "Error inesperado en la auditoría: " + e.getCause(), null));
+                    return;
+                }
+                if (excesos == null) return; // El error ya se ha mostrado por BusErrores
+                if (excesos.isEmpty()) {
+                    JOptionPane.showMessageDialog(vista, "Ningún país tiene idiomas que sumen más del 100%.", "Auditoría de Idiomas",
+                            JOptionPane.INFORMATION_MESSAGE);
+                    return;
+                }
+                JList<TotalesIdiomas.Exceso> lista = new JList<>(excesos.toArray(new TotalesIdiomas.Exceso[0]));
+                lista.setVisibleRowCount(Math.min(excesos.size(), 12));
+                JPanel panel = new JPanel(new BorderLayout(0, 6));
+                panel.add(new JLabel(excesos.size() + " país(es) con idiomas que suman más del 100% (elige uno para verlo):"),
+                        BorderLayout.NORTH);
+                panel.add(new JScrollPane(lista), BorderLayout.CENTER);
+                int respuesta = JOptionPane.showConfirmDialog(vista, panel, "Auditoría de Idiomas", JOptionPane.OK_CANCEL_OPTION,
+                        JOptionPane.WARNING_MESSAGE);
+                if (respuesta == JOptionPane.OK_OPTION && lista.getSelectedValue() != null && estadoActual == Estado.NAVEGANDO) {
+                    seleccionarPais(lista.getSelectedValue().getCodigoPais());
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Añade a la barra de herramientas los botones de la clasificación de países (ver RankingPaises)
+     * y del navegador por continentes y regiones (ver NavegadorPaises).
+     * Las cifras se empiezan a leer en segundo plano para que la ventana se abra ya con datos.
+     */
+    private void inicializarRanking() {
+        RankingPaises.precargar();
+        JButton botonRanking = new JButton("Clasificación...");
+        botonRanking.setToolTipText("Los países con más o menos población, superficie, PNB... en total o por continente o región");
+        botonRanking.addActionListener(e -> mostrarRanking());
+        vista.getjToolBar1().add(botonRanking);
+        JButton botonNavegador = new JButton("Navegador...");
+        botonNavegador.setToolTipText("Recorre los países por continente y región");
+        botonNavegador.addActionListener(e -> mostrarNavegador());
+        vista.getjToolBar1().add(botonNavegador);
+    }
+
+    /**
+     * Abre (sin bloquear la ventana principal) el árbol continente → región → país. Al seleccionar un
+     * país en el árbol se selecciona también en la tabla principal.
+     */
+    private void mostrarNavegador() {
+        JDialog dialogo = new JDialog(vista, "Navegador de Países", false);
+        NavegadorPaises navegador = new NavegadorPaises(codigoPais -> {
+            if (estadoActual == Estado.NAVEGANDO) seleccionarPais(codigoPais);
+        });
+        dialogo.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                navegador.detener();
+            }
+        });
+        dialogo.add(new JScrollPane(navegador.getArbol()), BorderLayout.CENTER);
+        dialogo.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+        dialogo.setSize(360, 480);
+        dialogo.setLocationRelativeTo(vista);
+        dialogo.setVisible(true);
+    }
+
+    /**
+     * Abre (sin bloquear la ventana principal) la clasificación de países. Se recalcula al cambiar la
+     * medida, la agrupación, el orden o K, y cuando cambian las cifras de algún país. Con doble clic en
+     * una fila se selecciona ese país en la tabla principal.
+     */
+    private void mostrarRanking() {
+        JDialog dialogo = new JDialog(vista, "Clasificación de Países", false);
+        JComboBox<RankingPaises.Medida> selectorMedida = new JComboBox<>(RankingPaises.Medida.values());
+        JComboBox<RankingPaises.Agrupacion> selectorAgrupacion = new JComboBox<>(RankingPaises.Agrupacion.values());
+        JComboBox<String> selectorOrden = new JComboBox<>(new String[] { "Mayores", "Menores" });
+        JSpinner selectorK = new JSpinner(new SpinnerNumberModel(10, 1, RankingPaises.K_MAXIMO, 1));
+        DefaultTableModel modelo = new DefaultTableModel(new Object[] { "Grupo", "Puesto", "Código", "País", "Valor" }, 0) {
+            @Override
+            public boolean isCellEditable(int fila, int columna) {
+                return false;
+            }
+        };
+        JTable tabla = new JTable(modelo);
+        JLabel estado = new JLabel(" ");
+
+        Runnable refrescar = () -> {
+            RankingPaises.Medida medida = (RankingPaises.Medida) selectorMedida.getSelectedItem();
+            RankingPaises.Agrupacion agrupacion = (RankingPaises.Agrupacion) selectorAgrupacion.getSelectedItem();
+            // Con las cifras en memoria el cálculo es O(n log K): se hace en el hilo de Swing
+            Map<String, List<RankingPaises.Posicion>> grupos = RankingPaises.top(medida, (Integer) selectorK.getValue(),
+                    selectorOrden.getSelectedIndex() == 0, agrupacion);
+            modelo.setRowCount(0);
+            for (Map.Entry<String, List<RankingPaises.Posicion>> entrada : grupos.entrySet()) {
+                for (RankingPaises.Posicion posicion : entrada.getValue()) {
+                    modelo.addRow(new Object[] { entrada.getKey(), posicion.getPuesto(), posicion.getCodigo(), posicion.getNombre(),
+                            medida.formatear(posicion.getValor()) });
+                }
+            }
+            estado.setText(RankingPaises.isCargado() ? modelo.getRowCount() + " fila(s)" : "Cargando las cifras de los países...");
+        };
+        // Las cifras cambian en el hilo del cargador: se refresca en el de Swing si la ventana sigue abierta
+        Runnable alCambiar = () -> SwingUtilities.invokeLater(() -> {
+            if (dialogo.isDisplayable()) refrescar.run();
+        });
+        RankingPaises.suscribir(alCambiar);
+        dialogo.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                RankingPaises.desuscribir(alCambiar);
+            }
+        });
+        selectorMedida.addActionListener(e -> refrescar.run());
+        selectorAgrupacion.addActionListener(e -> refrescar.run());
+        selectorOrden.addActionListener(e -> refrescar.run());
+        selectorK.addChangeListener(e -> refrescar.run());
+        tabla.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int fila = tabla.getSelectedRow();
+                if (e.getClickCount() == 2 && fila != -1 && estadoActual == Estado.NAVEGANDO) {
+                    seleccionarPais(modelo.getValueAt(fila, 2).toString());
+                }
+            }
+        });
+
+        JPanel controles = new JPanel();
+        controles.add(selectorMedida);
+        controles.add(selectorAgrupacion);
+        controles.add(selectorOrden);
+        controles.add(new JLabel("K:"));
+        controles.add(selectorK);
+        dialogo.add(controles, BorderLayout.NORTH);
+        dialogo.add(new JScrollPane(tabla), BorderLayout.CENTER);
+        dialogo.add(estado, BorderLayout.SOUTH);
+        dialogo.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+        dialogo.setSize(620, 420);
+        dialogo.setLocationRelativeTo(vista);
+        refrescar.run();
+        dialogo.setVisible(true);
+    }
+
+    /**
+     * Filtra la tabla de países con el texto del campo de filtro (sin distinguir mayúsculas).
+     */
+    private void aplicarFiltro() {
+        if (!(vista.getjTable1().getRowSorter() instanceof OrdenadorTabla)) return;
+        OrdenadorTabla<?> ordenador = (OrdenadorTabla<?>) vista.getjTable1().getRowSorter();
+        String texto = campoFiltro.getText().trim();
+        ordenador.setRowFilter(texto.isEmpty() ? null : RowFilter.regexFilter("(?i)" + Pattern.quote(texto)));
+    }
+
+    /**
+     * Pide una expresión de edición masiva y la aplica en segundo plano a los países visibles en la tabla.
+     * Al terminar sólo se actualizan las celdas y la caché de los países afectados.
+     */
+    private void editarPaisesFiltrados() {
+        if (estadoActual != Estado.NAVEGANDO) return;
+        JTable tabla = vista.getjTable1();
+        if (tabla.getRowCount() == 0) {
+            JOptionPane.showMessageDialog(vista, "No hay países visibles a los que aplicar la edición.", "Advertencia", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        List<String> codigos = new ArrayList<>(tabla.getRowCount());
+        for (int filaVista = 0; filaVista < tabla.getRowCount(); filaVista++) {
+            codigos.add(tabla.getModel().getValueAt(tabla.convertRowIndexToModel(filaVista), 0).toString());
+        }
+
+        JComboBox<EdicionMasiva.Campo> selectorCampo = new JComboBox<>(EdicionMasiva.Campo.values());
+        JComboBox<EdicionMasiva.Operacion> selectorOperacion = new JComboBox<>(EdicionMasiva.Operacion.values());
+        JTextField campoValor = new JTextField(12);
+        JPanel panel = new JPanel(new GridLayout(0, 2, 6, 6));
+        panel.add(new JLabel("Campo:"));
+        panel.add(selectorCampo);
+        panel.add(new JLabel("Operación:"));
+        panel.add(selectorOperacion);
+        panel.add(new JLabel("Valor (vacío = sin valor):"));
+        panel.add(campoValor);
+        int respuesta = JOptionPane.showConfirmDialog(vista, panel, "Edición masiva de " + codigos.size() + " país(es)",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+        if (respuesta != JOptionPane.OK_OPTION) return;
+
+        EdicionMasiva edicion;
+        try {
+            edicion = EdicionMasiva.crear((EdicionMasiva.Campo) selectorCampo.getSelectedItem(),
+                    (EdicionMasiva.Operacion) selectorOperacion.getSelectedItem(), campoValor.getText());
+        } catch (IllegalArgumentException e) {
+            JOptionPane.showMessageDialog(vista, e.getMessage(), "Error de Validación", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        int confirmacion = JOptionPane.showConfirmDialog(vista,
+                "Se aplicará '" + edicion + "' a " + codigos.size() + " país(es). ¿Continuar?",
+                "Confirmar Edición Masiva", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
+        if (confirmacion != JOptionPane.YES_OPTION) return;
+
+        ProgressMonitor monitor = new ProgressMonitor(vista, "Aplicando '" + edicion + "'...", null, 0, codigos.size());
+        tabla.setEnabled(false);
+        new SwingWorker<Integer, Void>() {
+            private List<ErrorDatos> errores = new ArrayList<>();
+
+            @Override
+            protected Integer doInBackground() {
+                try (BusErrores.Recolector recolector = BusErrores.recoger()) {
+                    int confirmados = GestorPaises.actualizarPaises(codigos, edicion, (procesados, total) -> {
+                        SwingUtilities.invokeLater(() -> monitor.setProgress(procesados));
+                        return !monitor.isCanceled();
+                    });
+                    errores = new ArrayList<>(recolector.getErrores());
+                    return confirmados;
+                }
+            }
+
+            @Override
+            protected void done() {
+                monitor.close();
+                tabla.setEnabled(true);
+                int confirmados;
+                try {
+                    confirmados = get();
+                } catch (InterruptedException | java.util.concurrent.ExecutionException e) {
+                    confirmados = 0;
+                }
+                actualizarFilasEditadas(codigos.subList(0, confirmados), edicion);
+                String texto = "Edición aplicada a " + confirmados + " de " + codigos.size() + " país(es).";
+                if (!errores.isEmpty()) {
+                    JOptionPane.showMessageDialog(vista, texto + "\n" + errores.get(0).getMensajeCompleto(), "Edición Masiva Incompleta", JOptionPane.ERROR_MESSAGE);
+                } else {
+                    JOptionPane.showMessageDialog(vista, texto);
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Refleja una edición masiva en la interfaz sin recargar la tabla completa: sólo cambian las
+     * celdas de la región (el único campo editable en bloque que aparece en la tabla) y los
+     * detalles del país seleccionado si es uno de los afectados.
+     */
+    private void actualizarFilasEditadas(List<String> codigos, EdicionMasiva edicion) {
+        Set<String> afectados = new HashSet<>(codigos);
+        if (edicion.getCampo().enListaPaises() && edicion.getOperacion() == EdicionMasiva.Operacion.ASIGNAR) {
+            DefaultTableModel modelo = (DefaultTableModel) vista.getjTable1().getModel();
+            for (int fila = 0; fila < modelo.getRowCount(); fila++) {
+                if (afectados.contains(modelo.getValueAt(fila, 0).toString())) {
+                    modelo.setValueAt(edicion.getValor() == null ? "" : edicion.getValor(), fila, 3);
+                }
+            }
+        }
+        if (paisActualParaModificar != null && afectados.contains(paisActualParaModificar.getCodigo())) {
+            cargarDetallesPais(paisActualParaModificar.getCodigo()); // Se relee: la caché del país se invalidó
+        }
+    }
+
+    // --- Lógica de Estados y Acciones para PAÍSES ---
+
+    /**
+     * Prepara la GUI para la inserción de un nuevo país.
+     * Cambia el estado de la aplicación a INSERTANDO_PAIS.
+     */
+    private void prepararParaInsertarPais() {
+        estadoActual = Estado.INSERTANDO_PAIS;
+        limpiarCamposPais(); // Limpia todos los campos de detalle del país
+        habilitarCamposPais(true); // Hace los campos editables
+        
+        vista.getjTable1().clearSelection(); // Deselecciona cualquier fila en la tabla de países
+        vista.getjTable1().setEnabled(false); // Deshabilita la tabla de países durante la inserción
+        
+        // Configura el estado de los botones de la barra de herramientas principal
+        vista.getjButton1().setEnabled(false); // Añadir
+        vista.getjButton3().setEnabled(false); // Modificar
+        vista.getjButton2().setEnabled(false); // Borrar
+        vista.getjButton4().setEnabled(true);  // Guardar (habilitado)
+        vista.getjButton5().setEnabled(true);  // Cancelar (habilitado)
+        
+        // Los idiomas del país nuevo se preparan en la unidad de trabajo y se guardan junto con él
+        iniciarUnidadTrabajo(new ArrayList<>());
+    }
+
+    /**
+     * Prepara la GUI para la modificación de un país existente.
+     * Cambia el estado de la aplicación a MODIFICANDO_PAIS.
+     */
+    private void prepararParaModificarPais() {
+        if (paisActualParaModificar == null) return; // No hacer nada si no hay país seleccionado
+        ColaEscrituraIdiomas.vaciar(); // La unidad de trabajo parte de los idiomas guardados
+        estadoActual = Estado.MODIFICANDO_PAIS;
+        habilitarCamposPais(true); // Hace los campos editables
+        vista.getjTextField1().setEditable(false); // El código del país (PK) no se puede modificar
+
+        vista.getjTable1().setEnabled(false); // Deshabilita la tabla de países
+        
+        // Configura el estado de los botones
+        vista.getjButton1().setEnabled(false);
+        vista.getjButton3().setEnabled(false);
+        vista.getjButton2().setEnabled(false);
+        vista.getjButton4().setEnabled(true); // Guardar (habilitado)
+        vista.getjButton5().setEnabled(true); // Cancelar (habilitado)
+
+        // Los cambios de idiomas se preparan en la unidad de trabajo y se guardan junto con el país
+        iniciarUnidadTrabajo(new ArrayList<>(CachePaises.obtenerIdiomas(paisActualParaModificar.getCodigo())));
+    }
+
+    /**
+     * Comienza una unidad de trabajo para el país que se está insertando o modificando.
+     * Mientras dure, los botones de lenguas preparan cambios en lugar de guardarlos.
+     * @param idiomasIniciales Los idiomas actuales del país (vacía si es nuevo).
+     */
+    private void iniciarUnidadTrabajo(List<ModeloIdioma> idiomasIniciales) {
+        unidadEnCurso = new UnidadTrabajo();
+        idiomasEnEdicion = idiomasIniciales;
+        TablaIdiomasModel modelo = new TablaIdiomasModel(idiomasEnEdicion);
+        // Las ediciones en la tabla también se guardan con el país (el modelo ya actualizó idiomasEnEdicion)
+        modelo.setOyenteEdicion((original, editado) -> {
+            if (unidadEnCurso != null) unidadEnCurso.modificarIdioma(original, editado);
+        });
+        vista.getjTable2().setModel(modelo);
+        vista.getjButton6().setEnabled(true); // Añadir lengua (se guarda con el país)
+        vista.getjButton7().setEnabled(true); // Borrar lengua (se guarda con el país)
+    }
+    
+    /**
+     * Guarda los datos del país (ya sea una inserción o una modificación) en la base de datos.
+     * Realiza validaciones básicas antes de proceder.
+     */
+    private void guardarPais() {
+        // Validación de campos obligatorios (mismas reglas que el modo por lotes, ver ValidadorDatos)
+        String errorValidacion = ValidadorDatos.validarPais(vista.getjTextField1().getText(), vista.getjTextField2().getText(),
+                estadoActual == Estado.INSERTANDO_PAIS);
+        if (errorValidacion != null) {
+            JOptionPane.showMessageDialog(vista, errorValidacion, "Error de Validación", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        // Un código repetido se rechaza aquí, sin esperar al error de clave duplicada de MySQL
+        if (estadoActual == Estado.INSERTANDO_PAIS && IndiceClaves.existePais(vista.getjTextField1().getText().trim())) {
+            JOptionPane.showMessageDialog(vista, "Ya existe un país con el código " + vista.getjTextField1().getText().trim().toUpperCase() + ".",
+                    "Error de Validación", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        // Crea un objeto ModeloPais y lo rellena con los datos de la GUI
+        ModeloPais pais = new ModeloPais();
+        pais.setCodigo(vista.getjTextField1().getText().trim().toUpperCase()); // Código en mayúsculas
+        pais.setNombre(vista.getjTextField2().getText().trim());
+        pais.setContinente(vista.getjComboBox1().getSelectedItem() != null ? vista.getjComboBox1().getSelectedItem().toString() : null);
+        pais.setRegion(vista.getjTextField3().getText().trim());
+        pais.setNombreLocal(vista.getjTextField4().getText().trim());
+
+        // Conversión y validación de campos numéricos
+        try {
+            // Un campo vacío se considera null; si no está vacío debe ser un número válido
+            pais.setAnioIndependencia(ValidadorDatos.leerEntero(vista.getjTextField5().getText()));
+            pais.setSuperficie(ValidadorDatos.leerDecimal(vista.getjTextField6().getText()));
+            pais.setExpectativaVida(ValidadorDatos.leerDecimal(vista.getjTextField7().getText()));
+            pais.setPoblacion(ValidadorDatos.leerEntero(vista.getjTextField8().getText()));
+            pais.setPnb(ValidadorDatos.leerDecimal(vista.getjTextField9().getText()));
+        } catch (NumberFormatException e) {
+            JOptionPane.showMessageDialog(vista, "Verifique los campos numéricos (Año, Superficie, Exp. Vida, Población, PNB).\nDeben ser números válidos o estar vacíos si se permiten nulos.", "Error de Formato", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        
+        pais.setFormaGobierno(vista.getjTextField10().getText().trim());
+        pais.setCabezaEstado(vista.getjTextField11().getText().trim());
+        
+        // La capital es una ciudad del país: la elegida en la lista, la que ya tenía o una de nombre exacto
+        String capital = vista.getjTextField12().getText().trim();
+        if (!capital.isEmpty()) {
+            if (capitalElegida != null && capitalElegida.getNombre().equals(capital)) {
+                pais.setCapitalID(capitalElegida.getId());
+            } else if (estadoActual == Estado.MODIFICANDO_PAIS && paisActualParaModificar != null
+                    && capital.equals(paisActualParaModificar.getCapitalNombre())) {
+                pais.setCapitalID(paisActualParaModificar.getCapitalID());
+            } else {
+                IndiceCiudades.Ciudad ciudad = IndiceCiudades.buscarExacta(pais.getCodigo(), capital);
+                if (ciudad == null) {
+                    String motivo = IndiceCiudades.isCargado()
+                            ? "La capital debe ser una ciudad de " + pais.getCodigo() + ": elíjala en la lista que aparece al escribir."
+                            : "La lista de ciudades aún se está cargando. Inténtelo de nuevo en unos segundos.";
+                    JOptionPane.showMessageDialog(vista, motivo, "Error de Validación", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                pais.setCapitalID(ciudad.getId());
+            }
+        }
+
+        // El país y los cambios de idiomas preparados se guardan en una única transacción.
+        // Al modificar, sólo se escriben los campos cambiados respecto al país que se cargó
+        if (estadoActual == Estado.INSERTANDO_PAIS) {
+            unidadEnCurso.insertarPais(pais);
+        } else if (estadoActual == Estado.MODIFICANDO_PAIS) {
+            unidadEnCurso.modificarPais(paisActualParaModificar, pais);
+        }
+        int cambiosIdiomas = unidadEnCurso.getCambiosIdiomas();
+        List<ErrorDatos> errores;
+        boolean guardado;
+        try (BusErrores.Recolector recolector = BusErrores.recoger()) {
+            guardado = unidadEnCurso.confirmar();
+            errores = new ArrayList<>(recolector.getErrores());
+        }
+        if (!guardado) {
+            // Se sigue editando para no perder los cambios
+            for (ErrorDatos error : errores) {
+                if (error.getCategoria() == ErrorDatos.Categoria.CONFLICTO) {
+                    resolverConflicto(error);
+                } else {
+                    recibirError(error);
+                }
+            }
+            return;
+        }
+        JOptionPane.showMessageDialog(vista, (estadoActual == Estado.INSERTANDO_PAIS ? "País insertado correctamente" : "País modificado correctamente")
+                + (cambiosIdiomas > 0 ? " (con " + cambiosIdiomas + " cambio(s) de idiomas)." : "."));
+
+        cargarPaises(); // Recarga la tabla de países una sola vez para reflejar todos los cambios
+        cancelarAccionPais(); // Restaura la GUI al estado de navegación
+    }
+    
+    /**
+     * Informa de que otro usuario ha cambiado los mismos campos del país y ofrece recargar
+     * sus datos actuales. Si se recargan, se sigue modificando el país a partir de ellos
+     * (los cambios de idiomas preparados se mantienen).
+     * @param error El error de conflicto publicado al confirmar.
+     */
+    private void resolverConflicto(ErrorDatos error) {
+        int opcion = JOptionPane.showConfirmDialog(vista,
+                "⚠️ " + error.getCausa().getMessage() + ".\nNo se ha guardado nada.\n\n"
+                        + "¿Quiere recargar los datos actuales del país? Tendrá que volver a aplicar sus cambios en esos campos.",
+                "Conflicto de edición", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
+        if (opcion == JOptionPane.YES_OPTION && paisActualParaModificar != null) {
+            cargarDetallesPais(paisActualParaModificar.getCodigo()); // La caché del país ya se invalidó
+        }
+    }
+
+    /**
+     * Elimina los países seleccionados (uno o varios) de la base de datos, previa confirmación del usuario.
+     * También elimina sus idiomas y ciudades. El borrado se hace en segundo plano, en una única
+     * transacción; si tarda, se muestra una barra de progreso que permite cancelarlo.
+     */
+    private void eliminarPais() {
+        int[] filasSeleccionadas = vista.getjTable1().getSelectedRows();
+        if (filasSeleccionadas.length == 0) {
+            JOptionPane.showMessageDialog(vista, "Por favor, seleccione un país para borrar.", "Advertencia", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        List<String> codigos = new ArrayList<>(filasSeleccionadas.length);
+        for (int filaVista : filasSeleccionadas) {
+            // Convierte cada fila de la vista al modelo (importante si la tabla está ordenada)
+            int filaModelo = vista.getjTable1().convertRowIndexToModel(filaVista);
+            codigos.add(vista.getjTable1().getModel().getValueAt(filaModelo, 0).toString());
+        }
+
+        // Pide confirmación antes de borrar
+        String pregunta;
+        if (codigos.size() == 1) {
+            String nombrePais = vista.getjTable1().getModel().getValueAt(vista.getjTable1().convertRowIndexToModel(filasSeleccionadas[0]), 1).toString();
+            pregunta = "¿Seguro que quieres borrar el país '" + nombrePais + "' (código: " + codigos.get(0) + ") y todos sus idiomas y ciudades asociados?";
+        } else {
+            pregunta = "¿Seguro que quieres borrar los " + codigos.size() + " países seleccionados y todos sus idiomas y ciudades asociados?";
+        }
+        int confirmacion = JOptionPane.showConfirmDialog(vista, pregunta,
+                "Confirmar Borrado", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
+        if (confirmacion != JOptionPane.YES_OPTION) return;
+
+        ProgressMonitor monitor = new ProgressMonitor(vista, "Borrando " + codigos.size() + " país(es)...", null, 0, codigos.size());
+        vista.getjTable1().setEnabled(false); // Sin cambios de selección mientras se borra
+        vista.getjButton2().setEnabled(false);
+        new SwingWorker<Integer, Void>() {
+            private List<ErrorDatos> errores = new ArrayList<>();
+
+            @Override
+            protected Integer doInBackground() {
+                // Los errores se recogen aquí y se informan al terminar, no según se producen
+                try (BusErrores.Recolector recolector = BusErrores.recoger()) {
+                    ColaEscrituraIdiomas.vaciar(); // Que no quede ningún idioma pendiente de los países borrados
+                    int eliminados = GestorPaises.eliminarPaises(codigos, (procesados, total) -> {
+                        SwingUtilities.invokeLater(() -> monitor.setProgress(procesados));
+                        return !monitor.isCanceled();
+                    });
+                    errores = new ArrayList<>(recolector.getErrores());
+                    return eliminados;
+                }
+            }
+
+            @Override
+            protected void done() {
+                monitor.close();
+                vista.getjTable1().setEnabled(true);
+                int eliminados;
+                try {
+                    eliminados = get();
+                } catch (InterruptedException | java.util.concurrent.ExecutionException e) {
+                    eliminados = -1;
+                    errores.add(new ErrorDatos("pais.eliminar", null, null, "Error inesperado al borrar: " + e.getMessage(), null));
+                }
+                if (eliminados >= 0) {
+                    JOptionPane.showMessageDialog(vista, eliminados == 1 ? "País eliminado correctamente." : eliminados + " países eliminados correctamente.");
+                    cargarPaises(); // Recarga la tabla de países
+                    limpiarCamposPais(); // Limpia los detalles
+                    limpiarTablaIdiomas(); // Limpia la tabla de idiomas
+                    configurarEstadoInicial(); // Restaura el estado de los botones
+                } else if (monitor.isCanceled() && errores.isEmpty()) {
+                    JOptionPane.showMessageDialog(vista, "Borrado cancelado. No se ha eliminado ningún país.");
+                    vista.getjButton2().setEnabled(true);
+                } else {
+                    JOptionPane.showMessageDialog(vista, "No se pudo eliminar " + (codigos.size() == 1 ? "el país" : "los países")
+                            + (errores.isEmpty() ? "." : ":\n" + errores.get(0).getMensajeCompleto()),
+                            "Error de Eliminación", JOptionPane.ERROR_MESSAGE);
+                    vista.getjButton2().setEnabled(true);
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Cancela la acción actual de inserción o modificación de un país.
+     * Restaura la GUI al estado de navegación.
+     */
+    private void cancelarAccionPais() {
+        estadoActual = Estado.NAVEGANDO;
+        unidadEnCurso = null; // Descarta los cambios de idiomas que no se hayan guardado
+        idiomasEnEdicion = null;
+        habilitarCamposPais(false); // Bloquea los campos de detalle del país
+        habilitarCamposLengua(false);
+        limpiarCamposLengua();
+        vista.getjButton8().setEnabled(false); // Aceptar Lengua
+        vista.getjButton9().setEnabled(false); // Cancelar Lengua
+        
+        vista.getjTable1().setEnabled(true); // Habilita la tabla de países
+        
+        // Si había un país seleccionado antes de la acción, recarga sus datos originales
+        int filaSeleccionadaVista = vista.getjTable1().getSelectedRow();
+        if (filaSeleccionadaVista != -1 && paisActualParaModificar != null) {
+             // Usar el código del país que se estaba modificando/viendo para recargar
+             cargarDetallesPais(paisActualParaModificar.getCodigo());
+             cargarIdiomas(paisActualParaModificar.getCodigo());
+        } else { // Si no había selección o se estaba insertando, limpia todo
+            limpiarCamposPais();
+            limpiarTablaIdiomas();
+        }
+        
+        // Restaura el estado de los botones de la barra de herramientas principal
+        vista.getjButton1().setEnabled(true); // Añadir
+        vista.getjButton3().setEnabled(filaSeleccionadaVista != -1); // Modificar (solo si hay selección)
+        vista.getjButton2().setEnabled(filaSeleccionadaVista != -1); // Borrar (solo si hay selección)
+        vista.getjButton4().setEnabled(false); // Guardar
+        vista.getjButton5().setEnabled(false); // Cancelar
+
+        // Habilita/deshabilita botones de lengua según si hay país seleccionado
+        if (filaSeleccionadaVista != -1) {
+            vista.getjButton6().setEnabled(true); 
+            vista.getjButton7().setEnabled(true); 
+        } else {
+            vista.getjButton6().setEnabled(false);
+            vista.getjButton7().setEnabled(false);
+        }
+    }
+
+    // --- Lógica de Estados y Acciones para LENGUAS ---
+
+    /**
+     * Prepara la GUI para la inserción de una nueva lengua para el país actualmente seleccionado.
+     */
+    private void prepararParaInsertarLengua() {
+        if (unidadEnCurso == null && vista.getjTable1().getSelectedRow() == -1) {
+             JOptionPane.showMessageDialog(vista, "Debe seleccionar un país primero para añadirle un idioma.", "Advertencia", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        if (unidadEnCurso == null) estadoActual = Estado.INSERTANDO_LENGUA; // Con unidad de trabajo se sigue editando el país
+        limpiarCamposLengua(); // Limpia los campos de edición de lengua
+        habilitarCamposLengua(true); // Hace los campos de lengua editables
+        
+        // Configura los botones de la barra de herramientas de lenguas
+        vista.getjButton8().setEnabled(true); // Aceptar Lengua
+        vista.getjButton9().setEnabled(true); // Cancelar Lengua
+        vista.getjButton6().setEnabled(false); // Deshabilita "Añadir Lengua" para evitar inserciones múltiples simultáneas
+        vista.getjButton7().setEnabled(false); // Deshabilita "Borrar Lengua"
+    }
+    
+    /**
+     * Guarda la nueva lengua introducida en la base de datos, asociándola al país seleccionado.
+     * Corresponde a la acción del botón "Aceptar" de la sección de lenguas.
+     */
+    private void guardarLengua() { 
+        int filaPaisVista = vista.getjTable1().getSelectedRow();
+        if (unidadEnCurso == null && filaPaisVista == -1) { 
+            JOptionPane.showMessageDialog(vista, "Selecciona un país primero."); 
+            return; 
+        }
+        String idiomaNombre = vista.getjTextField15().getText().trim(); // Nombre de la lengua
+        
+        boolean oficial = vista.getjCheckBox1().isSelected(); // Si es oficial
+        double porcentaje;
+        try {
+            porcentaje = Double.parseDouble(vista.getjTextField16().getText().trim()); // Porcentaje de hablantes
+        } catch(NumberFormatException e) { // Validación: porcentaje es un número
+            JOptionPane.showMessageDialog(vista, "El porcentaje debe ser un número válido.", "Error de Formato", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        // Validación: nombre no vacío y porcentaje entre 0 y 100 (mismas reglas que el modo por lotes)
+        String errorValidacion = ValidadorDatos.validarIdioma(idiomaNombre, porcentaje);
+        // Validación: con el nuevo idioma, los del país no pueden sumar más del 100% (la tabla ya lleva la suma)
+        if (errorValidacion == null && porcentaje > 0) {
+            double total = ((TablaIdiomasModel) vista.getjTable2().getModel()).getTotalPorcentaje() + porcentaje;
+            errorValidacion = ValidadorDatos.validarTotalIdiomas(null, total);
+        }
+        if (errorValidacion != null) {
+            JOptionPane.showMessageDialog(vista, errorValidacion, "Error de Validación", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        idiomaNombre = confirmarNombreIdioma(idiomaNombre);
+        if (idiomaNombre == null) return; // El usuario prefiere corregirlo
+
+        ModeloIdioma nuevoIdioma = new ModeloIdioma(idiomaNombre, oficial, porcentaje);
+        if (unidadEnCurso != null) {
+            // Insertando o modificando un país: el idioma se prepara y se guarda al guardar el país
+            for (ModeloIdioma existente : idiomasEnEdicion) {
+                if (existente.getIdioma().equalsIgnoreCase(idiomaNombre)) {
+                    JOptionPane.showMessageDialog(vista, "El idioma '" + idiomaNombre + "' ya está en la lista.", "Error de Validación", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+            }
+            unidadEnCurso.insertarIdioma(nuevoIdioma);
+            idiomasEnEdicion.add(nuevoIdioma);
+            ((TablaIdiomasModel) vista.getjTable2().getModel()).setDatos(idiomasEnEdicion);
+            cancelarEdicionLengua();
+            return;
+        }
+        // Obtiene el código del país del modelo de la tabla (por si está ordenada)
+        String codigoPais = vista.getjTable1().getModel().getValueAt(vista.getjTable1().convertRowIndexToModel(filaPaisVista), 0).toString();
+        if (ColaEscrituraIdiomas.isActiva()) {
+            // Escritura diferida: se muestra ya y se guarda en segundo plano junto con los cambios seguidos
+            TablaIdiomasModel modeloIdiomas = (TablaIdiomasModel) vista.getjTable2().getModel();
+            for (int fila = 0; fila < modeloIdiomas.getRowCount(); fila++) {
+                if (modeloIdiomas.getIdiomaAt(fila).getIdioma().equalsIgnoreCase(idiomaNombre)) {
+                    JOptionPane.showMessageDialog(vista, "El idioma '" + idiomaNombre + "' ya está en la lista.", "Error de Validación", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+            }
+            ColaEscrituraIdiomas.insertarIdioma(codigoPais, nuevoIdioma);
+            modeloIdiomas.anadirIdioma(nuevoIdioma);
+        } else if (IndiceClaves.existeIdioma(codigoPais, idiomaNombre)) {
+            JOptionPane.showMessageDialog(vista, "El idioma '" + idiomaNombre + "' ya está en la lista.", "Error de Validación", JOptionPane.ERROR_MESSAGE);
+            return;
+        } else if (GestorIdiomas.insertarIdioma(codigoPais, nuevoIdioma)) {
+            JOptionPane.showMessageDialog(vista, "Idioma añadido correctamente.");
+            cargarIdiomas(codigoPais); // Recarga la tabla de idiomas
+        } else {
+            JOptionPane.showMessageDialog(vista, "No se pudo añadir el idioma.", "Error de Inserción", JOptionPane.ERROR_MESSAGE);
+        }
+        cancelarEdicionLengua(); // Restaura la GUI de la sección de lenguas
+        estadoActual = Estado.NAVEGANDO; // Vuelve al estado de navegación general
+    }
+    
+    /**
+     * Antes de añadir una lengua, avisa de los nombres casi iguales para no crear filas duplicadas:
+     * un idioma parecido que ya tiene el país, o un idioma conocido del que el nombre parece una errata.
+     * @param idiomaNombre El nombre escrito.
+     * @return El nombre que se va a guardar (el escrito o el sugerido), o null si se cancela.
+     */
+    private String confirmarNombreIdioma(String idiomaNombre) {
+        int tolerancia = BuscadorAproximado.tolerancia(idiomaNombre.length());
+        TablaIdiomasModel modeloIdiomas = (TablaIdiomasModel) vista.getjTable2().getModel();
+        for (int fila = 0; fila < modeloIdiomas.getRowCount(); fila++) {
+            String existente = modeloIdiomas.getIdiomaAt(fila).getIdioma();
+            if (existente.equalsIgnoreCase(idiomaNombre)) continue; // Los iguales los rechaza la validación de duplicados
+            if (BuscadorAproximado.distanciaTextos(existente, idiomaNombre, tolerancia) <= tolerancia) {
+                int respuesta = JOptionPane.showConfirmDialog(vista,
+                        "El país ya tiene el idioma '" + existente + "', muy parecido a '" + idiomaNombre + "'.\n¿Añadir '" + idiomaNombre + "' igualmente?",
+                        "Idioma parecido", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
+                if (respuesta != JOptionPane.YES_OPTION) return null;
+                break;
+            }
+        }
+        List<BuscadorAproximado.Sugerencia<String>> conocidos = BuscadorAproximado.idiomas().buscar(idiomaNombre, 1);
+        if (conocidos.isEmpty() || conocidos.get(0).isPrefijo()) return idiomaNombre;
+        if (conocidos.get(0).getDistancia() == 0) return conocidos.get(0).getValor(); // Igual salvo mayúsculas o acentos: se usa el registrado
+        String sugerido = conocidos.get(0).getValor();
+        int respuesta = JOptionPane.showConfirmDialog(vista,
+                "'" + idiomaNombre + "' no es un idioma registrado. ¿Quería decir '" + sugerido + "'?",
+                "Idioma desconocido", JOptionPane.YES_NO_CANCEL_OPTION, JOptionPane.QUESTION_MESSAGE);
+        if (respuesta == JOptionPane.YES_OPTION) return sugerido;
+        return respuesta == JOptionPane.NO_OPTION ? idiomaNombre : null;
+    }
+
+    /**
+     * Elimina la lengua seleccionada de la base de datos para el país actual.
+     */
+    private void eliminarLengua() {
+        int filaPaisVista = vista.getjTable1().getSelectedRow(); 
+        int filaIdiomaVista = vista.getjTable2().getSelectedRow(); // Índice en la vista de la tabla de idiomas
+        
+        if ((unidadEnCurso == null && filaPaisVista == -1) || filaIdiomaVista == -1) { 
+            JOptionPane.showMessageDialog(vista, "Selecciona un país y un idioma para borrar."); 
+            return; 
+        }
+        if (unidadEnCurso != null) {
+            // Insertando o modificando un país: la baja se prepara y se guarda al guardar el país
+            ModeloIdioma idioma = idiomasEnEdicion.remove(filaIdiomaVista);
+            unidadEnCurso.eliminarIdioma(idioma.getIdioma());
+            ((TablaIdiomasModel) vista.getjTable2().getModel()).setDatos(idiomasEnEdicion);
+            return;
+        }
+        String codigoPais = vista.getjTable1().getModel().getValueAt(vista.getjTable1().convertRowIndexToModel(filaPaisVista), 0).toString();
+        
+        // Obtener el idioma del modelo de la tabla de idiomas (no de la vista, por si está ordenada)
+        TablaIdiomasModel modeloIdiomas = (TablaIdiomasModel) vista.getjTable2().getModel();
+        // Es importante obtener el índice correcto del modelo si la tabla de idiomas permite ordenación.
+        // Si jTable2 no tiene un RowSorter, filaIdiomaVista y filaIdiomaModelo serán iguales.
+        // Para este ejemplo, asumimos que jTable2 no se ordena o que el índice de vista y modelo coinciden.
+        // Si jTable2 tuviera RowSorter: int filaIdiomaModelo = vista.getjTable2().convertRowIndexToModel(filaIdiomaVista);
+        String idiomaNombre = modeloIdiomas.getIdiomaAt(filaIdiomaVista).getIdioma();
+
+
+        int confirm = JOptionPane.showConfirmDialog(vista, "¿Seguro que quieres borrar el idioma '" + idiomaNombre + "' para este país?", "Confirmar Eliminación", JOptionPane.YES_NO_OPTION);
+        if (confirm == JOptionPane.YES_OPTION) {
+            if (ColaEscrituraIdiomas.isActiva()) {
+                ColaEscrituraIdiomas.eliminarIdioma(codigoPais, idiomaNombre); // Se guarda en segundo plano
+                modeloIdiomas.eliminarIdiomaAt(filaIdiomaVista);
+            } else if (GestorIdiomas.eliminarIdioma(codigoPais, idiomaNombre)) {
+                JOptionPane.showMessageDialog(vista, "Idioma eliminado correctamente.");
+                cargarIdiomas(codigoPais); // Recarga la tabla de idiomas
+            } else {
+                 JOptionPane.showMessageDialog(vista, "No se pudo eliminar el idioma.", "Error de Eliminación", JOptionPane.ERROR_MESSAGE);
+            }
+        }
+    }
+
+    /**
+     * Cancela la edición o inserción de una lengua.
+     * Restaura la GUI de la sección de lenguas a su estado por defecto.
+     */
+    private void cancelarEdicionLengua() {
+        sugerenciasIdioma.ocultar();
+        limpiarCamposLengua(); // Limpia los campos de texto de lengua
+        habilitarCamposLengua(false); // Bloquea los campos de texto de lengua
+        
+        // Restaura el estado de los botones de la barra de herramientas de lenguas
+        vista.getjButton8().setEnabled(false); // Aceptar Lengua
+        vista.getjButton9().setEnabled(false); // Cancelar Lengua
+        
+        // Solo rehabilita "Añadir" y "Borrar" lengua si hay un país seleccionado o en edición
+        if (unidadEnCurso != null || vista.getjTable1().getSelectedRow() != -1) {
+            vista.getjButton6().setEnabled(true); // Añadir Lengua
+            vista.getjButton7().setEnabled(true); // Borrar Lengua
+        }
+        if (unidadEnCurso == null) {
+            estadoActual = Estado.NAVEGANDO; // Vuelve al estado de navegación general
+        }
+    }
+
+    /**
+     * Vacía la tabla de idiomas.
+     */
+    private void limpiarTablaIdiomas() {
+        vista.getjTable2().setModel(new TablaIdiomasModel(new ArrayList<>()));
+    }
+
+    // --- Métodos de utilidad para la GUI ---
+
+    /**
+     * Habilita o deshabilita la edición de los campos de detalle del país.
+     * @param habilitar true para hacerlos editables, false para hacerlos de solo lectura.
+     */
+    private void habilitarCamposPais(boolean habilitar) {
+        vista.getjTextField1().setEditable(habilitar); // Código
+        vista.getjTextField2().setEditable(habilitar); // Nombre
+        vista.getjComboBox1().setEnabled(habilitar);   // Continente
+        vista.getjTextField3().setEditable(habilitar); // Región
+        vista.getjTextField4().setEditable(habilitar); // Nombre Local
+        vista.getjTextField5().setEditable(habilitar); // Año Indep.
+        vista.getjTextField6().setEditable(habilitar); // Superficie
+        vista.getjTextField7().setEditable(habilitar); // Exp. Vida
+        vista.getjTextField8().setEditable(habilitar); // Población
+        vista.getjTextField9().setEditable(habilitar); // PNB
+        vista.getjTextField10().setEditable(habilitar);// Forma Gob.
+        vista.getjTextField11().setEditable(habilitar);// Cabeza Estado
+        // La capital se elige por el nombre (con autocompletado); distrito y población salen de la ciudad
+        vista.getjTextField12().setEditable(habilitar);
+        vista.getjTextField13().setEditable(false); 
+        vista.getjTextField14().setEditable(false); 
+        capitalElegida = null;
+        if (sugerenciasCapital != null) sugerenciasCapital.ocultar();
+    }
+
+    /**
+     * Muestra en los campos de la capital la ciudad elegida en la lista y la recuerda para guardarla.
+     */
+    private void mostrarCapital(IndiceCiudades.Ciudad ciudad) {
+        capitalElegida = ciudad;
+        vista.getjTextField12().setText(ciudad.getNombre());
+        vista.getjTextField13().setText(ciudad.getDistrito());
+        vista.getjTextField14().setText(String.valueOf(ciudad.getPoblacion()));
+    }
+    
+    /**
+     * Limpia el contenido de todos los campos de texto de detalle del país.
+     */
+    private void limpiarCamposPais() {
+        vista.getjTextField1().setText("");
+        vista.getjTextField2().setText("");
+        vista.getjComboBox1().setSelectedIndex(-1); // Sin selección
+        vista.getjTextField3().setText("");
+        vista.getjTextField4().setText("");
+        vista.getjTextField5().setText("");
+        vista.getjTextField6().setText("");
+        vista.getjTextField7().setText("");
+        vista.getjTextField8().setText("");
+        vista.getjTextField9().setText("");
+        vista.getjTextField10().setText("");
+        vista.getjTextField11().setText("");
+        vista.getjTextField12().setText("");
+        vista.getjTextField13().setText("");
+        vista.getjTextField14().setText("");
+    }
+    
+    /**
+     * Habilita o deshabilita la edición de los campos de lengua.
+     * @param habilitar true para hacerlos editables, false para hacerlos de solo lectura.
+     */
+    private void habilitarCamposLengua(boolean habilitar) {
+        vista.getjTextField15().setEditable(habilitar); // Nombre Lengua
+        vista.getjTextField16().setEditable(habilitar); // Porcentaje
+        vista.getjCheckBox1().setEnabled(habilitar);    // Oficial (Checkbox)
+    }
+
+    /**
+     * Limpia el contenido de los campos de edición de lengua.
+     */
+    private void limpiarCamposLengua() {
+        vista.getjTextField15().setText("");
+        vista.getjTextField16().setText("");
+        vista.getjCheckBox1().setSelected(false);
+    }
+}
@@ -0,0 +1,162 @@
+// Archivo: DiccionarioValores.java
+package Actividad;
+
+import java.text.Collator;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Diccionario de valores repetidos de una columna (continente, región, forma de gobierno, idioma).
+ * Cada valor distinto recibe un código entero pequeño y una única instancia de String compartida:
+ * al cargar datos, los Gestores pasan por compartir() el texto leído del ResultSet, de modo que
+ * miles de ModeloPais, ModeloIdioma y filas de tabla apuntan a unas pocas decenas de cadenas.
+ *
+ * Además de la instancia compartida, el diccionario mantiene la posición alfabética de cada
+ * código, para ordenar comparando enteros (comparador()) y filtrar por identidad (buscar()).
+ * Los códigos sólo valen dentro de la ejecución: no se guardan en la base de datos.
+ */
+public class DiccionarioValores {
+
+    public static final DiccionarioValores CONTINENTES = new DiccionarioValores("continentes");
+    public static final DiccionarioValores REGIONES = new DiccionarioValores("regiones");
+    public static final DiccionarioValores FORMAS_GOBIERNO = new DiccionarioValores("formasGobierno");
+    public static final DiccionarioValores IDIOMAS = new DiccionarioValores("idiomas");
+
+    private static final DiccionarioValores[] TODOS = { CONTINENTES, REGIONES, FORMAS_GOBIERNO, IDIOMAS };
+
+    // Tamaño aproximado de un String compacto sin contar sus caracteres (objeto + array de bytes)
+    private static final int BYTES_POR_CADENA = 40;
+
+    private final String nombre;
+    private final Map<String, Integer> codigos = new ConcurrentHashMap<>(); // Valor -> código
+    private volatile String[] valores = new String[0];  // Código -> instancia compartida
+    private volatile int[] posiciones = new int[0];     // Código -> posición en orden alfabético
+    private final LongAdder reutilizaciones = new LongAdder(); // Cadenas leídas que se sustituyeron por la compartida
+    private final LongAdder bytesAhorrados = new LongAdder();
+
+    private DiccionarioValores(String nombre) {
+        this.nombre = nombre;
+    }
+
+    /**
+     * Devuelve la instancia compartida del valor (la registra si es nuevo).
+     * @param valor El texto leído (puede ser null).
+     * @return La instancia compartida, igual a 'valor', o null.
+     */
+    public String compartir(String valor) {
+        if (valor == null) return null;
+        Integer codigo = codigos.get(valor);
+        if (codigo == null) {
+            int nuevo = registrar(valor);
+            return valores[nuevo]; // Se lee el array después de registrar: antes sería el anterior
+        }
+        String compartido = valores[codigo];
+        if (compartido != valor) {
+            reutilizaciones.increment();
+            bytesAhorrados.add(BYTES_POR_CADENA + valor.length());
+        }
+        return compartido;
+    }
+
+    /**
+     * @param valor El valor (puede ser null).
+     * @return Su código (lo registra si es nuevo), o -1 para null.
+     */
+    public int codigo(String valor) {
+        if (valor == null) return -1;
+        Integer codigo = codigos.get(valor);
+        return codigo != null ? codigo : registrar(valor);
+    }
+
+    /**
+     * @param codigo Un código devuelto por codigo().
+     * @return El valor compartido de ese código.
+     */
+    public String valor(int codigo) {
+        return valores[codigo];
+    }
+
+    /**
+     * Busca un valor ya registrado sin distinguir mayúsculas (por ejemplo, el de un filtro de la API).
+     * Como los datos cargados usan la instancia compartida, basta compararla con '=='.
+     * @param texto El texto buscado.
+     * @return La instancia compartida, o null si ningún dato tiene ese valor.
+     */
+    public String buscar(String texto) {
+        if (texto == null) return null;
+        String[] actuales = valores;
+        Integer exacto = codigos.get(texto);
+        if (exacto != null) return actuales[exacto];
+        for (String valor : actuales) {
+            if (valor.equalsIgnoreCase(texto)) return valor;
+        }
+        return null;
+    }
+
+    /**
+     * @return Un comparador que ordena por la posición alfabética de los códigos (null primero),
+     *         con el mismo orden que el Collator de OrdenadorTabla. Sólo consulta el diccionario: un
+     *         valor que no pasó por compartir() se compara con el Collator, sin registrarlo.
+     */
+    public Comparator<Object> comparador() {
+        Collator collator = OrdenadorTabla.collatorOrdenacion();
+        return (a, b) -> {
+            if (a == b) return 0;
+            if (a == null) return -1;
+            if (b == null) return 1;
+            String ta = a.toString();
+            String tb = b.toString();
+            Integer ca = codigos.get(ta);
+            Integer cb = codigos.get(tb);
+            if (ca == null || cb == null) return collator.compare(ta, tb);
+            if (ca.intValue() == cb.intValue()) return 0;
+            int[] actuales = posiciones; // Se escribe antes que el mapa: ya tiene la posición de ambos códigos
+            return Integer.compare(actuales[ca], actuales[cb]);
+        };
+    }
+
+    /**
+     * Registra un valor nuevo y recalcula las posiciones (hay pocas decenas de valores).
+     */
+    private synchronized int registrar(String valor) {
+        Integer existente = codigos.get(valor);
+        if (existente != null) return existente;
+        int codigo = valores.length;
+        String[] nuevos = Arrays.copyOf(valores, codigo + 1);
+        nuevos[codigo] = valor;
+        Integer[] orden = new Integer[nuevos.length];
+        for (int i = 0; i < orden.length; i++) orden[i] = i;
+        Collator collator = OrdenadorTabla.collatorOrdenacion();
+        Arrays.sort(orden, (x, y) -> collator.compare(nuevos[x], nuevos[y]));
+        int[] nuevasPosiciones = new int[nuevos.length];
+        for (int i = 0; i < orden.length; i++) nuevasPosiciones[orden[i]] = i;
+        // Primero los arrays y después el mapa: quien lea el código ya encuentra su valor
+        posiciones = nuevasPosiciones;
+        valores = nuevos;
+        codigos.put(valor, codigo);
+        return codigo;
+    }
+
+    /**
+     * @return Una línea con el número de valores, las cadenas reutilizadas y la memoria ahorrada aproximada.
+     */
+    public String describir() {
+        return String.format("%s=%d valores (%d reutilizadas, ~%.1f KB)",
+                nombre, valores.length, reutilizaciones.sum(), bytesAhorrados.sum() / 1024.0);
+    }
+
+    /**
+     * @return El resumen de todos los diccionarios en una línea.
+     */
+    public static String resumen() {
+        StringBuilder texto = new StringBuilder("Diccionarios: ");
+        for (int i = 0; i < TODOS.length; i++) {
+            if (i > 0) texto.append(" | ");
+            texto.append(TODOS[i].describir());
+        }
+        return texto.toString();
+    }
+}
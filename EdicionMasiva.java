@@ -0,0 +1,165 @@
+// Archivo: EdicionMasiva.java
+package Actividad;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Expresión de edición masiva sobre un campo de 'country': asignar un valor, multiplicar o sumar.
+ * GestorPaises.actualizarPaises la aplica con un único UPDATE por bloque de países.
+ * Sólo se admiten los campos de la enumeración Campo, así que el nombre de columna que
+ * se concatena en el SQL nunca viene del usuario; el valor siempre va como parámetro.
+ */
+public class EdicionMasiva {
+
+    /**
+     * Campos de 'country' que se pueden editar en bloque.
+     */
+    public enum Campo {
+        REGION("Region", "Región", false, false),
+        NOMBRE_LOCAL("LocalName", "Nombre local", false, false),
+        FORMA_GOBIERNO("GovernmentForm", "Forma de gobierno", false, false),
+        CABEZA_ESTADO("HeadOfState", "Jefe de Estado", false, true),
+        ANIO_INDEPENDENCIA("IndepYear", "Año de independencia", true, true),
+        SUPERFICIE("SurfaceArea", "Superficie", true, false),
+        POBLACION("Population", "Población", true, false),
+        EXPECTATIVA_VIDA("LifeExpectancy", "Expectativa de vida", true, true),
+        PNB("GNP", "PNB", true, true);
+
+        final String columna;        // Columna de la tabla 'country'
+        private final String etiqueta; // Texto que se muestra en la interfaz
+        final boolean numerico;
+        final boolean admiteNulo;    // La columna acepta NULL (las demás son NOT NULL en el esquema 'world')
+
+        Campo(String columna, String etiqueta, boolean numerico, boolean admiteNulo) {
+            this.columna = columna;
+            this.etiqueta = etiqueta;
+            this.numerico = numerico;
+            this.admiteNulo = admiteNulo;
+        }
+
+        /**
+         * @return true si la columna es entera (el resultado de multiplicar se redondea).
+         */
+        boolean esEntero() {
+            return this == ANIO_INDEPENDENCIA || this == POBLACION;
+        }
+
+        /**
+         * @return true si el campo se muestra en la tabla principal de países.
+         */
+        public boolean enListaPaises() {
+            return this == REGION;
+        }
+
+        /**
+         * @return true si el campo es uno de los nombres del país (lo indexa la búsqueda aproximada).
+         */
+        public boolean esNombre() {
+            return this == NOMBRE_LOCAL;
+        }
+
+        @Override
+        public String toString() {
+            return etiqueta;
+        }
+    }
+
+    /**
+     * Operaciones disponibles. MULTIPLICAR y SUMAR sólo valen para campos numéricos.
+     */
+    public enum Operacion {
+        ASIGNAR("Asignar"), MULTIPLICAR("Multiplicar por"), SUMAR("Sumar");
+
+        private final String etiqueta;
+
+        Operacion(String etiqueta) {
+            this.etiqueta = etiqueta;
+        }
+
+        @Override
+        public String toString() {
+            return etiqueta;
+        }
+    }
+
+    private final Campo campo;
+    private final Operacion operacion;
+    private final Object valor; // String, Double o null (sólo al asignar)
+
+    private EdicionMasiva(Campo campo, Operacion operacion, Object valor) {
+        this.campo = campo;
+        this.operacion = operacion;
+        this.valor = valor;
+    }
+
+    /**
+     * Crea y valida una edición masiva a partir del texto introducido por el usuario.
+     * @param campo El campo a modificar.
+     * @param operacion La operación.
+     * @param texto El valor; vacío significa NULL al asignar (sólo en columnas que lo admiten).
+     * @return La edición lista para aplicarse.
+     * @throws IllegalArgumentException si la operación no encaja con el campo o el valor no es válido.
+     */
+    public static EdicionMasiva crear(Campo campo, Operacion operacion, String texto) {
+        String limpio = texto == null ? "" : texto.trim();
+        if (operacion != Operacion.ASIGNAR && !campo.numerico) {
+            throw new IllegalArgumentException("La operación '" + operacion + "' sólo vale para campos numéricos.");
+        }
+        if (limpio.isEmpty()) {
+            if (operacion != Operacion.ASIGNAR) throw new IllegalArgumentException("Indique el valor de la operación '" + operacion + "'.");
+            if (!campo.admiteNulo) throw new IllegalArgumentException(campo + " no puede quedar vacío.");
+            return new EdicionMasiva(campo, operacion, null);
+        }
+        if (!campo.numerico) {
+            return new EdicionMasiva(campo, operacion, limpio);
+        }
+        try {
+            double numero = Double.parseDouble(limpio.replace(',', '.'));
+            if (campo.esEntero() && operacion != Operacion.MULTIPLICAR && numero != Math.rint(numero)) {
+                throw new IllegalArgumentException(campo + " es un número entero.");
+            }
+            return new EdicionMasiva(campo, operacion, numero);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("El valor '" + limpio + "' no es un número válido.");
+        }
+    }
+
+    /**
+     * @return La parte SET del UPDATE, con un único parámetro para el valor.
+     */
+    String sqlAsignacion() {
+        String c = campo.columna;
+        switch (operacion) {
+            case MULTIPLICAR:
+                return c + " = " + (campo.esEntero() ? "ROUND(" + c + " * ?)" : c + " * ?");
+            case SUMAR:
+                return c + " = " + c + " + ?";
+            default:
+                return c + " = ?";
+        }
+    }
+
+    /**
+     * Asigna el valor de la expresión al parámetro indicado.
+     */
+    void asignarValor(PreparedStatement ps, int indice) throws SQLException {
+        if (valor == null) {
+            ps.setNull(indice, campo.numerico ? Types.DOUBLE : Types.VARCHAR);
+        } else if (valor instanceof Double) {
+            ps.setDouble(indice, (Double) valor);
+        } else {
+            ps.setString(indice, (String) valor);
+        }
+    }
+
+    public Campo getCampo() { return campo; }
+    public Operacion getOperacion() { return operacion; }
+    public Object getValor() { return valor; }
+
+    @Override
+    public String toString() {
+        return operacion + " " + campo + (valor == null ? " (vacío)" : " " + valor);
+    }
+}
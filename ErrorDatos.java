@@ -0,0 +1,84 @@
+// Archivo: ErrorDatos.java
+package Actividad;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+
+/**
+ * Error de acceso a datos producido por un Gestor.
+ * Es el evento que se publica en BusErrores: lleva la operación, el país afectado,
+ * el mensaje para el usuario y la excepción original, además de una categoría que
+ * permite agrupar los errores al mostrarlos o decidir si merece la pena reintentar.
+ */
+public class ErrorDatos {
+
+    /**
+     * Categoría del error, deducida del SQLState de la excepción.
+     */
+    public enum Categoria {
+        CONEXION,        // No se pudo hablar con el servidor (SQLState 08xxx o sin conexión)
+        TIEMPO_AGOTADO,  // La consulta superó el timeout del perfil
+        RESTRICCION,     // Clave duplicada, clave ajena... (SQLState 23xxx)
+        DATOS,           // Valor no válido para la columna (SQLState 22xxx)
+        CONFLICTO,       // Otro usuario cambió los mismos datos (ver ConflictoConcurrencia)
+        OTRO
+    }
+
+    private final String operacion;   // Operación que falló (ej. "pais.insertar")
+    private final String codigoPais;  // País afectado, o null
+    private final String detalle;     // Dato adicional (nombre del idioma...), o null
+    private final String mensaje;     // Texto para el usuario
+    private final SQLException causa; // Excepción original, o null
+    private final Categoria categoria;
+    private final long instanteMs = System.currentTimeMillis();
+
+    /**
+     * Crea un error de acceso a datos.
+     * @param operacion Nombre de la operación (el mismo que se usa en Registro).
+     * @param codigoPais Código del país afectado, o null.
+     * @param detalle Dato adicional, o null.
+     * @param mensaje Descripción para el usuario (sin el mensaje de la excepción, que se añade aparte).
+     * @param causa La excepción original, o null.
+     */
+    public ErrorDatos(String operacion, String codigoPais, String detalle, String mensaje, SQLException causa) {
+        this.operacion = operacion;
+        this.codigoPais = codigoPais;
+        this.detalle = detalle;
+        this.mensaje = mensaje;
+        this.causa = causa;
+        this.categoria = clasificar(causa);
+    }
+
+    private static Categoria clasificar(SQLException e) {
+        if (e == null) return Categoria.CONEXION; // Sin excepción: el Gestor no obtuvo conexión
+        if (e instanceof SQLTimeoutException) return Categoria.TIEMPO_AGOTADO;
+        if (e instanceof ConflictoConcurrencia) return Categoria.CONFLICTO;
+        String estado = e.getSQLState();
+        if (estado == null) return Categoria.OTRO;
+        if (estado.startsWith("08")) return Categoria.CONEXION;
+        if (estado.startsWith("23")) return Categoria.RESTRICCION;
+        if (estado.startsWith("22")) return Categoria.DATOS;
+        return Categoria.OTRO;
+    }
+
+    /**
+     * @return El mensaje para el usuario seguido del mensaje de la excepción, si lo hay.
+     */
+    public String getMensajeCompleto() {
+        return causa == null ? mensaje : mensaje + ": " + causa.getMessage();
+    }
+
+    @Override
+    public String toString() {
+        return (codigoPais == null ? "" : "[" + codigoPais + "] ") + getMensajeCompleto();
+    }
+
+    // Getters
+    public String getOperacion() { return operacion; }
+    public String getCodigoPais() { return codigoPais; }
+    public String getDetalle() { return detalle; }
+    public String getMensaje() { return mensaje; }
+    public SQLException getCausa() { return causa; }
+    public Categoria getCategoria() { return categoria; }
+    public long getInstanteMs() { return instanteMs; }
+}
@@ -1,141 +1,278 @@
-// Archivo: GestorIdiomas.java
-package Actividad;
-
-import java.sql.*;
-import java.util.ArrayList;
-import java.util.List;
-import javax.swing.JOptionPane;
-
-/**
- * Clase que gestiona las operaciones CRUD (Crear, Leer, Actualizar, Borrar) 
- * sobre la tabla 'countrylanguage' de la base de datos.
- */
-public class GestorIdiomas {
-
-    /**
-     * Carga todos los idiomas asociados a un país específico, dado su código.
-     * @param codigoPais El código de 3 letras del país (ej. "ESP").
-     * @return Una lista de objetos ModeloIdioma que representan los idiomas de ese país.
-     * Devuelve una lista vacía si el país no tiene idiomas registrados o si ocurre un error.
-     */
-    public static List<ModeloIdioma> cargarIdiomas(String codigoPais) {
-        List<ModeloIdioma> lista = new ArrayList<>(); // Inicializa la lista de idiomas
-        String sql = "SELECT Language, IsOfficial, Percentage FROM countrylanguage WHERE CountryCode = ?";
-
-        // Try-with-resources para asegurar el cierre automático de Connection, PreparedStatement y ResultSet
-        try (Connection conn = ConexionBD.conectar();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            
-            ps.setString(1, codigoPais); // Establece el código del país en la consulta preparada
-            try (ResultSet rs = ps.executeQuery()) { // Ejecuta la consulta
-                while (rs.next()) { // Itera sobre cada idioma encontrado
-                    String idiomaNombre = rs.getString("Language");
-                    // El campo IsOfficial es un ENUM('T','F') en la BD, se convierte a boolean
-                    boolean oficial = rs.getString("IsOfficial").equalsIgnoreCase("T"); 
-                    double porcentaje = rs.getDouble("Percentage");
-                    // Añade un nuevo objeto ModeloIdioma a la lista
-                    lista.add(new ModeloIdioma(idiomaNombre, oficial, porcentaje));
-                }
-            }
-        } catch (SQLException e) {
-            // Muestra un mensaje de error y lo imprime en la consola si falla la carga
-            JOptionPane.showMessageDialog(null, "Error al cargar idiomas: " + e.getMessage(), "Error DB", JOptionPane.ERROR_MESSAGE);
-            System.err.println("❌ Error al cargar idiomas para " + codigoPais + ": " + e.getMessage());
-        }
-        return lista; // Devuelve la lista de idiomas (puede estar vacía)
-    }
-
-    /**
-     * Inserta un nuevo idioma para un país específico en la base de datos.
-     * @param codigoPais El código del país al que se asociará el idioma.
-     * @param idioma El objeto ModeloIdioma con los datos del nuevo idioma.
-     * @return true si la inserción fue exitosa, false en caso contrario.
-     */
-    public static boolean insertarIdioma(String codigoPais, ModeloIdioma idioma) {
-        String sql = "INSERT INTO countrylanguage (CountryCode, Language, IsOfficial, Percentage) VALUES (?, ?, ?, ?)";
-
-        try (Connection conn = ConexionBD.conectar();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            
-            // Establece los parámetros para la inserción
-            ps.setString(1, codigoPais);
-            ps.setString(2, idioma.getIdioma());
-            ps.setString(3, idioma.isEsOficial() ? "T" : "F"); // Convierte boolean a 'T' o 'F'
-            ps.setDouble(4, idioma.getPorcentaje());
-            
-            int filasAfectadas = ps.executeUpdate(); // Ejecuta la inserción
-            if (filasAfectadas > 0) {
-                System.out.println("✅ Idioma '" + idioma.getIdioma() + "' insertado correctamente para el país " + codigoPais);
-                return true;
-            }
-            return false;
-
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(null, "Error al insertar idioma: " + e.getMessage(), "Error DB", JOptionPane.ERROR_MESSAGE);
-            System.err.println("❌ Error al insertar idioma '" + idioma.getIdioma() + "' para " + codigoPais + ": " + e.getMessage());
-            return false;
-        }
-    }
-
-    /**
-     * Modifica los datos de un idioma existente para un país específico.
-     * NOTA: Esta funcionalidad no está directamente requerida por la interfaz gráfica del proyecto,
-     * pero se incluye por completitud del gestor. La interfaz solo añade y borra idiomas.
-     * @param codigoPais El código del país.
-     * @param idioma El objeto ModeloIdioma con los datos actualizados. El nombre del idioma se usa para identificar el registro a modificar.
-     * @return true si la modificación fue exitosa, false en caso contrario.
-     */
-    public static boolean modificarIdioma(String codigoPais, ModeloIdioma idioma) {
-        String sql = "UPDATE countrylanguage SET IsOfficial = ?, Percentage = ? WHERE CountryCode = ? AND Language = ?";
-
-        try (Connection conn = ConexionBD.conectar();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            
-            ps.setString(1, idioma.isEsOficial() ? "T" : "F");
-            ps.setDouble(2, idioma.getPorcentaje());
-            ps.setString(3, codigoPais);
-            ps.setString(4, idioma.getIdioma()); // El nombre del idioma es parte de la PK compuesta
-            
-            int filasAfectadas = ps.executeUpdate();
-            if (filasAfectadas > 0) {
-                System.out.println("✅ Idioma '" + idioma.getIdioma() + "' modificado correctamente para el país " + codigoPais);
-                return true;
-            }
-            return false;
-
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(null, "Error al modificar idioma: " + e.getMessage(), "Error DB", JOptionPane.ERROR_MESSAGE);
-            System.err.println("❌ Error al modificar idioma '" + idioma.getIdioma() + "' para " + codigoPais + ": " + e.getMessage());
-            return false;
-        }
-    }
-
-    /**
-     * Elimina un idioma específico de un país de la base de datos.
-     * @param codigoPais El código del país.
-     * @param nombreIdioma El nombre del idioma a eliminar.
-     * @return true si la eliminación fue exitosa, false en caso contrario.
-     */
-    public static boolean eliminarIdioma(String codigoPais, String nombreIdioma) {
-        String sql = "DELETE FROM countrylanguage WHERE CountryCode = ? AND Language = ?";
-
-        try (Connection conn = ConexionBD.conectar();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            
-            ps.setString(1, codigoPais);
-            ps.setString(2, nombreIdioma);
-            
-            int filasAfectadas = ps.executeUpdate();
-            if (filasAfectadas > 0) {
-                System.out.println("✅ Idioma '" + nombreIdioma + "' eliminado correctamente del país " + codigoPais);
-                return true;
-            }
-            return false;
-
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(null, "Error al eliminar idioma: " + e.getMessage(), "Error DB", JOptionPane.ERROR_MESSAGE);
-            System.err.println("❌ Error al eliminar idioma '" + nombreIdioma + "' del país " + codigoPais + ": " + e.getMessage());
-            return false;
-        }
-    }
-}
+// Archivo: GestorIdiomas.java
+package Actividad;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clase que gestiona las operaciones CRUD (Crear, Leer, Actualizar, Borrar) 
+ * sobre la tabla 'countrylanguage' de la base de datos.
+ */
+public class GestorIdiomas {
+
+    // Sentencias SQL de escritura. Son visibles en el paquete para que el modo por lotes reutilice exactamente las mismas.
+    static final String SQL_INSERTAR = "INSERT INTO countrylanguage (CountryCode, Language, IsOfficial, Percentage) VALUES (?, ?, ?, ?)";
+    static final String SQL_MODIFICAR = "UPDATE countrylanguage SET IsOfficial = ?, Percentage = ? WHERE CountryCode = ? AND Language = ?";
+    static final String SQL_ELIMINAR = "DELETE FROM countrylanguage WHERE CountryCode = ? AND Language = ?";
+
+    /**
+     * Carga todos los idiomas asociados a un país específico, dado su código.
+     * @param codigoPais El código de 3 letras del país (ej. "ESP").
+     * @return Una lista de objetos ModeloIdioma que representan los idiomas de ese país.
+     * Devuelve una lista vacía si el país no tiene idiomas registrados o si ocurre un error.
+     */
+    public static List<ModeloIdioma> cargarIdiomas(String codigoPais) {
+        List<ModeloIdioma> lista = new ArrayList<>(); // Inicializa la lista de idiomas
+        String sql = "SELECT Language, IsOfficial, Percentage FROM countrylanguage WHERE CountryCode = ?";
+
+        // Try-with-resources para asegurar el cierre automático de Connection, PreparedStatement y ResultSet
+        try (Connection conn = ConexionBD.conectarLectura()) {
+            if (conn == null) throw new SQLException("Sin conexión con la base de datos");
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setString(1, codigoPais); // Establece el código del país en la consulta preparada
+                try (ResultSet rs = ps.executeQuery()) { // Ejecuta la consulta
+                    while (rs.next()) { // Itera sobre cada idioma encontrado
+                        String idiomaNombre = DiccionarioValores.IDIOMAS.compartir(rs.getString("Language"));
+                        // El campo IsOfficial es un ENUM('T','F') en la BD, se convierte a boolean
+                        boolean oficial = rs.getString("IsOfficial").equalsIgnoreCase("T"); 
+                        double porcentaje = rs.getDouble("Percentage");
+                        // Añade un nuevo objeto ModeloIdioma a la lista
+                        lista.add(new ModeloIdioma(idiomaNombre, oficial, porcentaje));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            // Publica el error (la interfaz decide cómo mostrarlo) y devuelve el resultado vacío
+            BusErrores.publicar(new ErrorDatos("idioma.cargar", codigoPais, null, "Error al cargar idiomas", e));
+        }
+        return lista; // Devuelve la lista de idiomas (puede estar vacía)
+    }
+
+    /**
+     * Obtiene todos los idiomas distintos registrados en cualquier país (para la búsqueda aproximada).
+     * @return Los nombres de los idiomas ordenados (vacía si hay un error).
+     */
+    public static List<String> obtenerIdiomasDistintos() {
+        List<String> idiomas = new ArrayList<>();
+        String sql = "SELECT DISTINCT Language FROM countrylanguage ORDER BY Language";
+        try (Connection conn = ConexionBD.abrirLectura();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                idiomas.add(DiccionarioValores.IDIOMAS.compartir(rs.getString("Language")));
+            }
+        } catch (SQLException e) {
+            BusErrores.publicar(new ErrorDatos("idioma.distintos", null, null, "Error al obtener los idiomas", e));
+        }
+        return idiomas;
+    }
+
+    /**
+     * Inserta un nuevo idioma para un país específico en la base de datos.
+     * @param codigoPais El código del país al que se asociará el idioma.
+     * @param idioma El objeto ModeloIdioma con los datos del nuevo idioma.
+     * @return true si la inserción fue exitosa, false en caso contrario.
+     */
+    public static boolean insertarIdioma(String codigoPais, ModeloIdioma idioma) {
+        long inicio = System.nanoTime();
+        try (Connection conn = ConexionBD.abrir();
+             PreparedStatement ps = conn.prepareStatement(SQL_INSERTAR)) {
+            
+            asignarParametrosInsertar(ps, codigoPais, idioma); // Establece los parámetros para la inserción
+            
+            int filasAfectadas = ps.executeUpdate(); // Ejecuta la inserción
+            if (filasAfectadas > 0) {
+                CambiosDatos.anotar(conn, CambiosDatos.Tipo.IDIOMAS_MODIFICADOS, codigoPais, idioma.getIdioma());
+                CachePaises.invalidarIdiomas(codigoPais);
+                IndiceClaves.anotarIdioma(codigoPais, idioma);
+                Registro.info("idioma.insertar", codigoPais, idioma.getIdioma(), System.nanoTime() - inicio, filasAfectadas);
+                return true;
+            }
+            return false;
+
+        } catch (SQLException e) {
+            BusErrores.publicar(new ErrorDatos("idioma.insertar", codigoPais, idioma.getIdioma(), "Error al insertar idioma", e));
+            return false;
+        }
+    }
+
+    /**
+     * Modifica los datos de un idioma existente para un país específico.
+     * NOTA: Esta funcionalidad no está directamente requerida por la interfaz gráfica del proyecto,
+     * pero se incluye por completitud del gestor. La interfaz solo añade y borra idiomas.
+     * @param codigoPais El código del país.
+     * @param idioma El objeto ModeloIdioma con los datos actualizados. El nombre del idioma se usa para identificar el registro a modificar.
+     * @return true si la modificación fue exitosa, false en caso contrario.
+     */
+    public static boolean modificarIdioma(String codigoPais, ModeloIdioma idioma) {
+        long inicio = System.nanoTime();
+        try (Connection conn = ConexionBD.abrir();
+             PreparedStatement ps = conn.prepareStatement(SQL_MODIFICAR)) {
+            
+            asignarParametrosModificar(ps, codigoPais, idioma);
+            
+            int filasAfectadas = ps.executeUpdate();
+            if (filasAfectadas > 0) {
+                CambiosDatos.anotar(conn, CambiosDatos.Tipo.IDIOMAS_MODIFICADOS, codigoPais, idioma.getIdioma());
+                CachePaises.invalidarIdiomas(codigoPais);
+                IndiceClaves.anotarIdioma(codigoPais, idioma);
+                Registro.info("idioma.modificar", codigoPais, idioma.getIdioma(), System.nanoTime() - inicio, filasAfectadas);
+                return true;
+            }
+            return false;
+
+        } catch (SQLException e) {
+            BusErrores.publicar(new ErrorDatos("idioma.modificar", codigoPais, idioma.getIdioma(), "Error al modificar idioma", e));
+            return false;
+        }
+    }
+
+    /**
+     * Modifica un idioma con control de concurrencia optimista: sólo se escriben la oficialidad
+     * o el porcentaje si difieren de 'original' (el idioma tal como se leyó), y no se guarda nada
+     * si otro usuario ha cambiado entretanto el mismo campo a otro valor.
+     * @param codigoPais El código del país.
+     * @param original El idioma tal como se cargó.
+     * @param idioma El idioma con los datos editados.
+     * @return true si se guardó (o no había nada que guardar), false si hubo un conflicto o un error.
+     */
+    public static boolean modificarIdioma(String codigoPais, ModeloIdioma original, ModeloIdioma idioma) {
+        long inicio = System.nanoTime();
+        try (Connection conn = ConexionBD.abrir()) {
+            conn.setAutoCommit(false);
+            int filasAfectadas;
+            try {
+                filasAfectadas = modificarIdiomaOptimista(conn, codigoPais, original, idioma);
+                if (filasAfectadas > 0) CambiosDatos.anotar(conn, CambiosDatos.Tipo.IDIOMAS_MODIFICADOS, codigoPais, idioma.getIdioma());
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            if (filasAfectadas > 0) {
+                CachePaises.invalidarIdiomas(codigoPais);
+                IndiceClaves.anotarIdioma(codigoPais, idioma);
+            }
+            Registro.info("idioma.modificar", codigoPais, idioma.getIdioma(), System.nanoTime() - inicio, filasAfectadas);
+            return true;
+        } catch (SQLException e) {
+            BusErrores.publicar(new ErrorDatos("idioma.modificar", codigoPais, idioma.getIdioma(), "Error al modificar idioma", e));
+            return false;
+        }
+    }
+
+    /**
+     * Núcleo de la modificación optimista de un idioma, dentro de la transacción de la conexión.
+     * @return Filas modificadas (0 si no había nada que cambiar).
+     * @throws ConflictoConcurrencia si otro usuario cambió el mismo campo.
+     * @throws SQLException si el idioma ya no existe o falla la sentencia.
+     */
+    static int modificarIdiomaOptimista(Connection conn, String codigoPais, ModeloIdioma original, ModeloIdioma idioma) throws SQLException {
+        String nombre = idioma.getIdioma();
+        boolean oficialActual;
+        float porcentajeActual;
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT IsOfficial, Percentage FROM countrylanguage WHERE CountryCode = ? AND Language = ? FOR UPDATE")) {
+            ps.setString(1, codigoPais);
+            ps.setString(2, nombre);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("El idioma '" + nombre + "' de " + codigoPais + " ya no existe en la base de datos");
+                }
+                oficialActual = rs.getString("IsOfficial").equalsIgnoreCase("T");
+                porcentajeActual = rs.getFloat("Percentage");
+            }
+        }
+        // Percentage es FLOAT: se compara con la precisión con la que se guarda
+        float porcentajeOriginal = (float) original.getPorcentaje();
+        float porcentajeNuevo = (float) idioma.getPorcentaje();
+        boolean escribirOficial = false, escribirPorcentaje = false;
+        List<String> conflictos = new ArrayList<>();
+        if (original.isEsOficial() != idioma.isEsOficial() && oficialActual != idioma.isEsOficial()) {
+            if (oficialActual == original.isEsOficial()) escribirOficial = true;
+            else conflictos.add("Oficial");
+        }
+        if (porcentajeOriginal != porcentajeNuevo && porcentajeActual != porcentajeNuevo) {
+            if (porcentajeActual == porcentajeOriginal) escribirPorcentaje = true;
+            else conflictos.add("Porcentaje");
+        }
+        if (!conflictos.isEmpty()) {
+            CachePaises.invalidarIdiomas(codigoPais);
+            throw new ConflictoConcurrencia(codigoPais, "el idioma '" + nombre + "' de " + codigoPais, conflictos);
+        }
+        if (!escribirOficial && !escribirPorcentaje) return 0;
+
+        String sql = "UPDATE countrylanguage SET "
+                + (escribirOficial ? "IsOfficial = ?" : "")
+                + (escribirOficial && escribirPorcentaje ? ", " : "")
+                + (escribirPorcentaje ? "Percentage = ?" : "")
+                + " WHERE CountryCode = ? AND Language = ?";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            int indice = 1;
+            if (escribirOficial) ps.setString(indice++, idioma.isEsOficial() ? "T" : "F");
+            if (escribirPorcentaje) ps.setDouble(indice++, idioma.getPorcentaje());
+            ps.setString(indice++, codigoPais);
+            ps.setString(indice, nombre);
+            return ps.executeUpdate();
+        }
+    }
+
+    /**
+     * Elimina un idioma específico de un país de la base de datos.
+     * @param codigoPais El código del país.
+     * @param nombreIdioma El nombre del idioma a eliminar.
+     * @return true si la eliminación fue exitosa, false en caso contrario.
+     */
+    public static boolean eliminarIdioma(String codigoPais, String nombreIdioma) {
+        long inicio = System.nanoTime();
+        try (Connection conn = ConexionBD.abrir();
+             PreparedStatement ps = conn.prepareStatement(SQL_ELIMINAR)) {
+            
+            ps.setString(1, codigoPais);
+            ps.setString(2, nombreIdioma);
+            
+            int filasAfectadas = ps.executeUpdate();
+            if (filasAfectadas > 0) {
+                CambiosDatos.anotar(conn, CambiosDatos.Tipo.IDIOMAS_MODIFICADOS, codigoPais, nombreIdioma);
+                CachePaises.invalidarIdiomas(codigoPais);
+                IndiceClaves.olvidarIdioma(codigoPais, nombreIdioma);
+                Registro.info("idioma.eliminar", codigoPais, nombreIdioma, System.nanoTime() - inicio, filasAfectadas);
+                return true;
+            }
+            return false;
+
+        } catch (SQLException e) {
+            BusErrores.publicar(new ErrorDatos("idioma.eliminar", codigoPais, nombreIdioma, "Error al eliminar idioma", e));
+            return false;
+        }
+    }
+
+    /**
+     * Asigna los parámetros de SQL_INSERTAR.
+     * @param ps La sentencia preparada con SQL_INSERTAR.
+     * @param codigoPais El código del país.
+     * @param idioma El idioma a insertar.
+     * @throws SQLException si falla la asignación de algún parámetro.
+     */
+    static void asignarParametrosInsertar(PreparedStatement ps, String codigoPais, ModeloIdioma idioma) throws SQLException {
+        ps.setString(1, codigoPais);
+        ps.setString(2, idioma.getIdioma());
+        ps.setString(3, idioma.isEsOficial() ? "T" : "F"); // Convierte boolean a 'T' o 'F'
+        ps.setDouble(4, idioma.getPorcentaje());
+    }
+
+    /**
+     * Asigna los parámetros de SQL_MODIFICAR.
+     * @param ps La sentencia preparada con SQL_MODIFICAR.
+     * @param codigoPais El código del país.
+     * @param idioma El idioma con los datos actualizados.
+     * @throws SQLException si falla la asignación de algún parámetro.
+     */
+    static void asignarParametrosModificar(PreparedStatement ps, String codigoPais, ModeloIdioma idioma) throws SQLException {
+        ps.setString(1, idioma.isEsOficial() ? "T" : "F");
+        ps.setDouble(2, idioma.getPorcentaje());
+        ps.setString(3, codigoPais);
+        ps.setString(4, idioma.getIdioma()); // El nombre del idioma es parte de la PK compuesta
+    }
+}
@@ -1,211 +1,618 @@
-// Archivo: GestorPaises.java
-package Actividad;
-
-import java.sql.*;
-import java.util.ArrayList;
-import java.util.List;
-import javax.swing.JOptionPane;
-
-/**
- * Clase para gestionar las operaciones CRUD (Crear, Leer, Actualizar, Borrar)
- * relacionadas con la tabla 'country' y su interacción con 'city' para la capital.
- */
-public class GestorPaises {
-
-    /**
-     * Carga los detalles completos de un país específico desde la base de datos.
-     * Incluye información de la tabla 'country' y los detalles de su capital desde la tabla 'city'.
-     * @param codigoPais El código de 3 letras del país a cargar (ej. "ESP").
-     * @return Un objeto ModeloPais con los datos del país, o null si no se encuentra o hay un error.
-     */
-    public static ModeloPais cargarDetallesPais(String codigoPais) {
-        ModeloPais pais = null;
-        // Consulta SQL para obtener datos del país y su capital.
-        // Se usa LEFT JOIN para asegurar que se devuelvan los datos del país incluso si no tiene capital asignada.
-        String sql = "SELECT c.*, ci.ID as CapitalID, ci.Name as CapitalName, ci.District as CapitalDistrict, ci.Population as CapitalPopulation " +
-                     "FROM country c LEFT JOIN city ci ON c.Capital = ci.ID " +
-                     "WHERE c.Code = ?";
-
-        try (Connection conn = ConexionBD.conectar(); // Obtiene la conexión a la BD
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            
-            ps.setString(1, codigoPais); // Establece el parámetro de la consulta
-            try (ResultSet rs = ps.executeQuery()) { // Ejecuta la consulta
-                if (rs.next()) { // Si hay resultados
-                    pais = new ModeloPais(); // Crea un nuevo objeto ModeloPais
-                    // Asigna los valores del ResultSet al objeto ModeloPais
-                    pais.setCodigo(rs.getString("Code"));
-                    pais.setNombre(rs.getString("Name"));
-                    pais.setContinente(rs.getString("Continent"));
-                    pais.setRegion(rs.getString("Region"));
-                    pais.setNombreLocal(rs.getString("LocalName"));
-                    
-                    // Manejo de campos numéricos que pueden ser nulos en la BD
-                    int anioIndep = rs.getInt("IndepYear");
-                    pais.setAnioIndependencia(rs.wasNull() ? null : anioIndep);
-                    
-                    double superficie = rs.getDouble("SurfaceArea");
-                    pais.setSuperficie(rs.wasNull() ? null : superficie);
-                    
-                    double expVida = rs.getDouble("LifeExpectancy");
-                    pais.setExpectativaVida(rs.wasNull() ? null : expVida);
-                    
-                    int poblacion = rs.getInt("Population");
-                    pais.setPoblacion(rs.wasNull() ? null : poblacion);
-
-                    double pnb = rs.getDouble("GNP");
-                    pais.setPnb(rs.wasNull() ? null : pnb);
-                    
-                    pais.setFormaGobierno(rs.getString("GovernmentForm"));
-                    pais.setCabezaEstado(rs.getString("HeadOfState"));
-                    
-                    int capitalId = rs.getInt("CapitalID");
-                    pais.setCapitalID(rs.wasNull() ? null : capitalId);
-                    pais.setCapitalNombre(rs.getString("CapitalName"));
-                    pais.setCapitalDistrito(rs.getString("CapitalDistrict"));
-                    
-                    int capitalPob = rs.getInt("CapitalPopulation");
-                    pais.setCapitalPoblacion(rs.wasNull() ? null : capitalPob);
-                }
-            }
-        } catch (SQLException e) {
-            // Muestra un mensaje de error y lo imprime en la consola si falla la carga
-            JOptionPane.showMessageDialog(null, "Error al cargar detalles del país: " + e.getMessage(), "Error DB", JOptionPane.ERROR_MESSAGE);
-            System.err.println("❌ Error al cargar detalles del país: " + e.getMessage());
-        }
-        return pais; // Devuelve el objeto país (puede ser null)
-    }
-    
-    /**
-     * Elimina un país de la base de datos, incluyendo sus idiomas asociados en 'countrylanguage'.
-     * Realiza la operación dentro de una transacción para asegurar la integridad de los datos.
-     * @param codigoPais El código del país a eliminar.
-     * @return true si el país y sus idiomas fueron eliminados correctamente, false en caso contrario.
-     */
-    public static boolean eliminarPais(String codigoPais) {
-        // SQL para borrar idiomas (dependencias) y luego el país
-        String sqlLenguas = "DELETE FROM countrylanguage WHERE CountryCode = ?";
-        String sqlPais = "DELETE FROM country WHERE Code = ?";
-        
-        try (Connection conn = ConexionBD.conectar()) { 
-            conn.setAutoCommit(false); // Iniciar transacción para asegurar atomicidad
-            
-            try (PreparedStatement psLenguas = conn.prepareStatement(sqlLenguas);
-                 PreparedStatement psPais = conn.prepareStatement(sqlPais)) {
-                
-                // Borrar idiomas asociados al país
-                psLenguas.setString(1, codigoPais);
-                psLenguas.executeUpdate();
-                
-                // Borrar el país
-                psPais.setString(1, codigoPais);
-                int filasAfectadas = psPais.executeUpdate();
-                
-                conn.commit(); // Confirmar la transacción si todo fue bien
-                return filasAfectadas > 0; // Devuelve true si se eliminó al menos una fila (el país)
-
-            } catch (SQLException e) {
-                conn.rollback(); // Deshacer la transacción en caso de error
-                JOptionPane.showMessageDialog(null, "Error al eliminar país (transacción revertida): " + e.getMessage(), "Error DB", JOptionPane.ERROR_MESSAGE);
-                System.err.println("❌ Error al eliminar país (rollback): " + e.getMessage());
-                return false;
-            }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(null, "Error en la conexión al eliminar país: " + e.getMessage(), "Error DB", JOptionPane.ERROR_MESSAGE);
-            System.err.println("❌ Error en la conexión al eliminar: " + e.getMessage());
-            return false;
-        }
-    }
-
-    /**
-     * Inserta un nuevo país en la base de datos.
-     * @param pais Objeto ModeloPais con los datos del país a insertar.
-     * @return true si la inserción fue exitosa, false en caso contrario.
-     */
-    public static boolean insertarPais(ModeloPais pais) {
-        String sql = "INSERT INTO country (Code, Name, Continent, Region, SurfaceArea, IndepYear, Population, LifeExpectancy, GNP, LocalName, GovernmentForm, HeadOfState, Capital) " +
-                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        try (Connection conn = ConexionBD.conectar();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            // Establece los parámetros de la consulta de inserción
-            ps.setString(1, pais.getCodigo());
-            ps.setString(2, pais.getNombre());
-            ps.setString(3, pais.getContinente());
-            ps.setString(4, pais.getRegion());
-            // ps.setObject permite pasar null si el valor en el objeto ModeloPais es null
-            ps.setObject(5, pais.getSuperficie()); 
-            ps.setObject(6, pais.getAnioIndependencia());
-            ps.setObject(7, pais.getPoblacion());
-            ps.setObject(8, pais.getExpectativaVida());
-            ps.setObject(9, pais.getPnb());
-            ps.setString(10, pais.getNombreLocal());
-            ps.setString(11, pais.getFormaGobierno());
-            ps.setString(12, pais.getCabezaEstado());
-            ps.setObject(13, pais.getCapitalID()); // ID de la capital
-
-            int filasAfectadas = ps.executeUpdate(); // Ejecuta la inserción
-            return filasAfectadas > 0; // Devuelve true si se insertó al menos una fila
-
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(null, "Error al insertar país: " + e.getMessage(), "Error DB", JOptionPane.ERROR_MESSAGE);
-            System.err.println("❌ Error al insertar país: " + e.getMessage());
-            return false;
-        }
-    }
-
-    /**
-     * Modifica los datos de un país existente en la base de datos.
-     * @param pais Objeto ModeloPais con los datos actualizados del país. El código del país no se modifica.
-     * @return true si la modificación fue exitosa, false en caso contrario.
-     */
-    public static boolean modificarPais(ModeloPais pais) {
-        String sql = "UPDATE country SET Name = ?, Continent = ?, Region = ?, SurfaceArea = ?, IndepYear = ?, Population = ?, LifeExpectancy = ?, GNP = ?, LocalName = ?, GovernmentForm = ?, HeadOfState = ?, Capital = ? " +
-                     "WHERE Code = ?"; // La cláusula WHERE usa el código del país
-        try (Connection conn = ConexionBD.conectar();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            // Establece los parámetros para la actualización
-            ps.setString(1, pais.getNombre());
-            ps.setString(2, pais.getContinente());
-            ps.setString(3, pais.getRegion());
-            ps.setObject(4, pais.getSuperficie());
-            ps.setObject(5, pais.getAnioIndependencia());
-            ps.setObject(6, pais.getPoblacion());
-            ps.setObject(7, pais.getExpectativaVida());
-            ps.setObject(8, pais.getPnb());
-            ps.setString(9, pais.getNombreLocal());
-            ps.setString(10, pais.getFormaGobierno());
-            ps.setString(11, pais.getCabezaEstado());
-            ps.setObject(12, pais.getCapitalID());
-            ps.setString(13, pais.getCodigo()); // Parámetro para la cláusula WHERE
-
-            int filasAfectadas = ps.executeUpdate(); // Ejecuta la modificación
-            return filasAfectadas > 0; // Devuelve true si se modificó al menos una fila
-
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(null, "Error al modificar país: " + e.getMessage(), "Error DB", JOptionPane.ERROR_MESSAGE);
-            System.err.println("❌ Error al modificar país: " + e.getMessage());
-            return false;
-        }
-    }
-    
-    /**
-     * Obtiene una lista de todos los continentes distintos presentes en la tabla 'country'.
-     * @return Una lista de Strings, cada uno representando un nombre de continente.
-     */
-    public static List<String> obtenerContinentes() {
-        List<String> continentes = new ArrayList<>();
-        String sql = "SELECT DISTINCT Continent FROM country ORDER BY Continent ASC"; // DISTINCT para evitar duplicados
-        try (Connection conn = ConexionBD.conectar();
-             PreparedStatement ps = conn.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()) {
-            while (rs.next()) {
-                continentes.add(rs.getString("Continent")); // Añade cada continente a la lista
-            }
-        } catch (SQLException e) {
-            System.err.println("❌ Error al obtener continentes: " + e.getMessage());
-        }
-        return continentes; // Devuelve la lista de continentes
-    }
-}
+// Archivo: GestorPaises.java
+package Actividad;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Clase para gestionar las operaciones CRUD (Crear, Leer, Actualizar, Borrar)
+ * relacionadas con la tabla 'country' y su interacción con 'city' para la capital.
+ */
+public class GestorPaises {
+
+    // Sentencias SQL de escritura. Son visibles en el paquete para que el modo por lotes reutilice exactamente las mismas.
+    static final String SQL_INSERTAR = "INSERT INTO country (Code, Name, Continent, Region, SurfaceArea, IndepYear, Population, LifeExpectancy, GNP, LocalName, GovernmentForm, HeadOfState, Capital) " +
+                                       "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    static final String SQL_MODIFICAR = "UPDATE country SET Name = ?, Continent = ?, Region = ?, SurfaceArea = ?, IndepYear = ?, Population = ?, LifeExpectancy = ?, GNP = ?, LocalName = ?, GovernmentForm = ?, HeadOfState = ?, Capital = ? " +
+                                        "WHERE Code = ?"; // La cláusula WHERE usa el código del país
+    // Igual que SQL_MODIFICAR pero conservando la capital guardada (lotes que no indican la capital)
+    static final String SQL_MODIFICAR_SIN_CAPITAL = "UPDATE country SET Name = ?, Continent = ?, Region = ?, SurfaceArea = ?, IndepYear = ?, Population = ?, LifeExpectancy = ?, GNP = ?, LocalName = ?, GovernmentForm = ?, HeadOfState = ? " +
+                                                    "WHERE Code = ?";
+    static final String SQL_ELIMINAR_LENGUAS = "DELETE FROM countrylanguage WHERE CountryCode = ?";
+    static final String SQL_ELIMINAR_CIUDADES = "DELETE FROM city WHERE CountryCode = ?"; // city.CountryCode es clave ajena de country
+    static final String SQL_ELIMINAR = "DELETE FROM country WHERE Code = ?";
+
+    /**
+     * Columnas de 'country' que puede cambiar una modificación, con su valor en ModeloPais.
+     * La modificación optimista compara columna a columna y sólo escribe las que cambiaron.
+     */
+    private enum ColumnaPais {
+        NOMBRE("Name", "Nombre", ModeloPais::getNombre, false),
+        CONTINENTE("Continent", "Continente", ModeloPais::getContinente, false),
+        REGION("Region", "Región", ModeloPais::getRegion, false),
+        SUPERFICIE("SurfaceArea", "Superficie", ModeloPais::getSuperficie, true),
+        ANIO_INDEPENDENCIA("IndepYear", "Año de independencia", ModeloPais::getAnioIndependencia, false),
+        POBLACION("Population", "Población", ModeloPais::getPoblacion, false),
+        EXPECTATIVA_VIDA("LifeExpectancy", "Expectativa de vida", ModeloPais::getExpectativaVida, true),
+        PNB("GNP", "PNB", ModeloPais::getPnb, true),
+        NOMBRE_LOCAL("LocalName", "Nombre local", ModeloPais::getNombreLocal, false),
+        FORMA_GOBIERNO("GovernmentForm", "Forma de gobierno", ModeloPais::getFormaGobierno, false),
+        CABEZA_ESTADO("HeadOfState", "Jefe de Estado", ModeloPais::getCabezaEstado, false),
+        CAPITAL("Capital", "Capital", ModeloPais::getCapitalID, false);
+
+        final String columna;
+        final String etiqueta;
+        final Function<ModeloPais, Object> valor;
+        final boolean flotante; // Columna FLOAT: se compara con la precisión con la que se guarda
+
+        ColumnaPais(String columna, String etiqueta, Function<ModeloPais, Object> valor, boolean flotante) {
+            this.columna = columna;
+            this.etiqueta = etiqueta;
+            this.valor = valor;
+            this.flotante = flotante;
+        }
+
+        /**
+         * @return true si la columna tiene el mismo valor en los dos países. Un texto vacío y NULL cuentan
+         *         como el mismo valor: el formulario muestra NULL como un campo vacío y lo devuelve como "".
+         */
+        boolean iguales(ModeloPais a, ModeloPais b) {
+            Object va = normalizar(valor.apply(a));
+            Object vb = normalizar(valor.apply(b));
+            if (flotante && va != null && vb != null) {
+                // El double leído de un FLOAT y el tecleado por el usuario coinciden al pasarlos a float
+                return ((Number) va).floatValue() == ((Number) vb).floatValue();
+            }
+            return Objects.equals(va, vb);
+        }
+
+        /**
+         * @return null para un valor ausente o en blanco (también un número sin leer); el propio valor en otro caso.
+         */
+        private static Object normalizar(Object v) {
+            return v instanceof String && ((String) v).isBlank() ? null : v;
+        }
+    }
+
+    // Códigos de país por sentencia en el borrado y la edición masivos (tamaño de las listas IN)
+    static final int TAMANIO_BLOQUE = 500;
+
+    /**
+     * Recibe el avance de una operación masiva (borrado o edición).
+     */
+    public interface ProgresoMasivo {
+        /**
+         * @param procesados Países procesados hasta ahora.
+         * @param total Países de la operación.
+         * @return false para cancelar la operación.
+         */
+        boolean avanzar(int procesados, int total);
+    }
+
+    /**
+     * Carga los detalles completos de un país específico desde la base de datos.
+     * Incluye información de la tabla 'country' y los detalles de su capital desde la tabla 'city'.
+     * @param codigoPais El código de 3 letras del país a cargar (ej. "ESP").
+     * @return Un objeto ModeloPais con los datos del país, o null si no se encuentra o hay un error.
+     */
+    public static ModeloPais cargarDetallesPais(String codigoPais) {
+        try (Connection conn = ConexionBD.conectarLectura()) { // Obtiene una conexión de lectura (réplica o principal)
+            if (conn == null) throw new SQLException("Sin conexión con la base de datos");
+            return leerPais(conn, codigoPais);
+        } catch (SQLException e) {
+            // Publica el error (la interfaz decide cómo mostrarlo) y devuelve el resultado vacío
+            BusErrores.publicar(new ErrorDatos("pais.cargarDetalles", codigoPais, null, "Error al cargar detalles del país", e));
+            return null;
+        }
+    }
+
+    /**
+     * Lee un país y su capital con la conexión indicada (también dentro de una transacción).
+     * @param conn La conexión a usar.
+     * @param codigoPais El código del país.
+     * @return El país, o null si no existe.
+     * @throws SQLException si falla la consulta.
+     */
+    static ModeloPais leerPais(Connection conn, String codigoPais) throws SQLException {
+        return leerPais(conn, codigoPais, false);
+    }
+
+    /**
+     * Lee un país y su capital; con 'bloquear' la fila queda bloqueada hasta el fin de la transacción.
+     */
+    static ModeloPais leerPais(Connection conn, String codigoPais, boolean bloquear) throws SQLException {
+        ModeloPais pais = null;
+        // Consulta SQL para obtener datos del país y su capital.
+        // Se usa LEFT JOIN para asegurar que se devuelvan los datos del país incluso si no tiene capital asignada.
+        String sql = "SELECT c.*, ci.ID as CapitalID, ci.Name as CapitalName, ci.District as CapitalDistrict, ci.Population as CapitalPopulation " +
+                     "FROM country c LEFT JOIN city ci ON c.Capital = ci.ID " +
+                     "WHERE c.Code = ?" + (bloquear ? " FOR UPDATE" : "");
+
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, codigoPais); // Establece el parámetro de la consulta
+            try (ResultSet rs = ps.executeQuery()) { // Ejecuta la consulta
+                if (rs.next()) { // Si hay resultados
+                    pais = new ModeloPais(); // Crea un nuevo objeto ModeloPais
+                    // Asigna los valores del ResultSet al objeto ModeloPais
+                    pais.setCodigo(rs.getString("Code"));
+                    pais.setNombre(rs.getString("Name"));
+                    pais.setContinente(DiccionarioValores.CONTINENTES.compartir(rs.getString("Continent")));
+                    pais.setRegion(DiccionarioValores.REGIONES.compartir(rs.getString("Region")));
+                    pais.setNombreLocal(rs.getString("LocalName"));
+                
+                    // Manejo de campos numéricos que pueden ser nulos en la BD
+                    int anioIndep = rs.getInt("IndepYear");
+                    pais.setAnioIndependencia(rs.wasNull() ? null : anioIndep);
+                
+                    double superficie = rs.getDouble("SurfaceArea");
+                    pais.setSuperficie(rs.wasNull() ? null : superficie);
+                
+                    double expVida = rs.getDouble("LifeExpectancy");
+                    pais.setExpectativaVida(rs.wasNull() ? null : expVida);
+                
+                    int poblacion = rs.getInt("Population");
+                    pais.setPoblacion(rs.wasNull() ? null : poblacion);
+
+                    double pnb = rs.getDouble("GNP");
+                    pais.setPnb(rs.wasNull() ? null : pnb);
+                
+                    pais.setFormaGobierno(DiccionarioValores.FORMAS_GOBIERNO.compartir(rs.getString("GovernmentForm")));
+                    pais.setCabezaEstado(rs.getString("HeadOfState"));
+                
+                    int capitalId = rs.getInt("CapitalID");
+                    pais.setCapitalID(rs.wasNull() ? null : capitalId);
+                    pais.setCapitalNombre(rs.getString("CapitalName"));
+                    pais.setCapitalDistrito(rs.getString("CapitalDistrict"));
+                
+                    int capitalPob = rs.getInt("CapitalPopulation");
+                    pais.setCapitalPoblacion(rs.wasNull() ? null : capitalPob);
+                }
+            }
+        }
+        return pais; // Devuelve el objeto país (puede ser null)
+    }
+
+    /**
+     * Elimina un país de la base de datos, incluyendo sus idiomas y ciudades asociados.
+     * Es el borrado masivo (eliminarPaises) con un único código.
+     * @param codigoPais El código del país a eliminar.
+     * @return true si el país y sus dependencias fueron eliminados correctamente, false en caso contrario.
+     */
+    public static boolean eliminarPais(String codigoPais) {
+        return eliminarPaises(Collections.singletonList(codigoPais), null) > 0;
+    }
+
+    /**
+     * Elimina varios países con sus idiomas y ciudades en una única transacción.
+     * Los códigos se envían en bloques de TAMANIO_BLOQUE con listas IN, de modo que
+     * cada bloque son cuatro sentencias sea cual sea el número de países:
+     * se quita la capital (que apunta a una ciudad del propio país), se borran los idiomas,
+     * las ciudades y por último los países.
+     * @param codigos Los códigos de los países a eliminar.
+     * @param progreso Receptor del avance tras cada bloque (puede ser null).
+     * @return Número de países eliminados, o -1 si hubo un error o se canceló (no se borra nada).
+     */
+    public static int eliminarPaises(List<String> codigos, ProgresoMasivo progreso) {
+        if (codigos.isEmpty()) return 0;
+        long inicio = System.nanoTime();
+        String ambito = codigos.size() == 1 ? codigos.get(0) : null; // Para el registro y los errores
+        int eliminados = 0;
+        try (Connection conn = ConexionBD.abrir()) {
+            conn.setAutoCommit(false); // Iniciar transacción para asegurar atomicidad
+            try {
+                for (int desde = 0; desde < codigos.size(); desde += TAMANIO_BLOQUE) {
+                    List<String> bloque = codigos.subList(desde, Math.min(desde + TAMANIO_BLOQUE, codigos.size()));
+                    String lista = listaParametros(bloque.size());
+                    ejecutarConCodigos(conn, "UPDATE country SET Capital = NULL WHERE Code IN " + lista, bloque);
+                    ejecutarConCodigos(conn, "DELETE FROM countrylanguage WHERE CountryCode IN " + lista, bloque);
+                    ejecutarConCodigos(conn, "DELETE FROM city WHERE CountryCode IN " + lista, bloque);
+                    eliminados += ejecutarConCodigos(conn, "DELETE FROM country WHERE Code IN " + lista, bloque);
+                    CambiosDatos.anotar(conn, CambiosDatos.Tipo.PAIS_ELIMINADO, bloque, null);
+                    if (progreso != null && !progreso.avanzar(desde + bloque.size(), codigos.size())) {
+                        conn.rollback(); // Cancelado por el usuario: no se borra nada
+                        Registro.info("pais.eliminar.cancelado", ambito, null, System.nanoTime() - inicio, 0);
+                        return -1;
+                    }
+                }
+                conn.commit(); // Confirmar la transacción si todo fue bien
+            } catch (SQLException e) {
+                conn.rollback(); // Deshacer la transacción en caso de error
+                BusErrores.publicar(new ErrorDatos("pais.eliminar", ambito, codigos.size() + " país(es)", "Error al eliminar países (transacción revertida)", e));
+                return -1;
+            }
+        } catch (SQLException e) {
+            BusErrores.publicar(new ErrorDatos("pais.eliminar", ambito, null, "Error en la conexión al eliminar países", e));
+            return -1;
+        }
+        // Los países, sus idiomas y sus ciudades ya no existen
+        IndiceClaves.olvidarPaises(codigos);
+        IndiceCiudades.olvidarPaises(codigos);
+        if (codigos.size() == 1) {
+            CachePaises.invalidarPais(codigos.get(0));
+        } else {
+            CachePaises.invalidarTodo();
+        }
+        if (Registro.activo(Registro.Nivel.INFO)) Registro.info("pais.eliminar", ambito, codigos.size() + " país(es)", System.nanoTime() - inicio, eliminados);
+        return eliminados;
+    }
+
+    /**
+     * Aplica una edición masiva a los países indicados con un UPDATE por bloque de TAMANIO_BLOQUE códigos.
+     * Cada bloque es una transacción propia: si uno falla se deshace sólo ese bloque y se detiene
+     * el proceso, conservando los bloques ya confirmados. Lo mismo ocurre al cancelar.
+     * @param codigos Los códigos de los países a modificar (normalmente las filas filtradas de la tabla).
+     * @param edicion La expresión a aplicar.
+     * @param progreso Receptor del avance tras cada bloque (puede ser null).
+     * @return Número de países de los bloques confirmados (igual a codigos.size() si todo fue bien).
+     */
+    public static int actualizarPaises(List<String> codigos, EdicionMasiva edicion, ProgresoMasivo progreso) {
+        long inicio = System.nanoTime();
+        int confirmados = 0;
+        int filas = 0;
+        try (Connection conn = ConexionBD.abrir()) {
+            conn.setAutoCommit(false);
+            for (int desde = 0; desde < codigos.size(); desde += TAMANIO_BLOQUE) {
+                List<String> bloque = codigos.subList(desde, Math.min(desde + TAMANIO_BLOQUE, codigos.size()));
+                String sql = "UPDATE country SET " + edicion.sqlAsignacion() + " WHERE Code IN " + listaParametros(bloque.size());
+                try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                    edicion.asignarValor(ps, 1);
+                    for (int i = 0; i < bloque.size(); i++) {
+                        ps.setString(i + 2, bloque.get(i));
+                    }
+                    filas += ps.executeUpdate();
+                    CambiosDatos.anotar(conn, CambiosDatos.Tipo.PAIS_MODIFICADO, bloque, null);
+                    conn.commit();
+                    confirmados += bloque.size();
+                } catch (SQLException e) {
+                    conn.rollback(); // Sólo se pierde este bloque
+                    BusErrores.publicar(new ErrorDatos("pais.editarMasivo", null, edicion.toString(),
+                            "Error en la edición masiva (bloque " + (desde / TAMANIO_BLOQUE + 1) + " revertido)", e));
+                    break;
+                } finally {
+                    // Sólo se invalidan los países del bloque, sin descartar el resto de la caché
+                    CachePaises.invalidarPaises(bloque, edicion.getCampo().enListaPaises(), edicion.getCampo().esNombre());
+                }
+                if (progreso != null && !progreso.avanzar(confirmados, codigos.size())) break;
+            }
+        } catch (SQLException e) {
+            BusErrores.publicar(new ErrorDatos("pais.editarMasivo", null, edicion.toString(), "Error en la conexión en la edición masiva", e));
+        }
+        if (Registro.activo(Registro.Nivel.INFO)) {
+            Registro.info("pais.editarMasivo", null, edicion.toString(), System.nanoTime() - inicio, filas);
+        }
+        return confirmados;
+    }
+
+    /**
+     * Ejecuta una sentencia con una lista IN de códigos de país.
+     * @return Filas afectadas.
+     */
+    private static int ejecutarConCodigos(Connection conn, String sql, List<String> codigos) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = 0; i < codigos.size(); i++) {
+                ps.setString(i + 1, codigos.get(i));
+            }
+            return ps.executeUpdate();
+        }
+    }
+
+    /**
+     * @return "(?, ?, ..., ?)" con el número de parámetros indicado.
+     */
+    static String listaParametros(int cantidad) {
+        StringBuilder lista = new StringBuilder(cantidad * 3 + 1).append('(');
+        for (int i = 0; i < cantidad; i++) {
+            lista.append(i == 0 ? "?" : ", ?");
+        }
+        return lista.append(')').toString();
+    }
+
+    /**
+     * Inserta un nuevo país en la base de datos.
+     * @param pais Objeto ModeloPais con los datos del país a insertar.
+     * @return true si la inserción fue exitosa, false en caso contrario.
+     */
+    public static boolean insertarPais(ModeloPais pais) {
+        long inicio = System.nanoTime();
+        try (Connection conn = ConexionBD.abrir();
+             PreparedStatement ps = conn.prepareStatement(SQL_INSERTAR)) {
+
+            asignarParametrosInsertar(ps, pais); // Establece los parámetros de la consulta de inserción
+
+            int filasAfectadas = ps.executeUpdate(); // Ejecuta la inserción
+            if (filasAfectadas > 0) {
+                CambiosDatos.anotar(conn, CambiosDatos.Tipo.PAIS_INSERTADO, pais.getCodigo(), null); // Aviso a los demás clientes
+                CachePaises.invalidarPais(pais.getCodigo()); // La lista de países ha cambiado
+                IndiceClaves.anotarPais(pais.getCodigo());
+            }
+            Registro.info("pais.insertar", pais.getCodigo(), null, System.nanoTime() - inicio, filasAfectadas);
+            return filasAfectadas > 0; // Devuelve true si se insertó al menos una fila
+
+        } catch (SQLException e) {
+            BusErrores.publicar(new ErrorDatos("pais.insertar", pais.getCodigo(), null, "Error al insertar país", e));
+            return false;
+        }
+    }
+
+    /**
+     * Modifica los datos de un país existente en la base de datos.
+     * Sobrescribe todas las columnas sin comprobar cambios de otros usuarios; la interfaz usa
+     * modificarPais(original, pais), que sí los detecta.
+     * @param pais Objeto ModeloPais con los datos actualizados del país. El código del país no se modifica.
+     * @return true si la modificación fue exitosa, false en caso contrario.
+     */
+    public static boolean modificarPais(ModeloPais pais) {
+        long inicio = System.nanoTime();
+        try (Connection conn = ConexionBD.abrir();
+             PreparedStatement ps = conn.prepareStatement(SQL_MODIFICAR)) {
+
+            asignarParametrosModificar(ps, pais); // Establece los parámetros para la actualización
+
+            int filasAfectadas = ps.executeUpdate(); // Ejecuta la modificación
+            if (filasAfectadas > 0) {
+                CambiosDatos.anotar(conn, CambiosDatos.Tipo.PAIS_MODIFICADO, pais.getCodigo(), null);
+                CachePaises.invalidarPais(pais.getCodigo()); // Descarta la copia en caché
+            }
+            Registro.info("pais.modificar", pais.getCodigo(), null, System.nanoTime() - inicio, filasAfectadas);
+            return filasAfectadas > 0; // Devuelve true si se modificó al menos una fila
+
+        } catch (SQLException e) {
+            BusErrores.publicar(new ErrorDatos("pais.modificar", pais.getCodigo(), null, "Error al modificar país", e));
+            return false;
+        }
+    }
+    
+    /**
+     * Modifica un país con control de concurrencia optimista.
+     * Sólo se escriben las columnas que difieren de 'original' (el país tal como se leyó al empezar
+     * a editarlo). Si otro usuario ha cambiado entretanto otras columnas, sus cambios se conservan;
+     * si ha cambiado alguna de las mismas columnas a otro valor, no se guarda nada.
+     * @param original El país tal como se cargó con cargarDetallesPais.
+     * @param pais El país con los datos editados.
+     * @return true si se guardó (o no había nada que guardar), false si hubo un conflicto o un error
+     *         (publicado en BusErrores; los conflictos con categoría CONFLICTO).
+     */
+    public static boolean modificarPais(ModeloPais original, ModeloPais pais) {
+        long inicio = System.nanoTime();
+        try (Connection conn = ConexionBD.abrir()) {
+            conn.setAutoCommit(false);
+            int filasAfectadas;
+            try {
+                filasAfectadas = modificarPaisOptimista(conn, original, pais);
+                if (filasAfectadas > 0) CambiosDatos.anotar(conn, CambiosDatos.Tipo.PAIS_MODIFICADO, pais.getCodigo(), null);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            if (filasAfectadas > 0) CachePaises.invalidarPais(pais.getCodigo());
+            Registro.info("pais.modificar", pais.getCodigo(), null, System.nanoTime() - inicio, filasAfectadas);
+            return true;
+        } catch (SQLException e) {
+            BusErrores.publicar(new ErrorDatos("pais.modificar", pais.getCodigo(), null, "Error al modificar país", e));
+            return false;
+        }
+    }
+
+    /**
+     * Núcleo de la modificación optimista, dentro de la transacción de la conexión indicada.
+     * Bloquea la fila con SELECT ... FOR UPDATE, la compara con el original y con los datos nuevos
+     * y envía un UPDATE sólo con las columnas que hay que cambiar.
+     * @param conn Conexión con autocommit desactivado.
+     * @param original El país tal como se leyó.
+     * @param pais El país con los datos editados.
+     * @return Filas modificadas (0 si no había nada que cambiar).
+     * @throws ConflictoConcurrencia si otro usuario cambió alguna de las mismas columnas.
+     * @throws SQLException si el país ya no existe o falla la sentencia.
+     */
+    static int modificarPaisOptimista(Connection conn, ModeloPais original, ModeloPais pais) throws SQLException {
+        String codigo = pais.getCodigo();
+        ModeloPais actual = leerPais(conn, codigo, true);
+        if (actual == null) {
+            throw new SQLException("El país " + codigo + " ya no existe en la base de datos");
+        }
+        List<ColumnaPais> aEscribir = new ArrayList<>();
+        List<String> conflictos = new ArrayList<>();
+        for (ColumnaPais columna : ColumnaPais.values()) {
+            if (columna.iguales(original, pais)) continue;            // No la ha tocado este usuario
+            if (columna.iguales(actual, pais)) continue;              // Ya tiene el valor nuevo
+            if (columna.iguales(actual, original)) {
+                aEscribir.add(columna);                               // Nadie más la ha cambiado
+            } else {
+                conflictos.add(columna.etiqueta);                     // Cambiada por los dos usuarios
+            }
+        }
+        if (!conflictos.isEmpty()) {
+            CachePaises.invalidarPais(codigo); // La copia en caché ya no es la de la base de datos
+            throw new ConflictoConcurrencia(codigo, "el país " + codigo, conflictos);
+        }
+        if (aEscribir.isEmpty()) return 0;
+
+        StringBuilder sql = new StringBuilder("UPDATE country SET ");
+        for (int i = 0; i < aEscribir.size(); i++) {
+            if (i > 0) sql.append(", ");
+            sql.append(aEscribir.get(i).columna).append(" = ?");
+        }
+        sql.append(" WHERE Code = ?");
+        try (PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            int indice = 1;
+            for (ColumnaPais columna : aEscribir) {
+                ps.setObject(indice++, columna.valor.apply(pais));
+            }
+            ps.setString(indice, codigo);
+            return ps.executeUpdate();
+        }
+    }
+
+    /**
+     * Carga la lista resumida de todos los países (Código, Nombre, Continente, Región) ordenada por nombre.
+     * Es la consulta que alimenta la tabla principal; se consume a través de CachePaises.
+     * @return Una lista de ModeloPais con sólo esos cuatro campos rellenos (vacía si hay un error).
+     */
+    public static List<ModeloPais> cargarListaPaises() {
+        List<ModeloPais> paises = new ArrayList<>();
+        String sql = "SELECT Code, Name, Continent, Region FROM country ORDER BY Name";
+        try (Connection conn = ConexionBD.abrirLectura();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) { // Itera sobre los resultados de la consulta
+                ModeloPais pais = new ModeloPais();
+                pais.setCodigo(rs.getString("Code"));
+                pais.setNombre(rs.getString("Name"));
+                pais.setContinente(DiccionarioValores.CONTINENTES.compartir(rs.getString("Continent")));
+                pais.setRegion(DiccionarioValores.REGIONES.compartir(rs.getString("Region")));
+                paises.add(pais);
+            }
+        } catch (SQLException e) {
+            BusErrores.publicar(new ErrorDatos("pais.cargarLista", null, null, "Error al cargar países", e));
+        }
+        return paises;
+    }
+
+    /**
+     * Carga los datos resumidos y las cifras (superficie, año de independencia, población, esperanza de vida
+     * y PNB) de los países, sin la capital, para los rankings en memoria (RankingPaises).
+     * @param codigos Los países a leer, en bloques de TAMANIO_BLOQUE; null para todos.
+     * @return País -> datos, sólo de los que existen.
+     * @throws SQLException si falla la consulta (el llamante decide si reintentar).
+     */
+    static Map<String, ModeloPais> cargarCifrasPaises(List<String> codigos) throws SQLException {
+        String sql = "SELECT Code, Name, Continent, Region, SurfaceArea, IndepYear, Population, LifeExpectancy, GNP FROM country";
+        Map<String, ModeloPais> paises = new HashMap<>();
+        try (Connection conn = ConexionBD.conectarLectura()) {
+            if (conn == null) throw new SQLException("Sin conexión con la base de datos");
+            int total = codigos == null ? 1 : codigos.size();
+            for (int desde = 0; desde < total; desde += TAMANIO_BLOQUE) {
+                List<String> bloque = codigos == null ? null : codigos.subList(desde, Math.min(desde + TAMANIO_BLOQUE, total));
+                try (PreparedStatement ps = conn.prepareStatement(bloque == null ? sql : sql + " WHERE Code IN " + listaParametros(bloque.size()))) {
+                    for (int i = 0; bloque != null && i < bloque.size(); i++) ps.setString(i + 1, bloque.get(i));
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            ModeloPais pais = new ModeloPais();
+                            pais.setCodigo(rs.getString("Code"));
+                            pais.setNombre(rs.getString("Name"));
+                            pais.setContinente(DiccionarioValores.CONTINENTES.compartir(rs.getString("Continent")));
+                            pais.setRegion(DiccionarioValores.REGIONES.compartir(rs.getString("Region")));
+                            double superficie = rs.getDouble("SurfaceArea");
+                            pais.setSuperficie(rs.wasNull() ? null : superficie);
+                            int anioIndep = rs.getInt("IndepYear");
+                            pais.setAnioIndependencia(rs.wasNull() ? null : anioIndep);
+                            int poblacion = rs.getInt("Population");
+                            pais.setPoblacion(rs.wasNull() ? null : poblacion);
+                            double expVida = rs.getDouble("LifeExpectancy");
+                            pais.setExpectativaVida(rs.wasNull() ? null : expVida);
+                            double pnb = rs.getDouble("GNP");
+                            pais.setPnb(rs.wasNull() ? null : pnb);
+                            paises.put(pais.getCodigo(), pais);
+                        }
+                    }
+                }
+            }
+        }
+        return paises;
+    }
+
+    /**
+     * Carga los nombres de todos los países para la búsqueda aproximada.
+     * @return Filas {Código, Nombre, Nombre local} (vacía si hay un error).
+     */
+    public static List<String[]> obtenerNombresPaises() {
+        List<String[]> nombres = new ArrayList<>();
+        String sql = "SELECT Code, Name, LocalName FROM country";
+        try (Connection conn = ConexionBD.abrirLectura();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                nombres.add(new String[] { rs.getString("Code"), rs.getString("Name"), rs.getString("LocalName") });
+            }
+        } catch (SQLException e) {
+            BusErrores.publicar(new ErrorDatos("pais.nombres", null, null, "Error al cargar los nombres de los países", e));
+        }
+        return nombres;
+    }
+
+    /**
+     * Obtiene una lista de todos los continentes distintos presentes en la tabla 'country'.
+     * @return Una lista de Strings, cada uno representando un nombre de continente.
+     */
+    public static List<String> obtenerContinentes() {
+        List<String> continentes = new ArrayList<>();
+        String sql = "SELECT DISTINCT Continent FROM country ORDER BY Continent ASC"; // DISTINCT para evitar duplicados
+        try (Connection conn = ConexionBD.abrirLectura();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                continentes.add(DiccionarioValores.CONTINENTES.compartir(rs.getString("Continent"))); // Añade cada continente a la lista
+            }
+        } catch (SQLException e) {
+            BusErrores.publicar(new ErrorDatos("pais.continentes", null, null, "Error al obtener continentes", e));
+        }
+        return continentes; // Devuelve la lista de continentes
+    }
+
+    /**
+     * Asigna los parámetros de SQL_INSERTAR a partir de un ModeloPais.
+     * @param ps La sentencia preparada con SQL_INSERTAR.
+     * @param pais El país a insertar.
+     * @throws SQLException si falla la asignación de algún parámetro.
+     */
+    static void asignarParametrosInsertar(PreparedStatement ps, ModeloPais pais) throws SQLException {
+        ps.setString(1, pais.getCodigo());
+        ps.setString(2, pais.getNombre());
+        ps.setString(3, pais.getContinente());
+        ps.setString(4, pais.getRegion());
+        // ps.setObject permite pasar null si el valor en el objeto ModeloPais es null
+        ps.setObject(5, pais.getSuperficie()); 
+        ps.setObject(6, pais.getAnioIndependencia());
+        ps.setObject(7, pais.getPoblacion());
+        ps.setObject(8, pais.getExpectativaVida());
+        ps.setObject(9, pais.getPnb());
+        ps.setString(10, pais.getNombreLocal());
+        ps.setString(11, pais.getFormaGobierno());
+        ps.setString(12, pais.getCabezaEstado());
+        ps.setObject(13, pais.getCapitalID()); // ID de la capital
+    }
+
+    /**
+     * Asigna los parámetros de SQL_MODIFICAR a partir de un ModeloPais.
+     * @param ps La sentencia preparada con SQL_MODIFICAR.
+     * @param pais El país con los datos actualizados.
+     * @throws SQLException si falla la asignación de algún parámetro.
+     */
+    static void asignarParametrosModificar(PreparedStatement ps, ModeloPais pais) throws SQLException {
+        asignarDatosModificar(ps, pais);
+        ps.setObject(12, pais.getCapitalID());
+        ps.setString(13, pais.getCodigo()); // Parámetro para la cláusula WHERE
+    }
+
+    /**
+     * Asigna los parámetros de SQL_MODIFICAR_SIN_CAPITAL a partir de un ModeloPais (su capital se ignora).
+     */
+    static void asignarParametrosModificarSinCapital(PreparedStatement ps, ModeloPais pais) throws SQLException {
+        asignarDatosModificar(ps, pais);
+        ps.setString(12, pais.getCodigo()); // Parámetro para la cláusula WHERE
+    }
+
+    /**
+     * Asigna las columnas comunes a SQL_MODIFICAR y SQL_MODIFICAR_SIN_CAPITAL (parámetros 1 a 11).
+     */
+    private static void asignarDatosModificar(PreparedStatement ps, ModeloPais pais) throws SQLException {
+        ps.setString(1, pais.getNombre());
+        ps.setString(2, pais.getContinente());
+        ps.setString(3, pais.getRegion());
+        ps.setObject(4, pais.getSuperficie());
+        ps.setObject(5, pais.getAnioIndependencia());
+        ps.setObject(6, pais.getPoblacion());
+        ps.setObject(7, pais.getExpectativaVida());
+        ps.setObject(8, pais.getPnb());
+        ps.setString(9, pais.getNombreLocal());
+        ps.setString(10, pais.getFormaGobierno());
+        ps.setString(11, pais.getCabezaEstado());
+    }
+}
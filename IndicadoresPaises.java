@@ -0,0 +1,204 @@
+// Archivo: IndicadoresPaises.java
+package Actividad;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Indicadores derivados de cada país que se muestran como columnas de la tabla de países:
+ * densidad de población, PNB por habitante y porcentaje de la población que vive en la capital.
+ *
+ * La lista resumida de CachePaises no trae superficie, PNB ni capital (sólo cargarDetallesPais, y de
+ * un país en un país), así que aquí se leen con una única consulta para todos los países y se guardan
+ * por columnas: un array de double por dato, con NaN donde la base de datos tiene NULL. Los indicadores
+ * se calculan después con un bucle por indicador sobre esos arrays, sin objetos por fila ni consultas
+ * por país; son bucles simples que el compilador JIT puede vectorizar.
+ *
+ * La instantánea es inmutable y se sustituye entera. Se vuelve a leer en segundo plano cuando
+ * CachePaises avisa de algún cambio en los países (los avisos seguidos se agrupan en una lectura).
+ */
+public class IndicadoresPaises {
+
+    /**
+     * Indicadores disponibles.
+     */
+    public enum Indicador {
+        DENSIDAD(1),          // Habitantes por km²
+        PNB_POR_HABITANTE(0), // Dólares por habitante
+        PESO_CAPITAL(1);      // Porcentaje de la población que vive en la capital
+
+        private final int decimales;
+
+        Indicador(int decimales) {
+            this.decimales = decimales;
+        }
+
+        /**
+         * @return Los decimales con los que se muestra (y se redondea el valor de la columna).
+         */
+        public int getDecimales() {
+            return decimales;
+        }
+    }
+
+    // GNP está en millones de dólares
+    private static final double DOLARES_POR_UNIDAD_PNB = 1_000_000;
+
+    private static final String SQL_DATOS = "SELECT c.Code, c.Population, c.SurfaceArea, c.GNP, ci.Population AS CapitalPopulation "
+            + "FROM country c LEFT JOIN city ci ON c.Capital = ci.ID";
+
+    /**
+     * Datos e indicadores de todos los países, por columnas (la fila i es el país codigos[i]).
+     */
+    private static final class Instantanea {
+        final Map<String, Integer> filas;  // Código -> fila
+        final double[][] indicadores;      // Indicador (ordinal) -> valor de cada fila (NaN si no se puede calcular)
+
+        Instantanea(String[] codigos, double[][] indicadores) {
+            this.filas = new HashMap<>(codigos.length * 2);
+            for (int i = 0; i < codigos.length; i++) filas.put(IndiceClaves.clavePais(codigos[i]), i);
+            this.indicadores = indicadores;
+        }
+    }
+
+    private static volatile Instantanea actual;
+
+    private static final ExecutorService cargador = Executors.newSingleThreadExecutor(r -> {
+        Thread hilo = new Thread(r, "indicadores-paises");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    private static final AtomicBoolean pendiente = new AtomicBoolean(false);
+    private static final AtomicBoolean suscrito = new AtomicBoolean(false);
+    // Vistas que muestran los indicadores: se avisan (en el hilo del cargador) tras cada lectura
+    private static final List<Runnable> oyentes = new CopyOnWriteArrayList<>();
+
+    /**
+     * Empieza a leer los datos en segundo plano si aún no están.
+     */
+    public static void precargar() {
+        if (suscrito.compareAndSet(false, true)) {
+            CachePaises.suscribir(codigos -> programarLectura()); // Con una sola consulta sale igual releer todo
+        }
+        if (actual == null) programarLectura();
+    }
+
+    /**
+     * @return true si los indicadores están calculados.
+     */
+    public static boolean isCargado() {
+        return actual != null;
+    }
+
+    /**
+     * @return El valor del indicador para el país, redondeado a los decimales con los que se muestra,
+     *         o null si no se puede calcular (faltan datos, población cero) o aún no se ha cargado.
+     */
+    public static Double valor(String codigoPais, Indicador indicador) {
+        Instantanea instantanea = actual;
+        if (instantanea == null || codigoPais == null) return null;
+        Integer fila = instantanea.filas.get(IndiceClaves.clavePais(codigoPais));
+        if (fila == null) return null;
+        double valor = instantanea.indicadores[indicador.ordinal()][fila];
+        if (Double.isNaN(valor) || Double.isInfinite(valor)) return null;
+        double escala = Math.pow(10, indicador.getDecimales());
+        return Math.round(valor * escala) / escala; // El filtro de texto compara con lo que se ve
+    }
+
+    /**
+     * Registra una vista que debe refrescarse cuando cambien los indicadores (se avisa fuera del hilo de Swing).
+     */
+    public static void suscribir(Runnable oyente) {
+        oyentes.add(oyente);
+    }
+
+    private static void programarLectura() {
+        if (pendiente.compareAndSet(false, true)) cargador.execute(IndicadoresPaises::cargar);
+    }
+
+    private static void cargar() {
+        pendiente.set(false); // Un aviso que llegue a partir de aquí programa otra lectura
+        long inicio = System.nanoTime();
+        int filas = 0;
+        String[] codigos = new String[256];
+        double[] poblacion = new double[256];
+        double[] superficie = new double[256];
+        double[] pnb = new double[256];
+        double[] poblacionCapital = new double[256];
+        try (Connection conn = ConexionBD.conectarLectura()) {
+            if (conn == null) return; // ConexionBD ya registra el motivo
+            try (PreparedStatement ps = conn.prepareStatement(SQL_DATOS); ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    if (filas == codigos.length) {
+                        codigos = Arrays.copyOf(codigos, filas * 2);
+                        poblacion = Arrays.copyOf(poblacion, filas * 2);
+                        superficie = Arrays.copyOf(superficie, filas * 2);
+                        pnb = Arrays.copyOf(pnb, filas * 2);
+                        poblacionCapital = Arrays.copyOf(poblacionCapital, filas * 2);
+                    }
+                    codigos[filas] = rs.getString("Code");
+                    poblacion[filas] = leer(rs, "Population");
+                    superficie[filas] = leer(rs, "SurfaceArea");
+                    pnb[filas] = leer(rs, "GNP");
+                    poblacionCapital[filas] = leer(rs, "CapitalPopulation");
+                    filas++;
+                }
+            }
+        } catch (SQLException e) {
+            Registro.aviso("indicadores.cargar", null, "sin indicadores derivados", e.getMessage());
+            return;
+        }
+        actual = new Instantanea(Arrays.copyOf(codigos, filas), calcular(poblacion, superficie, pnb, poblacionCapital, filas));
+        Registro.info("indicadores.cargar", null, null, System.nanoTime() - inicio, filas);
+        for (Runnable oyente : oyentes) {
+            try {
+                oyente.run();
+            } catch (RuntimeException e) {
+                Registro.error("indicadores.oyente", null, null, String.valueOf(e));
+            }
+        }
+    }
+
+    /**
+     * Calcula los indicadores de las filas, un bucle por indicador. Los NaN (datos NULL) se propagan
+     * solos; las divisiones por cero se convierten en NaN.
+     * @return Indicador (ordinal) -> valor de cada fila.
+     */
+    static double[][] calcular(double[] poblacion, double[] superficie, double[] pnb, double[] poblacionCapital, int filas) {
+        double[] densidad = new double[filas];
+        double[] pnbPorHabitante = new double[filas];
+        double[] pesoCapital = new double[filas];
+        for (int i = 0; i < filas; i++) {
+            densidad[i] = superficie[i] > 0 ? poblacion[i] / superficie[i] : Double.NaN;
+        }
+        for (int i = 0; i < filas; i++) {
+            pnbPorHabitante[i] = poblacion[i] > 0 ? pnb[i] * DOLARES_POR_UNIDAD_PNB / poblacion[i] : Double.NaN;
+        }
+        for (int i = 0; i < filas; i++) {
+            pesoCapital[i] = poblacion[i] > 0 ? 100 * poblacionCapital[i] / poblacion[i] : Double.NaN;
+        }
+        double[][] indicadores = new double[Indicador.values().length][];
+        indicadores[Indicador.DENSIDAD.ordinal()] = densidad;
+        indicadores[Indicador.PNB_POR_HABITANTE.ordinal()] = pnbPorHabitante;
+        indicadores[Indicador.PESO_CAPITAL.ordinal()] = pesoCapital;
+        return indicadores;
+    }
+
+    /**
+     * @return El número de la columna, o NaN si es NULL.
+     */
+    private static double leer(ResultSet rs, String columna) throws SQLException {
+        double valor = rs.getDouble(columna);
+        return rs.wasNull() ? Double.NaN : valor;
+    }
+}
@@ -0,0 +1,316 @@
+// Archivo: IndiceCiudades.java
+package Actividad;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lista de ciudades precargada en memoria para elegir la capital de un país sin consultar la base de
+ * datos a cada tecla. Se lee entera una vez, en segundo plano, y se guarda por columnas (arrays
+ * paralelos) ordenada por país y por nombre normalizado: cada país ocupa un tramo contiguo y una
+ * búsqueda por el principio del nombre es una búsqueda binaria dentro del tramo. Así escala a cientos
+ * de miles de ciudades con unos pocos arrays y sin un objeto por ciudad.
+ *
+ * Si ninguna ciudad empieza por lo escrito, en los países de tamaño normal se buscan nombres
+ * parecidos (erratas) con la distancia de edición acotada de BuscadorAproximado.
+ *
+ * Las ciudades sólo se borran junto con su país: al eliminar un país (aquí, en un lote o desde otro
+ * puesto) se quita su tramo; si otro puesto avisa de un cambio general se vuelve a leer todo.
+ */
+public class IndiceCiudades {
+
+    /**
+     * Una ciudad devuelta por la búsqueda.
+     */
+    public static class Ciudad {
+        private final int id;
+        private final String nombre;
+        private final String distrito;
+        private final int poblacion;
+
+        Ciudad(int id, String nombre, String distrito, int poblacion) {
+            this.id = id;
+            this.nombre = nombre;
+            this.distrito = distrito;
+            this.poblacion = poblacion;
+        }
+
+        public int getId() { return id; }
+        public String getNombre() { return nombre; }
+        public String getDistrito() { return distrito; }
+        public int getPoblacion() { return poblacion; }
+
+        @Override
+        public String toString() {
+            return nombre + (distrito == null || distrito.isEmpty() ? "" : " (" + distrito + ")");
+        }
+    }
+
+    private static final String SQL_CIUDADES = "SELECT ID, Name, CountryCode, District, Population FROM city";
+    private static final int MAX_EXPLORADAS = 500;      // Coincidencias por el principio que se examinan como máximo
+    private static final int MAX_TRAMO_APROXIMADO = 20_000; // Ciudades del país por encima de las cuales no se buscan erratas
+
+    /**
+     * Las ciudades por columnas, ordenadas por país y nombre normalizado.
+     */
+    private static final class Indice {
+        final int[] ids;
+        final String[] nombres;
+        final String[] claves;   // Nombre normalizado
+        final String[] distritos;
+        final int[] poblaciones;
+        final Map<String, int[]> tramos = new HashMap<>(); // País -> {inicio, fin}
+
+        Indice(int tamanio) {
+            ids = new int[tamanio];
+            nombres = new String[tamanio];
+            claves = new String[tamanio];
+            distritos = new String[tamanio];
+            poblaciones = new int[tamanio];
+        }
+
+        /**
+         * Copia que comparte los arrays con 'base' pero sin los tramos de los países indicados.
+         */
+        Indice(Indice base, Collection<String> sinPaises) {
+            ids = base.ids;
+            nombres = base.nombres;
+            claves = base.claves;
+            distritos = base.distritos;
+            poblaciones = base.poblaciones;
+            tramos.putAll(base.tramos);
+            tramos.keySet().removeAll(sinPaises);
+        }
+
+        Ciudad ciudad(int i) {
+            return new Ciudad(ids[i], nombres[i], distritos[i], poblaciones[i]);
+        }
+    }
+
+    private static final ExecutorService cargador = Executors.newSingleThreadExecutor(r -> {
+        Thread hilo = new Thread(r, "indice-ciudades");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    private static final AtomicBoolean cargando = new AtomicBoolean(false);
+    private static final AtomicBoolean suscrito = new AtomicBoolean(false);
+    private static final AtomicLong bajas = new AtomicLong(); // Cambia con cada baja o invalidación: una carga en curso no se publica
+    private static volatile Indice indice; // null hasta que termina la primera carga
+
+    /**
+     * Empieza a cargar las ciudades en segundo plano si aún no están (no hace nada si ya se están cargando).
+     */
+    public static void precargar() {
+        suscribirCambios();
+        if (indice != null || !cargando.compareAndSet(false, true)) return;
+        cargador.execute(() -> {
+            try {
+                cargar();
+            } finally {
+                cargando.set(false);
+            }
+        });
+    }
+
+    /**
+     * Descarta las ciudades cargadas (por ejemplo, al cambiar a un perfil con otra base de datos).
+     */
+    public static void invalidar() {
+        bajas.incrementAndGet();
+        indice = null;
+    }
+
+    /**
+     * Quita las ciudades de los países eliminados (al borrar un país se borran también sus ciudades).
+     */
+    static void olvidarPaises(Collection<String> codigos) {
+        bajas.incrementAndGet();
+        Indice actual = indice;
+        if (actual != null) indice = new Indice(actual, codigos);
+    }
+
+    /**
+     * Se suscribe una vez a los cambios de otros clientes.
+     */
+    private static void suscribirCambios() {
+        if (!suscrito.compareAndSet(false, true)) return;
+        ConsumidorCambios.suscribir(IndiceCiudades::aplicarCambios);
+        RefrescoDelta.suscribir(cambiados -> {
+            List<String> eliminados = new ArrayList<>();
+            for (Map.Entry<String, ModeloPais> entrada : cambiados.entrySet()) {
+                if (entrada.getValue() == null) eliminados.add(entrada.getKey());
+            }
+            if (!eliminados.isEmpty()) olvidarPaises(eliminados);
+        });
+    }
+
+    /**
+     * Aplica los cambios de otros clientes (en el hilo del consumidor).
+     */
+    private static void aplicarCambios(List<CambiosDatos.Cambio> cambios) {
+        List<String> eliminados = new ArrayList<>();
+        for (CambiosDatos.Cambio cambio : cambios) {
+            switch (cambio.getTipo()) {
+                case PAIS_ELIMINADO:
+                    eliminados.add(cambio.getCodigoPais());
+                    break;
+                case TODO: // Puede haber cambiado cualquier cosa (un lote, una restauración...): se relee
+                    invalidar();
+                    precargar();
+                    return;
+                default:
+                    break;
+            }
+        }
+        if (!eliminados.isEmpty()) olvidarPaises(eliminados);
+    }
+
+    /**
+     * @return true si las ciudades ya están en memoria.
+     */
+    public static boolean isCargado() {
+        return indice != null;
+    }
+
+    private static void cargar() {
+        long inicio = System.nanoTime();
+        // Fila temporal sólo para ordenar; después se pasa a los arrays por columnas
+        class Fila {
+            int id;
+            String nombre, clave, pais, distrito;
+            int poblacion;
+        }
+        List<Fila> filas = new ArrayList<>();
+        Map<String, String> distritos = new HashMap<>(); // Un distrito se repite en muchas ciudades: una sola instancia
+        long bajasLeidas = bajas.get();
+        try (Connection conn = ConexionBD.abrirLectura();
+             PreparedStatement ps = conn.prepareStatement(SQL_CIUDADES);
+             ResultSet rs = ps.executeQuery()) { // Se lee según el fetch size del perfil
+            while (rs.next()) {
+                Fila fila = new Fila();
+                fila.id = rs.getInt("ID");
+                fila.nombre = rs.getString("Name");
+                fila.clave = BuscadorAproximado.normalizar(fila.nombre);
+                fila.pais = rs.getString("CountryCode");
+                String distrito = rs.getString("District");
+                fila.distrito = distrito == null ? null : distritos.computeIfAbsent(distrito, d -> d);
+                fila.poblacion = rs.getInt("Population");
+                filas.add(fila);
+            }
+        } catch (SQLException e) {
+            BusErrores.publicar(new ErrorDatos("ciudad.cargar", null, null, "Error al cargar las ciudades", e));
+            return;
+        }
+        filas.sort(Comparator.comparing((Fila f) -> f.pais).thenComparing(f -> f.clave));
+
+        Indice nuevo = new Indice(filas.size());
+        for (int i = 0; i < filas.size(); i++) {
+            Fila fila = filas.get(i);
+            nuevo.ids[i] = fila.id;
+            nuevo.nombres[i] = fila.nombre;
+            nuevo.claves[i] = fila.clave;
+            nuevo.distritos[i] = fila.distrito;
+            nuevo.poblaciones[i] = fila.poblacion;
+            int[] tramo = nuevo.tramos.computeIfAbsent(fila.pais, p -> new int[] { -1, -1 });
+            if (tramo[0] < 0) tramo[0] = i;
+            tramo[1] = i + 1;
+        }
+        if (bajasLeidas != bajas.get()) return; // Se borró algún país durante la lectura: se relee en la próxima búsqueda
+        indice = nuevo;
+        if (Registro.activo(Registro.Nivel.INFO)) Registro.info("ciudad.cargar", null, nuevo.tramos.size() + " países", System.nanoTime() - inicio, filas.size());
+    }
+
+    /**
+     * Busca las ciudades de un país cuyo nombre empieza por el texto (sin distinguir mayúsculas ni acentos);
+     * si no hay ninguna, las de nombre parecido. Si las ciudades aún no están cargadas, empieza a cargarlas
+     * y devuelve una lista vacía.
+     * @param codigoPais El país.
+     * @param texto Lo escrito.
+     * @param maximo Número máximo de resultados.
+     * @return Las ciudades: primero la de nombre exacto y después las más pobladas.
+     */
+    public static List<BuscadorAproximado.Sugerencia<Ciudad>> buscar(String codigoPais, String texto, int maximo) {
+        Indice actual = indice;
+        if (actual == null) {
+            precargar();
+            return new ArrayList<>();
+        }
+        int[] tramo = codigoPais == null ? null : actual.tramos.get(codigoPais);
+        String clave = BuscadorAproximado.normalizar(texto == null ? "" : texto);
+        List<BuscadorAproximado.Sugerencia<Ciudad>> resultado = new ArrayList<>();
+        if (tramo == null || clave.isEmpty()) return resultado;
+
+        List<Integer> encontradas = new ArrayList<>();
+        for (int i = primeraMayorOIgual(actual.claves, tramo[0], tramo[1], clave);
+             i < tramo[1] && actual.claves[i].startsWith(clave) && encontradas.size() < MAX_EXPLORADAS; i++) {
+            encontradas.add(i);
+        }
+        if (!encontradas.isEmpty()) {
+            encontradas.sort((a, b) -> {
+                boolean exactaA = actual.claves[a].equals(clave), exactaB = actual.claves[b].equals(clave);
+                if (exactaA != exactaB) return exactaA ? -1 : 1;
+                return Integer.compare(actual.poblaciones[b], actual.poblaciones[a]);
+            });
+            for (int i : encontradas.subList(0, Math.min(maximo, encontradas.size()))) {
+                Ciudad ciudad = actual.ciudad(i);
+                resultado.add(new BuscadorAproximado.Sugerencia<>(ciudad.toString(), ciudad, 0, !actual.claves[i].equals(clave)));
+            }
+            return resultado;
+        }
+        // Sin coincidencias por el principio: nombres parecidos (erratas), si el país no es enorme
+        if (tramo[1] - tramo[0] > MAX_TRAMO_APROXIMADO) return resultado;
+        int tolerancia = BuscadorAproximado.tolerancia(clave.length());
+        List<int[]> parecidas = new ArrayList<>(); // {índice, distancia}
+        for (int i = tramo[0]; i < tramo[1]; i++) {
+            int distancia = BuscadorAproximado.distancia(clave, actual.claves[i], tolerancia);
+            if (distancia <= tolerancia) parecidas.add(new int[] { i, distancia });
+        }
+        parecidas.sort((a, b) -> a[1] != b[1] ? Integer.compare(a[1], b[1]) : Integer.compare(actual.poblaciones[b[0]], actual.poblaciones[a[0]]));
+        for (int[] parecida : parecidas.subList(0, Math.min(maximo, parecidas.size()))) {
+            Ciudad ciudad = actual.ciudad(parecida[0]);
+            resultado.add(new BuscadorAproximado.Sugerencia<>(ciudad.toString(), ciudad, parecida[1], false));
+        }
+        return resultado;
+    }
+
+    /**
+     * Busca una ciudad del país por su nombre exacto (sin distinguir mayúsculas ni acentos).
+     * Si hay varias con el mismo nombre, devuelve la más poblada.
+     * @return La ciudad, o null si no existe o las ciudades aún no están cargadas.
+     */
+    public static Ciudad buscarExacta(String codigoPais, String nombre) {
+        Indice actual = indice;
+        if (actual == null || codigoPais == null || nombre == null) return null;
+        int[] tramo = actual.tramos.get(codigoPais);
+        if (tramo == null) return null;
+        String clave = BuscadorAproximado.normalizar(nombre);
+        int mejor = -1;
+        for (int i = primeraMayorOIgual(actual.claves, tramo[0], tramo[1], clave); i < tramo[1] && actual.claves[i].equals(clave); i++) {
+            if (mejor < 0 || actual.poblaciones[i] > actual.poblaciones[mejor]) mejor = i;
+        }
+        return mejor < 0 ? null : actual.ciudad(mejor);
+    }
+
+    /**
+     * @return La primera posición de [inicio, fin) cuya clave no es menor que 'clave' (búsqueda binaria).
+     */
+    private static int primeraMayorOIgual(String[] claves, int inicio, int fin, String clave) {
+        int i = Arrays.binarySearch(claves, inicio, fin, clave);
+        if (i < 0) return -i - 1;
+        while (i > inicio && claves[i - 1].equals(clave)) i--; // Nombres repetidos: la primera
+        return i;
+    }
+}
@@ -0,0 +1,263 @@
+// Archivo: IndiceClaves.java
+package Actividad;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Índice en memoria de las claves primarias de 'country' (Code) y 'countrylanguage'
+ * (CountryCode, Language), para detectar duplicados antes de enviar el INSERT: mientras se escribe
+ * en la interfaz, y en el modo por lotes antes de ejecutar cada lote.
+ *
+ * Se carga una vez (son unas pocas miles de claves, así que basta un conjunto hash; con él no hay
+ * falsos positivos como en un filtro de Bloom) y se mantiene al día con las escrituras de los Gestores,
+ * de la unidad de trabajo y del modo por lotes, y con los cambios de otros clientes que llegan por
+ * ConsumidorCambios y RefrescoDelta. Las claves se comparan sin distinguir mayúsculas, como MySQL.
+ *
+ * Con los idiomas se cargan también sus porcentajes, que se pasan a TotalesIdiomas: así la suma de
+ * cada país se mantiene con las mismas notificaciones que las claves.
+ *
+ * Es sólo un aviso previo: si el índice aún no está cargado o se queda atrás, existe...() devuelve
+ * false y la base de datos sigue siendo quien rechaza el duplicado. Ante la duda se quita una clave
+ * en lugar de añadirla, para no bloquear nunca una inserción válida.
+ */
+public class IndiceClaves {
+
+    private static final String SQL_PAISES = "SELECT Code FROM country";
+    private static final String SQL_IDIOMAS = "SELECT CountryCode, Language, Percentage FROM countrylanguage";
+
+    private static final Set<String> paises = ConcurrentHashMap.newKeySet();
+    private static final Map<String, Set<String>> idiomasPorPais = new ConcurrentHashMap<>(); // País -> idiomas (en minúsculas)
+    private static volatile boolean cargado = false;
+
+    private static final ExecutorService cargador = Executors.newSingleThreadExecutor(r -> {
+        Thread hilo = new Thread(r, "indice-claves");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    private static final AtomicBoolean cargando = new AtomicBoolean(false);
+    private static final AtomicBoolean suscrito = new AtomicBoolean(false);
+    // Claves quitadas: si se quita alguna mientras se carga, lo leído puede incluirla y se descarta
+    private static final AtomicLong bajas = new AtomicLong();
+
+    /**
+     * Empieza a cargar las claves en segundo plano si aún no están.
+     */
+    public static void precargar() {
+        suscribirCambios();
+        if (cargado || !cargando.compareAndSet(false, true)) return;
+        cargador.execute(() -> {
+            try {
+                cargar();
+            } finally {
+                cargando.set(false);
+            }
+        });
+    }
+
+    /**
+     * Carga las claves en el hilo que llama (modo por lotes, que no puede seguir sin ellas).
+     * @return true si el índice está cargado.
+     */
+    public static synchronized boolean cargarAhora() {
+        suscribirCambios();
+        if (!cargado) cargar();
+        return cargado;
+    }
+
+    /**
+     * Descarta las claves (por ejemplo, al cambiar a un perfil con otra base de datos).
+     */
+    public static void invalidar() {
+        cargado = false;
+        TotalesIdiomas.invalidar();
+    }
+
+    /**
+     * @return true si el índice está cargado.
+     */
+    public static boolean isCargado() {
+        return cargado;
+    }
+
+    private static synchronized void cargar() {
+        long inicio = System.nanoTime();
+        long bajasAntes = bajas.get();
+        Set<String> nuevosPaises = ConcurrentHashMap.newKeySet();
+        Map<String, Set<String>> nuevosIdiomas = new ConcurrentHashMap<>();
+        Map<String, Map<String, Double>> porcentajes = new HashMap<>();
+        try (Connection conn = ConexionBD.conectarLectura()) {
+            if (conn == null) return; // ConexionBD ya registra el motivo
+            try (PreparedStatement ps = conn.prepareStatement(SQL_PAISES); ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) nuevosPaises.add(clavePais(rs.getString("Code")));
+            }
+            try (PreparedStatement ps = conn.prepareStatement(SQL_IDIOMAS); ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String pais = clavePais(rs.getString("CountryCode"));
+                    String idioma = claveIdioma(rs.getString("Language"));
+                    nuevosIdiomas.computeIfAbsent(pais, p -> ConcurrentHashMap.newKeySet()).add(idioma);
+                    porcentajes.computeIfAbsent(pais, p -> new HashMap<>()).put(idioma, rs.getDouble("Percentage"));
+                }
+            }
+        } catch (SQLException e) {
+            Registro.aviso("claves.cargar", null, "sin comprobación previa de duplicados", e.getMessage());
+            return;
+        }
+        if (bajas.get() != bajasAntes) return; // Se reintentará en el próximo precargar()
+        paises.clear();
+        paises.addAll(nuevosPaises);
+        idiomasPorPais.clear();
+        idiomasPorPais.putAll(nuevosIdiomas);
+        TotalesIdiomas.cargar(porcentajes);
+        cargado = true;
+        if (Registro.activo(Registro.Nivel.INFO)) {
+            int idiomas = 0;
+            for (Set<String> conjunto : nuevosIdiomas.values()) idiomas += conjunto.size();
+            Registro.info("claves.cargar", null, nuevosPaises.size() + " países, " + idiomas + " idiomas", System.nanoTime() - inicio,
+                    nuevosPaises.size() + idiomas);
+        }
+    }
+
+    // --- Consultas ---
+
+    /**
+     * @return true si ya existe un país con ese código (false si no, o si el índice no está cargado).
+     */
+    public static boolean existePais(String codigoPais) {
+        return cargado && codigoPais != null && paises.contains(clavePais(codigoPais));
+    }
+
+    /**
+     * @return true si el país ya tiene ese idioma (false si no, o si el índice no está cargado).
+     */
+    public static boolean existeIdioma(String codigoPais, String idioma) {
+        if (!cargado || codigoPais == null || idioma == null) return false;
+        Set<String> idiomas = idiomasPorPais.get(clavePais(codigoPais));
+        return idiomas != null && idiomas.contains(claveIdioma(idioma));
+    }
+
+    // --- Mantenimiento (después de confirmar cada escritura) ---
+
+    static void anotarPais(String codigoPais) {
+        paises.add(clavePais(codigoPais));
+    }
+
+    /**
+     * Quita los países y sus idiomas (al borrar un país se borran también sus idiomas).
+     */
+    static void olvidarPaises(Collection<String> codigos) {
+        bajas.incrementAndGet();
+        for (String codigo : codigos) {
+            paises.remove(clavePais(codigo));
+            idiomasPorPais.remove(clavePais(codigo));
+            TotalesIdiomas.olvidarPais(clavePais(codigo));
+        }
+    }
+
+    /**
+     * Anota un idioma dado de alta o modificado (con su porcentaje actual).
+     */
+    static void anotarIdioma(String codigoPais, ModeloIdioma idioma) {
+        idiomasPorPais.computeIfAbsent(clavePais(codigoPais), p -> ConcurrentHashMap.newKeySet()).add(claveIdioma(idioma.getIdioma()));
+        TotalesIdiomas.anotar(clavePais(codigoPais), claveIdioma(idioma.getIdioma()), idioma.getPorcentaje());
+    }
+
+    static void olvidarIdioma(String codigoPais, String idioma) {
+        bajas.incrementAndGet();
+        Set<String> idiomas = idiomasPorPais.get(clavePais(codigoPais));
+        if (idiomas != null) idiomas.remove(claveIdioma(idioma));
+        TotalesIdiomas.olvidar(clavePais(codigoPais), claveIdioma(idioma));
+    }
+
+    /**
+     * Sustituye los idiomas conocidos de un país por los leídos de la base de datos.
+     */
+    static void reemplazarIdiomas(String codigoPais, List<ModeloIdioma> idiomas) {
+        bajas.incrementAndGet();
+        Set<String> nuevos = ConcurrentHashMap.newKeySet();
+        for (ModeloIdioma idioma : idiomas) nuevos.add(claveIdioma(idioma.getIdioma()));
+        idiomasPorPais.put(clavePais(codigoPais), nuevos);
+        TotalesIdiomas.reemplazar(clavePais(codigoPais), idiomas);
+    }
+
+    /**
+     * Se suscribe una vez a los cambios de otros clientes.
+     */
+    private static void suscribirCambios() {
+        if (!suscrito.compareAndSet(false, true)) return;
+        ConsumidorCambios.suscribir(IndiceClaves::aplicarCambios);
+        RefrescoDelta.suscribir(cambiados -> {
+            for (Map.Entry<String, ModeloPais> entrada : cambiados.entrySet()) {
+                if (entrada.getValue() != null) {
+                    anotarPais(entrada.getKey());
+                } else {
+                    olvidarPaises(List.of(entrada.getKey()));
+                }
+            }
+        });
+    }
+
+    /**
+     * Aplica los cambios de otros clientes (en el hilo del consumidor, con la caché ya invalidada).
+     */
+    private static void aplicarCambios(List<CambiosDatos.Cambio> cambios) {
+        if (!cargado) return;
+        if (cambios.size() > ConsumidorCambios.MAX_CAMBIOS_DETALLADOS) {
+            invalidar();
+            precargar();
+            return;
+        }
+        for (CambiosDatos.Cambio cambio : cambios) {
+            switch (cambio.getTipo()) {
+                case PAIS_INSERTADO:
+                    anotarPais(cambio.getCodigoPais());
+                    break;
+                case PAIS_ELIMINADO:
+                    olvidarPaises(List.of(cambio.getCodigoPais()));
+                    break;
+                case IDIOMAS_MODIFICADOS: {
+                    // No se sabe si fue un alta o una baja: se releen los idiomas del país (quedan en caché para la interfaz)
+                    List<ModeloIdioma> idiomas;
+                    try (BusErrores.Recolector recolector = BusErrores.recoger()) {
+                        idiomas = CachePaises.obtenerIdiomas(cambio.getCodigoPais());
+                        if (recolector.hayErrores()) {
+                            // La lista vacía de un error borraría sus claves y pondría su total a 0: se recarga todo
+                            invalidar();
+                            precargar();
+                            return;
+                        }
+                    }
+                    reemplazarIdiomas(cambio.getCodigoPais(), idiomas);
+                    break;
+                }
+                case TODO:
+                    invalidar();
+                    precargar();
+                    return;
+                default:
+                    break;
+            }
+        }
+    }
+
+    static String clavePais(String codigoPais) {
+        return codigoPais.trim().toUpperCase(Locale.ROOT);
+    }
+
+    static String claveIdioma(String idioma) {
+        return idioma.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,39 @@
+// Archivo: MainAuditoria.java
+package Actividad;
+
+/**
+ * Punto de entrada sin interfaz gráfica para la auditoría de calidad de los datos (AuditoriaDatos).
+ * Escribe el informe en la salida estándar. Pensado para ejecutarse periódicamente (tareas nocturnas),
+ * igual que MainLotes.
+ *
+ * Uso: java Actividad.MainAuditoria [detallesPorRegla]
+ * Código de salida: 0 si no hay problemas, 1 si se encontró alguno, 2 si no se pudieron leer los datos.
+ */
+public class MainAuditoria {
+
+    // Hallazgos que se detallan de cada regla si no se indica otra cosa
+    private static final int DETALLES_POR_DEFECTO = 20;
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true"); // Los errores van a BusErrores y, sin interfaz, al registro
+
+        int detalles = DETALLES_POR_DEFECTO;
+        if (args.length > 0) {
+            try {
+                detalles = Integer.parseInt(args[0]);
+            } catch (NumberFormatException e) {
+                System.err.println("Número de detalles no válido: " + args[0]);
+                System.exit(2);
+            }
+        }
+
+        AuditoriaDatos.Informe informe = AuditoriaDatos.auditar();
+        if (informe == null) {
+            System.err.println("❌ No se pudieron leer los datos para la auditoría (ver el registro).");
+            System.exit(2);
+            return;
+        }
+        System.out.print(informe.texto(detalles));
+        System.exit(informe.isLimpio() ? 0 : 1);
+    }
+}
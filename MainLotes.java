@@ -0,0 +1,53 @@
+// Archivo: MainLotes.java
+package Actividad;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Punto de entrada sin interfaz gráfica (modo por lotes).
+ * Ejecuta un fichero de operaciones sobre países e idiomas usando la misma capa de datos
+ * (Gestores) y las mismas validaciones que la aplicación Swing. Pensado para tareas nocturnas.
+ *
+ * Uso: java Actividad.MainLotes fichero.txt [tamañoLote]
+ *      (con "-" como fichero se lee la entrada estándar)
+ * Código de salida: 0 si todo fue bien, 1 si alguna operación falló, 2 si no se pudo leer el fichero.
+ */
+public class MainLotes {
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Uso: java Actividad.MainLotes <fichero|-> [tamañoLote]");
+            System.exit(2);
+        }
+        // Sin pantalla. Los Gestores nunca abren diálogos: sus errores van a BusErrores y, sin interfaz suscrita, al registro
+        System.setProperty("java.awt.headless", "true");
+
+        int tamanioLote = ProcesadorLotes.TAMANIO_LOTE_POR_DEFECTO;
+        if (args.length > 1) {
+            try {
+                tamanioLote = Integer.parseInt(args[1]);
+            } catch (NumberFormatException e) {
+                System.err.println("Tamaño de lote no válido: " + args[1]);
+                System.exit(2);
+            }
+        }
+
+        CambiosDatos.preparar(); // Para que los clientes abiertos vean los cambios del lote
+        ProcesadorLotes procesador = new ProcesadorLotes(tamanioLote, System.out, System.err);
+        boolean todoCorrecto;
+        try (BufferedReader lector = "-".equals(args[0])
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8)) {
+            todoCorrecto = procesador.procesar(lector);
+        } catch (IOException e) {
+            System.err.println("❌ No se pudo leer el fichero de operaciones: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+        System.exit(todoCorrecto ? 0 : 1);
+    }
+}
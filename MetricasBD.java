@@ -0,0 +1,132 @@
+// Archivo: MetricasBD.java
+package Actividad;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas de acceso a datos, acumuladas por perfil de conexión.
+ * Permiten comparar el rendimiento de distintos perfiles (pool, fetch size, caché de
+ * sentencias...) cambiando de perfil en caliente con ConexionBD.cambiarPerfil.
+ * Se consultan con resumen() o en la ruta /api/metricas del servidor HTTP.
+ */
+public class MetricasBD {
+
+    /**
+     * Contadores de un perfil. Se usan LongAdder porque se actualizan desde muchos hilos a la vez.
+     */
+    static class ContadoresPerfil {
+        final LongAdder conexiones = new LongAdder();       // Conexiones entregadas por el pool
+        final LongAdder nanosEsperaPool = new LongAdder();  // Tiempo total esperando una conexión libre
+        final LongAdder conexionesFisicas = new LongAdder(); // Conexiones abiertas realmente contra el servidor
+        final LongAdder sentencias = new LongAdder();       // Sentencias ejecutadas
+        final LongAdder nanosSentencias = new LongAdder();  // Tiempo total ejecutando sentencias
+        final LongAdder aciertosCache = new LongAdder();    // prepareStatement servidos desde la caché del pool
+        final LongAdder fallosCache = new LongAdder();      // prepareStatement que tuvieron que preparar el SQL
+        long nanosActivo = 0;                              // Tiempo acumulado como perfil activo (periodos cerrados)
+        long activoDesde = -1;                             // Inicio del periodo activo en curso, o -1
+    }
+
+    // Contadores por nombre de perfil
+    private static final Map<String, ContadoresPerfil> porPerfil = new ConcurrentHashMap<>();
+    // Nombre del perfil activo
+    private static volatile String perfilActivo = ConfiguracionBD.PERFIL_LOCAL;
+
+    /**
+     * Marca el perfil indicado como activo y cierra el periodo del anterior.
+     * @param nombre El nombre del nuevo perfil activo.
+     */
+    static synchronized void perfilActivado(String nombre) {
+        long ahora = System.nanoTime();
+        ContadoresPerfil anterior = porPerfil.get(perfilActivo);
+        if (anterior != null && anterior.activoDesde >= 0) {
+            anterior.nanosActivo += ahora - anterior.activoDesde;
+            anterior.activoDesde = -1;
+        }
+        perfilActivo = nombre;
+        contadores(nombre).activoDesde = ahora;
+    }
+
+    /**
+     * Registra una conexión entregada por el pool.
+     * @param perfil El perfil de la conexión.
+     * @param nanosEspera Tiempo que se esperó a que hubiera una conexión libre.
+     */
+    static void registrarConexion(String perfil, long nanosEspera) {
+        ContadoresPerfil c = contadores(perfil);
+        c.conexiones.increment();
+        c.nanosEsperaPool.add(nanosEspera);
+    }
+
+    /**
+     * Registra la apertura de una conexión física con el servidor.
+     * @param perfil El perfil de la conexión.
+     */
+    static void registrarConexionFisica(String perfil) {
+        contadores(perfil).conexionesFisicas.increment();
+    }
+
+    /**
+     * Registra la ejecución de una sentencia.
+     * @param perfil El perfil de la conexión en la que se ejecutó.
+     * @param nanos Duración de la ejecución.
+     */
+    static void registrarSentencia(String perfil, long nanos) {
+        ContadoresPerfil c = contadores(perfil);
+        c.sentencias.increment();
+        c.nanosSentencias.add(nanos);
+    }
+
+    /**
+     * Registra una búsqueda en la caché de sentencias preparadas del pool.
+     * @param perfil El perfil de la conexión.
+     * @param acierto true si la sentencia ya estaba preparada en la caché.
+     */
+    static void registrarCacheSentencias(String perfil, boolean acierto) {
+        ContadoresPerfil c = contadores(perfil);
+        (acierto ? c.aciertosCache : c.fallosCache).increment();
+    }
+
+    private static ContadoresPerfil contadores(String perfil) {
+        return porPerfil.computeIfAbsent(perfil, p -> new ContadoresPerfil());
+    }
+
+    /**
+     * @return El nombre del perfil activo.
+     */
+    public static String getPerfilActivo() {
+        return perfilActivo;
+    }
+
+    /**
+     * Devuelve un resumen legible de las métricas de cada perfil, indicando cuál está activo.
+     * El rendimiento (sent/s) se calcula sobre el tiempo que cada perfil ha estado activo.
+     * @return El resumen, una línea por perfil.
+     */
+    public static synchronized String resumen() {
+        StringBuilder texto = new StringBuilder();
+        texto.append("Perfil activo: ").append(perfilActivo).append('\n');
+        long ahora = System.nanoTime();
+        for (Map.Entry<String, ContadoresPerfil> entrada : porPerfil.entrySet()) {
+            ContadoresPerfil c = entrada.getValue();
+            long nanosActivo = c.nanosActivo + (c.activoDesde >= 0 ? ahora - c.activoDesde : 0);
+            long sentencias = c.sentencias.sum();
+            long conexiones = c.conexiones.sum();
+            long aciertos = c.aciertosCache.sum();
+            long preparaciones = aciertos + c.fallosCache.sum();
+            texto.append(String.format("%s%s: conexiones=%d (físicas=%d, espera media=%.2f ms) | sentencias=%d (media=%.2f ms) | caché sentencias=%.1f%% de %d | %.1f sent/s en %.1f s activo%n",
+                    entrada.getKey().equals(perfilActivo) ? "* " : "  ",
+                    entrada.getKey(),
+                    conexiones, c.conexionesFisicas.sum(),
+                    conexiones == 0 ? 0.0 : c.nanosEsperaPool.sum() / 1e6 / conexiones,
+                    sentencias,
+                    sentencias == 0 ? 0.0 : c.nanosSentencias.sum() / 1e6 / sentencias,
+                    preparaciones == 0 ? 0.0 : 100.0 * aciertos / preparaciones, preparaciones,
+                    nanosActivo == 0 ? 0.0 : sentencias / (nanosActivo / 1e9),
+                    nanosActivo / 1e9));
+        }
+        texto.append(DiccionarioValores.resumen()).append('\n');
+        return texto.toString();
+    }
+}
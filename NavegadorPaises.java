@@ -0,0 +1,272 @@
+// Archivo: NavegadorPaises.java
+package Actividad;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import javax.swing.JTree;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+import javax.swing.event.TreeExpansionEvent;
+import javax.swing.event.TreeWillExpandListener;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeModel;
+import javax.swing.tree.TreePath;
+import javax.swing.tree.TreeSelectionModel;
+
+/**
+ * Árbol de navegación continente → región → país, con el número de regiones y países de cada nivel.
+ *
+ * Los nodos se cargan al desplegarlos: hasta entonces tienen un único hijo "Cargando...". Los datos
+ * salen de CachePaises (los continentes, de su consulta DISTINCT en caché; las regiones y los países,
+ * de la lista resumida), siempre en un SwingWorker: desplegar un nodo nunca consulta la base de datos
+ * desde el hilo de Swing, y con la caché ya cargada no repite ninguna consulta.
+ *
+ * Cuando CachePaises avisa de un cambio, el árbol se vuelve a construir (agrupando los avisos seguidos)
+ * y se despliegan de nuevo los continentes y regiones que estaban desplegados.
+ */
+public class NavegadorPaises {
+
+    private static final int ESPERA_REFRESCO_MS = 300; // Avisos de la caché que se agrupan en un solo refresco
+    private static final String CARGANDO = "Cargando...";
+    private static final String SIN_DATOS = "(sin datos)";
+
+    private enum Nivel { RAIZ, CONTINENTE, REGION, PAIS }
+
+    /**
+     * Lo que muestra cada nodo del árbol.
+     */
+    private static final class Nodo {
+        final Nivel nivel;
+        final String nombre;       // Continente, región o nombre del país
+        final String continente;   // Continente de la región o del país
+        final String codigo;       // Código del país (sólo en los países)
+        final int regiones;        // En la raíz, continentes
+        final int paises;
+        boolean cargado = false;   // Ya tiene sus hijos de verdad
+        boolean cargando = false;
+
+        Nodo(Nivel nivel, String nombre, String continente, String codigo, int regiones, int paises) {
+            this.nivel = nivel;
+            this.nombre = nombre;
+            this.continente = continente;
+            this.codigo = codigo;
+            this.regiones = regiones;
+            this.paises = paises;
+        }
+
+        @Override
+        public String toString() {
+            switch (nivel) {
+                case RAIZ: return cargado ? "Países (" + regiones + " continentes, " + paises + " países)" : "Países";
+                case CONTINENTE: return nombre + " (" + regiones + " regiones, " + paises + " países)";
+                case REGION: return nombre + " (" + paises + " países)";
+                default: return nombre + " (" + codigo + ")";
+            }
+        }
+    }
+
+    private final JTree arbol;
+    private final DefaultTreeModel modelo;
+    private final Consumer<String> alElegirPais;
+    private final Consumer<Collection<String>> oyenteCache;
+    private final Timer temporizadorRefresco;
+    // Nodos ({continente} o {continente, región}) que hay que volver a desplegar tras un refresco
+    private final Set<List<String>> porDesplegar = new HashSet<>();
+
+    /**
+     * Crea el árbol y empieza a cargar los continentes.
+     * @param alElegirPais Se llama (en el hilo de Swing) con el código del país seleccionado en el árbol.
+     */
+    public NavegadorPaises(Consumer<String> alElegirPais) {
+        this.alElegirPais = alElegirPais;
+        this.modelo = new DefaultTreeModel(nodoPendiente(new Nodo(Nivel.RAIZ, null, null, null, 0, 0)));
+        this.arbol = new JTree(modelo);
+        arbol.getSelectionModel().setSelectionMode(TreeSelectionModel.SINGLE_TREE_SELECTION);
+        arbol.addTreeWillExpandListener(new TreeWillExpandListener() {
+            @Override
+            public void treeWillExpand(TreeExpansionEvent e) {
+                cargarHijos((DefaultMutableTreeNode) e.getPath().getLastPathComponent());
+            }
+
+            @Override
+            public void treeWillCollapse(TreeExpansionEvent e) {
+            }
+        });
+        arbol.addTreeSelectionListener(e -> {
+            Object ultimo = e.getPath().getLastPathComponent();
+            if (e.isAddedPath() && ultimo instanceof DefaultMutableTreeNode
+                    && ((DefaultMutableTreeNode) ultimo).getUserObject() instanceof Nodo) {
+                Nodo nodo = (Nodo) ((DefaultMutableTreeNode) ultimo).getUserObject();
+                if (nodo.nivel == Nivel.PAIS) this.alElegirPais.accept(nodo.codigo);
+            }
+        });
+        temporizadorRefresco = new Timer(ESPERA_REFRESCO_MS, e -> refrescar());
+        temporizadorRefresco.setRepeats(false);
+        oyenteCache = codigos -> SwingUtilities.invokeLater(temporizadorRefresco::restart);
+        CachePaises.suscribir(oyenteCache);
+        cargarHijos(raiz());
+    }
+
+    /**
+     * @return El árbol, para añadirlo a una ventana.
+     */
+    public JTree getArbol() {
+        return arbol;
+    }
+
+    /**
+     * Deja de seguir los cambios de la caché (al cerrar la ventana que lo contiene).
+     */
+    public void detener() {
+        CachePaises.desuscribir(oyenteCache);
+        temporizadorRefresco.stop();
+    }
+
+    private DefaultMutableTreeNode raiz() {
+        return (DefaultMutableTreeNode) modelo.getRoot();
+    }
+
+    /**
+     * Vuelve a construir el árbol con los datos actuales y recuerda qué estaba desplegado.
+     */
+    private void refrescar() {
+        porDesplegar.clear();
+        Enumeration<TreePath> desplegados = arbol.getExpandedDescendants(new TreePath(raiz()));
+        while (desplegados != null && desplegados.hasMoreElements()) {
+            Object[] nodos = desplegados.nextElement().getPath();
+            List<String> clave = new ArrayList<>();
+            for (int i = 1; i < nodos.length; i++) clave.add(((Nodo) ((DefaultMutableTreeNode) nodos[i]).getUserObject()).nombre);
+            if (!clave.isEmpty()) porDesplegar.add(clave);
+        }
+        DefaultMutableTreeNode raiz = nodoPendiente(new Nodo(Nivel.RAIZ, null, null, null, 0, 0));
+        modelo.setRoot(raiz);
+        cargarHijos(raiz);
+    }
+
+    /**
+     * Carga en segundo plano los hijos de un nodo que aún no los tiene. Mientras tanto se ve "Cargando...".
+     */
+    private void cargarHijos(DefaultMutableTreeNode nodoArbol) {
+        if (!(nodoArbol.getUserObject() instanceof Nodo)) return;
+        Nodo nodo = (Nodo) nodoArbol.getUserObject();
+        if (nodo.cargado || nodo.cargando || nodo.nivel == Nivel.PAIS) return;
+        nodo.cargando = true;
+        new SwingWorker<List<Nodo>, Void>() {
+            @Override
+            protected List<Nodo> doInBackground() {
+                return leerHijos(nodo);
+            }
+
+            @Override
+            protected void done() {
+                nodo.cargando = false;
+                if (modelo.getRoot() != nodoArbol.getRoot()) return; // El árbol se reconstruyó mientras tanto
+                List<Nodo> hijos;
+                try {
+                    hijos = get();
+                } catch (InterruptedException | ExecutionException e) {
+                    hijos = new ArrayList<>();
+                }
+                nodoArbol.removeAllChildren();
+                if (hijos.isEmpty()) {
+                    // Sin datos (normalmente un error de conexión, que ya ha avisado BusErrores): se reintenta al desplegar
+                    nodoArbol.add(new DefaultMutableTreeNode(SIN_DATOS));
+                    modelo.nodeStructureChanged(nodoArbol);
+                    arbol.collapsePath(new TreePath(nodoArbol.getPath()));
+                    return;
+                }
+                nodo.cargado = true;
+                for (Nodo hijo : hijos) nodoArbol.add(hijo.nivel == Nivel.PAIS ? new DefaultMutableTreeNode(hijo, false) : nodoPendiente(hijo));
+                if (nodo.nivel == Nivel.RAIZ) {
+                    int paises = 0;
+                    for (Nodo hijo : hijos) paises += hijo.paises;
+                    nodoArbol.setUserObject(new Nodo(Nivel.RAIZ, null, null, null, hijos.size(), paises));
+                    ((Nodo) nodoArbol.getUserObject()).cargado = true;
+                }
+                modelo.nodeStructureChanged(nodoArbol);
+                TreePath ruta = new TreePath(nodoArbol.getPath());
+                if (nodo.nivel == Nivel.RAIZ || arbol.isExpanded(ruta)) arbol.expandPath(ruta);
+                volverADesplegar(nodoArbol);
+            }
+        }.execute();
+    }
+
+    /**
+     * Despliega los hijos que estaban desplegados antes de un refresco (su carga los desplegará a su vez).
+     */
+    private void volverADesplegar(DefaultMutableTreeNode nodoArbol) {
+        if (porDesplegar.isEmpty()) return;
+        for (int i = 0; i < nodoArbol.getChildCount(); i++) {
+            DefaultMutableTreeNode hijo = (DefaultMutableTreeNode) nodoArbol.getChildAt(i);
+            List<String> clave = new ArrayList<>();
+            Object[] nodos = hijo.getUserObjectPath();
+            for (int j = 1; j < nodos.length; j++) clave.add(((Nodo) nodos[j]).nombre);
+            if (porDesplegar.remove(clave)) arbol.expandPath(new TreePath(hijo.getPath()));
+        }
+    }
+
+    /**
+     * @return Un nodo desplegable con el hijo provisional "Cargando...".
+     */
+    private static DefaultMutableTreeNode nodoPendiente(Nodo nodo) {
+        DefaultMutableTreeNode nodoArbol = new DefaultMutableTreeNode(nodo);
+        nodoArbol.add(new DefaultMutableTreeNode(CARGANDO));
+        return nodoArbol;
+    }
+
+    // --- Lectura (fuera del hilo de Swing) ---
+
+    /**
+     * @return Los hijos del nodo con sus recuentos, a partir de la caché (vacía si no hay datos).
+     */
+    private static List<Nodo> leerHijos(Nodo nodo) {
+        List<ModeloPais> lista = CachePaises.obtenerListaPaises();
+        List<Nodo> hijos = new ArrayList<>();
+        switch (nodo.nivel) {
+            case RAIZ: {
+                // Una pasada: regiones distintas y países de cada continente
+                Map<String, Set<String>> regiones = new HashMap<>();
+                Map<String, Integer> paises = new HashMap<>();
+                for (ModeloPais pais : lista) {
+                    regiones.computeIfAbsent(pais.getContinente(), c -> new HashSet<>()).add(pais.getRegion());
+                    paises.merge(pais.getContinente(), 1, Integer::sum);
+                }
+                for (String continente : CachePaises.obtenerContinentes()) {
+                    Set<String> deContinente = regiones.get(continente);
+                    hijos.add(new Nodo(Nivel.CONTINENTE, continente, continente, null,
+                            deContinente == null ? 0 : deContinente.size(), paises.getOrDefault(continente, 0)));
+                }
+                break;
+            }
+            case CONTINENTE: {
+                Map<String, Integer> paises = new TreeMap<>(); // Regiones en orden alfabético
+                for (ModeloPais pais : lista) {
+                    if (nodo.nombre.equals(pais.getContinente())) paises.merge(String.valueOf(pais.getRegion()), 1, Integer::sum);
+                }
+                paises.forEach((region, cuantos) -> hijos.add(new Nodo(Nivel.REGION, region, nodo.nombre, null, 1, cuantos)));
+                break;
+            }
+            case REGION: {
+                for (ModeloPais pais : lista) { // La lista ya está ordenada por nombre
+                    if (nodo.continente.equals(pais.getContinente()) && nodo.nombre.equals(String.valueOf(pais.getRegion()))) {
+                        hijos.add(new Nodo(Nivel.PAIS, pais.getNombre(), nodo.continente, pais.getCodigo(), 0, 1));
+                    }
+                }
+                break;
+            }
+            default:
+                break;
+        }
+        return hijos;
+    }
+}
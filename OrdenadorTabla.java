@@ -0,0 +1,542 @@
+// Archivo: OrdenadorTabla.java
+package Actividad;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import javax.swing.RowFilter;
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+import javax.swing.table.TableModel;
+
+/**
+ * Ordenador de filas para JTable que sustituye al TableRowSorter automático de la tabla de países.
+ *
+ * Los textos se comparan con CollationKey del idioma configurado (los nombres con acentos, como
+ * "Côte d'Ivoire" o "Réunion", quedan en su sitio), y el trabajo caro se hace una sola vez:
+ * - Por columna se guarda el rango de cada fila del modelo (filas iguales, mismo rango). Se calcula
+ *   la primera vez que se ordena por ella; cuando se insertan, modifican o eliminan unas pocas filas
+ *   sólo esas se vuelven a colocar (búsqueda binaria), y con muchas se descarta y se rehace.
+ * - Con los rangos, ordenar por una o varias columnas es una ordenación por recuento, estable y O(n)
+ *   por columna. La permutación resultante se guarda por combinación de columnas y sentido, así que
+ *   volver a pulsar una cabecera ya usada sólo recorre la permutación guardada.
+ *
+ * Admite un RowFilter como TableRowSorter (se evalúa una vez por fila y cambio de datos o de filtro),
+ * y comparadores propios por columna (por ejemplo, los de DiccionarioValores).
+ *
+ * Configuración: -Dordenacion.idioma (etiqueta BCP 47, por ejemplo "es"; por defecto, el del sistema).
+ *
+ * @param <M> Tipo del modelo de la tabla.
+ */
+public class OrdenadorTabla<M extends TableModel> extends RowSorter<M> {
+
+    private static final int MAX_CLAVES = 3; // Columnas de ordenación recordadas, como en DefaultRowSorter
+    private static final int MIN_FILAS_INCREMENTAL = 16; // Filas cambiadas que siempre se colocan una a una
+
+    private final M modelo;
+    private final Collator collator;
+    private final Map<Integer, Comparator<Object>> comparadores = new HashMap<>();
+    private List<SortKey> claves = Collections.emptyList();
+    private RowFilter<? super M, ? super Integer> filtro;
+
+    // Cachés (se vacían cuando cambian los datos afectados)
+    private Columna[] columnas;                                        // Columna -> valores, orden y rangos (null: sin calcular)
+    private final Map<List<SortKey>, int[]> permutaciones = new HashMap<>(); // Claves -> filas del modelo en orden
+    private boolean[] incluidas;                                       // Filas que pasan el filtro (null: todas)
+
+    // Resultado
+    private int[] vistaAModelo = new int[0];
+    private int[] modeloAVista = new int[0];
+
+    /**
+     * @param modelo El modelo de la tabla.
+     */
+    public OrdenadorTabla(M modelo) {
+        this.modelo = modelo;
+        this.collator = collatorOrdenacion();
+        this.columnas = new Columna[modelo.getColumnCount()];
+        recalcular();
+    }
+
+    /**
+     * @return Un Collator nuevo para el idioma de ordenación configurado (-Dordenacion.idioma). Lo usa
+     *         también DiccionarioValores, para que sus posiciones coincidan con el orden de las tablas.
+     */
+    static Collator collatorOrdenacion() {
+        String idioma = System.getProperty("ordenacion.idioma");
+        return Collator.getInstance(idioma == null ? Locale.getDefault() : Locale.forLanguageTag(idioma));
+    }
+
+    /**
+     * Usa un comparador propio para los valores de una columna en lugar de las CollationKey.
+     */
+    public void setComparator(int columna, Comparator<Object> comparador) {
+        comprobarColumna(columna);
+        comparadores.put(columna, comparador);
+        invalidarColumna(columna);
+        ordenar();
+    }
+
+    /**
+     * Establece el filtro de filas (null para mostrarlas todas).
+     */
+    public void setRowFilter(RowFilter<? super M, ? super Integer> filtro) {
+        this.filtro = filtro;
+        incluidas = null;
+        ordenar();
+    }
+
+    public RowFilter<? super M, ? super Integer> getRowFilter() {
+        return filtro;
+    }
+
+    @Override
+    public M getModel() {
+        return modelo;
+    }
+
+    @Override
+    public void toggleSortOrder(int columna) {
+        comprobarColumna(columna);
+        List<SortKey> nuevas = new ArrayList<>(claves);
+        SortOrder orden = SortOrder.ASCENDING;
+        for (Iterator<SortKey> it = nuevas.iterator(); it.hasNext(); ) {
+            SortKey clave = it.next();
+            if (clave.getColumn() == columna) {
+                if (clave == nuevas.get(0) && clave.getSortOrder() == SortOrder.ASCENDING) orden = SortOrder.DESCENDING;
+                it.remove();
+                break;
+            }
+        }
+        nuevas.add(0, new SortKey(columna, orden));
+        if (nuevas.size() > MAX_CLAVES) nuevas = nuevas.subList(0, MAX_CLAVES);
+        setSortKeys(nuevas);
+    }
+
+    @Override
+    public void setSortKeys(List<? extends SortKey> nuevas) {
+        List<SortKey> copia = new ArrayList<>();
+        if (nuevas != null) {
+            for (SortKey clave : nuevas) {
+                comprobarColumna(clave.getColumn());
+                if (clave.getSortOrder() != SortOrder.UNSORTED) copia.add(clave);
+            }
+        }
+        if (copia.equals(claves)) return;
+        claves = Collections.unmodifiableList(copia);
+        fireSortOrderChanged();
+        ordenar();
+    }
+
+    @Override
+    public List<? extends SortKey> getSortKeys() {
+        return claves;
+    }
+
+    @Override
+    public int convertRowIndexToModel(int indice) {
+        if (indice < 0 || indice >= vistaAModelo.length) throw new IndexOutOfBoundsException("Fila de la vista no válida: " + indice);
+        return vistaAModelo[indice];
+    }
+
+    @Override
+    public int convertRowIndexToView(int indice) {
+        if (indice < 0 || indice >= modeloAVista.length) throw new IndexOutOfBoundsException("Fila del modelo no válida: " + indice);
+        return modeloAVista[indice];
+    }
+
+    @Override
+    public int getViewRowCount() {
+        return vistaAModelo.length;
+    }
+
+    @Override
+    public int getModelRowCount() {
+        return modelo.getRowCount();
+    }
+
+    @Override
+    public void modelStructureChanged() {
+        columnas = new Columna[modelo.getColumnCount()];
+        permutaciones.clear();
+        incluidas = null;
+        comparadores.keySet().removeIf(columna -> columna >= columnas.length);
+        if (!claves.isEmpty()) {
+            claves = Collections.emptyList(); // Las columnas pueden ser otras, como en DefaultRowSorter
+            fireSortOrderChanged();
+        }
+        ordenar();
+    }
+
+    @Override
+    public void allRowsChanged() {
+        Arrays.fill(columnas, null);
+        permutaciones.clear();
+        incluidas = null;
+        ordenar();
+    }
+
+    @Override
+    public void rowsInserted(int primera, int ultima) {
+        int cuantas = ultima - primera + 1;
+        if (!incremental(primera, ultima, modelo.getRowCount() - cuantas)) {
+            allRowsChanged();
+            return;
+        }
+        // Cambian los índices del modelo: las permutaciones guardadas ya no valen, los rangos se ajustan
+        for (Columna columna : columnas) {
+            if (columna != null) columna.insertar(primera, cuantas);
+        }
+        if (incluidas != null) {
+            boolean[] nuevas = new boolean[incluidas.length + cuantas];
+            System.arraycopy(incluidas, 0, nuevas, 0, primera);
+            System.arraycopy(incluidas, primera, nuevas, ultima + 1, incluidas.length - primera);
+            incluidas = nuevas;
+            evaluarFiltro(primera, ultima);
+        }
+        permutaciones.clear();
+        ordenar();
+    }
+
+    @Override
+    public void rowsDeleted(int primera, int ultima) {
+        int cuantas = ultima - primera + 1;
+        if (!incremental(primera, ultima, modelo.getRowCount() + cuantas)) {
+            allRowsChanged();
+            return;
+        }
+        for (Columna columna : columnas) {
+            if (columna != null) columna.eliminar(primera, ultima);
+        }
+        if (incluidas != null) {
+            boolean[] nuevas = new boolean[incluidas.length - cuantas];
+            System.arraycopy(incluidas, 0, nuevas, 0, primera);
+            System.arraycopy(incluidas, ultima + 1, nuevas, primera, nuevas.length - primera);
+            incluidas = nuevas;
+        }
+        permutaciones.clear();
+        ordenar();
+    }
+
+    @Override
+    public void rowsUpdated(int primera, int ultima) {
+        if (!incremental(primera, ultima, modelo.getRowCount())) {
+            allRowsChanged();
+            return;
+        }
+        for (Columna columna : columnas) {
+            if (columna != null) columna.actualizar(primera, ultima);
+        }
+        if (incluidas != null) evaluarFiltro(primera, ultima);
+        permutaciones.clear();
+        ordenar();
+    }
+
+    @Override
+    public void rowsUpdated(int primera, int ultima, int columna) {
+        // Sólo se recoloca la columna que cambió (una celda editada no obliga a rehacer las demás)
+        if (columna < 0 || columna >= columnas.length || !incremental(primera, ultima, modelo.getRowCount())) {
+            invalidarColumna(columna);
+            incluidas = null;
+        } else {
+            if (columnas[columna] != null) columnas[columna].actualizar(primera, ultima);
+            quitarPermutaciones(columna);
+            if (incluidas != null) evaluarFiltro(primera, ultima);
+        }
+        ordenar();
+    }
+
+    /**
+     * @return true si el cambio afecta a pocas filas y las cachés corresponden a las 'filasAntes' filas
+     *         que tenía el modelo: entonces se ajustan fila a fila en lugar de rehacerse.
+     */
+    private boolean incremental(int primera, int ultima, int filasAntes) {
+        int cuantas = ultima - primera + 1;
+        if (primera < 0 || cuantas <= 0 || cuantas > Math.max(MIN_FILAS_INCREMENTAL, filasAntes / MIN_FILAS_INCREMENTAL)) return false;
+        if (incluidas != null && incluidas.length != filasAntes) return false;
+        for (Columna columna : columnas) {
+            if (columna != null && columna.valores.length != filasAntes) return false;
+        }
+        return ultima < Math.max(filasAntes, modelo.getRowCount());
+    }
+
+    /**
+     * Olvida los rangos de una columna y las permutaciones que la usaban.
+     */
+    private void invalidarColumna(int columna) {
+        if (columna >= 0 && columna < columnas.length) columnas[columna] = null;
+        quitarPermutaciones(columna);
+    }
+
+    /**
+     * Olvida las permutaciones que usaban la columna.
+     */
+    private void quitarPermutaciones(int columna) {
+        permutaciones.keySet().removeIf(lista -> {
+            for (SortKey clave : lista) {
+                if (clave.getColumn() == columna) return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Recalcula la correspondencia entre vista y modelo y avisa a la tabla.
+     */
+    private void ordenar() {
+        int[] anterior = vistaAModelo;
+        recalcular();
+        fireRowSorterChanged(anterior);
+    }
+
+    /**
+     * Calcula la correspondencia entre vista y modelo con lo que haya en caché.
+     */
+    private void recalcular() {
+        int filas = modelo.getRowCount();
+        int[] orden = claves.isEmpty() ? null : permutaciones.computeIfAbsent(claves, c -> permutacion(filas));
+
+        if (filtro != null && incluidas == null) incluidas = evaluarFiltro(filas);
+        int visibles = 0;
+        int[] nuevaVista = new int[filas];
+        int[] nuevoModelo = new int[filas];
+        for (int i = 0; i < filas; i++) {
+            int filaModelo = orden == null ? i : orden[i];
+            if (filtro == null || incluidas[filaModelo]) {
+                nuevoModelo[filaModelo] = visibles;
+                nuevaVista[visibles++] = filaModelo;
+            } else {
+                nuevoModelo[filaModelo] = -1;
+            }
+        }
+        vistaAModelo = visibles == filas ? nuevaVista : Arrays.copyOf(nuevaVista, visibles);
+        modeloAVista = nuevoModelo;
+    }
+
+    /**
+     * Ordena las filas del modelo según las claves actuales: una ordenación por recuento (estable)
+     * por cada clave, de la menos a la más significativa. Los empates conservan el orden del modelo.
+     */
+    private int[] permutacion(int filas) {
+        int[] orden = new int[filas];
+        for (int i = 0; i < filas; i++) orden[i] = i;
+        int[] auxiliar = new int[filas];
+        for (int k = claves.size() - 1; k >= 0; k--) {
+            SortKey clave = claves.get(k);
+            int[] rango = columna(clave.getColumn()).rango;
+            boolean descendente = clave.getSortOrder() == SortOrder.DESCENDING;
+            int[] cuenta = new int[filas + 1];
+            for (int fila : orden) cuenta[posicion(rango, fila, filas, descendente) + 1]++;
+            for (int i = 1; i < cuenta.length; i++) cuenta[i] += cuenta[i - 1];
+            for (int fila : orden) auxiliar[cuenta[posicion(rango, fila, filas, descendente)]++] = fila;
+            int[] intercambio = orden;
+            orden = auxiliar;
+            auxiliar = intercambio;
+        }
+        return orden;
+    }
+
+    private static int posicion(int[] rango, int fila, int filas, boolean descendente) {
+        return descendente ? filas - 1 - rango[fila] : rango[fila];
+    }
+
+    /**
+     * @return Los valores, el orden y los rangos de la columna. Calcularlos es la única ordenación
+     *         O(n log n), y se guardan mientras los datos de la columna sólo cambien fila a fila.
+     */
+    private Columna columna(int indice) {
+        if (columnas[indice] == null) columnas[indice] = new Columna(modelo, indice, comparadores.get(indice), collator);
+        return columnas[indice];
+    }
+
+    /**
+     * Lo que se guarda de una columna: el valor que se compara de cada fila del modelo, las filas en
+     * orden y el rango de cada fila (de 0 en adelante; valores iguales, mismo rango).
+     */
+    private static final class Columna {
+        final TableModel modelo;
+        final int indice;
+        final Comparator<Object> comparador; // null: orden natural, con CollationKey para los textos
+        final Collator collator;
+        Object[] valores;   // Fila del modelo -> valor que se compara
+        int[] orden;        // Filas del modelo ordenadas por valor
+        int[] rango;        // Fila del modelo -> rango
+
+        Columna(TableModel modelo, int indice, Comparator<Object> comparador, Collator collator) {
+            this.modelo = modelo;
+            this.indice = indice;
+            this.comparador = comparador;
+            this.collator = collator;
+            int filas = modelo.getRowCount();
+            valores = new Object[filas];
+            for (int i = 0; i < filas; i++) valores[i] = valor(i);
+            Integer[] filasOrdenadas = new Integer[filas];
+            for (int i = 0; i < filas; i++) filasOrdenadas[i] = i;
+            Arrays.sort(filasOrdenadas, this::comparar);
+            orden = new int[filas];
+            for (int i = 0; i < filas; i++) orden[i] = filasOrdenadas[i];
+            calcularRangos();
+        }
+
+        /**
+         * @return El valor de la fila del modelo que se compara. Sin comparador propio, los textos
+         *         se comparan por su CollationKey (calculada una vez por fila).
+         */
+        private Object valor(int fila) {
+            Object valor = modelo.getValueAt(fila, indice);
+            if (comparador == null && (valor instanceof String || (valor != null && !(valor instanceof Comparable)))) {
+                valor = collator.getCollationKey(valor.toString());
+            }
+            return valor;
+        }
+
+        private int comparar(int a, int b) {
+            Object va = valores[a], vb = valores[b];
+            if (va == null || vb == null) return va == vb ? 0 : (va == null ? -1 : 1); // null primero
+            return comparador != null ? comparador.compare(va, vb) : compararNatural(va, vb);
+        }
+
+        private void calcularRangos() {
+            rango = new int[orden.length];
+            for (int i = 0; i < orden.length; i++) {
+                rango[orden[i]] = i > 0 && comparar(orden[i - 1], orden[i]) == 0 ? rango[orden[i - 1]] : i;
+            }
+        }
+
+        /**
+         * Coloca la fila en su sitio entre las 'colocadas' primeras posiciones de 'orden' (detrás de sus iguales).
+         */
+        private void colocar(int fila, int colocadas) {
+            int desde = 0, hasta = colocadas;
+            while (desde < hasta) {
+                int medio = (desde + hasta) >>> 1;
+                if (comparar(orden[medio], fila) <= 0) desde = medio + 1; else hasta = medio;
+            }
+            System.arraycopy(orden, desde, orden, desde + 1, colocadas - desde);
+            orden[desde] = fila;
+        }
+
+        /**
+         * Las filas del modelo [primera, primera + cuantas) son nuevas: las demás se desplazan.
+         */
+        void insertar(int primera, int cuantas) {
+            int filas = valores.length;
+            Object[] nuevosValores = new Object[filas + cuantas];
+            System.arraycopy(valores, 0, nuevosValores, 0, primera);
+            System.arraycopy(valores, primera, nuevosValores, primera + cuantas, filas - primera);
+            valores = nuevosValores;
+            int[] nuevoOrden = new int[filas + cuantas];
+            for (int i = 0; i < filas; i++) nuevoOrden[i] = orden[i] >= primera ? orden[i] + cuantas : orden[i];
+            orden = nuevoOrden;
+            for (int fila = primera; fila < primera + cuantas; fila++) {
+                valores[fila] = valor(fila);
+                colocar(fila, filas++);
+            }
+            calcularRangos();
+        }
+
+        /**
+         * Las filas del modelo [primera, ultima] ya no están: las siguientes se desplazan.
+         */
+        void eliminar(int primera, int ultima) {
+            int cuantas = ultima - primera + 1;
+            Object[] nuevosValores = new Object[valores.length - cuantas];
+            System.arraycopy(valores, 0, nuevosValores, 0, primera);
+            System.arraycopy(valores, ultima + 1, nuevosValores, primera, nuevosValores.length - primera);
+            valores = nuevosValores;
+            int[] nuevoOrden = new int[nuevosValores.length];
+            int n = 0;
+            for (int fila : orden) {
+                if (fila < primera) nuevoOrden[n++] = fila;
+                else if (fila > ultima) nuevoOrden[n++] = fila - cuantas;
+            }
+            orden = nuevoOrden;
+            calcularRangos();
+        }
+
+        /**
+         * Las filas del modelo [primera, ultima] cambiaron: se sacan del orden y se vuelven a colocar.
+         */
+        void actualizar(int primera, int ultima) {
+            int n = 0;
+            for (int fila : orden) {
+                if (fila < primera || fila > ultima) orden[n++] = fila;
+            }
+            for (int fila = primera; fila <= ultima; fila++) {
+                valores[fila] = valor(fila);
+                colocar(fila, n++);
+            }
+            calcularRangos();
+        }
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static int compararNatural(Object a, Object b) {
+        if (a instanceof CollationKey && b instanceof CollationKey) return ((CollationKey) a).compareTo((CollationKey) b);
+        if (a instanceof Comparable && a.getClass() == b.getClass()) return ((Comparable) a).compareTo(b);
+        return a.toString().compareTo(b.toString()); // Tipos mezclados en la columna
+    }
+
+    /**
+     * @return Qué filas del modelo pasan el filtro.
+     */
+    private boolean[] evaluarFiltro(int filas) {
+        boolean[] resultado = new boolean[filas];
+        Entrada entrada = new Entrada();
+        for (int i = 0; i < filas; i++) {
+            entrada.fila = i;
+            resultado[i] = filtro.include(entrada);
+        }
+        return resultado;
+    }
+
+    /**
+     * Vuelve a evaluar el filtro en las filas del modelo [primera, ultima].
+     */
+    private void evaluarFiltro(int primera, int ultima) {
+        Entrada entrada = new Entrada();
+        for (int i = primera; i <= ultima; i++) {
+            entrada.fila = i;
+            incluidas[i] = filtro.include(entrada);
+        }
+    }
+
+    private void comprobarColumna(int columna) {
+        if (columna < 0 || columna >= modelo.getColumnCount()) throw new IndexOutOfBoundsException("Columna no válida: " + columna);
+    }
+
+    /**
+     * Fila que se pasa al filtro (se reutiliza para todas las filas).
+     */
+    private class Entrada extends RowFilter.Entry<M, Integer> {
+        int fila;
+
+        @Override
+        public M getModel() {
+            return modelo;
+        }
+
+        @Override
+        public int getValueCount() {
+            return modelo.getColumnCount();
+        }
+
+        @Override
+        public Object getValue(int columna) {
+            return modelo.getValueAt(fila, columna);
+        }
+
+        @Override
+        public Integer getIdentifier() {
+            return fila;
+        }
+    }
+}
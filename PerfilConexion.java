@@ -0,0 +1,131 @@
+// Archivo: PerfilConexion.java
+package Actividad;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Perfil de conexión: servidores, credenciales y parámetros de rendimiento de JDBC.
+ * Los perfiles se cargan desde fichero o variables de entorno (ver ConfiguracionBD) y
+ * ConexionBD aplica el perfil activo a todas las conexiones de los Gestores.
+ */
+public class PerfilConexion {
+
+    private final String nombre;         // Nombre del perfil (ej. "local", "produccion")
+    private String url;                  // URL JDBC de la base de datos principal (escrituras)
+    private List<String> replicas = new ArrayList<>(); // URLs JDBC de las réplicas de lectura
+    private String usuario;              // Usuario de la base de datos
+    private String clave;                // Contraseña de la base de datos
+
+    // --- POOL DE CONEXIONES ---
+    private int tamanioPool = 8;             // Conexiones abiertas como máximo por servidor
+    private long esperaPoolMs = 5000;        // Espera máxima para obtener una conexión del pool
+
+    // --- TIEMPOS DE ESPERA ---
+    private int timeoutConexionMs = 5000;    // connectTimeout del driver
+    private int timeoutSocketMs = 30000;     // socketTimeout del driver (0 = sin límite)
+    private int timeoutConsultaS = 30;       // Statement.setQueryTimeout (0 = sin límite)
+
+    // --- RENDIMIENTO DEL DRIVER ---
+    private int fetchSize = 0;                       // Filas por viaje en las consultas (0 = valor del driver)
+    private boolean cachePrepStmts = true;           // Caché de sentencias preparadas del driver
+    private int prepStmtCacheSize = 250;             // Sentencias en la caché del driver
+    private int prepStmtCacheSqlLimit = 2048;        // Longitud máxima del SQL que se guarda en la caché del driver
+    private boolean useServerPrepStmts = true;       // Sentencias preparadas en el servidor (se preparan una vez por conexión)
+    private boolean rewriteBatchedStatements = true; // Reescribe los batches como INSERT multi-fila
+    private int tamanioCacheSentencias = 64;         // Sentencias preparadas cacheadas por conexión del pool (0 = sin caché)
+
+    /**
+     * Crea un perfil con el nombre indicado y los valores por defecto.
+     * @param nombre El nombre del perfil.
+     */
+    public PerfilConexion(String nombre) {
+        this.nombre = nombre;
+    }
+
+    /**
+     * Construye las propiedades que se pasan a DriverManager.getConnection.
+     * Los nombres de las propiedades son los de MySQL Connector/J.
+     * @return Las propiedades del driver para este perfil.
+     */
+    public Properties propiedadesDriver() {
+        Properties props = new Properties();
+        props.setProperty("user", usuario);
+        props.setProperty("password", clave);
+        props.setProperty("connectTimeout", String.valueOf(timeoutConexionMs));
+        props.setProperty("socketTimeout", String.valueOf(timeoutSocketMs));
+        props.setProperty("cachePrepStmts", String.valueOf(cachePrepStmts));
+        props.setProperty("prepStmtCacheSize", String.valueOf(prepStmtCacheSize));
+        props.setProperty("prepStmtCacheSqlLimit", String.valueOf(prepStmtCacheSqlLimit));
+        props.setProperty("useServerPrepStmts", String.valueOf(useServerPrepStmts));
+        props.setProperty("rewriteBatchedStatements", String.valueOf(rewriteBatchedStatements));
+        if (fetchSize > 0) props.setProperty("defaultFetchSize", String.valueOf(fetchSize));
+        return props;
+    }
+
+    /**
+     * @return Una descripción del perfil sin la contraseña (para registros y métricas).
+     */
+    @Override
+    public String toString() {
+        return nombre + " [" + url + (replicas.isEmpty() ? "" : " + " + replicas.size() + " réplica(s)")
+                + ", pool=" + tamanioPool + ", fetchSize=" + fetchSize
+                + ", useServerPrepStmts=" + useServerPrepStmts + ", cachePrepStmts=" + cachePrepStmts
+                + ", rewriteBatchedStatements=" + rewriteBatchedStatements
+                + ", cacheSentencias=" + tamanioCacheSentencias + "]";
+    }
+
+    // Getters y Setters para todos los campos.
+
+    public String getNombre() { return nombre; }
+
+    public String getUrl() { return url; }
+    public void setUrl(String url) { this.url = url; }
+
+    public List<String> getReplicas() { return Collections.unmodifiableList(replicas); }
+    public void setReplicas(List<String> replicas) { this.replicas = new ArrayList<>(replicas); }
+
+    public String getUsuario() { return usuario; }
+    public void setUsuario(String usuario) { this.usuario = usuario; }
+
+    public String getClave() { return clave; }
+    public void setClave(String clave) { this.clave = clave; }
+
+    public int getTamanioPool() { return tamanioPool; }
+    public void setTamanioPool(int tamanioPool) { this.tamanioPool = Math.max(1, tamanioPool); }
+
+    public long getEsperaPoolMs() { return esperaPoolMs; }
+    public void setEsperaPoolMs(long esperaPoolMs) { this.esperaPoolMs = esperaPoolMs; }
+
+    public int getTimeoutConexionMs() { return timeoutConexionMs; }
+    public void setTimeoutConexionMs(int timeoutConexionMs) { this.timeoutConexionMs = timeoutConexionMs; }
+
+    public int getTimeoutSocketMs() { return timeoutSocketMs; }
+    public void setTimeoutSocketMs(int timeoutSocketMs) { this.timeoutSocketMs = timeoutSocketMs; }
+
+    public int getTimeoutConsultaS() { return timeoutConsultaS; }
+    public void setTimeoutConsultaS(int timeoutConsultaS) { this.timeoutConsultaS = timeoutConsultaS; }
+
+    public int getFetchSize() { return fetchSize; }
+    public void setFetchSize(int fetchSize) { this.fetchSize = fetchSize; }
+
+    public boolean isCachePrepStmts() { return cachePrepStmts; }
+    public void setCachePrepStmts(boolean cachePrepStmts) { this.cachePrepStmts = cachePrepStmts; }
+
+    public int getPrepStmtCacheSize() { return prepStmtCacheSize; }
+    public void setPrepStmtCacheSize(int prepStmtCacheSize) { this.prepStmtCacheSize = prepStmtCacheSize; }
+
+    public int getPrepStmtCacheSqlLimit() { return prepStmtCacheSqlLimit; }
+    public void setPrepStmtCacheSqlLimit(int prepStmtCacheSqlLimit) { this.prepStmtCacheSqlLimit = prepStmtCacheSqlLimit; }
+
+    public boolean isUseServerPrepStmts() { return useServerPrepStmts; }
+    public void setUseServerPrepStmts(boolean useServerPrepStmts) { this.useServerPrepStmts = useServerPrepStmts; }
+
+    public boolean isRewriteBatchedStatements() { return rewriteBatchedStatements; }
+    public void setRewriteBatchedStatements(boolean rewriteBatchedStatements) { this.rewriteBatchedStatements = rewriteBatchedStatements; }
+
+    public int getTamanioCacheSentencias() { return tamanioCacheSentencias; }
+    public void setTamanioCacheSentencias(int tamanioCacheSentencias) { this.tamanioCacheSentencias = Math.max(0, tamanioCacheSentencias); }
+}
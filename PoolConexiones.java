@@ -0,0 +1,436 @@
+// Archivo: PoolConexiones.java
+package Actividad;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool de conexiones JDBC para un servidor (la principal o una réplica) de un perfil.
+ * Las conexiones que entrega son envoltorios: al llamar a close() la conexión física vuelve
+ * al pool en lugar de cerrarse, así que los Gestores siguen usando try-with-resources sin cambios.
+ * Además aplica a cada sentencia el fetch size y el timeout de consulta del perfil y mide
+ * sus tiempos de ejecución en MetricasBD.
+ *
+ * Cada conexión física guarda una caché LRU de sentencias preparadas, indexada por el SQL:
+ * prepareStatement(sql) devuelve la sentencia ya preparada si la conexión la tiene, y su close()
+ * sólo limpia los parámetros y la devuelve a la caché. Así las consultas y ediciones repetidas de
+ * los Gestores no vuelven a preparar el SQL. Sólo se cachea prepareStatement(String); las sentencias
+ * cacheadas no deben cambiar su configuración (maxRows, fetchSize...) porque la conservan.
+ */
+class PoolConexiones {
+
+    // Una conexión que lleva más de este tiempo sin usarse se valida antes de entregarla
+    private static final long VALIDAR_SI_INACTIVA_NANOS = TimeUnit.SECONDS.toNanos(30);
+    // Segundos máximos de espera de Connection.isValid
+    private static final int TIEMPO_VALIDACION_S = 2;
+
+    /**
+     * Una sentencia preparada de la caché de una conexión física.
+     */
+    static class SentenciaCacheada {
+        final PreparedStatement sentencia;
+        boolean enUso = false;      // Prestada a un Gestor (entre prepareStatement y close)
+        boolean desalojada = false; // Expulsada de la caché mientras estaba en uso: se cierra al devolverla
+
+        SentenciaCacheada(PreparedStatement sentencia) {
+            this.sentencia = sentencia;
+        }
+    }
+
+    /**
+     * Una conexión física del pool, el instante de su último uso y su caché de sentencias.
+     * Sólo la usa el hilo que la tiene prestada, así que la caché no necesita sincronización.
+     */
+    static class ConexionFisica {
+        final Connection conexion;
+        long ultimoUsoNanos = System.nanoTime();
+        boolean rota = false; // Se marca si falla con un error de comunicación: no vuelve al pool
+        final Map<String, SentenciaCacheada> sentencias; // Caché LRU de sentencias preparadas por SQL
+        final List<SentenciaCacheada> desalojadas = new ArrayList<>(); // Expulsadas de la caché mientras estaban en uso
+
+        ConexionFisica(Connection conexion, int capacidadCache) {
+            this.conexion = conexion;
+            // accessOrder=true: el orden de iteración va del menos al más recientemente usado
+            this.sentencias = new LinkedHashMap<String, SentenciaCacheada>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, SentenciaCacheada> mayor) {
+                    if (size() <= capacidadCache) return false;
+                    if (mayor.getValue().enUso) {
+                        mayor.getValue().desalojada = true; // Se cierra cuando se devuelva (o al devolver la conexión)
+                        desalojadas.add(mayor.getValue());
+                    } else {
+                        cerrarSentencia(mayor.getValue().sentencia);
+                    }
+                    return true;
+                }
+            };
+        }
+    }
+
+    private final PerfilConexion perfil;   // Perfil del que salen los parámetros
+    private final String url;              // Servidor al que conecta este pool
+    private final Properties propiedades;  // Propiedades del driver (usuario, timeouts, caché del driver...)
+    private final Semaphore permisos;      // Limita las conexiones prestadas al tamaño del pool
+    private final LinkedBlockingDeque<ConexionFisica> libres = new LinkedBlockingDeque<>();
+    private volatile boolean cerrado = false;
+
+    /**
+     * Crea un pool vacío; las conexiones se abren a medida que se necesitan.
+     * @param perfil El perfil con el tamaño del pool, timeouts y parámetros del driver.
+     * @param url La URL JDBC del servidor.
+     */
+    PoolConexiones(PerfilConexion perfil, String url) {
+        this.perfil = perfil;
+        this.url = url;
+        this.propiedades = perfil.propiedadesDriver();
+        this.permisos = new Semaphore(perfil.getTamanioPool(), true);
+    }
+
+    /**
+     * Presta una conexión del pool, abriendo una nueva si no hay libres y no se ha llegado al máximo.
+     * @return Una conexión que vuelve al pool al cerrarla.
+     * @throws SQLException si no se puede conectar o se agota la espera.
+     */
+    Connection obtener() throws SQLException {
+        return obtener(null);
+    }
+
+    /**
+     * Igual que obtener(), avisando cuando lo escrito con la conexión puede estar ya confirmado.
+     * @param alConfirmar Se llama tras cada commit() y al devolver la conexión (con autocommit,
+     *                    lo escrito ya está confirmado al cerrarla), o null.
+     */
+    Connection obtener(Runnable alConfirmar) throws SQLException {
+        long inicio = System.nanoTime();
+        try {
+            if (!permisos.tryAcquire(perfil.getEsperaPoolMs(), TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Tiempo de espera agotado: no hay conexiones libres en el pool de " + url);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrumpido esperando una conexión del pool", e);
+        }
+        try {
+            ConexionFisica fisica;
+            while ((fisica = libres.pollFirst()) != null) { // La más reciente primero (LIFO): está "caliente"
+                if (System.nanoTime() - fisica.ultimoUsoNanos < VALIDAR_SI_INACTIVA_NANOS || esValida(fisica.conexion)) break;
+                cerrarFisica(fisica);
+            }
+            if (fisica == null) {
+                fisica = new ConexionFisica(DriverManager.getConnection(url, propiedades), perfil.getTamanioCacheSentencias());
+                MetricasBD.registrarConexionFisica(perfil.getNombre());
+            }
+            MetricasBD.registrarConexion(perfil.getNombre(), System.nanoTime() - inicio);
+            ManejadorConexion manejador = new ManejadorConexion(fisica, alConfirmar);
+            manejador.proxy = (Connection) Proxy.newProxyInstance(PoolConexiones.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, manejador);
+            return manejador.proxy;
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Devuelve una conexión física al pool, restaurando su estado por defecto.
+     */
+    private void devolver(ConexionFisica fisica) {
+        try {
+            if (cerrado || fisica.rota) {
+                cerrarFisica(fisica);
+                return;
+            }
+            try {
+                Connection conn = fisica.conexion;
+                if (!conn.getAutoCommit()) {
+                    conn.rollback(); // Una transacción sin confirmar no debe pasar al siguiente usuario
+                    conn.setAutoCommit(true);
+                }
+                if (conn.isReadOnly()) conn.setReadOnly(false);
+                // Sentencias expulsadas de la caché que el Gestor no cerró: ya no se reutilizarán
+                for (SentenciaCacheada entrada : fisica.desalojadas) cerrarSentencia(entrada.sentencia);
+                fisica.desalojadas.clear();
+                // Sentencias cacheadas que el Gestor no cerró: se limpian para el siguiente usuario
+                for (SentenciaCacheada entrada : fisica.sentencias.values()) {
+                    if (entrada.enUso && !limpiar(entrada.sentencia)) {
+                        cerrarFisica(fisica);
+                        return;
+                    }
+                    entrada.enUso = false;
+                }
+                fisica.ultimoUsoNanos = System.nanoTime();
+                libres.offerFirst(fisica);
+            } catch (SQLException e) {
+                cerrarFisica(fisica); // Si no se puede restaurar, se descarta
+            }
+        } finally {
+            permisos.release();
+        }
+    }
+
+    /**
+     * Cierra el pool: las conexiones libres se cierran ya y las prestadas al devolverse.
+     */
+    void cerrar() {
+        cerrado = true;
+        ConexionFisica fisica;
+        while ((fisica = libres.pollFirst()) != null) {
+            cerrarFisica(fisica);
+        }
+    }
+
+    /**
+     * @return La URL del servidor de este pool.
+     */
+    String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return Número de conexiones físicas libres.
+     */
+    int getLibres() {
+        return libres.size();
+    }
+
+    /**
+     * @return Número de conexiones prestadas en este momento.
+     */
+    int getPrestadas() {
+        return perfil.getTamanioPool() - permisos.availablePermits();
+    }
+
+    private static boolean esValida(Connection conn) {
+        try {
+            return conn.isValid(TIEMPO_VALIDACION_S);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static void cerrarFisica(ConexionFisica fisica) {
+        fisica.sentencias.clear(); // Al cerrar la conexión se cierran también sus sentencias
+        fisica.desalojadas.clear();
+        try {
+            fisica.conexion.close();
+        } catch (SQLException e) {
+            // La conexión ya estaba rota; no hay nada más que hacer
+        }
+    }
+
+    /**
+     * Cierra una sentencia que sale de la caché.
+     */
+    private static void cerrarSentencia(PreparedStatement sentencia) {
+        try {
+            sentencia.close();
+        } catch (SQLException e) {
+            // La sentencia ya no se usará; no hay nada más que hacer
+        }
+    }
+
+    /**
+     * Deja una sentencia cacheada lista para reutilizarla: cierra su resultado y borra parámetros y batch.
+     * @return false si no se pudo limpiar (la sentencia no debe reutilizarse).
+     */
+    private static boolean limpiar(PreparedStatement sentencia) {
+        try {
+            ResultSet resultado = sentencia.getResultSet();
+            if (resultado != null) resultado.close();
+            sentencia.clearParameters();
+            sentencia.clearBatch();
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Indica si una excepción es un fallo de comunicación (SQLState de la clase 08),
+     * en cuyo caso la conexión física no se reutiliza.
+     */
+    private static boolean esErrorDeConexion(Throwable t) {
+        return t instanceof SQLException && ((SQLException) t).getSQLState() != null
+                && ((SQLException) t).getSQLState().startsWith("08");
+    }
+
+    /**
+     * Envoltorio de la conexión prestada: intercepta close() y configura las sentencias creadas.
+     */
+    private class ManejadorConexion implements InvocationHandler {
+        private final ConexionFisica fisica;
+        private final Runnable alConfirmar; // null si no hay que avisar
+        private boolean cerrada = false;
+        private Connection proxy; // La propia conexión envuelta, para Statement.getConnection()
+
+        ManejadorConexion(ConexionFisica fisica, Runnable alConfirmar) {
+            this.fisica = fisica;
+            this.alConfirmar = alConfirmar;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            switch (metodo.getName()) {
+                case "close":
+                    if (!cerrada) {
+                        cerrada = true;
+                        devolver(fisica);
+                        if (alConfirmar != null) alConfirmar.run();
+                    }
+                    return null;
+                case "isClosed":
+                    return cerrada || fisica.conexion.isClosed();
+                case "toString":
+                    return "Conexión del pool (" + url + ")";
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    break;
+            }
+            if (cerrada) throw new SQLException("La conexión ya se devolvió al pool");
+            if (metodo.getName().equals("prepareStatement") && args.length == 1 && perfil.getTamanioCacheSentencias() > 0) {
+                return prepararCacheada(metodo, (String) args[0]);
+            }
+            Object resultado = delegar(fisica.conexion, metodo, args);
+            if (alConfirmar != null && metodo.getName().equals("commit")) alConfirmar.run();
+            if (resultado instanceof Statement) {
+                return configurarSentencia((Statement) resultado, null);
+            }
+            return resultado;
+        }
+
+        /**
+         * Devuelve la sentencia preparada de la caché de la conexión, o la prepara y la guarda.
+         * Si la misma SQL ya está en uso (dos sentencias iguales abiertas a la vez) se prepara
+         * una sentencia aparte que no se cachea.
+         */
+        private Statement prepararCacheada(Method metodo, String sql) throws Throwable {
+            SentenciaCacheada entrada = fisica.sentencias.get(sql);
+            if (entrada != null && !entrada.enUso && !entrada.sentencia.isClosed()) {
+                MetricasBD.registrarCacheSentencias(perfil.getNombre(), true);
+                entrada.enUso = true;
+                return envolver(entrada.sentencia, entrada);
+            }
+            MetricasBD.registrarCacheSentencias(perfil.getNombre(), false);
+            PreparedStatement nueva = (PreparedStatement) delegar(fisica.conexion, metodo, new Object[]{sql});
+            if (entrada != null && entrada.enUso) {
+                return configurarSentencia(nueva, null);
+            }
+            entrada = new SentenciaCacheada(nueva);
+            entrada.enUso = true;
+            fisica.sentencias.put(sql, entrada); // Puede desalojar la menos usada recientemente
+            return configurarSentencia(nueva, entrada);
+        }
+
+        /**
+         * Aplica el fetch size y el timeout del perfil y envuelve la sentencia para medirla.
+         */
+        private Statement configurarSentencia(Statement sentencia, SentenciaCacheada entrada) throws SQLException {
+            if (perfil.getFetchSize() > 0) sentencia.setFetchSize(perfil.getFetchSize());
+            if (perfil.getTimeoutConsultaS() > 0) sentencia.setQueryTimeout(perfil.getTimeoutConsultaS());
+            return envolver(sentencia, entrada);
+        }
+
+        private Statement envolver(Statement sentencia, SentenciaCacheada entrada) {
+            Class<?> interfaz = sentencia instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+            if (sentencia instanceof java.sql.CallableStatement) interfaz = java.sql.CallableStatement.class;
+            return (Statement) Proxy.newProxyInstance(PoolConexiones.class.getClassLoader(),
+                    new Class<?>[]{interfaz}, new ManejadorSentencia(sentencia, this, entrada));
+        }
+
+        /**
+         * Invoca el método real, marcando la conexión como rota si falla la comunicación.
+         */
+        Object delegar(Object destino, Method metodo, Object[] args) throws Throwable {
+            try {
+                return metodo.invoke(destino, args);
+            } catch (InvocationTargetException e) {
+                if (esErrorDeConexion(e.getCause())) fisica.rota = true;
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Envoltorio de las sentencias: mide cada ejecución y devuelve la conexión envuelta en getConnection().
+     * Si la sentencia es de la caché, close() la devuelve a la caché en lugar de cerrarla.
+     */
+    private class ManejadorSentencia implements InvocationHandler {
+        private final Statement sentencia;
+        private final ManejadorConexion conexion;
+        private final SentenciaCacheada entrada; // null si la sentencia no está cacheada
+        private boolean cerrada = false;
+
+        ManejadorSentencia(Statement sentencia, ManejadorConexion conexion, SentenciaCacheada entrada) {
+            this.sentencia = sentencia;
+            this.conexion = conexion;
+            this.entrada = entrada;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            String nombre = metodo.getName();
+            if (nombre.equals("getConnection")) return conexion.proxy;
+            if (entrada != null) {
+                switch (nombre) {
+                    case "close":
+                        if (!cerrada && !conexion.cerrada) devolverACache();
+                        cerrada = true;
+                        return null;
+                    case "isClosed":
+                        return cerrada || conexion.cerrada || sentencia.isClosed();
+                    case "toString":
+                        return "Sentencia cacheada (" + sentencia + ")";
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        if (cerrada || conexion.cerrada) throw new SQLException("La sentencia ya está cerrada");
+                        break;
+                }
+            }
+            if (nombre.startsWith("execute")) {
+                long inicio = System.nanoTime();
+                try {
+                    return conexion.delegar(sentencia, metodo, args);
+                } finally {
+                    MetricasBD.registrarSentencia(perfil.getNombre(), System.nanoTime() - inicio);
+                }
+            }
+            return conexion.delegar(sentencia, metodo, args);
+        }
+
+        /**
+         * Limpia la sentencia y la deja libre en la caché, o la cierra si ya no pertenece a ella.
+         */
+        private void devolverACache() {
+            entrada.enUso = false;
+            if (entrada.desalojada) {
+                conexion.fisica.desalojadas.remove(entrada);
+                cerrarSentencia(entrada.sentencia);
+            } else if (!limpiar(entrada.sentencia)) {
+                conexion.fisica.sentencias.values().remove(entrada);
+                cerrarSentencia(entrada.sentencia);
+            }
+        }
+    }
+}
@@ -0,0 +1,605 @@
+// Archivo: ProcesadorLotes.java
+package Actividad;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ejecuta ficheros de operaciones sobre países e idiomas sin interfaz gráfica.
+ * Cada línea del fichero es una operación con los campos separados por ';'.
+ * Las líneas vacías y las que empiezan por '#' se ignoran.
+ *
+ * Formato de las operaciones (los campos numéricos vacíos se guardan como NULL):
+ *   INSERTAR_PAIS;Código;Nombre;Continente;Región;NombreLocal;AñoIndep;Superficie;ExpVida;Población;PNB;FormaGob;CabezaEstado[;IdCapital]
+ *   MODIFICAR_PAIS;(mismos campos que INSERTAR_PAIS; sin el campo IdCapital se conserva la capital guardada)
+ *   ELIMINAR_PAIS;Código
+ *   INSERTAR_IDIOMA;Código;Idioma;T|F;Porcentaje
+ *   MODIFICAR_IDIOMA;Código;Idioma;T|F;Porcentaje
+ *   ELIMINAR_IDIOMA;Código;Idioma
+ *
+ * Las operaciones válidas se agrupan en lotes que se ejecutan en una sola transacción
+ * con executeBatch. Si un lote falla, se revierte y se repite operación a operación para
+ * aplicar las correctas y señalar exactamente las líneas que fallan.
+ *
+ * Las altas de países e idiomas cuya clave ya existe (según IndiceClaves y las operaciones
+ * anteriores del mismo lote) se rechazan antes de enviarlas, sin hacer fallar el lote. Lo mismo
+ * ocurre con las altas y modificaciones de idiomas que harían sumar a su país más del 100%
+ * (según TotalesIdiomas y los porcentajes de las operaciones anteriores del lote).
+ */
+public class ProcesadorLotes {
+
+    /** Tipos de operación admitidos en los ficheros de lotes. */
+    public enum TipoOperacion { INSERTAR_PAIS, MODIFICAR_PAIS, ELIMINAR_PAIS, INSERTAR_IDIOMA, MODIFICAR_IDIOMA, ELIMINAR_IDIOMA }
+
+    /**
+     * Una operación ya validada, junto con la línea del fichero de la que procede.
+     */
+    static class Operacion {
+        final int linea;             // Número de línea en el fichero (para los informes de error)
+        final TipoOperacion tipo;    // Tipo de operación
+        final String codigoPais;     // Código del país afectado
+        final ModeloPais pais;       // Datos del país (sólo INSERTAR_PAIS y MODIFICAR_PAIS)
+        final ModeloIdioma idioma;   // Datos del idioma (sólo operaciones de idioma)
+        final boolean conCapital;    // La línea trae el campo IdCapital (si no, MODIFICAR_PAIS no toca la capital)
+
+        Operacion(int linea, TipoOperacion tipo, String codigoPais, ModeloPais pais, ModeloIdioma idioma) {
+            this(linea, tipo, codigoPais, pais, idioma, true);
+        }
+
+        Operacion(int linea, TipoOperacion tipo, String codigoPais, ModeloPais pais, ModeloIdioma idioma, boolean conCapital) {
+            this.linea = linea;
+            this.tipo = tipo;
+            this.codigoPais = codigoPais;
+            this.pais = pais;
+            this.idioma = idioma;
+            this.conCapital = conCapital;
+        }
+    }
+
+    // Tamaño de lote por defecto (operaciones por transacción)
+    public static final int TAMANIO_LOTE_POR_DEFECTO = 500;
+
+    private final int tamanioLote;      // Número de operaciones por transacción
+    private final PrintStream salida;   // Donde se informa del progreso
+    private final PrintStream errores;  // Donde se informa de las líneas que fallan
+
+    private int lineasLeidas = 0;       // Líneas de operación leídas (sin contar comentarios ni vacías)
+    private int operacionesCorrectas = 0;
+    private int operacionesFallidas = 0;
+    private int lotesEjecutados = 0;
+    private long inicioNanos;
+
+    // Comprobación previa de claves duplicadas contra IndiceClaves (sólo si se pudo cargar; las del propio lote, siempre)
+    private boolean comprobarClaves;
+    // Claves que crean (true) o quitan (false) las operaciones del lote en curso, aún no enviadas:
+    // "P|país", "I|país|idioma" y "X|país" (el país se borró o es nuevo: no le queda ningún idioma)
+    private final Map<String, Boolean> clavesLote = new HashMap<>();
+    // Porcentajes en décimas que dejan las operaciones del lote en curso: "país|idioma" y, por país, su total
+    private final Map<String, Long> porcentajesLote = new HashMap<>();
+    private final Map<String, Long> totalesLote = new HashMap<>();
+
+    /**
+     * Crea un procesador de lotes.
+     * @param tamanioLote Número máximo de operaciones por transacción.
+     * @param salida Flujo donde se escribe el progreso.
+     * @param errores Flujo donde se escriben los errores de cada línea.
+     */
+    public ProcesadorLotes(int tamanioLote, PrintStream salida, PrintStream errores) {
+        this.tamanioLote = Math.max(1, tamanioLote);
+        this.salida = salida;
+        this.errores = errores;
+    }
+
+    /**
+     * Lee y ejecuta todas las operaciones del lector. El fichero se procesa en streaming:
+     * sólo se mantiene en memoria el lote en curso.
+     * @param lector El lector del fichero de operaciones.
+     * @return true si todas las operaciones se aplicaron sin errores.
+     * @throws IOException si falla la lectura del fichero.
+     */
+    public boolean procesar(BufferedReader lector) throws IOException {
+        inicioNanos = System.nanoTime();
+        comprobarClaves = IndiceClaves.cargarAhora();
+        if (!comprobarClaves) errores.println("⚠️ No se pudieron cargar las claves existentes: los duplicados los detectará la base de datos.");
+        List<Operacion> lote = new ArrayList<>(tamanioLote);
+        String linea;
+        int numeroLinea = 0;
+        while ((linea = lector.readLine()) != null) {
+            numeroLinea++;
+            String texto = linea.trim();
+            if (texto.isEmpty() || texto.startsWith("#")) continue; // Comentarios y líneas vacías
+            lineasLeidas++;
+            try {
+                Operacion op = interpretar(numeroLinea, texto);
+                String rechazo = comprobarAntesDeEnviar(op);
+                if (rechazo != null) {
+                    registrarFallo(numeroLinea, rechazo + " (rechazada antes de enviarla)");
+                } else {
+                    lote.add(op);
+                }
+            } catch (IllegalArgumentException e) { // Incluye NumberFormatException
+                registrarFallo(numeroLinea, e.getMessage());
+            }
+            if (lote.size() >= tamanioLote) {
+                ejecutarLote(lote);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            ejecutarLote(lote);
+        }
+        salida.println("✅ Fin del proceso. " + resumen());
+        return operacionesFallidas == 0;
+    }
+
+    /**
+     * Convierte una línea del fichero en una operación, aplicando las mismas validaciones que la GUI.
+     * @param numeroLinea Número de la línea (para los mensajes).
+     * @param texto Contenido de la línea.
+     * @return La operación validada.
+     * @throws IllegalArgumentException si la línea no es válida.
+     */
+    static Operacion interpretar(int numeroLinea, String texto) {
+        String[] campos = texto.split(";", -1); // -1 para conservar los campos vacíos del final
+        TipoOperacion tipo;
+        try {
+            tipo = TipoOperacion.valueOf(campos[0].trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Operación desconocida: " + campos[0]);
+        }
+        switch (tipo) {
+            case INSERTAR_PAIS:
+            case MODIFICAR_PAIS: {
+                exigirCampos(campos, 13, tipo);
+                String error = ValidadorDatos.validarPais(campos[1], campos[2], tipo == TipoOperacion.INSERTAR_PAIS);
+                if (error != null) throw new IllegalArgumentException(error);
+                ModeloPais pais = new ModeloPais();
+                pais.setCodigo(campos[1].trim().toUpperCase()); // Código en mayúsculas, igual que en la GUI
+                pais.setNombre(campos[2].trim());
+                pais.setContinente(campos[3].trim().isEmpty() ? null : campos[3].trim());
+                pais.setRegion(campos[4].trim());
+                pais.setNombreLocal(campos[5].trim());
+                try {
+                    pais.setAnioIndependencia(ValidadorDatos.leerEntero(campos[6]));
+                    pais.setSuperficie(ValidadorDatos.leerDecimal(campos[7]));
+                    pais.setExpectativaVida(ValidadorDatos.leerDecimal(campos[8]));
+                    pais.setPoblacion(ValidadorDatos.leerEntero(campos[9]));
+                    pais.setPnb(ValidadorDatos.leerDecimal(campos[10]));
+                    if (campos.length > 13) pais.setCapitalID(ValidadorDatos.leerEntero(campos[13]));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Campo numérico no válido (Año, Superficie, Exp. Vida, Población, PNB o Capital): " + e.getMessage());
+                }
+                pais.setFormaGobierno(campos[11].trim());
+                pais.setCabezaEstado(campos[12].trim());
+                return new Operacion(numeroLinea, tipo, pais.getCodigo(), pais, null, campos.length > 13);
+            }
+            case ELIMINAR_PAIS: {
+                exigirCampos(campos, 2, tipo);
+                String codigo = campos[1].trim().toUpperCase();
+                if (codigo.isEmpty()) throw new IllegalArgumentException("El código del país es obligatorio.");
+                return new Operacion(numeroLinea, tipo, codigo, null, null);
+            }
+            case INSERTAR_IDIOMA:
+            case MODIFICAR_IDIOMA: {
+                exigirCampos(campos, 5, tipo);
+                String codigo = campos[1].trim().toUpperCase();
+                if (codigo.isEmpty()) throw new IllegalArgumentException("El código del país es obligatorio.");
+                double porcentaje;
+                try {
+                    porcentaje = Double.parseDouble(campos[4].trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("El porcentaje debe ser un número válido.");
+                }
+                String error = ValidadorDatos.validarIdioma(campos[2], porcentaje);
+                if (error != null) throw new IllegalArgumentException(error);
+                boolean oficial = campos[3].trim().equalsIgnoreCase("T");
+                return new Operacion(numeroLinea, tipo, codigo, null, new ModeloIdioma(campos[2].trim(), oficial, porcentaje));
+            }
+            case ELIMINAR_IDIOMA: {
+                exigirCampos(campos, 3, tipo);
+                String codigo = campos[1].trim().toUpperCase();
+                if (codigo.isEmpty() || campos[2].trim().isEmpty()) {
+                    throw new IllegalArgumentException("El código del país y el idioma son obligatorios.");
+                }
+                return new Operacion(numeroLinea, tipo, codigo, null, new ModeloIdioma(campos[2].trim(), false, 0));
+            }
+            default:
+                throw new IllegalArgumentException("Operación no soportada: " + tipo);
+        }
+    }
+
+    /**
+     * Comprueba, sin consultar la base de datos (salvo si los totales de porcentajes no están en memoria),
+     * si la operación da de alta una clave que ya existe o hace que los idiomas de su país sumen más del 100%. Anota además las claves y los porcentajes
+     * que deja, para las operaciones siguientes del mismo lote. Si no se pudo cargar IndiceClaves sólo se
+     * omiten las comprobaciones de claves existentes: la de los porcentajes se hace igual.
+     * @return El motivo del rechazo, o null si la operación puede enviarse.
+     */
+    private String comprobarAntesDeEnviar(Operacion op) {
+        String pais = op.codigoPais;
+        switch (op.tipo) {
+            case INSERTAR_PAIS: {
+                Boolean enLote = clavesLote.get("P|" + pais);
+                boolean existe = enLote != null ? enLote : comprobarClaves && IndiceClaves.existePais(pais);
+                if (existe) return "Ya existe un país con el código " + pais + ".";
+                clavesLote.put("P|" + pais, true);
+                olvidarIdiomasEnLote(pais);
+                return null;
+            }
+            case ELIMINAR_PAIS:
+                clavesLote.put("P|" + pais, false);
+                olvidarIdiomasEnLote(pais);
+                return null;
+            case INSERTAR_IDIOMA: {
+                String clave = "I|" + pais + "|" + op.idioma.getIdioma().toLowerCase(Locale.ROOT);
+                Boolean enLote = clavesLote.get(clave);
+                boolean existe = enLote != null ? enLote
+                        : comprobarClaves && !clavesLote.containsKey("X|" + pais) && IndiceClaves.existeIdioma(pais, op.idioma.getIdioma());
+                if (existe) return "El país " + pais + " ya tiene el idioma " + op.idioma.getIdioma() + ".";
+                String exceso = comprobarPorcentaje(op);
+                if (exceso != null) return exceso;
+                clavesLote.put(clave, true);
+                return null;
+            }
+            case MODIFICAR_IDIOMA:
+                return comprobarPorcentaje(op);
+            case ELIMINAR_IDIOMA:
+                clavesLote.put("I|" + pais + "|" + op.idioma.getIdioma().toLowerCase(Locale.ROOT), false);
+                comprobarPorcentaje(op); // Una baja sólo resta: nunca se rechaza
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Calcula la suma de los porcentajes del país tras una operación de idioma. Si la operación la sube
+     * por encima del máximo, se rechaza; si no, se anota el nuevo porcentaje y el nuevo total.
+     * @return El motivo del rechazo, o null si la suma es válida (o baja).
+     */
+    private String comprobarPorcentaje(Operacion op) {
+        String pais = op.codigoPais;
+        String clave = pais + "|" + op.idioma.getIdioma().toLowerCase(Locale.ROOT);
+        boolean vaciado = clavesLote.containsKey("X|" + pais); // Los idiomas que tenía ya no cuentan
+        Long anterior = porcentajesLote.get(clave);
+        Long total = totalesLote.get(pais);
+        if (!vaciado && (anterior == null || total == null)) {
+            double porcentaje = TotalesIdiomas.porcentaje(pais, op.idioma.getIdioma());
+            double suma = TotalesIdiomas.total(pais);
+            if (Double.isNaN(porcentaje) || Double.isNaN(suma)) {
+                // Los totales en memoria no están cargados (o se están recargando): se leen los del país
+                if (!leerPorcentajes(pais)) return "No se pudo comprobar la suma de los porcentajes de los idiomas de " + pais + ".";
+                anterior = porcentajesLote.getOrDefault(clave, 0L);
+                total = totalesLote.get(pais);
+            } else {
+                if (anterior == null) anterior = TotalesIdiomas.decimas(porcentaje);
+                if (total == null) total = TotalesIdiomas.decimas(suma);
+            }
+        }
+        if (anterior == null) anterior = 0L;
+        if (total == null) total = 0L;
+        long nuevo = op.tipo == TipoOperacion.ELIMINAR_IDIOMA ? 0 : TotalesIdiomas.decimas(op.idioma.getPorcentaje());
+        long totalNuevo = total - anterior + nuevo;
+        if (nuevo > anterior) {
+            String error = ValidadorDatos.validarTotalIdiomas(pais, totalNuevo / 10.0);
+            if (error != null) return error;
+        }
+        porcentajesLote.put(clave, nuevo);
+        totalesLote.put(pais, totalNuevo);
+        return null;
+    }
+
+    /**
+     * Lee de la base de datos los porcentajes de los idiomas del país que aún no anotó el lote.
+     * @return false si falla la lectura (el error queda en el Registro).
+     */
+    private boolean leerPorcentajes(String pais) {
+        List<ModeloIdioma> idiomas;
+        try (BusErrores.Recolector recolector = BusErrores.recoger()) {
+            idiomas = GestorIdiomas.cargarIdiomas(pais);
+            if (recolector.hayErrores()) return false;
+        }
+        long suma = 0;
+        for (ModeloIdioma idioma : idiomas) {
+            long decimas = TotalesIdiomas.decimas(idioma.getPorcentaje());
+            porcentajesLote.putIfAbsent(pais + "|" + idioma.getIdioma().toLowerCase(Locale.ROOT), decimas);
+            suma += decimas;
+        }
+        totalesLote.putIfAbsent(pais, suma);
+        return true;
+    }
+
+    private void olvidarIdiomasEnLote(String pais) {
+        clavesLote.keySet().removeIf(clave -> clave.startsWith("I|" + pais + "|"));
+        clavesLote.put("X|" + pais, true);
+        porcentajesLote.keySet().removeIf(clave -> clave.startsWith(pais + "|"));
+        totalesLote.remove(pais);
+    }
+
+    /**
+     * Lleva al índice de claves (y a los totales de porcentajes) una operación ya confirmada.
+     */
+    private static void anotarEnIndice(Operacion op) {
+        switch (op.tipo) {
+            case INSERTAR_PAIS:
+                IndiceClaves.anotarPais(op.codigoPais);
+                break;
+            case ELIMINAR_PAIS:
+                IndiceClaves.olvidarPaises(List.of(op.codigoPais));
+                IndiceCiudades.olvidarPaises(List.of(op.codigoPais));
+                break;
+            case INSERTAR_IDIOMA:
+            case MODIFICAR_IDIOMA:
+                IndiceClaves.anotarIdioma(op.codigoPais, op.idioma);
+                break;
+            case ELIMINAR_IDIOMA:
+                IndiceClaves.olvidarIdioma(op.codigoPais, op.idioma.getIdioma());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Comprueba que la línea tiene al menos el número de campos esperado.
+     */
+    private static void exigirCampos(String[] campos, int minimo, TipoOperacion tipo) {
+        if (campos.length < minimo) {
+            throw new IllegalArgumentException(tipo + " necesita " + minimo + " campos y la línea tiene " + campos.length);
+        }
+    }
+
+    /**
+     * Ejecuta un lote de operaciones en una única transacción. Las operaciones consecutivas
+     * del mismo tipo se envían juntas con executeBatch, respetando el orden del fichero.
+     * @param lote Las operaciones a ejecutar.
+     */
+    private void ejecutarLote(List<Operacion> lote) {
+        lotesEjecutados++;
+        Set<Operacion> resueltas = new HashSet<>(); // Operaciones cuyo resultado ya se ha registrado
+        try (Connection conn = ConexionBD.conectar()) {
+            if (conn == null) { // ConexionBD ya informa del motivo en la consola
+                for (Operacion op : lote) registrarFallo(op.linea, "Sin conexión con la base de datos.");
+                return;
+            }
+            conn.setAutoCommit(false);
+            try {
+                Set<Operacion> sinFilas = ejecutarAgrupado(conn, lote);
+                CambiosDatos.anotar(conn, CambiosDatos.Tipo.TODO, (String) null, null); // Los demás clientes recargan
+                conn.commit();
+                for (Operacion op : lote) {
+                    if (sinFilas.contains(op)) { // No cambió nada: igual que en ejecutarUnaAUna
+                        registrarFallo(op.linea, "No existe el registro a modificar o eliminar (" + op.codigoPais + ").");
+                    } else {
+                        operacionesCorrectas++;
+                        anotarEnIndice(op);
+                    }
+                    resueltas.add(op);
+                }
+            } catch (SQLException e) {
+                conn.rollback(); // Se deshace el lote completo y se reintenta una a una
+                errores.println("⚠️ Lote " + lotesEjecutados + " revertido (" + e.getMessage() + "). Reintentando operación a operación...");
+                ejecutarUnaAUna(conn, lote, resueltas);
+                try {
+                    CambiosDatos.anotar(conn, CambiosDatos.Tipo.TODO, (String) null, null);
+                    conn.commit();
+                } catch (SQLException aviso) {
+                    // Las operaciones ya están confirmadas y registradas: sólo se pierde el aviso a los demás clientes
+                    errores.println("⚠️ Lote " + lotesEjecutados + ": no se pudo avisar a los demás clientes (" + aviso.getMessage() + ").");
+                }
+            }
+        } catch (SQLException e) {
+            for (Operacion op : lote) {
+                if (!resueltas.contains(op)) registrarFallo(op.linea, "Error de conexión: " + e.getMessage());
+            }
+        }
+        CachePaises.invalidarTodo(); // El lote puede haber tocado cualquier país
+        clavesLote.clear(); // Lo confirmado ya está en IndiceClaves (y en TotalesIdiomas)
+        porcentajesLote.clear();
+        totalesLote.clear();
+        informarProgreso();
+    }
+
+    /**
+     * Envía las operaciones agrupando los tramos consecutivos del mismo tipo en un executeBatch.
+     * @return Las modificaciones y bajas que no afectaron a ninguna fila (según los recuentos de executeBatch).
+     */
+    private Set<Operacion> ejecutarAgrupado(Connection conn, List<Operacion> lote) throws SQLException {
+        Map<String, PreparedStatement> sentencias = new LinkedHashMap<>();
+        // Por sentencia, la operación de cada entrada del batch si es su sentencia principal (la última), o null
+        Map<PreparedStatement, List<Operacion>> entradas = new IdentityHashMap<>();
+        Set<Operacion> sinFilas = new HashSet<>();
+        try {
+            TipoOperacion tipoEnCurso = null;
+            boolean conCapitalEnCurso = true;
+            for (Operacion op : lote) {
+                // Cambio de tipo (o de sentencia, con y sin capital): se envía lo acumulado para no alterar el orden
+                if (op.tipo != tipoEnCurso || op.conCapital != conCapitalEnCurso) {
+                    enviarPendientes(sentencias, entradas, sinFilas);
+                    tipoEnCurso = op.tipo;
+                    conCapitalEnCurso = op.conCapital;
+                }
+                List<PreparedStatement> preparadas = prepararParametros(conn, sentencias, op);
+                for (int i = 0; i < preparadas.size(); i++) {
+                    PreparedStatement ps = preparadas.get(i);
+                    ps.addBatch();
+                    entradas.computeIfAbsent(ps, p -> new ArrayList<>()).add(i == preparadas.size() - 1 ? op : null);
+                }
+            }
+            enviarPendientes(sentencias, entradas, sinFilas);
+        } finally {
+            for (PreparedStatement ps : sentencias.values()) ps.close();
+        }
+        return sinFilas;
+    }
+
+    /**
+     * Ejecuta los batches acumulados en el orden en que se prepararon sus sentencias y anota en
+     * 'sinFilas' las modificaciones y bajas cuya sentencia principal no afectó a ninguna fila.
+     * Un recuento SUCCESS_NO_INFO (el driver no lo conoce) se da por bueno.
+     */
+    private static void enviarPendientes(Map<String, PreparedStatement> sentencias, Map<PreparedStatement, List<Operacion>> entradas,
+            Set<Operacion> sinFilas) throws SQLException {
+        for (PreparedStatement ps : sentencias.values()) {
+            int[] filas = ps.executeBatch(); // Un batch vacío no hace nada
+            List<Operacion> operaciones = entradas.remove(ps);
+            if (operaciones == null) continue;
+            for (int i = 0; i < filas.length && i < operaciones.size(); i++) {
+                Operacion op = operaciones.get(i);
+                if (op != null && filas[i] == 0 && op.tipo != TipoOperacion.INSERTAR_PAIS && op.tipo != TipoOperacion.INSERTAR_IDIOMA) {
+                    sinFilas.add(op);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reintenta cada operación de un lote fallido en su propia transacción, para aplicar
+     * las correctas y registrar el error de las demás.
+     * @param resueltas Recibe cada operación en cuanto se registra su resultado.
+     * @throws SQLException si la conexión deja de responder (las operaciones que quedan, sin resolver).
+     */
+    private void ejecutarUnaAUna(Connection conn, List<Operacion> lote, Set<Operacion> resueltas) throws SQLException {
+        for (Operacion op : lote) {
+            Map<String, PreparedStatement> sentencias = new LinkedHashMap<>();
+            try {
+                int filas = 0;
+                for (PreparedStatement ps : prepararParametros(conn, sentencias, op)) {
+                    filas = ps.executeUpdate(); // Se queda con las filas de la última sentencia (la principal)
+                }
+                if (filas == 0 && op.tipo != TipoOperacion.INSERTAR_PAIS && op.tipo != TipoOperacion.INSERTAR_IDIOMA) {
+                    conn.rollback();
+                    registrarFallo(op.linea, "No existe el registro a modificar o eliminar (" + op.codigoPais + ").");
+                } else {
+                    conn.commit();
+                    operacionesCorrectas++;
+                    anotarEnIndice(op);
+                }
+                resueltas.add(op);
+            } catch (SQLException e) {
+                if (!resueltas.contains(op)) {
+                    registrarFallo(op.linea, e.getMessage());
+                    resueltas.add(op);
+                }
+                conn.rollback();
+            } finally {
+                for (PreparedStatement ps : sentencias.values()) ps.close();
+            }
+        }
+    }
+
+    /**
+     * Prepara (o reutiliza) las sentencias de una operación y asigna sus parámetros con los
+     * mismos métodos que usan los Gestores.
+     * @return Las sentencias listas para ejecutarse, en el orden en que deben ejecutarse.
+     */
+    private static List<PreparedStatement> prepararParametros(Connection conn, Map<String, PreparedStatement> sentencias, Operacion op) throws SQLException {
+        List<PreparedStatement> lista = new ArrayList<>(2);
+        switch (op.tipo) {
+            case INSERTAR_PAIS: {
+                PreparedStatement ps = sentencia(conn, sentencias, GestorPaises.SQL_INSERTAR);
+                GestorPaises.asignarParametrosInsertar(ps, op.pais);
+                lista.add(ps);
+                break;
+            }
+            case MODIFICAR_PAIS: {
+                PreparedStatement ps;
+                if (op.conCapital) {
+                    ps = sentencia(conn, sentencias, GestorPaises.SQL_MODIFICAR);
+                    GestorPaises.asignarParametrosModificar(ps, op.pais);
+                } else {
+                    ps = sentencia(conn, sentencias, GestorPaises.SQL_MODIFICAR_SIN_CAPITAL);
+                    GestorPaises.asignarParametrosModificarSinCapital(ps, op.pais);
+                }
+                lista.add(ps);
+                break;
+            }
+            case ELIMINAR_PAIS: {
+                // Primero las dependencias (idiomas y ciudades) y luego el país, igual que GestorPaises.eliminarPaises
+                PreparedStatement psLenguas = sentencia(conn, sentencias, GestorPaises.SQL_ELIMINAR_LENGUAS);
+                psLenguas.setString(1, op.codigoPais);
+                PreparedStatement psCiudades = sentencia(conn, sentencias, GestorPaises.SQL_ELIMINAR_CIUDADES);
+                psCiudades.setString(1, op.codigoPais);
+                PreparedStatement psPais = sentencia(conn, sentencias, GestorPaises.SQL_ELIMINAR);
+                psPais.setString(1, op.codigoPais);
+                lista.add(psLenguas);
+                lista.add(psCiudades);
+                lista.add(psPais);
+                break;
+            }
+            case INSERTAR_IDIOMA: {
+                PreparedStatement ps = sentencia(conn, sentencias, GestorIdiomas.SQL_INSERTAR);
+                GestorIdiomas.asignarParametrosInsertar(ps, op.codigoPais, op.idioma);
+                lista.add(ps);
+                break;
+            }
+            case MODIFICAR_IDIOMA: {
+                PreparedStatement ps = sentencia(conn, sentencias, GestorIdiomas.SQL_MODIFICAR);
+                GestorIdiomas.asignarParametrosModificar(ps, op.codigoPais, op.idioma);
+                lista.add(ps);
+                break;
+            }
+            case ELIMINAR_IDIOMA: {
+                PreparedStatement ps = sentencia(conn, sentencias, GestorIdiomas.SQL_ELIMINAR);
+                ps.setString(1, op.codigoPais);
+                ps.setString(2, op.idioma.getIdioma());
+                lista.add(ps);
+                break;
+            }
+        }
+        return lista;
+    }
+
+    /**
+     * Devuelve la sentencia preparada para el SQL indicado, creándola la primera vez.
+     */
+    private static PreparedStatement sentencia(Connection conn, Map<String, PreparedStatement> sentencias, String sql) throws SQLException {
+        PreparedStatement ps = sentencias.get(sql);
+        if (ps == null) {
+            ps = conn.prepareStatement(sql);
+            sentencias.put(sql, ps);
+        }
+        return ps;
+    }
+
+    /**
+     * Registra una operación fallida sin detener el proceso.
+     */
+    private void registrarFallo(int numeroLinea, String mensaje) {
+        operacionesFallidas++;
+        errores.println("❌ Línea " + numeroLinea + ": " + mensaje);
+    }
+
+    /**
+     * Escribe en la salida una línea de progreso con el ritmo de operaciones por segundo.
+     */
+    private void informarProgreso() {
+        salida.println("… Lote " + lotesEjecutados + " terminado. " + resumen());
+    }
+
+    /**
+     * @return Un resumen con las líneas leídas, correctas, fallidas y el ritmo de proceso.
+     */
+    public String resumen() {
+        double segundos = Math.max(1e-9, (System.nanoTime() - inicioNanos) / 1_000_000_000.0);
+        return String.format("Líneas: %d | Correctas: %d | Fallidas: %d | %.1f ops/s",
+                lineasLeidas, operacionesCorrectas, operacionesFallidas, operacionesCorrectas / segundos);
+    }
+
+    public int getOperacionesCorrectas() { return operacionesCorrectas; }
+
+    public int getOperacionesFallidas() { return operacionesFallidas; }
+}
@@ -0,0 +1,95 @@
+// Archivo: PruebaCargaAPI.java
+package Actividad;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Clase simple para medir en local el rendimiento de ServidorAPI.
+ * Lanza un número de peticiones GET contra una ruta con la concurrencia indicada (cada petición en un hilo virtual)
+ * y muestra peticiones por segundo, latencias (p50, p95, p99) y cuántas respuestas fueron 304.
+ * Con "condicional" se reenvía la ETag recibida en If-None-Match para medir el camino de revalidación.
+ *
+ * Uso: java Actividad.PruebaCargaAPI [url] [peticiones] [concurrencia] [condicional]
+ * Ejemplo: java Actividad.PruebaCargaAPI http://localhost:8080/api/paises 20000 200 condicional
+ */
+public class PruebaCargaAPI {
+
+    /**
+     * Método principal para ejecutar la prueba de carga.
+     * @param args URL, número de peticiones, concurrencia y, opcionalmente, "condicional".
+     */
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : "http://localhost:" + ServidorAPI.PUERTO_POR_DEFECTO + "/api/paises";
+        int peticiones = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int concurrencia = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        boolean condicional = args.length > 3 && args[3].equalsIgnoreCase("condicional");
+
+        HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        URI uri = URI.create(url);
+
+        // Petición inicial para obtener la ETag (y calentar la caché del servidor)
+        HttpResponse<byte[]> primera = cliente.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+        String etag = primera.headers().firstValue("ETag").orElse(null);
+        System.out.println("Primera respuesta: " + primera.statusCode() + ", " + primera.body().length + " bytes, ETag " + etag);
+
+        long[] latencias = new long[peticiones];
+        AtomicInteger noModificadas = new AtomicInteger();
+        AtomicInteger fallidas = new AtomicInteger();
+        Semaphore permisos = new Semaphore(concurrencia); // Limita las peticiones simultáneas
+
+        long inicio = System.nanoTime();
+        try (ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> tareas = new ArrayList<>(peticiones);
+            for (int i = 0; i < peticiones; i++) {
+                final int indice = i;
+                permisos.acquire();
+                tareas.add(ejecutor.submit(() -> {
+                    try {
+                        HttpRequest.Builder peticion = HttpRequest.newBuilder(uri).GET();
+                        if (condicional && etag != null) peticion.header("If-None-Match", etag);
+                        long t0 = System.nanoTime();
+                        HttpResponse<byte[]> respuesta = cliente.send(peticion.build(), HttpResponse.BodyHandlers.ofByteArray());
+                        latencias[indice] = System.nanoTime() - t0;
+                        if (respuesta.statusCode() == 304) noModificadas.incrementAndGet();
+                        else if (respuesta.statusCode() != 200) fallidas.incrementAndGet();
+                    } catch (Exception e) {
+                        fallidas.incrementAndGet();
+                        latencias[indice] = -1;
+                    } finally {
+                        permisos.release();
+                    }
+                }));
+            }
+            for (Future<?> tarea : tareas) tarea.get();
+        }
+        double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+
+        long[] validas = Arrays.stream(latencias).filter(l -> l >= 0).sorted().toArray();
+        System.out.printf("Peticiones: %d | Concurrencia: %d | Tiempo: %.2f s | %.0f pet/s%n",
+                peticiones, concurrencia, segundos, peticiones / segundos);
+        System.out.printf("Latencia p50: %.2f ms | p95: %.2f ms | p99: %.2f ms%n",
+                percentil(validas, 50), percentil(validas, 95), percentil(validas, 99));
+        System.out.println("Respuestas 304: " + noModificadas.get() + " | Fallidas: " + fallidas.get());
+    }
+
+    /**
+     * Devuelve el percentil indicado en milisegundos de un array de latencias ordenado (en nanosegundos).
+     */
+    private static double percentil(long[] ordenadas, int percentil) {
+        if (ordenadas.length == 0) return 0;
+        int indice = (int) Math.ceil(percentil / 100.0 * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, indice)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,412 @@
+// Archivo: RankingPaises.java
+package Actividad;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Clasificaciones de países (los K primeros o los K últimos) por cualquier dato numérico de ModeloPais,
+ * en total o dentro de cada continente o región. Las usan la ventana de clasificación del Controlador
+ * y la ruta /api/ranking de ServidorAPI.
+ *
+ * Las cifras de todos los países se leen una vez en segundo plano y se guardan en memoria. Cada
+ * clasificación se calcula con un montículo acotado a K elementos por grupo (O(n log K), sin ordenar
+ * todos los países) y se guarda hasta que cambian los datos. Cuando CachePaises avisa de que cambió un
+ * país, sólo se releen las cifras de ese país y sólo se recalculan los grupos en los que estaba o en los
+ * que ahora entraría; el resto de las clasificaciones guardadas sigue valiendo.
+ */
+public class RankingPaises {
+
+    /**
+     * Datos numéricos por los que se puede clasificar.
+     */
+    public enum Medida {
+        POBLACION("Población", ModeloPais::getPoblacion, true),
+        SUPERFICIE("Superficie", ModeloPais::getSuperficie, false),
+        ESPERANZA_VIDA("Esperanza de vida", ModeloPais::getExpectativaVida, false),
+        PNB("PNB", ModeloPais::getPnb, false),
+        ANIO_INDEPENDENCIA("Año de independencia", ModeloPais::getAnioIndependencia, true);
+
+        private final String etiqueta;
+        private final Function<ModeloPais, ? extends Number> valor;
+        private final boolean entera;
+
+        Medida(String etiqueta, Function<ModeloPais, ? extends Number> valor, boolean entera) {
+            this.etiqueta = etiqueta;
+            this.valor = valor;
+            this.entera = entera;
+        }
+
+        /**
+         * @return El valor del país, o null si no lo tiene (no entra en la clasificación).
+         */
+        public Double valor(ModeloPais pais) {
+            Number numero = valor.apply(pais);
+            return numero == null ? null : numero.doubleValue();
+        }
+
+        /**
+         * @return El valor como se muestra (sin decimales si la columna es entera).
+         */
+        public String formatear(double valor) {
+            return entera ? String.valueOf((long) valor) : String.valueOf(valor);
+        }
+
+        @Override
+        public String toString() {
+            return etiqueta;
+        }
+    }
+
+    /**
+     * Cómo se agrupan los países: cada grupo tiene su propia clasificación.
+     */
+    public enum Agrupacion {
+        NINGUNA("Sin agrupar"),
+        CONTINENTE("Por continente"),
+        REGION("Por región");
+
+        private final String etiqueta;
+
+        Agrupacion(String etiqueta) {
+            this.etiqueta = etiqueta;
+        }
+
+        /**
+         * @return El grupo del país ("" si no se agrupa o el país no tiene el dato).
+         */
+        public String grupo(ModeloPais pais) {
+            String grupo = this == CONTINENTE ? pais.getContinente() : this == REGION ? pais.getRegion() : null;
+            return grupo == null ? "" : grupo;
+        }
+
+        @Override
+        public String toString() {
+            return etiqueta;
+        }
+    }
+
+    /**
+     * Un país en una clasificación.
+     */
+    public static class Posicion {
+        private final int puesto;
+        private final String codigo;
+        private final String nombre;
+        private final double valor;
+
+        Posicion(int puesto, String codigo, String nombre, double valor) {
+            this.puesto = puesto;
+            this.codigo = codigo;
+            this.nombre = nombre;
+            this.valor = valor;
+        }
+
+        public int getPuesto() { return puesto; }
+        public String getCodigo() { return codigo; }
+        public String getNombre() { return nombre; }
+        public double getValor() { return valor; }
+    }
+
+    /**
+     * Una clasificación ya calculada, por grupo. Se modifica con el cerrojo de la clase.
+     */
+    private static final class Clasificacion {
+        final Medida medida;
+        final int k;
+        final boolean mayores;
+        final Agrupacion agrupacion;
+        final Comparator<Posicion> orden; // El mejor primero; a igual valor, por código
+        final Map<String, List<Posicion>> grupos = new TreeMap<>();
+
+        Clasificacion(Medida medida, int k, boolean mayores, Agrupacion agrupacion) {
+            this.medida = medida;
+            this.k = k;
+            this.mayores = mayores;
+            this.agrupacion = agrupacion;
+            Comparator<Posicion> porValor = Comparator.comparingDouble(Posicion::getValor);
+            this.orden = (mayores ? porValor.reversed() : porValor).thenComparing(Posicion::getCodigo);
+        }
+
+        /**
+         * Calcula todos los grupos en una pasada, con un montículo de K elementos por grupo.
+         */
+        void calcular(Collection<ModeloPais> paises) {
+            Map<String, PriorityQueue<Posicion>> monticulos = new HashMap<>();
+            for (ModeloPais pais : paises) {
+                Double valor = medida.valor(pais);
+                if (valor == null) continue;
+                PriorityQueue<Posicion> monticulo = monticulos.computeIfAbsent(agrupacion.grupo(pais),
+                        g -> new PriorityQueue<>(k + 1, orden.reversed())); // El peor, en la cabeza
+                ofrecer(monticulo, new Posicion(0, pais.getCodigo(), pais.getNombre(), valor));
+            }
+            grupos.clear();
+            monticulos.forEach((grupo, monticulo) -> grupos.put(grupo, ordenar(monticulo)));
+        }
+
+        /**
+         * Recalcula sólo un grupo.
+         */
+        void calcular(String grupo, Collection<ModeloPais> paises) {
+            PriorityQueue<Posicion> monticulo = new PriorityQueue<>(k + 1, orden.reversed());
+            for (ModeloPais pais : paises) {
+                Double valor = medida.valor(pais);
+                if (valor != null && agrupacion.grupo(pais).equals(grupo)) {
+                    ofrecer(monticulo, new Posicion(0, pais.getCodigo(), pais.getNombre(), valor));
+                }
+            }
+            if (monticulo.isEmpty()) grupos.remove(grupo);
+            else grupos.put(grupo, ordenar(monticulo));
+        }
+
+        /**
+         * Actualiza la clasificación tras cambiar un país: sólo se recalculan el grupo en el que
+         * estaba (si figuraba en él) y el grupo en el que entraría con su valor nuevo.
+         * @param anterior Las cifras anteriores (null si es nuevo).
+         * @param nuevo Las cifras actuales (null si se eliminó).
+         */
+        void actualizar(ModeloPais anterior, ModeloPais nuevo, Collection<ModeloPais> paises) {
+            Set<String> afectados = new HashSet<>();
+            if (anterior != null) {
+                String grupo = agrupacion.grupo(anterior);
+                List<Posicion> lista = grupos.get(grupo);
+                if (lista != null && lista.stream().anyMatch(p -> p.getCodigo().equals(anterior.getCodigo()))) afectados.add(grupo);
+            }
+            Double valor = nuevo == null ? null : medida.valor(nuevo);
+            if (valor != null) {
+                String grupo = agrupacion.grupo(nuevo);
+                List<Posicion> lista = grupos.get(grupo);
+                if (lista == null || lista.size() < k
+                        || orden.compare(new Posicion(0, nuevo.getCodigo(), nuevo.getNombre(), valor), lista.get(lista.size() - 1)) < 0) {
+                    afectados.add(grupo);
+                }
+            }
+            for (String grupo : afectados) calcular(grupo, paises);
+        }
+
+        private void ofrecer(PriorityQueue<Posicion> monticulo, Posicion candidato) {
+            if (monticulo.size() < k) {
+                monticulo.add(candidato);
+            } else if (orden.compare(candidato, monticulo.peek()) < 0) {
+                monticulo.poll(); // Sale el peor de los K
+                monticulo.add(candidato);
+            }
+        }
+
+        private List<Posicion> ordenar(PriorityQueue<Posicion> monticulo) {
+            List<Posicion> lista = new ArrayList<>(monticulo);
+            lista.sort(orden);
+            List<Posicion> resultado = new ArrayList<>(lista.size());
+            for (int i = 0; i < lista.size(); i++) {
+                Posicion p = lista.get(i);
+                resultado.add(new Posicion(i + 1, p.getCodigo(), p.getNombre(), p.getValor()));
+            }
+            return Collections.unmodifiableList(resultado);
+        }
+    }
+
+    // Clasificaciones guardadas como máximo; si se piden más, se descartan las más antiguas
+    private static final int MAX_CLASIFICACIONES = 32;
+    // K máximo que se admite
+    public static final int K_MAXIMO = 250;
+
+    // Cifras de cada país, por código (en mayúsculas)
+    private static final Map<String, ModeloPais> paises = new ConcurrentHashMap<>();
+    // Clasificaciones calculadas, de la más antigua a la más reciente en uso (con el cerrojo de la clase)
+    private static final Map<String, Clasificacion> clasificaciones = new LinkedHashMap<>(16, 0.75f, true);
+    private static volatile boolean cargado = false;
+    // Cambia con cada carga o actualización (la usa ServidorAPI para sus ETag)
+    private static final AtomicLong version = new AtomicLong(1);
+
+    private static final ExecutorService cargador = Executors.newSingleThreadExecutor(r -> {
+        Thread hilo = new Thread(r, "ranking-paises");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    private static final AtomicBoolean cargando = new AtomicBoolean(false);
+    private static final AtomicBoolean suscrito = new AtomicBoolean(false);
+    // Países avisados por CachePaises pendientes de releer
+    private static final Set<String> pendientes = ConcurrentHashMap.newKeySet();
+    private static final AtomicBoolean releyendo = new AtomicBoolean(false);
+    // Vistas que muestran clasificaciones: se avisan (en el hilo del cargador) cuando cambian
+    private static final List<Runnable> oyentes = new CopyOnWriteArrayList<>();
+
+    /**
+     * Empieza a cargar las cifras de los países en segundo plano si aún no están.
+     */
+    public static void precargar() {
+        suscribirCambios();
+        if (cargado || !cargando.compareAndSet(false, true)) return;
+        cargador.execute(() -> {
+            try {
+                cargar();
+            } finally {
+                cargando.set(false);
+            }
+        });
+    }
+
+    /**
+     * @return true si las cifras están cargadas (si no, las consultas devuelven clasificaciones vacías).
+     */
+    public static boolean isCargado() {
+        return cargado;
+    }
+
+    /**
+     * @return La versión de los datos: cambia cada vez que puede cambiar alguna clasificación.
+     */
+    public static long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Registra una vista que debe refrescarse cuando cambien las cifras (se avisa fuera del hilo de Swing).
+     */
+    public static void suscribir(Runnable oyente) {
+        oyentes.add(oyente);
+    }
+
+    /**
+     * Deja de avisar a una vista (al cerrarla).
+     */
+    public static void desuscribir(Runnable oyente) {
+        oyentes.remove(oyente);
+    }
+
+    /**
+     * Los K países con el valor más alto (o más bajo) de la medida, por grupo.
+     * @param medida El dato por el que se clasifica. Los países sin ese dato no entran.
+     * @param k Países por grupo (entre 1 y K_MAXIMO).
+     * @param mayores true para los valores más altos, false para los más bajos.
+     * @param agrupacion Cómo se agrupan los países (con NINGUNA hay un solo grupo, "").
+     * @return Grupo -> posiciones, en orden alfabético de grupo (vacío si aún no se han cargado las cifras).
+     */
+    public static Map<String, List<Posicion>> top(Medida medida, int k, boolean mayores, Agrupacion agrupacion) {
+        if (k < 1 || k > K_MAXIMO) throw new IllegalArgumentException("K debe estar entre 1 y " + K_MAXIMO + ": " + k);
+        if (!cargado) {
+            precargar();
+            return Collections.emptyMap();
+        }
+        synchronized (RankingPaises.class) {
+            String clave = medida + "/" + k + "/" + mayores + "/" + agrupacion;
+            Clasificacion clasificacion = clasificaciones.get(clave);
+            if (clasificacion == null) {
+                long inicio = System.nanoTime();
+                clasificacion = new Clasificacion(medida, k, mayores, agrupacion);
+                clasificacion.calcular(paises.values());
+                clasificaciones.put(clave, clasificacion);
+                if (clasificaciones.size() > MAX_CLASIFICACIONES) {
+                    clasificaciones.remove(clasificaciones.keySet().iterator().next()); // La usada hace más tiempo
+                }
+                Registro.depuracion("ranking.calcular", null, clave, System.nanoTime() - inicio, paises.size());
+            }
+            return Collections.unmodifiableMap(new TreeMap<>(clasificacion.grupos));
+        }
+    }
+
+    /**
+     * Los K países con el valor más alto (o más bajo) de la medida dentro de un grupo.
+     * @param grupo El continente o la región (ignorado con NINGUNA).
+     * @return Las posiciones del grupo (vacía si no existe o si aún no se han cargado las cifras).
+     */
+    public static List<Posicion> top(Medida medida, int k, boolean mayores, Agrupacion agrupacion, String grupo) {
+        List<Posicion> lista = top(medida, k, mayores, agrupacion).get(agrupacion == Agrupacion.NINGUNA ? "" : grupo);
+        return lista == null ? Collections.emptyList() : lista;
+    }
+
+    private static synchronized void cargar() {
+        long inicio = System.nanoTime();
+        Map<String, ModeloPais> leidos;
+        try {
+            leidos = GestorPaises.cargarCifrasPaises(null);
+        } catch (SQLException e) {
+            Registro.aviso("ranking.cargar", null, "sin clasificaciones", e.getMessage());
+            return;
+        }
+        paises.clear();
+        leidos.forEach((codigo, pais) -> paises.put(IndiceClaves.clavePais(codigo), pais));
+        clasificaciones.clear();
+        cargado = true;
+        version.incrementAndGet();
+        Registro.info("ranking.cargar", null, null, System.nanoTime() - inicio, paises.size());
+        avisar();
+    }
+
+    /**
+     * Se suscribe una vez a las invalidaciones de CachePaises (propias y de otros clientes).
+     */
+    private static void suscribirCambios() {
+        if (!suscrito.compareAndSet(false, true)) return;
+        CachePaises.suscribir(codigos -> {
+            if (codigos == null) {
+                // Se invalidó todo (otro perfil, proceso por lotes...): se recarga entero
+                cargado = false;
+                cargador.execute(RankingPaises::cargar);
+                return;
+            }
+            for (String codigo : codigos) pendientes.add(IndiceClaves.clavePais(codigo));
+            if (releyendo.compareAndSet(false, true)) cargador.execute(RankingPaises::releerPendientes);
+        });
+    }
+
+    /**
+     * Relee las cifras de los países avisados (los que ya no existen se quitan) y actualiza las
+     * clasificaciones guardadas. Los avisos que llegan mientras tanto se agrupan en la siguiente lectura.
+     */
+    private static void releerPendientes() {
+        releyendo.set(false);
+        List<String> codigos = new ArrayList<>(pendientes);
+        pendientes.removeAll(codigos);
+        if (codigos.isEmpty() || !cargado) return; // Sin cargar no hay nada que actualizar
+        long inicio = System.nanoTime();
+        Map<String, ModeloPais> leidos = new HashMap<>();
+        try {
+            GestorPaises.cargarCifrasPaises(codigos).forEach((codigo, pais) -> leidos.put(IndiceClaves.clavePais(codigo), pais));
+        } catch (SQLException e) {
+            // No se sabe cómo quedaron esos países: se recargará todo en la próxima consulta
+            if (Registro.activo(Registro.Nivel.AVISO)) Registro.aviso("ranking.actualizar", null, codigos.size() + " países", e.getMessage());
+            cargado = false;
+            return;
+        }
+        synchronized (RankingPaises.class) {
+            for (String codigo : codigos) {
+                ModeloPais nuevo = leidos.get(codigo);
+                ModeloPais anterior = nuevo == null ? paises.remove(codigo) : paises.put(codigo, nuevo);
+                if (anterior == null && nuevo == null) continue;
+                for (Clasificacion clasificacion : clasificaciones.values()) clasificacion.actualizar(anterior, nuevo, paises.values());
+            }
+        }
+        version.incrementAndGet();
+        if (Registro.activo(Registro.Nivel.DEPURACION)) Registro.depuracion("ranking.actualizar", null, codigos.size() + " países", System.nanoTime() - inicio, leidos.size());
+        avisar();
+    }
+
+    private static void avisar() {
+        for (Runnable oyente : oyentes) {
+            try {
+                oyente.run();
+            } catch (RuntimeException e) {
+                Registro.error("ranking.oyente", null, null, String.valueOf(e));
+            }
+        }
+    }
+}
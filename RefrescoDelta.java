@@ -0,0 +1,239 @@
+// Archivo: RefrescoDelta.java
+package Actividad;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Refresco periódico en segundo plano de la lista resumida de países por sumas de control.
+ * En lugar de repetir la consulta completa de la lista, pide a la base de datos una suma por tramo
+ * de códigos (la primera letra): el número de países y el XOR de los CRC32 de sus filas.
+ * Sólo se vuelven a leer los tramos cuya suma no coincide con la de la lista conocida, y a los
+ * suscriptores se les pasan únicamente los países que cambiaron. Si no ha cambiado nada, cada
+ * vuelta es una consulta de unas 25 filas de dos números.
+ *
+ * Complementa a ConsumidorCambios: éste sólo ve los cambios anotados por la aplicación; el
+ * refresco detecta también los hechos fuera de ella (otra herramienta, un script SQL).
+ *
+ * Configuración: -Drefresco.intervaloMs (30000 por defecto; 0 lo desactiva).
+ */
+public class RefrescoDelta {
+
+    private static final long INTERVALO_MS = Long.getLong("refresco.intervaloMs", 30000);
+
+    // La fila se convierte a utf8mb4 para que el CRC32 de MySQL se calcule sobre los mismos bytes que el de Java
+    private static final String EXPRESION_FILA = "CONVERT(CONCAT_WS('|', Code, Name, Continent, Region) USING utf8mb4)";
+    private static final String SQL_SUMAS = "SELECT LEFT(Code, 1) AS Tramo, COUNT(*) AS Filas, BIT_XOR(CRC32(" + EXPRESION_FILA + ")) AS Suma "
+            + "FROM country GROUP BY LEFT(Code, 1)";
+    private static final String SQL_TRAMO = "SELECT Code, Name, Continent, Region FROM country WHERE Code LIKE ?";
+
+    /**
+     * Suma de control de un tramo de códigos.
+     */
+    private static final class Suma {
+        int filas;
+        long xor;
+
+        void anadir(long crc) {
+            filas++;
+            xor ^= crc;
+        }
+
+        boolean coincide(int otrasFilas, long otroXor) {
+            return filas == otrasFilas && xor == otroXor;
+        }
+    }
+
+    private static final List<Consumer<Map<String, ModeloPais>>> suscriptores = new CopyOnWriteArrayList<>();
+    private static ScheduledExecutorService planificador;
+
+    // Lista conocida, por código (sólo la toca el hilo del refresco)
+    private static Map<String, ModeloPais> conocidos;
+    private static Map<String, Suma> sumasConocidas;
+
+    /**
+     * Arranca el refresco periódico. Llamarlo más de una vez no hace nada.
+     * @return true si el refresco está en marcha.
+     */
+    public static synchronized boolean iniciar() {
+        if (planificador != null) return true;
+        if (INTERVALO_MS <= 0) return false;
+        planificador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "refresco-delta");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        planificador.scheduleWithFixedDelay(RefrescoDelta::refrescar, INTERVALO_MS, INTERVALO_MS, TimeUnit.MILLISECONDS);
+        return true;
+    }
+
+    /**
+     * Detiene el refresco periódico.
+     */
+    public static synchronized void detener() {
+        if (planificador != null) {
+            planificador.shutdownNow();
+            planificador = null;
+        }
+    }
+
+    /**
+     * Registra un receptor de los países que cambiaron: código -> datos resumidos nuevos,
+     * o null si el país ya no existe. Se llama en el hilo del refresco; si toca Swing debe pasar al EDT.
+     */
+    public static void suscribir(Consumer<Map<String, ModeloPais>> suscriptor) {
+        suscriptores.add(suscriptor);
+    }
+
+    public static void cancelarSuscripcion(Consumer<Map<String, ModeloPais>> suscriptor) {
+        suscriptores.remove(suscriptor);
+    }
+
+    /**
+     * Una vuelta del refresco: compara las sumas por tramo y relee sólo los tramos distintos.
+     */
+    private static void refrescar() {
+        long inicio = System.nanoTime();
+        if (conocidos == null && !cargarConocidos()) return;
+        long versionLeida = CachePaises.getVersion();
+        Map<String, ModeloPais> cambiados = new LinkedHashMap<>();
+        int tramosLeidos = 0;
+        try (Connection conn = ConexionBD.conectarLectura()) {
+            if (conn == null) return; // ConexionBD ya registra el motivo
+            List<String> distintos = new ArrayList<>();
+            Map<String, Suma> pendientes = new HashMap<>(sumasConocidas);
+            try (PreparedStatement ps = conn.prepareStatement(SQL_SUMAS);
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String tramo = rs.getString("Tramo");
+                    Suma suma = pendientes.remove(tramo);
+                    if (suma == null || !suma.coincide(rs.getInt("Filas"), rs.getLong("Suma"))) distintos.add(tramo);
+                }
+            }
+            distintos.addAll(pendientes.keySet()); // Tramos que ya no tienen ningún país
+            for (String tramo : distintos) {
+                releerTramo(conn, tramo, cambiados);
+                tramosLeidos++;
+            }
+        } catch (SQLException e) {
+            Registro.aviso("refresco.delta", null, null, e.getMessage());
+            return;
+        }
+        if (cambiados.isEmpty()) {
+            if (Registro.activo(Registro.Nivel.DEPURACION)) Registro.depuracion("refresco.delta", null, tramosLeidos + " tramo(s)", System.nanoTime() - inicio, 0);
+            return;
+        }
+
+        CachePaises.actualizarLista(listaOrdenada(), cambiados.keySet(), versionLeida);
+        if (Registro.activo(Registro.Nivel.INFO)) {
+            Registro.info("refresco.delta", cambiados.size() == 1 ? cambiados.keySet().iterator().next() : null,
+                    tramosLeidos + " tramo(s)", System.nanoTime() - inicio, cambiados.size());
+        }
+        Map<String, ModeloPais> aviso = Collections.unmodifiableMap(cambiados);
+        for (Consumer<Map<String, ModeloPais>> suscriptor : suscriptores) {
+            try {
+                suscriptor.accept(aviso);
+            } catch (RuntimeException e) {
+                Registro.error("refresco.suscriptor", null, null, String.valueOf(e));
+            }
+        }
+    }
+
+    /**
+     * Toma como punto de partida la lista de la caché (la misma que muestra la interfaz).
+     * @return false si no se pudo cargar.
+     */
+    private static boolean cargarConocidos() {
+        List<ModeloPais> lista = CachePaises.obtenerListaPaises();
+        if (lista.isEmpty()) return false; // Error de conexión: se reintenta en la vuelta siguiente
+        conocidos = new LinkedHashMap<>();
+        sumasConocidas = new HashMap<>();
+        for (ModeloPais pais : lista) {
+            conocidos.put(pais.getCodigo(), pais);
+            sumarFila(pais);
+        }
+        return true;
+    }
+
+    /**
+     * Relee los países de un tramo y anota en 'cambiados' los que no coinciden con los conocidos.
+     */
+    private static void releerTramo(Connection conn, String tramo, Map<String, ModeloPais> cambiados) throws SQLException {
+        Map<String, ModeloPais> leidos = new LinkedHashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(SQL_TRAMO)) {
+            ps.setString(1, tramo + "%");
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ModeloPais pais = new ModeloPais();
+                    pais.setCodigo(rs.getString("Code"));
+                    pais.setNombre(rs.getString("Name"));
+                    pais.setContinente(DiccionarioValores.CONTINENTES.compartir(rs.getString("Continent")));
+                    pais.setRegion(DiccionarioValores.REGIONES.compartir(rs.getString("Region")));
+                    leidos.put(pais.getCodigo(), pais);
+                }
+            }
+        }
+        // Países del tramo que desaparecieron
+        for (String codigo : new ArrayList<>(conocidos.keySet())) {
+            if (codigo.startsWith(tramo) && !leidos.containsKey(codigo)) {
+                conocidos.remove(codigo);
+                cambiados.put(codigo, null);
+            }
+        }
+        // Países nuevos o con algún dato distinto
+        for (ModeloPais pais : leidos.values()) {
+            if (!mismaFila(conocidos.get(pais.getCodigo()), pais)) {
+                conocidos.put(pais.getCodigo(), pais);
+                cambiados.put(pais.getCodigo(), pais);
+            }
+        }
+        // La suma del tramo se recalcula con lo leído
+        sumasConocidas.remove(tramo);
+        for (ModeloPais pais : leidos.values()) sumarFila(pais);
+    }
+
+    /**
+     * Añade la fila del país a la suma de su tramo.
+     */
+    private static void sumarFila(ModeloPais pais) {
+        String fila = pais.getCodigo() + "|" + pais.getNombre() + "|" + pais.getContinente() + "|" + pais.getRegion();
+        CRC32 crc = new CRC32();
+        crc.update(fila.getBytes(StandardCharsets.UTF_8));
+        sumasConocidas.computeIfAbsent(pais.getCodigo().substring(0, 1), t -> new Suma()).anadir(crc.getValue());
+    }
+
+    private static boolean mismaFila(ModeloPais a, ModeloPais b) {
+        return a != null && Objects.equals(a.getNombre(), b.getNombre())
+                && Objects.equals(a.getContinente(), b.getContinente())
+                && Objects.equals(a.getRegion(), b.getRegion());
+    }
+
+    /**
+     * @return La lista conocida ordenada por nombre, como la consulta completa (ORDER BY Name).
+     *         El Collator se aproxima a la intercalación de MySQL sin distinguir mayúsculas ni acentos.
+     */
+    private static List<ModeloPais> listaOrdenada() {
+        Collator collator = Collator.getInstance();
+        collator.setStrength(Collator.PRIMARY);
+        List<ModeloPais> lista = new ArrayList<>(conocidos.values());
+        lista.sort((a, b) -> collator.compare(a.getNombre(), b.getNombre()));
+        return lista;
+    }
+}
@@ -0,0 +1,337 @@
+// Archivo: Registro.java
+package Actividad;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Registro (log) asíncrono y estructurado de la capa de datos.
+ * Sustituye a los System.out/System.err de los Gestores y de ConexionBD, que en operaciones
+ * masivas hacían esperar a cada hilo por la consola.
+ *
+ * Los hilos que registran sólo copian los campos del evento (operación, código de país, detalle,
+ * duración, filas, error) en una casilla de un buffer circular preasignado; un hilo demonio los
+ * formatea y los escribe en un fichero que rota por tamaño. Los avisos y errores se muestran
+ * también por System.err. Si el buffer está lleno el evento se descarta (nunca se bloquea al
+ * llamante) y se cuenta en getDescartados().
+ *
+ * Los métodos tienen aridad fija y campos primitivos: si el nivel está desactivado no se crea
+ * ningún objeto. Por eso los llamantes deben pasar los campos por separado, sin concatenar texto
+ * (si el detalle tiene que componerse, sólo dentro de un if (Registro.activo(nivel))).
+ *
+ * Si el fichero no se puede abrir o escribir, se sigue por consola y se vuelve a intentar abrirlo
+ * pasados unos segundos.
+ *
+ * Configuración: -Dlog.nivel=DEPURACION|INFO|AVISO|ERROR (INFO por defecto),
+ * -Dlog.fichero=ruta (registro/world.log), -Dlog.tamanioMaxKB (5120) y -Dlog.ficheros (5).
+ */
+public class Registro {
+
+    /**
+     * Niveles del registro, de menor a mayor gravedad.
+     */
+    public enum Nivel { DEPURACION, INFO, AVISO, ERROR }
+
+    // Valores que indican que un campo numérico no aplica al evento
+    public static final long SIN_DURACION = -1;
+    public static final int SIN_FILAS = -1;
+
+    // Casillas del buffer circular (potencia de 2 para calcular la posición con una máscara)
+    private static final int CAPACIDAD = 8192;
+    private static final int MASCARA = CAPACIDAD - 1;
+    private static final DateTimeFormatter FORMATO_FECHA =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    /**
+     * Una casilla del buffer. 'secuencia' indica quién puede usarla: si vale la posición del productor
+     * está libre; si vale posición + 1 está publicada y la puede leer el escritor.
+     */
+    private static final class Evento {
+        volatile long secuencia;
+        long instanteMs;
+        Nivel nivel;
+        String operacion;
+        String codigoPais;
+        String detalle;
+        long nanos;
+        int filas;
+        String error;
+    }
+
+    private static final Evento[] eventos = new Evento[CAPACIDAD];
+    private static final AtomicLong posicionEscritura = new AtomicLong(); // Siguiente casilla que reservará un productor
+    private static long posicionLectura = 0;                               // Siguiente casilla que leerá el hilo escritor
+    private static final LongAdder descartados = new LongAdder();
+
+    private static volatile Nivel nivelMinimo = nivelConfigurado();
+    private static final Path fichero = Paths.get(System.getProperty("log.fichero", "registro/world.log"));
+    private static final long TAMANIO_MAXIMO = Long.getLong("log.tamanioMaxKB", 5120) * 1024;
+    private static final int FICHEROS_ROTADOS = Integer.getInteger("log.ficheros", 5);
+    private static final long ESPERA_REINTENTO_NANOS = TimeUnit.SECONDS.toNanos(5); // Entre intentos de reabrir el fichero
+
+    private static OutputStream salida;   // Fichero actual (null si no se pudo abrir)
+    private static long bytesEscritos;    // Tamaño del fichero actual
+    private static long proximoReintento = System.nanoTime(); // Cuándo se puede volver a abrir el fichero si salida es null
+    private static boolean falloAvisado;  // Ya se avisó por consola del fallo actual del fichero
+    private static final Thread escritor;
+
+    static {
+        for (int i = 0; i < CAPACIDAD; i++) {
+            eventos[i] = new Evento();
+            eventos[i].secuencia = i;
+        }
+        abrirFichero();
+        escritor = new Thread(Registro::bucleEscritor, "registro-asincrono");
+        escritor.setDaemon(true);
+        escritor.start();
+        // Al terminar la aplicación (también con System.exit) se escribe lo que quede en el buffer
+        try {
+            Runtime.getRuntime().addShutdownHook(new Thread(Registro::vaciar, "registro-cierre"));
+        } catch (IllegalStateException e) {
+            // Primer uso durante el cierre (desde otro gancho de cierre): ese gancho debe llamar a vaciar()
+        }
+    }
+
+    /**
+     * @param nivel El nivel a consultar.
+     * @return true si los eventos de ese nivel se registran.
+     */
+    public static boolean activo(Nivel nivel) {
+        return nivel.compareTo(nivelMinimo) >= 0;
+    }
+
+    /**
+     * Cambia el nivel mínimo registrado.
+     * @param nivel El nuevo nivel mínimo.
+     */
+    public static void setNivel(Nivel nivel) {
+        nivelMinimo = nivel;
+    }
+
+    /**
+     * Registra un evento de depuración (por ejemplo, cada conexión entregada).
+     * @param operacion Nombre de la operación (ej. "bd.conectar").
+     * @param codigoPais Código del país afectado, o null.
+     * @param detalle Dato adicional (nombre del idioma, URL...), o null.
+     * @param nanos Duración en nanosegundos, o SIN_DURACION.
+     * @param filas Filas afectadas, o SIN_FILAS.
+     */
+    public static void depuracion(String operacion, String codigoPais, String detalle, long nanos, int filas) {
+        if (activo(Nivel.DEPURACION)) publicar(Nivel.DEPURACION, operacion, codigoPais, detalle, nanos, filas, null);
+    }
+
+    /**
+     * Registra una operación completada (por ejemplo, la inserción de un idioma).
+     * Los parámetros son los de depuracion().
+     */
+    public static void info(String operacion, String codigoPais, String detalle, long nanos, int filas) {
+        if (activo(Nivel.INFO)) publicar(Nivel.INFO, operacion, codigoPais, detalle, nanos, filas, null);
+    }
+
+    /**
+     * Registra una situación anómala de la que la aplicación se recupera (ej. una réplica caída).
+     * @param operacion Nombre de la operación.
+     * @param codigoPais Código del país afectado, o null.
+     * @param detalle Dato adicional, o null.
+     * @param error Mensaje de la excepción, o null.
+     */
+    public static void aviso(String operacion, String codigoPais, String detalle, String error) {
+        if (activo(Nivel.AVISO)) publicar(Nivel.AVISO, operacion, codigoPais, detalle, SIN_DURACION, SIN_FILAS, error);
+    }
+
+    /**
+     * Registra una operación fallida. Los parámetros son los de aviso().
+     */
+    public static void error(String operacion, String codigoPais, String detalle, String error) {
+        if (activo(Nivel.ERROR)) publicar(Nivel.ERROR, operacion, codigoPais, detalle, SIN_DURACION, SIN_FILAS, error);
+    }
+
+    /**
+     * @return Número de eventos descartados porque el buffer estaba lleno.
+     */
+    public static long getDescartados() {
+        return descartados.sum();
+    }
+
+    /**
+     * Copia el evento en una casilla libre del buffer. Varios hilos pueden publicar a la vez:
+     * cada uno reserva su casilla con un compareAndSet sobre la posición de escritura.
+     */
+    private static void publicar(Nivel nivel, String operacion, String codigoPais, String detalle, long nanos, int filas, String error) {
+        Evento evento;
+        long posicion;
+        while (true) {
+            posicion = posicionEscritura.get();
+            evento = eventos[(int) (posicion & MASCARA)];
+            long diferencia = evento.secuencia - posicion;
+            if (diferencia == 0) {
+                if (posicionEscritura.compareAndSet(posicion, posicion + 1)) break;
+            } else if (diferencia < 0) {
+                descartados.increment(); // Buffer lleno: el escritor no da abasto
+                return;
+            }
+            // diferencia > 0: otro hilo reservó esta casilla; se reintenta con la posición nueva
+        }
+        evento.instanteMs = System.currentTimeMillis();
+        evento.nivel = nivel;
+        evento.operacion = operacion;
+        evento.codigoPais = codigoPais;
+        evento.detalle = detalle;
+        evento.nanos = nanos;
+        evento.filas = filas;
+        evento.error = error;
+        evento.secuencia = posicion + 1; // Publica la casilla para el escritor
+    }
+
+    /**
+     * Bucle del hilo escritor: vacía el buffer y espera un poco cuando no hay eventos.
+     */
+    private static void bucleEscritor() {
+        while (true) {
+            if (!escribirPendientes()) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(2));
+            }
+        }
+    }
+
+    /**
+     * Escribe todos los eventos publicados hasta ahora.
+     * Lo usa el hilo escritor y, al cerrar la aplicación, el hilo de cierre.
+     */
+    public static synchronized void vaciar() {
+        escribirPendientes();
+    }
+
+    /**
+     * @return true si se escribió algún evento.
+     */
+    private static synchronized boolean escribirPendientes() {
+        boolean escrito = false;
+        StringBuilder linea = new StringBuilder(160);
+        while (true) {
+            Evento evento = eventos[(int) (posicionLectura & MASCARA)];
+            if (evento.secuencia != posicionLectura + 1) break; // No hay más eventos publicados
+            linea.setLength(0);
+            formatear(evento, linea);
+            Nivel nivel = evento.nivel;
+            // Libera las referencias y la casilla para una vuelta posterior del buffer
+            evento.operacion = evento.codigoPais = evento.detalle = evento.error = null;
+            evento.secuencia = posicionLectura + CAPACIDAD;
+            posicionLectura++;
+            escribirLinea(linea.toString(), nivel);
+            escrito = true;
+        }
+        if (escrito && salida != null) {
+            try {
+                salida.flush();
+            } catch (IOException e) {
+                cerrarFichero();
+            }
+        }
+        return escrito;
+    }
+
+    /**
+     * Formato clave=valor, una línea por evento, para poder filtrarlo con grep o procesarlo.
+     */
+    private static void formatear(Evento evento, StringBuilder linea) {
+        linea.append(FORMATO_FECHA.format(Instant.ofEpochMilli(evento.instanteMs)))
+             .append(' ').append(String.format("%-10s", evento.nivel))
+             .append(" op=").append(evento.operacion);
+        if (evento.codigoPais != null) linea.append(" pais=").append(evento.codigoPais);
+        if (evento.detalle != null) linea.append(" detalle=\"").append(evento.detalle.replace("\"", "\\\"")).append('"');
+        if (evento.nanos != SIN_DURACION) linea.append(String.format(" ms=%.3f", evento.nanos / 1e6));
+        if (evento.filas != SIN_FILAS) linea.append(" filas=").append(evento.filas);
+        if (evento.error != null) linea.append(" error=\"").append(evento.error.replace("\"", "\\\"")).append('"');
+    }
+
+    private static void escribirLinea(String linea, Nivel nivel) {
+        if (nivel.compareTo(Nivel.AVISO) >= 0) {
+            System.err.println((nivel == Nivel.ERROR ? "❌ " : "⚠️ ") + linea);
+        }
+        if (salida == null) {
+            if (System.nanoTime() - proximoReintento < 0) return;
+            abrirFichero();
+            if (salida == null) return;
+        }
+        byte[] bytes = (linea + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+        try {
+            if (bytesEscritos + bytes.length > TAMANIO_MAXIMO) rotar();
+            salida.write(bytes);
+            bytesEscritos += bytes.length;
+        } catch (IOException e) {
+            if (!falloAvisado) System.err.println("❌ Error al escribir el registro en " + fichero + ": " + e.getMessage());
+            falloAvisado = true;
+            cerrarFichero(); // Se vuelve a abrir pasada la espera
+        }
+    }
+
+    /**
+     * Rota los ficheros: world.log pasa a world.log.1, world.log.1 a world.log.2, etc.
+     */
+    private static void rotar() throws IOException {
+        cerrarFichero();
+        for (int i = FICHEROS_ROTADOS - 1; i >= 1; i--) {
+            Path origen = Paths.get(fichero + "." + i);
+            if (Files.exists(origen)) {
+                Files.move(origen, Paths.get(fichero + "." + (i + 1)), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (FICHEROS_ROTADOS > 0 && Files.exists(fichero)) {
+            Files.move(fichero, Paths.get(fichero + ".1"), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.deleteIfExists(fichero);
+        }
+        abrirFichero();
+    }
+
+    private static void abrirFichero() {
+        try {
+            if (fichero.getParent() != null) Files.createDirectories(fichero.getParent());
+            bytesEscritos = Files.exists(fichero) ? Files.size(fichero) : 0;
+            salida = new BufferedOutputStream(Files.newOutputStream(fichero,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND), 64 * 1024);
+            falloAvisado = false;
+        } catch (IOException e) {
+            salida = null; // Se sigue registrando por consola los avisos y errores
+            proximoReintento = System.nanoTime() + ESPERA_REINTENTO_NANOS;
+            if (!falloAvisado) System.err.println("⚠️ No se puede abrir el fichero de registro " + fichero + ": " + e.getMessage());
+            falloAvisado = true;
+        }
+    }
+
+    private static void cerrarFichero() {
+        proximoReintento = System.nanoTime() + ESPERA_REINTENTO_NANOS;
+        if (salida == null) return;
+        try {
+            salida.close();
+        } catch (IOException e) {
+            // El fichero ya no se puede usar; no hay nada más que hacer
+        }
+        salida = null;
+    }
+
+    private static Nivel nivelConfigurado() {
+        String valor = System.getProperty("log.nivel", "INFO").trim().toUpperCase();
+        try {
+            return Nivel.valueOf(valor);
+        } catch (IllegalArgumentException e) {
+            System.err.println("⚠️ Nivel de registro desconocido '" + valor + "', se usa INFO.");
+            return Nivel.INFO;
+        }
+    }
+}
@@ -0,0 +1,465 @@
+// Archivo: ServidorAPI.java
+package Actividad;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+/**
+ * Servidor HTTP opcional que expone en JSON, sólo lectura, los mismos datos que muestra la aplicación Swing.
+ * Usa el servidor embebido del JDK (com.sun.net.httpserver) y atiende cada petición en un hilo virtual.
+ * Todas las respuestas salen de CachePaises y llevan ETag, de forma que los clientes pueden
+ * hacer peticiones condicionales (If-None-Match) y recibir un 304 sin cuerpo si nada ha cambiado.
+ *
+ * Rutas:
+ *   GET /api/paises[?continente=X]   Lista resumida de países (opcionalmente filtrada por continente)
+ *   GET /api/paises/{código}         Detalles del país y de su capital
+ *   GET /api/paises/{código}/idiomas Idiomas del país
+ *   GET /api/continentes             Continentes distintos
+ *   GET /api/ranking?medida=X[&k=10][&orden=asc|desc][&agrupar=continente|region][&grupo=Y]
+ *                                    Los K países con más (o menos) de una medida (ver RankingPaises)
+ *   GET /api/metricas                Métricas de acceso a datos por perfil de conexión (texto)
+ *
+ * Se arranca desde Main con -Dapi.puerto=8080 o de forma independiente con
+ * java Actividad.ServidorAPI [puerto]. Para medir su rendimiento en local se puede usar PruebaCargaAPI.
+ */
+public class ServidorAPI {
+
+    // Puerto por defecto si no se indica otro
+    public static final int PUERTO_POR_DEFECTO = 8080;
+    // Respuestas guardadas como máximo: las claves salen de la URL, así que se descartan las usadas hace más tiempo
+    private static final int MAX_RESPUESTAS = 1024;
+
+    /**
+     * Respuesta ya serializada junto con la versión de la caché con la que se generó.
+     */
+    private static class RespuestaCacheada {
+        final long version;   // Versión de CachePaises al generar la respuesta
+        final byte[] cuerpo;  // JSON en UTF-8
+        final String etag;    // ETag calculada a partir del contenido
+
+        RespuestaCacheada(long version, byte[] cuerpo) {
+            this.version = version;
+            this.cuerpo = cuerpo;
+            CRC32 crc = new CRC32();
+            crc.update(cuerpo);
+            this.etag = "\"" + Long.toHexString(crc.getValue()) + "-" + cuerpo.length + "\"";
+        }
+    }
+
+    private final HttpServer servidor;
+    private final ExecutorService ejecutor;
+    // JSON ya generado por ruta, reutilizado mientras la caché no cambie de versión
+    // (accessOrder=true: de la menos a la más recientemente usada; se sincroniza sobre el propio mapa)
+    private final Map<String, RespuestaCacheada> respuestas = new LinkedHashMap<String, RespuestaCacheada>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, RespuestaCacheada> mayor) {
+            return size() > MAX_RESPUESTAS;
+        }
+    };
+
+    private ServidorAPI(int puerto) throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress(puerto), 0);
+        ejecutor = Executors.newVirtualThreadPerTaskExecutor(); // Un hilo virtual por petición
+        servidor.setExecutor(ejecutor);
+        servidor.createContext("/api/paises", this::atenderPaises);
+        servidor.createContext("/api/continentes", this::atenderContinentes);
+        servidor.createContext("/api/ranking", this::atenderRanking);
+        servidor.createContext("/api/metricas", ServidorAPI::atenderMetricas);
+    }
+
+    /**
+     * Crea y arranca el servidor.
+     * @param puerto El puerto TCP en el que escuchar.
+     * @return El servidor arrancado.
+     * @throws IOException si no se puede abrir el puerto.
+     */
+    public static ServidorAPI iniciar(int puerto) throws IOException {
+        ServidorAPI api = new ServidorAPI(puerto);
+        api.servidor.start();
+        ConsumidorCambios.iniciar(); // La caché sigue los cambios que hagan otros clientes
+        RefrescoDelta.iniciar();
+        if (Registro.activo(Registro.Nivel.INFO)) {
+            Registro.info("api.iniciar", null, "http://localhost:" + puerto + "/api/paises", Registro.SIN_DURACION, Registro.SIN_FILAS);
+        }
+        return api;
+    }
+
+    /**
+     * Detiene el servidor esperando como máximo un segundo a las peticiones en curso.
+     */
+    public void detener() {
+        servidor.stop(1);
+        ejecutor.shutdown();
+    }
+
+    /**
+     * Atiende /api/paises, /api/paises/{código} y /api/paises/{código}/idiomas.
+     */
+    private void atenderPaises(HttpExchange intercambio) throws IOException {
+        try (intercambio) {
+            if (!metodoPermitido(intercambio)) return;
+            String ruta = intercambio.getRequestURI().getPath();
+            if (ruta.length() > "/api/paises".length() && ruta.charAt("/api/paises".length()) != '/') {
+                enviarError(intercambio, 404, "Ruta no encontrada: " + ruta); // Por ejemplo /api/paisesX
+                return;
+            }
+            String resto = ruta.length() > "/api/paises".length() ? ruta.substring("/api/paises/".length()) : "";
+            if (resto.endsWith("/")) resto = resto.substring(0, resto.length() - 1);
+
+            if (resto.isEmpty()) {
+                String continente = parametro(intercambio.getRequestURI().getRawQuery(), "continente");
+                String clave = continente == null ? "paises" : "paises?continente=" + continente;
+                responder(intercambio, clave, () -> jsonListaPaises(continente));
+                return;
+            }
+            String[] partes = resto.split("/");
+            String codigo = partes[0].toUpperCase();
+            if (partes.length == 1) {
+                try (BusErrores.Recolector errores = BusErrores.recoger()) {
+                    if (CachePaises.obtenerDetalles(codigo) == null) {
+                        if (errores.hayErrores()) enviarError(intercambio, 503, errores.getErrores().get(0).getMensaje());
+                        else enviarError(intercambio, 404, "País no encontrado: " + codigo);
+                        return;
+                    }
+                }
+                responder(intercambio, "pais/" + codigo, () -> jsonDetallesPais(CachePaises.obtenerDetalles(codigo)));
+            } else if (partes.length == 2 && partes[1].equals("idiomas")) {
+                responder(intercambio, "idiomas/" + codigo, () -> jsonIdiomas(CachePaises.obtenerIdiomas(codigo)));
+            } else {
+                enviarError(intercambio, 404, "Ruta no encontrada: " + ruta);
+            }
+        } catch (RuntimeException e) {
+            Registro.error("api.peticion", null, intercambio.getRequestURI().getPath(), e.getMessage());
+        }
+    }
+
+    /**
+     * Atiende /api/continentes.
+     */
+    private void atenderContinentes(HttpExchange intercambio) throws IOException {
+        try (intercambio) {
+            if (!metodoPermitido(intercambio)) return;
+            responder(intercambio, "continentes", () -> {
+                StringBuilder json = new StringBuilder("[");
+                List<String> continentes = CachePaises.obtenerContinentes();
+                for (int i = 0; i < continentes.size(); i++) {
+                    if (i > 0) json.append(',');
+                    cadena(json, continentes.get(i));
+                }
+                return json.append(']').toString();
+            });
+        } catch (RuntimeException e) {
+            Registro.error("api.peticion", null, intercambio.getRequestURI().getPath(), e.getMessage());
+        }
+    }
+
+    /**
+     * Atiende /api/ranking. La medida y la agrupación se indican con el nombre de las constantes de
+     * RankingPaises (sin distinguir mayúsculas); por defecto K = 10 y orden descendente.
+     * Mientras se cargan las cifras se responde 503 con Retry-After.
+     */
+    private void atenderRanking(HttpExchange intercambio) throws IOException {
+        try (intercambio) {
+            if (!metodoPermitido(intercambio)) return;
+            String query = intercambio.getRequestURI().getRawQuery();
+            RankingPaises.Medida medida;
+            RankingPaises.Agrupacion agrupacion;
+            int k;
+            try {
+                String textoMedida = parametro(query, "medida");
+                if (textoMedida == null) {
+                    enviarError(intercambio, 400, "Falta el parámetro 'medida'");
+                    return;
+                }
+                medida = RankingPaises.Medida.valueOf(textoMedida.toUpperCase());
+                String textoAgrupar = parametro(query, "agrupar");
+                agrupacion = textoAgrupar == null ? RankingPaises.Agrupacion.NINGUNA : RankingPaises.Agrupacion.valueOf(textoAgrupar.toUpperCase());
+                String textoK = parametro(query, "k");
+                k = textoK == null ? 10 : Integer.parseInt(textoK);
+                if (k < 1 || k > RankingPaises.K_MAXIMO) throw new IllegalArgumentException("k fuera de rango");
+            } catch (IllegalArgumentException e) { // También NumberFormatException
+                enviarError(intercambio, 400, "Parámetros no válidos: " + e.getMessage());
+                return;
+            }
+            boolean mayores = !"asc".equalsIgnoreCase(parametro(query, "orden"));
+            String grupo = parametro(query, "grupo");
+            if (!RankingPaises.isCargado()) {
+                RankingPaises.precargar();
+                intercambio.getResponseHeaders().set("Retry-After", "2");
+                enviarError(intercambio, 503, "Las cifras de los países se están cargando");
+                return;
+            }
+            String clave = "ranking?" + medida + "&" + k + "&" + mayores + "&" + agrupacion + "&" + grupo;
+            responder(intercambio, clave, RankingPaises.getVersion(), () -> jsonRanking(medida, k, mayores, agrupacion, grupo));
+        } catch (RuntimeException e) {
+            Registro.error("api.peticion", null, intercambio.getRequestURI().getPath(), e.getMessage());
+        }
+    }
+
+    /**
+     * Atiende /api/metricas: perfil activo, estado de los pools y métricas por perfil.
+     * No lleva ETag porque cambia con cada petición.
+     */
+    private static void atenderMetricas(HttpExchange intercambio) throws IOException {
+        try (intercambio) {
+            if (!metodoPermitido(intercambio)) return;
+            byte[] cuerpo = (ConexionBD.describirEstado() + "\n\n" + MetricasBD.resumen()).getBytes(StandardCharsets.UTF_8);
+            intercambio.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            intercambio.getResponseHeaders().set("Cache-Control", "no-store");
+            if (intercambio.getRequestMethod().equals("HEAD")) {
+                intercambio.sendResponseHeaders(200, -1);
+                return;
+            }
+            intercambio.sendResponseHeaders(200, cuerpo.length);
+            try (OutputStream os = intercambio.getResponseBody()) {
+                os.write(cuerpo);
+            }
+        }
+    }
+
+    /**
+     * Sólo se admiten GET y HEAD; para el resto se responde 405.
+     */
+    private static boolean metodoPermitido(HttpExchange intercambio) throws IOException {
+        String metodo = intercambio.getRequestMethod();
+        if (metodo.equals("GET") || metodo.equals("HEAD")) return true;
+        intercambio.getResponseHeaders().set("Allow", "GET, HEAD");
+        enviarError(intercambio, 405, "Método no permitido: " + metodo);
+        return false;
+    }
+
+    /** Genera el JSON de una respuesta, o null si el recurso ya no existe. */
+    private interface GeneradorJson {
+        String generar();
+    }
+
+    /**
+     * Envía la respuesta de la ruta indicada, reutilizando el JSON ya generado si la caché
+     * no ha cambiado y contestando 304 si el cliente ya tiene esa versión.
+     * Si la base de datos falla al generar el JSON se responde 503, y si el recurso ya no existe 404;
+     * en los dos casos no se guarda la respuesta.
+     */
+    private void responder(HttpExchange intercambio, String clave, GeneradorJson generador) throws IOException {
+        responder(intercambio, clave, CachePaises.getVersion(), generador);
+    }
+
+    /**
+     * Igual que el anterior, pero con la versión de otros datos en memoria (por ejemplo RankingPaises).
+     */
+    private void responder(HttpExchange intercambio, String clave, long version, GeneradorJson generador) throws IOException {
+        RespuestaCacheada respuesta;
+        synchronized (respuestas) {
+            respuesta = respuestas.get(clave);
+        }
+        if (respuesta == null || respuesta.version != version) {
+            String json;
+            try (BusErrores.Recolector errores = BusErrores.recoger()) {
+                json = generador.generar();
+                if (errores.hayErrores()) {
+                    enviarError(intercambio, 503, errores.getErrores().get(0).getMensaje());
+                    return;
+                }
+            }
+            if (json == null) {
+                enviarError(intercambio, 404, "No encontrado: " + intercambio.getRequestURI().getPath());
+                return;
+            }
+            respuesta = new RespuestaCacheada(version, json.getBytes(StandardCharsets.UTF_8));
+            synchronized (respuestas) {
+                respuestas.put(clave, respuesta);
+            }
+        }
+        intercambio.getResponseHeaders().set("ETag", respuesta.etag);
+        intercambio.getResponseHeaders().set("Cache-Control", "no-cache"); // El cliente debe revalidar con la ETag
+
+        String siNoCoincide = intercambio.getRequestHeaders().getFirst("If-None-Match");
+        if (siNoCoincide != null && (siNoCoincide.contains(respuesta.etag) || siNoCoincide.trim().equals("*"))) {
+            intercambio.sendResponseHeaders(304, -1); // No modificado: sin cuerpo
+            return;
+        }
+        intercambio.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        if (intercambio.getRequestMethod().equals("HEAD")) {
+            intercambio.sendResponseHeaders(200, -1);
+            return;
+        }
+        intercambio.sendResponseHeaders(200, respuesta.cuerpo.length);
+        try (OutputStream os = intercambio.getResponseBody()) {
+            os.write(respuesta.cuerpo);
+        }
+    }
+
+    /**
+     * Envía un error en formato JSON (sólo las cabeceras si la petición es HEAD).
+     */
+    private static void enviarError(HttpExchange intercambio, int codigo, String mensaje) throws IOException {
+        StringBuilder json = new StringBuilder("{\"error\":");
+        cadena(json, mensaje);
+        byte[] cuerpo = json.append('}').toString().getBytes(StandardCharsets.UTF_8);
+        intercambio.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        if (intercambio.getRequestMethod().equals("HEAD")) {
+            intercambio.sendResponseHeaders(codigo, -1);
+            return;
+        }
+        intercambio.sendResponseHeaders(codigo, cuerpo.length);
+        try (OutputStream os = intercambio.getResponseBody()) {
+            os.write(cuerpo);
+        }
+    }
+
+    /**
+     * Lee un parámetro de la query string.
+     * @return El valor decodificado, o null si no aparece.
+     */
+    private static String parametro(String query, String nombre) {
+        if (query == null) return null;
+        for (String par : query.split("&")) {
+            int igual = par.indexOf('=');
+            if (igual > 0 && par.substring(0, igual).equals(nombre)) {
+                return URLDecoder.decode(par.substring(igual + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    // --- Serialización JSON (sin dependencias externas) ---
+
+    private static String jsonListaPaises(String continente) {
+        StringBuilder json = new StringBuilder(64 * 256);
+        json.append('[');
+        boolean primero = true;
+        List<ModeloPais> lista = CachePaises.obtenerListaPaises();
+        // La lista usa las instancias del diccionario: el filtro se resuelve una vez y se compara por identidad
+        String filtro = DiccionarioValores.CONTINENTES.buscar(continente);
+        for (ModeloPais pais : lista) {
+            if (continente != null && pais.getContinente() != filtro) continue;
+            if (!primero) json.append(',');
+            primero = false;
+            json.append("{\"codigo\":"); cadena(json, pais.getCodigo());
+            json.append(",\"nombre\":"); cadena(json, pais.getNombre());
+            json.append(",\"continente\":"); cadena(json, pais.getContinente());
+            json.append(",\"region\":"); cadena(json, pais.getRegion());
+            json.append('}');
+        }
+        return json.append(']').toString();
+    }
+
+    private static String jsonDetallesPais(ModeloPais pais) {
+        if (pais == null) return null; // Eliminado entre la comprobación y la serialización: 404
+        StringBuilder json = new StringBuilder(512);
+        json.append("{\"codigo\":"); cadena(json, pais.getCodigo());
+        json.append(",\"nombre\":"); cadena(json, pais.getNombre());
+        json.append(",\"continente\":"); cadena(json, pais.getContinente());
+        json.append(",\"region\":"); cadena(json, pais.getRegion());
+        json.append(",\"nombreLocal\":"); cadena(json, pais.getNombreLocal());
+        json.append(",\"anioIndependencia\":").append(pais.getAnioIndependencia());
+        json.append(",\"superficie\":").append(pais.getSuperficie());
+        json.append(",\"expectativaVida\":").append(pais.getExpectativaVida());
+        json.append(",\"poblacion\":").append(pais.getPoblacion());
+        json.append(",\"pnb\":").append(pais.getPnb());
+        json.append(",\"formaGobierno\":"); cadena(json, pais.getFormaGobierno());
+        json.append(",\"cabezaEstado\":"); cadena(json, pais.getCabezaEstado());
+        json.append(",\"capital\":");
+        if (pais.getCapitalID() == null) {
+            json.append("null");
+        } else {
+            json.append("{\"id\":").append(pais.getCapitalID());
+            json.append(",\"nombre\":"); cadena(json, pais.getCapitalNombre());
+            json.append(",\"distrito\":"); cadena(json, pais.getCapitalDistrito());
+            json.append(",\"poblacion\":").append(pais.getCapitalPoblacion());
+            json.append('}');
+        }
+        return json.append('}').toString();
+    }
+
+    private static String jsonIdiomas(List<ModeloIdioma> idiomas) {
+        StringBuilder json = new StringBuilder(64 * (idiomas.size() + 1));
+        json.append('[');
+        for (int i = 0; i < idiomas.size(); i++) {
+            ModeloIdioma idioma = idiomas.get(i);
+            if (i > 0) json.append(',');
+            json.append("{\"idioma\":"); cadena(json, idioma.getIdioma());
+            json.append(",\"oficial\":").append(idioma.isEsOficial());
+            json.append(",\"porcentaje\":").append(idioma.getPorcentaje());
+            json.append('}');
+        }
+        return json.append(']').toString();
+    }
+
+    private static String jsonRanking(RankingPaises.Medida medida, int k, boolean mayores, RankingPaises.Agrupacion agrupacion, String grupo) {
+        StringBuilder json = new StringBuilder(64 * (k + 1));
+        if (agrupacion == RankingPaises.Agrupacion.NINGUNA || grupo != null) {
+            jsonPosiciones(json, medida, RankingPaises.top(medida, k, mayores, agrupacion, grupo));
+            return json.toString();
+        }
+        json.append('{');
+        boolean primero = true;
+        for (Map.Entry<String, List<RankingPaises.Posicion>> entrada : RankingPaises.top(medida, k, mayores, agrupacion).entrySet()) {
+            if (!primero) json.append(',');
+            primero = false;
+            cadena(json, entrada.getKey());
+            json.append(':');
+            jsonPosiciones(json, medida, entrada.getValue());
+        }
+        return json.append('}').toString();
+    }
+
+    private static void jsonPosiciones(StringBuilder json, RankingPaises.Medida medida, List<RankingPaises.Posicion> posiciones) {
+        json.append('[');
+        for (int i = 0; i < posiciones.size(); i++) {
+            RankingPaises.Posicion posicion = posiciones.get(i);
+            if (i > 0) json.append(',');
+            json.append("{\"puesto\":").append(posicion.getPuesto());
+            json.append(",\"codigo\":"); cadena(json, posicion.getCodigo());
+            json.append(",\"nombre\":"); cadena(json, posicion.getNombre());
+            json.append(",\"valor\":").append(medida.formatear(posicion.getValor()));
+            json.append('}');
+        }
+        json.append(']');
+    }
+
+    /**
+     * Añade una cadena JSON escapada (o null).
+     */
+    private static void cadena(StringBuilder json, String valor) {
+        if (valor == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '"': json.append("\\\""); break;
+                case '\\': json.append("\\\\"); break;
+                case '\n': json.append("\\n"); break;
+                case '\r': json.append("\\r"); break;
+                case '\t': json.append("\\t"); break;
+                default:
+                    if (c < 0x20) json.append(String.format("\\u%04x", (int) c));
+                    else json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+    /**
+     * Arranca el servidor sin interfaz gráfica.
+     * @param args Opcionalmente, el puerto (por defecto 8080).
+     */
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        int puerto = args.length > 0 ? Integer.parseInt(args[0]) : PUERTO_POR_DEFECTO;
+        iniciar(puerto);
+    }
+}
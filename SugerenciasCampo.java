@@ -0,0 +1,135 @@
+// Archivo: SugerenciasCampo.java
+package Actividad;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.swing.JMenuItem;
+import javax.swing.JPopupMenu;
+import javax.swing.JTextField;
+import javax.swing.MenuElement;
+import javax.swing.MenuSelectionManager;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+/**
+ * Lista desplegable de sugerencias bajo un campo de texto (autocompletado).
+ * Mientras se escribe, y tras una breve pausa, pide las sugerencias para el texto y las muestra sin
+ * quitar el foco del campo. Flecha abajo entra en la lista, Intro o clic elige y Escape la cierra.
+ *
+ * @param <T> Valor de cada sugerencia.
+ */
+public class SugerenciasCampo<T> {
+
+    private static final int ESPERA_MS = 150;  // Pausa al escribir antes de buscar
+    private static final int MIN_LETRAS = 3;   // Con menos letras no se sugiere nada (por defecto)
+
+    private final JTextField campo;
+    private final int minimoLetras;
+    private final Function<String, List<BuscadorAproximado.Sugerencia<T>>> proveedor;
+    private final Consumer<BuscadorAproximado.Sugerencia<T>> alElegir;
+    private final JPopupMenu lista = new JPopupMenu();
+    private final Timer temporizador;
+    private boolean eligiendo = false; // El cambio de texto viene de elegir una sugerencia
+
+    /**
+     * Instala las sugerencias en el campo.
+     * @param campo El campo de texto.
+     * @param proveedor Devuelve las sugerencias para un texto (en el hilo de Swing: debe ser rápido).
+     * @param alElegir Se llama con la sugerencia elegida.
+     */
+    public static <T> SugerenciasCampo<T> instalar(JTextField campo, Function<String, List<BuscadorAproximado.Sugerencia<T>>> proveedor,
+            Consumer<BuscadorAproximado.Sugerencia<T>> alElegir) {
+        return instalar(campo, MIN_LETRAS, proveedor, alElegir);
+    }
+
+    /**
+     * Instala las sugerencias en el campo, a partir de un número de letras escritas.
+     * @param minimoLetras Letras que hay que escribir para que se sugiera algo.
+     */
+    public static <T> SugerenciasCampo<T> instalar(JTextField campo, int minimoLetras,
+            Function<String, List<BuscadorAproximado.Sugerencia<T>>> proveedor, Consumer<BuscadorAproximado.Sugerencia<T>> alElegir) {
+        SugerenciasCampo<T> sugerencias = new SugerenciasCampo<>(campo, minimoLetras, proveedor, alElegir);
+        campo.getDocument().addDocumentListener(new DocumentListener() {
+            @Override public void insertUpdate(DocumentEvent e) { sugerencias.programar(); }
+            @Override public void removeUpdate(DocumentEvent e) { sugerencias.programar(); }
+            @Override public void changedUpdate(DocumentEvent e) { sugerencias.programar(); }
+        });
+        campo.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                sugerencias.teclaPulsada(e);
+            }
+        });
+        return sugerencias;
+    }
+
+    private SugerenciasCampo(JTextField campo, int minimoLetras, Function<String, List<BuscadorAproximado.Sugerencia<T>>> proveedor,
+            Consumer<BuscadorAproximado.Sugerencia<T>> alElegir) {
+        this.campo = campo;
+        this.minimoLetras = minimoLetras;
+        this.proveedor = proveedor;
+        this.alElegir = alElegir;
+        this.lista.setFocusable(false); // El foco se queda en el campo mientras se escribe
+        this.temporizador = new Timer(ESPERA_MS, e -> mostrar());
+        this.temporizador.setRepeats(false);
+    }
+
+    /**
+     * Cierra la lista (por ejemplo, al cambiar de estado la ventana).
+     */
+    public void ocultar() {
+        temporizador.stop();
+        lista.setVisible(false);
+    }
+
+    private void programar() {
+        if (eligiendo) return;
+        temporizador.restart();
+    }
+
+    private void mostrar() {
+        String texto = campo.getText().trim();
+        if (!campo.isShowing() || !campo.isEditable() || texto.length() < minimoLetras) {
+            lista.setVisible(false);
+            return;
+        }
+        List<BuscadorAproximado.Sugerencia<T>> sugerencias = proveedor.apply(texto);
+        lista.setVisible(false);
+        lista.removeAll();
+        // Si lo único que se sugiere es exactamente lo escrito, no hace falta la lista
+        if (sugerencias.isEmpty() || (sugerencias.size() == 1 && sugerencias.get(0).getTexto().equalsIgnoreCase(texto))) return;
+        for (BuscadorAproximado.Sugerencia<T> sugerencia : sugerencias) {
+            JMenuItem opcion = new JMenuItem(sugerencia.getTexto());
+            opcion.addActionListener((ActionEvent e) -> elegir(sugerencia));
+            lista.add(opcion);
+        }
+        lista.show(campo, 0, campo.getHeight());
+    }
+
+    private void teclaPulsada(KeyEvent e) {
+        if (!lista.isVisible()) return;
+        if (e.getKeyCode() == KeyEvent.VK_DOWN && lista.getComponentCount() > 0) {
+            MenuSelectionManager.defaultManager().setSelectedPath(new MenuElement[] { lista, (MenuElement) lista.getComponent(0) });
+            e.consume();
+        } else if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
+            ocultar();
+            e.consume();
+        }
+    }
+
+    private void elegir(BuscadorAproximado.Sugerencia<T> sugerencia) {
+        ocultar();
+        eligiendo = true;
+        try {
+            alElegir.accept(sugerencia);
+        } finally {
+            eligiendo = false;
+        }
+        campo.requestFocusInWindow();
+    }
+}
@@ -1,104 +1,242 @@
-// Archivo: TablaIdiomasModel.java
-package Actividad;
-
-import javax.swing.table.AbstractTableModel;
-import java.util.List;
-
-/**
- * Modelo personalizado para la JTable que muestra los idiomas.
- * Hereda de AbstractTableModel para proporcionar los datos y la estructura de la tabla.
- */
-public class TablaIdiomasModel extends AbstractTableModel {
-
-    // Nombres de las columnas para la tabla de idiomas
-    private final String[] columnas = {"Lengua", "Oficial", "%"};
-    // Lista de objetos ModeloIdioma que contiene los datos a mostrar
-    private List<ModeloIdioma> listaIdiomas;
-
-    /**
-     * Constructor que inicializa el modelo con una lista de idiomas.
-     * @param lista La lista de objetos ModeloIdioma.
-     */
-    public TablaIdiomasModel(List<ModeloIdioma> lista) {
-        this.listaIdiomas = lista;
-    }
-
-    /**
-     * Actualiza los datos del modelo con una nueva lista de idiomas y notifica
-     * a la tabla que los datos han cambiado para que se repinte.
-     * @param nuevaLista La nueva lista de ModeloIdioma.
-     */
-    public void setDatos(List<ModeloIdioma> nuevaLista) {
-        this.listaIdiomas = nuevaLista;
-        fireTableDataChanged(); // Notifica a la JTable que los datos han cambiado
-    }
-
-    /**
-     * Devuelve el número de filas en la tabla (igual al tamaño de la lista de idiomas).
-     * @return El número de filas.
-     */
-    @Override
-    public int getRowCount() {
-        return listaIdiomas.size();
-    }
-
-    /**
-     * Devuelve el número de columnas en la tabla.
-     * @return El número de columnas (definido en el array 'columnas').
-     */
-    @Override
-    public int getColumnCount() {
-        return columnas.length;
-    }
-
-    /**
-     * Devuelve el nombre de la columna en el índice especificado.
-     * @param col El índice de la columna.
-     * @return El nombre de la columna.
-     */
-    @Override
-    public String getColumnName(int col) {
-        return columnas[col];
-    }
-
-    /**
-     * Devuelve el valor que se mostrará en la celda especificada por fila y columna.
-     * @param fila El índice de la fila.
-     * @param col El índice de la columna.
-     * @return El objeto valor para la celda.
-     */
-    @Override
-    public Object getValueAt(int fila, int col) {
-        ModeloIdioma idioma = listaIdiomas.get(fila); // Obtiene el objeto idioma para la fila actual
-        switch (col) { // Determina qué dato devolver según la columna
-            case 0: return idioma.getIdioma(); // Columna "Lengua"
-            case 1: return idioma.isEsOficial() ? "T" : "F"; // Columna "Oficial" (muestra 'T' o 'F')
-            case 2: return idioma.getPorcentaje(); // Columna "%"
-            default: return null; // En caso de índice de columna inválido
-        }
-    }
-
-    /**
-     * Define si una celda es editable. En este modelo, ninguna celda es editable.
-     * @param rowIndex El índice de la fila.
-     * @param columnIndex El índice de la columna.
-     * @return false, ya que las celdas no son editables.
-     */
-    @Override
-    public boolean isCellEditable(int rowIndex, int columnIndex) {
-        return false; // Hace que todas las celdas de la tabla no sean editables directamente
-    }
-
-    /**
-     * Método de conveniencia para obtener el objeto ModeloIdioma completo en una fila específica.
-     * Útil si se necesita acceder a todos los datos del idioma de una fila seleccionada.
-     * @param fila El índice de la fila.
-     * @return El objeto ModeloIdioma en esa fila.
-     */
-    public ModeloIdioma getIdiomaAt(int fila) {
-        if (fila >= 0 && fila < listaIdiomas.size()) {
-            return listaIdiomas.get(fila);
-        }
-        return null;
-    }
+// Archivo: TablaIdiomasModel.java
+package Actividad;
+
+import javax.swing.table.AbstractTableModel;
+import java.awt.Toolkit;
+import java.util.List;
+
+/**
+ * Modelo personalizado para la JTable que muestra los idiomas.
+ * Hereda de AbstractTableModel para proporcionar los datos y la estructura de la tabla.
+ * Si tiene un oyente de edición, las columnas "Oficial" y "%" se editan en la propia tabla:
+ * cada cambio sustituye el idioma de su fila, notifica sólo esa celda y avisa al oyente.
+ *
+ * Lleva además la suma de los porcentajes de las filas, actualizada con cada alta, baja o edición sin
+ * recorrer la lista, para señalar en cuanto pasa del 100% (ValidadorDatos.validarTotalIdiomas).
+ */
+public class TablaIdiomasModel extends AbstractTableModel {
+
+    /**
+     * Recibe los idiomas editados en la tabla.
+     */
+    public interface OyenteEdicion {
+        /**
+         * @param original El idioma antes de la edición.
+         * @param editado El idioma con el dato nuevo (un objeto nuevo: el original no se modifica).
+         */
+        void idiomaEditado(ModeloIdioma original, ModeloIdioma editado);
+    }
+
+    // Nombres de las columnas para la tabla de idiomas
+    private final String[] columnas = {"Lengua", "Oficial", "%"};
+    // Lista de objetos ModeloIdioma que contiene los datos a mostrar
+    private List<ModeloIdioma> listaIdiomas;
+    // Receptor de las ediciones en línea; null si la tabla es de sólo lectura
+    private transient OyenteEdicion oyenteEdicion;
+    // Suma de los porcentajes de todas las filas, en décimas (ver TotalesIdiomas)
+    private long totalDecimas;
+
+    /**
+     * Constructor que inicializa el modelo con una lista de idiomas.
+     * @param lista La lista de objetos ModeloIdioma.
+     */
+    public TablaIdiomasModel(List<ModeloIdioma> lista) {
+        this.listaIdiomas = lista;
+        this.totalDecimas = sumar(lista);
+    }
+
+    /**
+     * Actualiza los datos del modelo con una nueva lista de idiomas y notifica
+     * a la tabla que los datos han cambiado para que se repinte.
+     * @param nuevaLista La nueva lista de ModeloIdioma.
+     */
+    public void setDatos(List<ModeloIdioma> nuevaLista) {
+        this.listaIdiomas = nuevaLista;
+        this.totalDecimas = sumar(nuevaLista);
+        fireTableDataChanged(); // Notifica a la JTable que los datos han cambiado
+    }
+
+    /**
+     * @return La suma de los porcentajes de todos los idiomas de la tabla.
+     */
+    public double getTotalPorcentaje() {
+        return totalDecimas / 10.0;
+    }
+
+    /**
+     * @return true si los porcentajes de la tabla suman más del máximo permitido para un país.
+     */
+    public boolean isExcedido() {
+        return ValidadorDatos.validarTotalIdiomas(null, getTotalPorcentaje()) != null;
+    }
+
+    /**
+     * Activa la edición en línea de las columnas "Oficial" y "%".
+     * @param oyente Quien guarda los cambios, o null para dejar la tabla de sólo lectura.
+     */
+    public void setOyenteEdicion(OyenteEdicion oyente) {
+        this.oyenteEdicion = oyente;
+    }
+
+    /**
+     * Devuelve el número de filas en la tabla (igual al tamaño de la lista de idiomas).
+     * @return El número de filas.
+     */
+    @Override
+    public int getRowCount() {
+        return listaIdiomas.size();
+    }
+
+    /**
+     * Devuelve el número de columnas en la tabla.
+     * @return El número de columnas (definido en el array 'columnas').
+     */
+    @Override
+    public int getColumnCount() {
+        return columnas.length;
+    }
+
+    /**
+     * Devuelve el nombre de la columna en el índice especificado.
+     * @param col El índice de la columna.
+     * @return El nombre de la columna.
+     */
+    @Override
+    public String getColumnName(int col) {
+        return columnas[col];
+    }
+
+    /**
+     * Devuelve el valor que se mostrará en la celda especificada por fila y columna.
+     * @param fila El índice de la fila.
+     * @param col El índice de la columna.
+     * @return El objeto valor para la celda.
+     */
+    @Override
+    public Object getValueAt(int fila, int col) {
+        ModeloIdioma idioma = listaIdiomas.get(fila); // Obtiene el objeto idioma para la fila actual
+        switch (col) { // Determina qué dato devolver según la columna
+            case 0: return idioma.getIdioma(); // Columna "Lengua"
+            case 1: return idioma.isEsOficial(); // Columna "Oficial" (se muestra como casilla)
+            case 2: return idioma.getPorcentaje(); // Columna "%"
+            default: return null; // En caso de índice de columna inválido
+        }
+    }
+
+    /**
+     * Devuelve la clase de los valores de una columna, para que la tabla use el editor adecuado
+     * (casilla para "Oficial" y número para "%").
+     * @param col El índice de la columna.
+     * @return La clase de los valores.
+     */
+    @Override
+    public Class<?> getColumnClass(int col) {
+        switch (col) {
+            case 1: return Boolean.class;
+            case 2: return Double.class;
+            default: return String.class;
+        }
+    }
+
+    /**
+     * Define si una celda es editable: "Oficial" y "%", sólo si hay oyente de edición.
+     * El nombre del idioma es parte de la clave y no se edita.
+     * @param rowIndex El índice de la fila.
+     * @param columnIndex El índice de la columna.
+     * @return true si la celda se puede editar.
+     */
+    @Override
+    public boolean isCellEditable(int rowIndex, int columnIndex) {
+        return oyenteEdicion != null && (columnIndex == 1 || columnIndex == 2);
+    }
+
+    /**
+     * Aplica la edición de una celda. Un porcentaje fuera de rango, o que sube la suma del país por
+     * encima del 100%, se rechaza con un aviso sonoro y la celda conserva su valor.
+     * @param valor El valor nuevo (Boolean o Number, según la columna).
+     * @param fila El índice de la fila.
+     * @param col El índice de la columna.
+     */
+    @Override
+    public void setValueAt(Object valor, int fila, int col) {
+        ModeloIdioma actual = listaIdiomas.get(fila);
+        ModeloIdioma editado;
+        if (col == 1) {
+            boolean oficial = Boolean.TRUE.equals(valor);
+            if (oficial == actual.isEsOficial()) return;
+            editado = new ModeloIdioma(actual.getIdioma(), oficial, actual.getPorcentaje());
+        } else if (col == 2 && valor instanceof Number) {
+            double porcentaje = ((Number) valor).doubleValue();
+            if (porcentaje == actual.getPorcentaje()) return;
+            if (ValidadorDatos.validarIdioma(actual.getIdioma(), porcentaje) != null) {
+                Toolkit.getDefaultToolkit().beep(); // Mismas reglas que el formulario: entre 0 y 100
+                return;
+            }
+            double total = (totalDecimas - TotalesIdiomas.decimas(actual.getPorcentaje()) + TotalesIdiomas.decimas(porcentaje)) / 10.0;
+            if (porcentaje > actual.getPorcentaje() && ValidadorDatos.validarTotalIdiomas(null, total) != null) {
+                Toolkit.getDefaultToolkit().beep(); // Bajar un porcentaje se permite aunque la suma siga excedida
+                return;
+            }
+            editado = new ModeloIdioma(actual.getIdioma(), actual.isEsOficial(), porcentaje);
+        } else {
+            return;
+        }
+        listaIdiomas.set(fila, editado); // Los objetos de la caché no se modifican: se sustituye el de la fila
+        fireTableCellUpdated(fila, col);
+        actualizarTotal(actual, editado);
+        oyenteEdicion.idiomaEditado(actual, editado);
+    }
+
+    /**
+     * Añade un idioma al final de la tabla, notificando sólo la fila nueva.
+     * @param idioma El idioma a añadir.
+     */
+    public void anadirIdioma(ModeloIdioma idioma) {
+        listaIdiomas.add(idioma);
+        fireTableRowsInserted(listaIdiomas.size() - 1, listaIdiomas.size() - 1);
+        actualizarTotal(null, idioma);
+    }
+
+    /**
+     * Quita el idioma de una fila, notificando sólo esa fila.
+     * @param fila El índice de la fila.
+     */
+    public void eliminarIdiomaAt(int fila) {
+        ModeloIdioma quitado = listaIdiomas.remove(fila);
+        fireTableRowsDeleted(fila, fila);
+        actualizarTotal(quitado, null);
+    }
+
+    /**
+     * Suma al total la diferencia entre el idioma anterior y el nuevo de una fila (null si no hay).
+     * Si el total pasa a estar excedido o deja de estarlo, se repintan todas las filas (la columna
+     * "%" se señala en bloque).
+     */
+    private void actualizarTotal(ModeloIdioma anterior, ModeloIdioma nuevo) {
+        boolean excedidoAntes = isExcedido();
+        if (anterior != null) totalDecimas -= TotalesIdiomas.decimas(anterior.getPorcentaje());
+        if (nuevo != null) totalDecimas += TotalesIdiomas.decimas(nuevo.getPorcentaje());
+        if (excedidoAntes != isExcedido() && !listaIdiomas.isEmpty()) {
+            fireTableRowsUpdated(0, listaIdiomas.size() - 1);
+        }
+    }
+
+    private static long sumar(List<ModeloIdioma> idiomas) {
+        long total = 0;
+        for (ModeloIdioma idioma : idiomas) total += TotalesIdiomas.decimas(idioma.getPorcentaje());
+        return total;
+    }
+
+    /**
+     * Método de conveniencia para obtener el objeto ModeloIdioma completo en una fila específica.
+     * Útil si se necesita acceder a todos los datos del idioma de una fila seleccionada.
+     * @param fila El índice de la fila.
+     * @return El objeto ModeloIdioma en esa fila.
+     */
+    public ModeloIdioma getIdiomaAt(int fila) {
+        if (fila >= 0 && fila < listaIdiomas.size()) {
+            return listaIdiomas.get(fila);
+        }
+        return null;
+    }
 }
\ No newline at end of file
@@ -1,20 +1,36 @@
-// Archivo: TestConexion.java
-package Actividad;
-
-/**
- * Clase simple para probar la conexión a la base de datos.
- * Al ejecutar el método main, intentará conectar usando la clase ConexionBD.
- */
-public class TestConexion {
-    
-    /**
-     * Método principal para ejecutar la prueba de conexión.
-     * @param args Argumentos de línea de comandos (no utilizados).
-     */
-    public static void main(String[] args) {
-        // Llama al método estático 'conectar' de la clase ConexionBD.
-        // Este método intentará establecer una conexión y mostrará un mensaje
-        // en la consola indicando si fue exitosa o si hubo un error.
-        ConexionBD.conectar(); 
-    }
+// Archivo: TestConexion.java
+package Actividad;
+
+/**
+ * Clase simple para probar la conexión a la base de datos.
+ * Al ejecutar el método main, intentará conectar usando la clase ConexionBD.
+ * Si se indican réplicas (-Dbd.replicas=jdbc:mysql://localhost:3307/world), también muestra
+ * a qué servidor se envían las lecturas, lo que permite probar el reparto con dos instancias locales.
+ */
+public class TestConexion {
+    
+    /**
+     * Método principal para ejecutar la prueba de conexión.
+     * @param args Argumentos de línea de comandos (no utilizados).
+     */
+    public static void main(String[] args) {
+        // Llama al método estático 'conectar' de la clase ConexionBD.
+        // Si falla, el error queda en el registro (y en la consola de errores); si va bien, se indica aquí.
+        try (java.sql.Connection conn = ConexionBD.conectar()) {
+            if (conn != null) System.out.println("✅ Conexión exitosa a la base de datos 'world'.");
+        } catch (java.sql.SQLException e) {
+            System.err.println("❌ Error al cerrar la conexión de prueba: " + e.getMessage());
+        }
+
+        // Comprueba a dónde se dirigen las lecturas. Como acabamos de abrir la conexión de escritura,
+        // durante la ventana de lectura propia irán a la principal; con -Dbd.ventanaLecturaPropiaMs=0 irán a las réplicas.
+        System.out.println(ConexionBD.describirEstado());
+        try (java.sql.Connection lectura = ConexionBD.conectarLectura()) {
+            if (lectura != null) {
+                System.out.println("Lecturas dirigidas a: " + lectura.getMetaData().getURL());
+            }
+        } catch (java.sql.SQLException e) {
+            System.err.println("❌ Error al comprobar la conexión de lectura: " + e.getMessage());
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,274 @@
+// Archivo: TotalesIdiomas.java
+package Actividad;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Suma de los porcentajes de los idiomas de cada país, para que no pase de 100
+ * (ValidadorDatos.validarTotalIdiomas).
+ *
+ * Se guarda en memoria el porcentaje de cada idioma y el total de cada país. Se carga junto con
+ * IndiceClaves y se mantiene al día con sus mismas notificaciones, así que cada alta, modificación o
+ * baja sólo suma la diferencia al total del país: conocer la suma tras un cambio no exige recorrer sus
+ * idiomas. Los porcentajes se guardan en décimas (Percentage tiene un decimal) para que las sumas y
+ * restas repetidas no acumulen errores de redondeo.
+ *
+ * auditar() comprueba además la base de datos entera: lee los porcentajes y los suma por país en paralelo.
+ */
+public class TotalesIdiomas {
+
+    /**
+     * Un país cuyos idiomas suman más del máximo.
+     */
+    public static class Exceso {
+        private final String codigoPais;
+        private final double total;
+        private final int idiomas;
+
+        Exceso(String codigoPais, double total, int idiomas) {
+            this.codigoPais = codigoPais;
+            this.total = total;
+            this.idiomas = idiomas;
+        }
+
+        public String getCodigoPais() { return codigoPais; }
+        public double getTotal() { return total; }
+        public int getIdiomas() { return idiomas; }
+
+        @Override
+        public String toString() {
+            return codigoPais + ": " + formatear(total) + "% (" + idiomas + " idiomas)";
+        }
+    }
+
+    private static final String SQL_PORCENTAJES = "SELECT CountryCode, Percentage FROM countrylanguage";
+
+    /**
+     * Los idiomas de un país y su suma. Se modifica con el propio objeto como cerrojo.
+     */
+    private static final class Pais {
+        final Map<String, Long> decimas = new HashMap<>(); // Idioma (en minúsculas) -> porcentaje en décimas
+        long total;
+    }
+
+    private static final Map<String, Pais> paises = new ConcurrentHashMap<>();
+    private static volatile boolean cargado = false;
+
+    // --- Consultas ---
+
+    /**
+     * @return true si los totales están cargados (si no, total() no sabe nada).
+     */
+    public static boolean isCargado() {
+        return cargado;
+    }
+
+    /**
+     * @return La suma de los porcentajes de los idiomas del país (0 si no tiene), o NaN si aún no se ha cargado.
+     */
+    public static double total(String codigoPais) {
+        if (!cargado || codigoPais == null) return Double.NaN;
+        Pais pais = paises.get(IndiceClaves.clavePais(codigoPais));
+        if (pais == null) return 0;
+        synchronized (pais) {
+            return pais.total / 10.0;
+        }
+    }
+
+    /**
+     * @return El porcentaje guardado de un idioma del país (0 si no lo tiene), o NaN si aún no se ha cargado.
+     */
+    public static double porcentaje(String codigoPais, String idioma) {
+        if (!cargado || codigoPais == null || idioma == null) return Double.NaN;
+        Pais pais = paises.get(IndiceClaves.clavePais(codigoPais));
+        if (pais == null) return 0;
+        synchronized (pais) {
+            Long decimas = pais.decimas.get(IndiceClaves.claveIdioma(idioma));
+            return decimas == null ? 0 : decimas / 10.0;
+        }
+    }
+
+    /**
+     * @return Los países cuyos idiomas suman más del máximo, de mayor a menor suma (vacía si aún no se ha cargado).
+     */
+    public static List<Exceso> excesos() {
+        List<Exceso> resultado = new ArrayList<>();
+        if (!cargado) return resultado;
+        long maximo = decimas(ValidadorDatos.PORCENTAJE_MAXIMO_PAIS);
+        paises.forEach((codigo, pais) -> {
+            synchronized (pais) {
+                if (pais.total > maximo) resultado.add(new Exceso(codigo, pais.total / 10.0, pais.decimas.size()));
+            }
+        });
+        resultado.sort(Comparator.comparingDouble(Exceso::getTotal).reversed());
+        return resultado;
+    }
+
+    // --- Mantenimiento (lo llama IndiceClaves, con las claves ya normalizadas) ---
+
+    /**
+     * Sustituye todos los totales por los de una carga completa.
+     * @param leidos País -> idioma -> porcentaje.
+     */
+    static void cargar(Map<String, Map<String, Double>> leidos) {
+        Map<String, Pais> nuevos = new HashMap<>();
+        leidos.forEach((codigo, idiomas) -> {
+            Pais pais = new Pais();
+            idiomas.forEach((idioma, porcentaje) -> {
+                long decimas = decimas(porcentaje);
+                pais.decimas.put(idioma, decimas);
+                pais.total += decimas;
+            });
+            nuevos.put(codigo, pais);
+        });
+        paises.clear();
+        paises.putAll(nuevos);
+        cargado = true;
+    }
+
+    static void invalidar() {
+        cargado = false;
+    }
+
+    /**
+     * Alta o modificación de un idioma: el total del país sólo cambia en la diferencia.
+     */
+    static void anotar(String codigoPais, String idioma, double porcentaje) {
+        Pais pais = paises.computeIfAbsent(codigoPais, p -> new Pais());
+        long decimas = decimas(porcentaje);
+        synchronized (pais) {
+            Long anterior = pais.decimas.put(idioma, decimas);
+            pais.total += decimas - (anterior == null ? 0 : anterior);
+        }
+    }
+
+    static void olvidar(String codigoPais, String idioma) {
+        Pais pais = paises.get(codigoPais);
+        if (pais == null) return;
+        synchronized (pais) {
+            Long anterior = pais.decimas.remove(idioma);
+            if (anterior != null) pais.total -= anterior;
+        }
+    }
+
+    static void olvidarPais(String codigoPais) {
+        paises.remove(codigoPais);
+    }
+
+    /**
+     * Sustituye los idiomas de un país por los leídos de la base de datos.
+     */
+    static void reemplazar(String codigoPais, List<ModeloIdioma> idiomas) {
+        Pais nuevo = new Pais();
+        for (ModeloIdioma idioma : idiomas) {
+            long decimas = decimas(idioma.getPorcentaje());
+            Long anterior = nuevo.decimas.put(IndiceClaves.claveIdioma(idioma.getIdioma()), decimas);
+            nuevo.total += decimas - (anterior == null ? 0 : anterior);
+        }
+        paises.put(codigoPais, nuevo);
+    }
+
+    // --- Auditoría ---
+
+    /**
+     * Recorre todos los idiomas de la base de datos y suma sus porcentajes por país en paralelo
+     * (sumarPorPais). Si los totales en memoria no coinciden con lo leído, se avisa y se recargan en segundo plano.
+     * @return Los países cuyos idiomas suman más del máximo, de mayor a menor suma, o null si falla la lectura.
+     */
+    public static List<Exceso> auditar() {
+        long inicio = System.nanoTime();
+        String[] codigos = new String[1024];
+        long[] decimas = new long[1024];
+        int filas = 0;
+        try (Connection conn = ConexionBD.conectarLectura()) {
+            if (conn == null) throw new SQLException("Sin conexión con la base de datos");
+            try (PreparedStatement ps = conn.prepareStatement(SQL_PORCENTAJES); ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    if (filas == codigos.length) {
+                        codigos = Arrays.copyOf(codigos, filas * 2);
+                        decimas = Arrays.copyOf(decimas, filas * 2);
+                    }
+                    codigos[filas] = IndiceClaves.clavePais(rs.getString("CountryCode"));
+                    decimas[filas] = decimas(rs.getDouble("Percentage"));
+                    filas++;
+                }
+            }
+        } catch (SQLException e) {
+            BusErrores.publicar(new ErrorDatos("idioma.auditar", null, null, "Error al leer los porcentajes de los idiomas", e));
+            return null;
+        }
+
+        Map<String, long[]> sumas = sumarPorPais(codigos, decimas, filas);
+        List<Exceso> resultado = excesosDe(sumas);
+        int desajustes = 0;
+        for (Map.Entry<String, long[]> entrada : sumas.entrySet()) {
+            if (cargado && decimas(total(entrada.getKey())) != entrada.getValue()[0]) desajustes++;
+        }
+        if (desajustes > 0) {
+            // Algún cambio no llegó (por ejemplo, de otro cliente sin notificaciones): se recarga todo
+            if (Registro.activo(Registro.Nivel.AVISO)) Registro.aviso("idioma.auditar", null, desajustes + " países", "los totales en memoria no coincidían con la base de datos");
+            IndiceClaves.invalidar();
+            IndiceClaves.precargar();
+        }
+        if (Registro.activo(Registro.Nivel.INFO)) {
+            Registro.info("idioma.auditar", null, sumas.size() + " países, " + resultado.size() + " por encima del máximo",
+                    System.nanoTime() - inicio, filas);
+        }
+        return resultado;
+    }
+
+    /**
+     * Suma en paralelo los porcentajes por país: cada hilo acumula un tramo de las filas en su propio
+     * mapa y después se combinan los mapas.
+     * @param codigos Código del país de cada fila (ya normalizado).
+     * @param decimas Porcentaje de cada fila, en décimas.
+     * @param filas Filas usadas de los arrays.
+     * @return País -> {suma en décimas, número de idiomas}.
+     */
+    static Map<String, long[]> sumarPorPais(String[] codigos, long[] decimas, int filas) {
+        return IntStream.range(0, filas).parallel().collect(HashMap::new, (mapa, i) -> {
+            long[] suma = mapa.computeIfAbsent(codigos[i], c -> new long[2]);
+            suma[0] += decimas[i];
+            suma[1]++;
+        }, (a, b) -> b.forEach((codigo, suma) -> a.merge(codigo, suma, (x, y) -> new long[] { x[0] + y[0], x[1] + y[1] })));
+    }
+
+    /**
+     * @return Los países de las sumas que pasan del máximo, de mayor a menor suma.
+     */
+    static List<Exceso> excesosDe(Map<String, long[]> sumas) {
+        long maximo = decimas(ValidadorDatos.PORCENTAJE_MAXIMO_PAIS);
+        List<Exceso> resultado = new ArrayList<>();
+        sumas.forEach((codigo, suma) -> {
+            if (suma[0] > maximo) resultado.add(new Exceso(codigo, suma[0] / 10.0, (int) suma[1]));
+        });
+        resultado.sort(Comparator.comparingDouble(Exceso::getTotal).reversed());
+        return resultado;
+    }
+
+    /**
+     * @return El porcentaje en décimas, redondeado como lo guarda Percentage.
+     */
+    static long decimas(double porcentaje) {
+        return Math.round(porcentaje * 10);
+    }
+
+    /**
+     * @return El porcentaje con un decimal ("100.4").
+     */
+    static String formatear(double porcentaje) {
+        return String.format(Locale.ROOT, "%.1f", porcentaje);
+    }
+}
@@ -0,0 +1,296 @@
+// Archivo: UnidadTrabajo.java
+package Actividad;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unidad de trabajo sobre un país y sus idiomas.
+ * Acumula en memoria el alta o la modificación del país y los cambios de sus idiomas
+ * (altas, modificaciones y bajas) y los aplica todos juntos con confirmar(): una única
+ * conexión, una única transacción y una sentencia por tipo de cambio enviada con executeBatch.
+ * Si algo falla se deshace todo y el error se publica en BusErrores.
+ *
+ * Los cambios del mismo idioma se combinan al prepararlos: por ejemplo, añadir y después
+ * borrar un idioma nuevo no envía nada, y borrar y volver a añadir uno existente es una modificación.
+ */
+public class UnidadTrabajo {
+
+    /**
+     * Tipos de cambio de un idioma.
+     */
+    private enum TipoCambio { INSERTAR, MODIFICAR, ELIMINAR }
+
+    /**
+     * Cambio pendiente sobre un idioma.
+     */
+    private static class CambioIdioma {
+        TipoCambio tipo;
+        ModeloIdioma idioma;
+        ModeloIdioma original; // Sólo en MODIFICAR optimista: el idioma tal como se leyó
+
+        CambioIdioma(TipoCambio tipo, ModeloIdioma idioma) {
+            this.tipo = tipo;
+            this.idioma = idioma;
+        }
+    }
+
+    private String codigoPais;      // País al que pertenecen los idiomas
+    private ModeloPais pais;        // Datos del país a guardar, o null si sólo cambian los idiomas
+    private boolean paisNuevo;      // true: INSERT del país; false: UPDATE
+    private ModeloPais original;    // País tal como se leyó, para la modificación optimista (puede ser null)
+    // Cambios de idiomas por nombre de idioma, en el orden en que se prepararon
+    private final Map<String, CambioIdioma> cambiosIdiomas = new LinkedHashMap<>();
+
+    /**
+     * Crea una unidad de trabajo vacía. El código del país se toma del país que se prepare.
+     */
+    public UnidadTrabajo() {
+    }
+
+    /**
+     * Crea una unidad de trabajo para cambiar sólo los idiomas de un país existente.
+     * @param codigoPais El código del país.
+     */
+    public UnidadTrabajo(String codigoPais) {
+        this.codigoPais = codigoPais;
+    }
+
+    /**
+     * Prepara el alta del país.
+     * @param pais Los datos del país nuevo.
+     */
+    public void insertarPais(ModeloPais pais) {
+        this.pais = pais;
+        this.paisNuevo = true;
+        this.codigoPais = pais.getCodigo();
+    }
+
+    /**
+     * Prepara la modificación del país.
+     * @param pais Los datos actualizados del país (el código identifica el registro).
+     */
+    public void modificarPais(ModeloPais pais) {
+        modificarPais(null, pais);
+    }
+
+    /**
+     * Prepara la modificación optimista del país: al confirmar sólo se escriben las columnas
+     * que difieren del original, y si otro usuario cambió las mismas se revierte toda la unidad
+     * (el error se publica con categoría CONFLICTO).
+     * @param original El país tal como se leyó, o null para sobrescribir todas las columnas.
+     * @param pais Los datos actualizados del país.
+     */
+    public void modificarPais(ModeloPais original, ModeloPais pais) {
+        this.pais = pais;
+        this.paisNuevo = false;
+        this.original = original;
+        this.codigoPais = pais.getCodigo();
+    }
+
+    /**
+     * Prepara el alta de un idioma.
+     * @param idioma El idioma a añadir.
+     */
+    public void insertarIdioma(ModeloIdioma idioma) {
+        CambioIdioma previo = cambiosIdiomas.get(idioma.getIdioma());
+        if (previo != null && previo.tipo == TipoCambio.ELIMINAR) {
+            previo.tipo = TipoCambio.MODIFICAR; // Borrado y vuelto a añadir: basta con actualizarlo
+            previo.idioma = idioma;
+        } else {
+            cambiosIdiomas.put(idioma.getIdioma(), new CambioIdioma(TipoCambio.INSERTAR, idioma));
+        }
+    }
+
+    /**
+     * Prepara la modificación de un idioma (oficialidad y porcentaje).
+     * @param idioma El idioma con los datos nuevos; su nombre identifica el registro.
+     */
+    public void modificarIdioma(ModeloIdioma idioma) {
+        modificarIdioma(null, idioma);
+    }
+
+    /**
+     * Prepara la modificación optimista de un idioma: al confirmar sólo se escriben los campos
+     * que difieren del original, y si otro usuario cambió los mismos se revierte toda la unidad.
+     * @param original El idioma tal como se leyó, o null para sobrescribirlo.
+     * @param idioma El idioma con los datos nuevos.
+     */
+    public void modificarIdioma(ModeloIdioma original, ModeloIdioma idioma) {
+        CambioIdioma previo = cambiosIdiomas.get(idioma.getIdioma());
+        if (previo != null && previo.tipo == TipoCambio.INSERTAR) {
+            previo.idioma = idioma; // Sigue siendo un alta, con los datos nuevos
+        } else if (previo != null && previo.tipo == TipoCambio.MODIFICAR) {
+            previo.idioma = idioma; // Se conserva el original de la primera modificación
+            if (original == null) previo.original = null;
+        } else {
+            CambioIdioma cambio = new CambioIdioma(TipoCambio.MODIFICAR, idioma);
+            if (previo == null) cambio.original = original; // Tras un borrado no hay original que comparar
+            cambiosIdiomas.put(idioma.getIdioma(), cambio);
+        }
+    }
+
+    /**
+     * Prepara la baja de un idioma.
+     * @param nombreIdioma El nombre del idioma a eliminar.
+     */
+    public void eliminarIdioma(String nombreIdioma) {
+        CambioIdioma previo = cambiosIdiomas.get(nombreIdioma);
+        if (previo != null && previo.tipo == TipoCambio.INSERTAR) {
+            cambiosIdiomas.remove(nombreIdioma); // Nunca llegó a la base de datos
+        } else {
+            cambiosIdiomas.put(nombreIdioma, new CambioIdioma(TipoCambio.ELIMINAR, new ModeloIdioma(nombreIdioma, false, 0)));
+        }
+    }
+
+    /**
+     * @return true si hay algo que guardar.
+     */
+    public boolean hayCambios() {
+        return pais != null || !cambiosIdiomas.isEmpty();
+    }
+
+    /**
+     * @return Número de idiomas con cambios pendientes.
+     */
+    public int getCambiosIdiomas() {
+        return cambiosIdiomas.size();
+    }
+
+    /**
+     * Aplica todos los cambios en una única transacción. Primero el país (para que exista antes
+     * de sus idiomas), después las bajas, las modificaciones y las altas de idiomas.
+     * Si se confirma, la caché del país se invalida una sola vez y la unidad queda vacía.
+     * @return true si se guardó todo; false si no se guardó nada.
+     */
+    public boolean confirmar() {
+        if (!hayCambios()) return true;
+        if (codigoPais == null) {
+            throw new IllegalStateException("La unidad de trabajo no tiene país");
+        }
+        long inicio = System.nanoTime();
+        int filas = 0;
+        try (Connection conn = ConexionBD.conectar()) {
+            if (conn == null) { // ConexionBD ya registra el motivo
+                BusErrores.publicar(new ErrorDatos("unidad.confirmar", codigoPais, null, "Sin conexión con la base de datos", null));
+                return false;
+            }
+            conn.setAutoCommit(false);
+            try {
+                if (pais != null) {
+                    filas += guardarPais(conn);
+                }
+                filas += ejecutarCambios(conn, TipoCambio.ELIMINAR, GestorIdiomas.SQL_ELIMINAR);
+                filas += ejecutarCambios(conn, TipoCambio.MODIFICAR, GestorIdiomas.SQL_MODIFICAR);
+                filas += ejecutarCambios(conn, TipoCambio.INSERTAR, GestorIdiomas.SQL_INSERTAR);
+                anotarCambios(conn);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback(); // No se guarda nada: ni el país ni sus idiomas
+                BusErrores.publicar(new ErrorDatos("unidad.confirmar", codigoPais, null,
+                        "Error al guardar el país y sus idiomas (transacción revertida)", e));
+                return false;
+            }
+        } catch (SQLException e) {
+            BusErrores.publicar(new ErrorDatos("unidad.confirmar", codigoPais, null, "Error en la conexión al guardar el país", e));
+            return false;
+        }
+        CachePaises.invalidarPais(codigoPais); // Una sola invalidación para todos los cambios
+        actualizarIndiceClaves();
+        Registro.info("unidad.confirmar", codigoPais, null, System.nanoTime() - inicio, filas);
+        pais = null;
+        original = null;
+        cambiosIdiomas.clear();
+        return true;
+    }
+
+    /**
+     * Lleva al índice de claves (y a los totales de porcentajes) las altas, modificaciones y bajas que se acaban de confirmar.
+     */
+    private void actualizarIndiceClaves() {
+        if (pais != null && paisNuevo) IndiceClaves.anotarPais(codigoPais);
+        for (CambioIdioma cambio : cambiosIdiomas.values()) {
+            if (cambio.tipo != TipoCambio.ELIMINAR) IndiceClaves.anotarIdioma(codigoPais, cambio.idioma); // Alta o nuevo porcentaje
+            if (cambio.tipo == TipoCambio.ELIMINAR) IndiceClaves.olvidarIdioma(codigoPais, cambio.idioma.getIdioma());
+        }
+    }
+
+    /**
+     * Inserta o actualiza el país con las mismas sentencias que GestorPaises
+     * (la modificación optimista si se conoce el original).
+     */
+    private int guardarPais(Connection conn) throws SQLException {
+        if (!paisNuevo && original != null) {
+            return GestorPaises.modificarPaisOptimista(conn, original, pais);
+        }
+        try (PreparedStatement ps = conn.prepareStatement(paisNuevo ? GestorPaises.SQL_INSERTAR : GestorPaises.SQL_MODIFICAR)) {
+            if (paisNuevo) {
+                GestorPaises.asignarParametrosInsertar(ps, pais);
+            } else {
+                GestorPaises.asignarParametrosModificar(ps, pais);
+            }
+            int filas = ps.executeUpdate();
+            if (filas == 0) {
+                throw new SQLException("El país " + codigoPais + " ya no existe en la base de datos");
+            }
+            return filas;
+        }
+    }
+
+    /**
+     * Anota en el registro de cambios compartido lo que guarda la unidad (dentro de su transacción).
+     */
+    private void anotarCambios(Connection conn) {
+        if (pais != null) {
+            CambiosDatos.anotar(conn, paisNuevo ? CambiosDatos.Tipo.PAIS_INSERTADO : CambiosDatos.Tipo.PAIS_MODIFICADO, codigoPais, null);
+        }
+        if (!cambiosIdiomas.isEmpty()) {
+            CambiosDatos.anotar(conn, CambiosDatos.Tipo.IDIOMAS_MODIFICADOS, codigoPais, null);
+        }
+    }
+
+    /**
+     * Envía en un único batch todos los cambios de idiomas del tipo indicado.
+     * @return Filas afectadas (las que informe el driver).
+     */
+    private int ejecutarCambios(Connection conn, TipoCambio tipo, String sql) throws SQLException {
+        List<ModeloIdioma> idiomas = new ArrayList<>();
+        int filas = 0;
+        for (CambioIdioma cambio : cambiosIdiomas.values()) {
+            if (cambio.tipo != tipo) continue;
+            if (cambio.original != null) {
+                // Las modificaciones optimistas comparan con la fila bloqueada: van una a una
+                filas += GestorIdiomas.modificarIdiomaOptimista(conn, codigoPais, cambio.original, cambio.idioma);
+            } else {
+                idiomas.add(cambio.idioma);
+            }
+        }
+        if (idiomas.isEmpty()) return filas;
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (ModeloIdioma idioma : idiomas) {
+                switch (tipo) {
+                    case INSERTAR:
+                        GestorIdiomas.asignarParametrosInsertar(ps, codigoPais, idioma);
+                        break;
+                    case MODIFICAR:
+                        GestorIdiomas.asignarParametrosModificar(ps, codigoPais, idioma);
+                        break;
+                    case ELIMINAR:
+                        ps.setString(1, codigoPais);
+                        ps.setString(2, idioma.getIdioma());
+                        break;
+                }
+                ps.addBatch();
+            }
+            for (int resultado : ps.executeBatch()) {
+                if (resultado > 0) filas += resultado; // SUCCESS_NO_INFO (-2) con batches reescritos
+            }
+            return filas;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+// Archivo: ValidadorDatos.java
+package Actividad;
+
+/**
+ * Clase de utilidad con las reglas de validación de países e idiomas.
+ * Centraliza las comprobaciones que antes sólo hacía el Controlador para que la
+ * interfaz gráfica y el modo por lotes (ProcesadorLotes) apliquen exactamente las mismas reglas.
+ */
+public class ValidadorDatos {
+
+    // Longitud máxima del código de país según el esquema de la BD 'world' (CHAR(3))
+    public static final int LONGITUD_MAXIMA_CODIGO = 3;
+    // Suma máxima de los porcentajes de los idiomas de un país
+    public static final double PORCENTAJE_MAXIMO_PAIS = 100.0;
+
+    /**
+     * Comprueba los campos obligatorios de un país.
+     * @param codigo El código del país.
+     * @param nombre El nombre del país.
+     * @param esInsercion true si se está insertando un país nuevo (sólo entonces se valida la longitud del código).
+     * @return El mensaje de error a mostrar, o null si los datos son válidos.
+     */
+    public static String validarPais(String codigo, String nombre, boolean esInsercion) {
+        // Validación: Código y Nombre no pueden estar vacíos
+        if (codigo == null || codigo.trim().isEmpty() || nombre == null || nombre.trim().isEmpty()) {
+            return "El código y el nombre del país son obligatorios.";
+        }
+        // Validación: Código no más de 3 caracteres
+        if (esInsercion && codigo.trim().length() > LONGITUD_MAXIMA_CODIGO) {
+            return "El código del país no puede tener más de 3 caracteres.";
+        }
+        return null;
+    }
+
+    /**
+     * Comprueba los datos de un idioma antes de guardarlo.
+     * @param nombre El nombre del idioma.
+     * @param porcentaje El porcentaje de hablantes.
+     * @return El mensaje de error a mostrar, o null si los datos son válidos.
+     */
+    public static String validarIdioma(String nombre, double porcentaje) {
+        if (nombre == null || nombre.trim().isEmpty()) { // Validación: nombre de lengua no vacío
+            return "El nombre del idioma no puede estar vacío.";
+        }
+        if (porcentaje < 0 || porcentaje > 100) { // Validación: porcentaje entre 0 y 100
+            return "El porcentaje debe estar entre 0 y 100.";
+        }
+        return null;
+    }
+
+    /**
+     * Comprueba que los porcentajes de los idiomas de un país no suman más de 100.
+     * Percentage se guarda con un decimal, así que se compara en décimas (sin errores de redondeo).
+     * @param codigoPais El país (sólo para el mensaje; puede ser null).
+     * @param total La suma de los porcentajes de sus idiomas.
+     * @return El mensaje de error a mostrar, o null si la suma es válida.
+     */
+    public static String validarTotalIdiomas(String codigoPais, double total) {
+        if (TotalesIdiomas.decimas(total) > TotalesIdiomas.decimas(PORCENTAJE_MAXIMO_PAIS)) {
+            return "Los idiomas " + (codigoPais != null ? "de " + codigoPais + " " : "") + "sumarían un "
+                    + TotalesIdiomas.formatear(total) + "% de la población (máximo " + TotalesIdiomas.formatear(PORCENTAJE_MAXIMO_PAIS) + "%).";
+        }
+        return null;
+    }
+
+    /**
+     * Convierte un texto en Integer. Un texto vacío se considera null (campo nulo en la BD).
+     * @param texto El texto a convertir.
+     * @return El número leído, o null si el texto está vacío.
+     * @throws NumberFormatException si el texto no es un número entero válido.
+     */
+    public static Integer leerEntero(String texto) {
+        if (texto == null || texto.trim().isEmpty()) return null;
+        return Integer.parseInt(texto.trim());
+    }
+
+    /**
+     * Convierte un texto en Double. Un texto vacío se considera null (campo nulo en la BD).
+     * @param texto El texto a convertir.
+     * @return El número leído, o null si el texto está vacío.
+     * @throws NumberFormatException si el texto no es un número decimal válido.
+     */
+    public static Double leerDecimal(String texto) {
+        if (texto == null || texto.trim().isEmpty()) return null;
+        return Double.parseDouble(texto.trim());
+    }
+}